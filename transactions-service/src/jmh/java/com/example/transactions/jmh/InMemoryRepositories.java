@@ -0,0 +1,134 @@
+package com.example.transactions.jmh;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import transactions_service.domain.model.Account;
+import transactions_service.domain.model.Money;
+import transactions_service.domain.model.RiskRule;
+import transactions_service.domain.model.Transaction;
+import transactions_service.domain.repository.AccountRepository;
+import transactions_service.domain.repository.AccountSnapshotRepository;
+import transactions_service.domain.repository.AccountStripeRepository;
+import transactions_service.domain.repository.IdempotencyRecordRepository;
+import transactions_service.domain.repository.RiskRuleRepository;
+import transactions_service.domain.repository.TransactionRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Repositorios reactivos en memoria para los benchmarks: sin Mongo ni red, así que lo medido es
+ * solo el código del servicio. Implementan lo que usa el camino de creación; cualquier otro método
+ * que devuelva Mono o Flux responde vacío y el resto falla.
+ */
+final class InMemoryRepositories {
+
+    private final Map<String, Account> accountsById = new ConcurrentHashMap<>();
+    private final Map<String, String> idsByNumber = new ConcurrentHashMap<>();
+    private final List<RiskRule> rules;
+
+    InMemoryRepositories(List<RiskRule> rules) {
+        this.rules = List.copyOf(rules);
+    }
+
+    void add(Account account) {
+        accountsById.put(account.getId(), account);
+        idsByNumber.put(account.getNumber(), account.getId());
+    }
+
+    AccountRepository accounts() {
+        return stub(AccountRepository.class, Map.of(
+                "findByNumber", args -> Mono.justOrEmpty(idsByNumber.get((String) args[0])).map(accountsById::get),
+                "findById", args -> Mono.justOrEmpty(accountsById.get((String) args[0])),
+                "debitIfSufficient", args -> Mono.justOrEmpty(apply((String) args[0], ((Money) args[1]).negate(), true)),
+                "credit", args -> Mono.justOrEmpty(apply((String) args[0], (Money) args[1], false))));
+    }
+
+    TransactionRepository transactions() {
+        return stub(TransactionRepository.class, Map.of(
+                "save", args -> Mono.just(args[0]),
+                "insertUnordered", args -> Mono.empty(),
+                "insertRejected", args -> Mono.empty()));
+    }
+
+    RiskRuleRepository riskRules() {
+        return stub(RiskRuleRepository.class, Map.of(
+                "findAll", args -> Flux.fromIterable(rules),
+                "findFirstByCurrency", args -> Mono.justOrEmpty(firstRule((String) args[0]))));
+    }
+
+    AccountSnapshotRepository snapshots() {
+        return stub(AccountSnapshotRepository.class, Map.of("save", args -> Mono.just(args[0])));
+    }
+
+    AccountStripeRepository stripes() {
+        return stub(AccountStripeRepository.class, Map.of());
+    }
+
+    IdempotencyRecordRepository idempotency() {
+        return stub(IdempotencyRecordRepository.class, Map.of());
+    }
+
+    /**
+     * Búsqueda síncrona, como la del repositorio bloqueante anterior.
+     */
+    RiskRule firstRule(String currency) {
+        for (RiskRule rule : rules) {
+            if (currency.equals(rule.getCurrency())) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Mismo contrato que el findAndModify condicional: vacío si el débito dejaría el saldo en negativo.
+     */
+    private Account apply(String id, Money delta, boolean guarded) {
+        Account[] result = new Account[1];
+        accountsById.computeIfPresent(id, (k, acc) -> {
+            Money next = acc.getBalance().plus(delta);
+            if (guarded && next.isNegative()) {
+                return acc;
+            }
+            result[0] = Account.builder()
+                    .id(acc.getId())
+                    .number(acc.getNumber())
+                    .holderName(acc.getHolderName())
+                    .currency(acc.getCurrency())
+                    .balance(next)
+                    .sequence(acc.getSequence() + 1)
+                    .stripes(acc.getStripes())
+                    .build();
+            return result[0];
+        });
+        return result[0];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> methods) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> impl = methods.get(method.getName());
+            if (impl != null) {
+                return impl.apply(args);
+            }
+            if (method.getReturnType() == Mono.class) {
+                return Mono.empty();
+            }
+            if (method.getReturnType() == Flux.class) {
+                return Flux.empty();
+            }
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> type.getSimpleName() + " (en memoria)";
+                };
+            }
+            throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+        });
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.transactions.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import transactions_service.domain.model.Money;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Camino de un débito (límite de riesgo, guard de saldo, resta y neto del lote)
+ * con BigDecimal frente a Money. Las asignaciones se ven con el profiler de GC:
+ *
+ * ./mvnw -Pjmh test-compile exec:exec -Djmh.args="MoneyArithmetic"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MoneyArithmeticBenchmark {
+
+    private static final int OPS = 1024;
+
+    private final BigDecimal[] decimalAmounts = new BigDecimal[OPS];
+    private final Money[] moneyAmounts = new Money[OPS];
+    private final BigDecimal decimalLimit = new BigDecimal("1500.00");
+    private final Money moneyLimit = Money.of("1500.00");
+    private final BigDecimal decimalOpening = new BigDecimal("1000000.00");
+    private final Money moneyOpening = Money.of("1000000.00");
+
+    @Setup
+    public void setUp() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < OPS; i++) {
+            long cents = random.nextLong(1, 200_000);
+            decimalAmounts[i] = BigDecimal.valueOf(cents, 2);
+            moneyAmounts[i] = Money.ofMinor(cents);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPS)
+    public void bigDecimalDebit(Blackhole bh) {
+        BigDecimal balance = decimalOpening;
+        BigDecimal net = BigDecimal.ZERO;
+        BigDecimal required = BigDecimal.ZERO;
+        for (BigDecimal amount : decimalAmounts) {
+            if (amount.compareTo(decimalLimit) > 0 || balance.compareTo(amount) < 0) {
+                continue;
+            }
+            balance = balance.subtract(amount);
+            net = net.subtract(amount);
+            required = required.max(net.negate());
+        }
+        bh.consume(balance);
+        bh.consume(required);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPS)
+    public void moneyDebit(Blackhole bh) {
+        // Igual que BatchTransactionService.plan: Money en los bordes, céntimos dentro del bucle
+        long balance = moneyOpening.minor();
+        long limit = moneyLimit.minor();
+        long net = 0;
+        long required = 0;
+        for (Money money : moneyAmounts) {
+            long amount = money.minor();
+            if (amount > limit || balance < amount) {
+                continue;
+            }
+            balance -= amount;
+            net -= amount;
+            required = Math.max(required, -net);
+        }
+        bh.consume(Money.ofMinor(balance));
+        bh.consume(Money.ofMinor(required));
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.transactions.jmh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import transactions_service.domain.dto.CreateTxRequest;
+import transactions_service.domain.model.Money;
+import transactions_service.domain.model.Transaction;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Coste de CPU del códec por petición: leer un POST /api/transactions y escribir una página
+ * de GET /api/transactions, en JSON y en CBOR. El tamaño de cada payload se imprime al preparar
+ * el estado.
+ *
+ * ./mvnw -Pjmh test-compile exec:exec -Djmh.args="PayloadFormat"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PayloadFormatBenchmark {
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    @Param({"50", "500"})
+    private int pageSize;
+
+    private ObjectWriter pageWriter;
+    private ObjectReader requestReader;
+    private List<Transaction> page;
+    private byte[] request;
+
+    @Setup
+    public void setUp() throws Exception {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+        ObjectMapper mapper = "cbor".equals(format) ? builder.factory(new CBORFactory()).build() : builder.build();
+        pageWriter = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, Transaction.class));
+        requestReader = mapper.readerFor(CreateTxRequest.class);
+        page = IntStream.range(0, pageSize).mapToObj(PayloadFormatBenchmark::tx).toList();
+        request = mapper.writeValueAsBytes(new CreateTxRequest("001-0001", "DEBIT", Money.of("125.40")));
+        System.out.printf("%n%s: request=%d bytes, page of %d=%d bytes%n",
+                format, request.length, pageSize, pageWriter.writeValueAsBytes(page).length);
+    }
+
+    @Benchmark
+    public CreateTxRequest readRequest() throws Exception {
+        return requestReader.readValue(request);
+    }
+
+    @Benchmark
+    public byte[] writePage() throws Exception {
+        return pageWriter.writeValueAsBytes(page);
+    }
+
+    private static Transaction tx(int i) {
+        return Transaction.builder()
+                .id(String.format("65a1f0c2e4b0a1b2c3d4%04x", i))
+                .accountId("65a1f0c2e4b0a1b2c3d4e5f7")
+                .type(i % 3 == 0 ? "CREDIT" : "DEBIT")
+                .amount(Money.ofMinor(1_000 + i * 37L))
+                .timestamp(Instant.parse("2025-01-10T10:00:00Z").plusSeconds(i))
+                .status("OK")
+                .build();
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.transactions.jmh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import transactions_service.domain.model.Money;
+import transactions_service.domain.model.Transaction;
+import transactions_service.infrastructure.exception.BusinessException;
+import transactions_service.infrastructure.exception.ErrorCode;
+import transactions_service.infrastructure.exception.GlobalExceptionHandler;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Coste de responder un rechazo frente a una respuesta correcta, por el mismo camino reactivo:
+ * excepción con stack trace más HashMap serializado (antes) contra excepción del catálogo
+ * y cuerpo pre-serializado (ahora). El error se crea anidado para que el stack trace tenga
+ * un tamaño realista.
+ *
+ * ./mvnw -Pjmh test-compile exec:exec -Djmh.args="RejectionPath"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RejectionPathBenchmark {
+
+    private static final int DEPTH = 40;
+
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler(mapper);
+    private final MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/transactions"));
+    private final Transaction tx = Transaction.builder()
+            .id("65a1f0c2e4b0a1b2c3d4e5f6")
+            .accountId("65a1f0c2e4b0a1b2c3d4e5f7")
+            .type("DEBIT")
+            .amount(Money.of("125.40"))
+            .timestamp(Instant.parse("2025-01-10T10:00:00Z"))
+            .status("OK")
+            .build();
+
+    @Benchmark
+    public byte[] success() throws Exception {
+        return nested(DEPTH, () -> Mono.just(tx))
+                .map(this::json)
+                .block();
+    }
+
+    @Benchmark
+    public byte[] legacyRejection() throws Exception {
+        return nested(DEPTH, () -> Mono.<Transaction>error(new RuntimeException("insufficient_funds")))
+                .map(this::json)
+                .onErrorResume(ex -> {
+                    Map<String, Object> body = new HashMap<>();
+                    body.put("error", ex.getMessage());
+                    body.put("timestamp", Instant.now().toString());
+                    return Mono.just(json(body));
+                })
+                .block();
+    }
+
+    @Benchmark
+    public byte[] catalogRejection() throws Exception {
+        return nested(DEPTH, () -> Mono.<Transaction>error(ErrorCode.INSUFFICIENT_FUNDS.exception()))
+                .map(this::json)
+                .onErrorResume(BusinessException.class, ex -> handler.handleBusiness(ex, exchange)
+                        .map(response -> (byte[]) response.getBody()))
+                .block();
+    }
+
+    private byte[] json(Object value) {
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // El error se crea a DEPTH marcos de profundidad, como en un servicio real
+    private static Mono<Transaction> nested(int depth, Supplier<Mono<Transaction>> source) {
+        return depth == 0 ? source.get() : nested(depth - 1, source);
+    }
+}
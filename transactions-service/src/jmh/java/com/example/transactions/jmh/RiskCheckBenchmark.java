@@ -0,0 +1,160 @@
+package com.example.transactions.jmh;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import transactions_service.domain.model.Money;
+import transactions_service.domain.model.RiskRule;
+import transactions_service.domain.repository.RiskRuleRepository;
+import transactions_service.domain.service.RiskRuleCache;
+import transactions_service.domain.service.RiskService;
+import transactions_service.domain.service.VelocityCounters;
+import transactions_service.infrastructure.config.TransactionsProperties;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * El chequeo de riesgo dentro de un pipeline reactivo, antes y después de quitar los saltos de scheduler:
+ * <ul>
+ *   <li>{@code hopped}: lo que hacía el servicio con el repositorio que devolvía {@code Optional}:
+ *       {@code fromCallable().subscribeOn(boundedElastic())} y luego {@code publishOn(parallel())}.</li>
+ *   <li>{@code reactiveLookup}: el repositorio con {@code Mono<RiskRule> findFirstByCurrency}, sin saltos.</li>
+ *   <li>{@code cached}: {@link RiskService} sobre la tabla en memoria, lo que usa hoy el create.</li>
+ *   <li>{@code withVelocity}: lo mismo con límites de velocidad por minuto, hora y día sobre una cuenta
+ *       con débitos en todas las ventanas.</li>
+ * </ul>
+ * La búsqueda en sí es en memoria en los tres casos, así que la diferencia es el coste de los saltos.
+ * Al terminar cada benchmark se imprimen los cambios de hilo por operación.
+ *
+ * ./mvnw -Pjmh test-compile exec:exec -Djmh.args="RiskCheck"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RiskCheckBenchmark {
+
+    private static final Money AMOUNT = Money.of("125.40");
+
+    private InMemoryRepositories repos;
+    private RiskRuleRepository riskRepo;
+    private RiskService risk;
+
+    @State(Scope.Thread)
+    public static class Hops {
+        long threadHops;
+        long operations;
+
+        void add(int hops) {
+            threadHops += hops;
+            operations++;
+        }
+
+        @TearDown(Level.Trial)
+        public void report(BenchmarkParams params) {
+            System.out.printf("%n%s: %.2f cambios de hilo por operación%n",
+                    params.getBenchmark(), (double) threadHops / Math.max(1, operations));
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repos = new InMemoryRepositories(List.of(
+                RiskRule.builder().id("r-usd").currency("USD").maxDebitPerTx(Money.of("500.00")).build(),
+                RiskRule.builder().id("r-pen").currency("PEN").maxDebitPerTx(Money.of("5000.00"))
+                        .maxDebitPerMinute(Money.of("1000000.00")).maxDebitPerHour(Money.of("5000000.00"))
+                        .maxDebitsPerDay(1_000_000).build()));
+        riskRepo = repos.riskRules();
+        TransactionsProperties props = new TransactionsProperties();
+        RiskRuleCache rules = new RiskRuleCache(riskRepo, new SimpleMeterRegistry(), props);
+        rules.refresh().block();
+        VelocityCounters counters = new VelocityCounters(repos.transactions(), props);
+        long now = System.currentTimeMillis();
+        // Un débito por minuto durante el último día: todos los buckets de las tres ventanas vivos
+        for (int minute = 0; minute < 24 * 60; minute++) {
+            counters.record("acc-1", AMOUNT.minor(), now - minute * 60_000L);
+        }
+        risk = new RiskService(rules, counters);
+    }
+
+    @Benchmark
+    public Boolean hopped(Hops hops) {
+        Thread caller = Thread.currentThread();
+        Thread[] seen = {caller, caller};
+        return Mono.fromCallable(() -> Optional.ofNullable(repos.firstRule("PEN")))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(rule -> allowed(rule.map(RiskRule::getMaxDebitPerTx).orElse(Money.ZERO)))
+                .doOnNext(ok -> seen[0] = Thread.currentThread())
+                .publishOn(Schedulers.parallel())
+                .doOnNext(ok -> seen[1] = Thread.currentThread())
+                .doOnSuccess(ok -> hops.add(hops(caller, seen)))
+                .block();
+    }
+
+    @Benchmark
+    public Boolean reactiveLookup(Hops hops) {
+        Thread caller = Thread.currentThread();
+        Thread[] seen = {caller, caller};
+        return riskRepo.findFirstByCurrency("PEN")
+                .map(rule -> allowed(rule.getMaxDebitPerTx()))
+                .defaultIfEmpty(false)
+                .doOnNext(ok -> seen[0] = Thread.currentThread())
+                .doOnSuccess(ok -> hops.add(hops(caller, seen)))
+                .block();
+    }
+
+    @Benchmark
+    public Boolean cached(Hops hops) {
+        Thread caller = Thread.currentThread();
+        Thread[] seen = {caller, caller};
+        return Mono.fromSupplier(() -> risk.isAllowed("PEN", "DEBIT", AMOUNT))
+                .doOnNext(ok -> seen[0] = Thread.currentThread())
+                .doOnSuccess(ok -> hops.add(hops(caller, seen)))
+                .block();
+    }
+
+    @Benchmark
+    public Boolean withVelocity(Hops hops) {
+        Thread caller = Thread.currentThread();
+        Thread[] seen = {caller, caller};
+        return Mono.fromSupplier(() -> risk.isAllowed("acc-1", null, "PEN", "DEBIT", AMOUNT))
+                .doOnNext(ok -> seen[0] = Thread.currentThread())
+                .doOnSuccess(ok -> hops.add(hops(caller, seen)))
+                .block();
+    }
+
+    @Benchmark
+    public boolean perTxCheck() {
+        return risk.isAllowed("PEN", "DEBIT", AMOUNT);
+    }
+
+    @Benchmark
+    public boolean velocityCheck() {
+        return risk.isAllowed("acc-1", null, "PEN", "DEBIT", AMOUNT);
+    }
+
+    private static boolean allowed(Money max) {
+        return AMOUNT.compareTo(max) <= 0;
+    }
+
+    private static int hops(Thread caller, Thread[] seen) {
+        return (seen[0] != caller ? 1 : 0) + (seen[1] != seen[0] ? 1 : 0);
+    }
+}
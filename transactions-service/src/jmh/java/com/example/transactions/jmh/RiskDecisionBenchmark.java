@@ -0,0 +1,164 @@
+package com.example.transactions.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import transactions_service.domain.model.Money;
+import transactions_service.domain.model.RiskRule;
+import transactions_service.domain.service.RiskDecisionTable;
+import transactions_service.domain.service.RiskDecisionTable.Outcome;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decidir una operación contra N reglas de decisión:
+ * <ul>
+ *   <li>{@code compiled}: {@link RiskDecisionTable#decide}, lo que usa hoy {@code RiskService}.</li>
+ *   <li>{@code linearScan}: recorrer las reglas ordenadas por prioridad comparando cada dimensión,
+ *       que es lo que haría un evaluador sin compilar.</li>
+ * </ul>
+ * Las reglas y las operaciones se generan con semilla fija; la mayoría de operaciones no casa ninguna
+ * regla, el peor caso para el recorrido. Con -prof gc, {@code compiled} debe dar 0 bytes por operación.
+ *
+ * ./mvnw -Pjmh test-compile exec:exec -Djmh.args="RiskDecision"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RiskDecisionBenchmark {
+
+    private static final String[] CURRENCIES = {"PEN", "USD", "EUR", "BRL", "CLP", "MXN"};
+    private static final String[] TYPES = {"DEBIT", "CREDIT"};
+    private static final String[] SEGMENTS = {"RETAIL", "SME", "CORPORATE", "PRIVATE"};
+    private static final ZoneId ZONE = ZoneId.of("America/Lima");
+    private static final int QUERIES = 1024;
+
+    @Param({"10", "1000", "10000"})
+    private int rules;
+
+    private RiskDecisionTable table;
+    private RiskRule[] sorted;
+    private Query[] queries;
+    private int next;
+
+    private record Query(String currency, String type, String segment, long amountMinor, long epochMillis,
+                         int hour) {
+    }
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<RiskRule> generated = new ArrayList<>(rules);
+        for (int i = 0; i < rules; i++) {
+            generated.add(randomRule(random, i));
+        }
+        table = RiskDecisionTable.compile(generated, ZONE);
+        sorted = generated.stream()
+                .sorted(Comparator.comparingInt((RiskRule r) -> r.getPriority()).reversed())
+                .toArray(RiskRule[]::new);
+
+        queries = new Query[QUERIES];
+        long base = Instant.parse("2025-01-10T00:00:00Z").toEpochMilli();
+        for (int i = 0; i < QUERIES; i++) {
+            long at = base + random.nextLong(86_400_000L);
+            queries[i] = new Query(pick(random, CURRENCIES), pick(random, TYPES),
+                    random.nextInt(5) == 0 ? null : pick(random, SEGMENTS),
+                    random.nextLong(1, 10_000_000L), at,
+                    Instant.ofEpochMilli(at).atZone(ZONE).getHour());
+        }
+    }
+
+    @Benchmark
+    public Outcome compiled() {
+        Query q = nextQuery();
+        return table.decide(q.currency(), q.type(), q.segment(), q.amountMinor(), q.epochMillis());
+    }
+
+    @Benchmark
+    public Outcome linearScan() {
+        Query q = nextQuery();
+        for (RiskRule rule : sorted) {
+            if (matches(rule, q)) {
+                return Outcome.valueOf(rule.getAction());
+            }
+        }
+        return Outcome.NO_MATCH;
+    }
+
+    private Query nextQuery() {
+        Query q = queries[next];
+        next = (next + 1) & (QUERIES - 1);
+        return q;
+    }
+
+    private static boolean matches(RiskRule rule, Query q) {
+        if (rule.getCurrency() != null && !rule.getCurrency().equals(q.currency())) {
+            return false;
+        }
+        if (rule.getType() != null && !rule.getType().equalsIgnoreCase(q.type())) {
+            return false;
+        }
+        if (rule.getSegment() != null && !rule.getSegment().equals(q.segment())) {
+            return false;
+        }
+        if (rule.getMinAmount() != null && q.amountMinor() < rule.getMinAmount().minor()) {
+            return false;
+        }
+        if (rule.getMaxAmount() != null && q.amountMinor() >= rule.getMaxAmount().minor()) {
+            return false;
+        }
+        if (rule.getFromHour() == null || rule.getToHour() == null || rule.getFromHour().equals(rule.getToHour())) {
+            return true;
+        }
+        int from = rule.getFromHour();
+        int to = rule.getToHour();
+        return from < to ? q.hour() >= from && q.hour() < to : q.hour() >= from || q.hour() < to;
+    }
+
+    /**
+     * Cada dimensión se fija con cierta probabilidad y queda abierta si no; las bandas son
+     * estrechas para que casen pocas reglas.
+     */
+    private static RiskRule randomRule(SplittableRandom random, int i) {
+        RiskRule.RiskRuleBuilder rule = RiskRule.builder()
+                .id("rule-" + i)
+                .action(random.nextInt(4) == 0 ? "ALLOW" : "REJECT")
+                .priority(random.nextInt(100));
+        if (random.nextInt(10) < 8) {
+            rule.currency(pick(random, CURRENCIES));
+        }
+        if (random.nextBoolean()) {
+            rule.type(pick(random, TYPES));
+        }
+        if (random.nextBoolean()) {
+            rule.segment(pick(random, SEGMENTS));
+        }
+        long min = random.nextLong(1, 9_000_000L);
+        rule.minAmount(Money.ofMinor(min)).maxAmount(Money.ofMinor(min + random.nextLong(1, 50_000L)));
+        if (random.nextInt(3) == 0) {
+            rule.fromHour(random.nextInt(24)).toHour(random.nextInt(24));
+        }
+        return rule.build();
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
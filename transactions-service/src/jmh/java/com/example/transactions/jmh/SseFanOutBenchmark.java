@@ -0,0 +1,86 @@
+package com.example.transactions.jmh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import transactions_service.domain.model.Money;
+import transactions_service.domain.model.Transaction;
+import transactions_service.infrastructure.stream.SseFrameEncoder;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de entregar un evento a N suscriptores: codificar el JSON una vez por suscriptor
+ * (lo que hacía WebFlux con Flux<ServerSentEvent>) frente a codificar una vez y compartir el frame.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SseFanOutBenchmark {
+
+    private static final ResolvableType TX_TYPE = ResolvableType.forClass(Transaction.class);
+
+    @Param({"100", "1000", "10000"})
+    private int subscribers;
+
+    private final NettyDataBufferFactory buffers = new NettyDataBufferFactory(ByteBufAllocator.DEFAULT);
+    private Jackson2JsonEncoder jsonEncoder;
+    private SseFrameEncoder frameEncoder;
+    private Transaction tx;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        jsonEncoder = new Jackson2JsonEncoder(mapper);
+        frameEncoder = new SseFrameEncoder(mapper);
+        tx = Transaction.builder()
+                .id("65a1f0c2e4b0a1b2c3d4e5f6")
+                .accountId("65a1f0c2e4b0a1b2c3d4e5f7")
+                .type("DEBIT")
+                .amount(Money.of("125.40"))
+                .timestamp(Instant.parse("2025-01-10T10:00:00Z"))
+                .status("OK")
+                .build();
+    }
+
+    @Benchmark
+    public void encodePerSubscriber(Blackhole bh) {
+        for (int i = 0; i < subscribers; i++) {
+            DataBuffer json = jsonEncoder.encodeValue(tx, buffers, TX_TYPE, MediaType.APPLICATION_JSON, Map.of());
+            bh.consume(json);
+            DataBufferUtils.release(json);
+        }
+    }
+
+    @Benchmark
+    public void encodeOnceShared(Blackhole bh) {
+        ByteBuf frame = frameEncoder.encode("1700000000000-1-1736503200000", tx);
+        for (int i = 0; i < subscribers; i++) {
+            bh.consume(buffers.wrap(frame.duplicate()));
+        }
+    }
+}
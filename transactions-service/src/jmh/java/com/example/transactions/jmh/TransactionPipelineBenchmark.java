@@ -0,0 +1,178 @@
+package com.example.transactions.jmh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.buffer.ByteBuf;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Mono;
+import transactions_service.domain.dto.CreateTxRequest;
+import transactions_service.domain.model.Account;
+import transactions_service.domain.model.Money;
+import transactions_service.domain.model.RiskRule;
+import transactions_service.domain.model.Transaction;
+import transactions_service.domain.service.AccountLookupCache;
+import transactions_service.domain.service.BalanceStripes;
+import transactions_service.domain.service.IdempotencyCache;
+import transactions_service.domain.service.LedgerService;
+import transactions_service.domain.service.RiskRuleCache;
+import transactions_service.domain.service.RiskService;
+import transactions_service.domain.service.TransactionService;
+import transactions_service.domain.service.VelocityCounters;
+import transactions_service.infrastructure.audit.RejectionRecorder;
+import transactions_service.infrastructure.config.TransactionsProperties;
+import transactions_service.infrastructure.groupcommit.TransactionGroupCommit;
+import transactions_service.infrastructure.journal.TransactionJournal;
+import transactions_service.infrastructure.lane.AccountLaneExecutor;
+import transactions_service.infrastructure.metrics.StageTimers;
+import transactions_service.infrastructure.stream.SseFrameEncoder;
+import transactions_service.infrastructure.stream.TransactionStreamRouter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cada etapa de un POST /api/transactions por separado: decodificar el cuerpo con el códec de WebFlux,
+ * evaluar el riesgo, el create completo (caché de cuentas, cola por cuenta, guard de saldo, persistencia,
+ * publicación al stream) y codificar el evento SSE. Los repositorios son stand-ins en memoria
+ * ({@link InMemoryRepositories}), así que no hace falta Mongo ni red. Da throughput y percentiles
+ * de latencia; el perfil jmh añade {@code -prof gc} (bytes por operación).
+ *
+ * ./mvnw -Pjmh test-compile exec:exec -Djmh.args="TransactionPipeline"
+ * Cada benchmark corre con y sin {@link StageTimers}; la diferencia en createDebit/createCredit es el
+ * coste de medir las etapas, que debe quedar por debajo del 1% del throughput.
+ * Solo el create: -Djmh.args="TransactionPipelineBenchmark.create"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TransactionPipelineBenchmark {
+
+    private static final ResolvableType REQUEST_TYPE = ResolvableType.forClass(CreateTxRequest.class);
+    private static final String ACCOUNT = "001-0001";
+
+    @Param({"true", "false"})
+    private boolean stageTimers;
+
+    private final DefaultDataBufferFactory buffers = DefaultDataBufferFactory.sharedInstance;
+    private Jackson2JsonDecoder decoder;
+    private SseFrameEncoder frameEncoder;
+    private RiskService risk;
+    private RiskRuleCache riskRules;
+    private RejectionRecorder rejections;
+    private TransactionService service;
+    private byte[] body;
+    private CreateTxRequest debit;
+    private CreateTxRequest credit;
+    private Transaction tx;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        decoder = new Jackson2JsonDecoder(mapper);
+        frameEncoder = new SseFrameEncoder(mapper);
+
+        InMemoryRepositories repos = new InMemoryRepositories(List.of(
+                RiskRule.builder().id("r-pen").currency("PEN").maxDebitPerTx(Money.of("5000.00")).build()));
+        // Saldo de sobra: ningún débito de la medición se rechaza por fondos
+        repos.add(Account.builder()
+                .id("65a1f0c2e4b0a1b2c3d4e5f7")
+                .number(ACCOUNT)
+                .holderName("bench")
+                .currency("PEN")
+                .balance(Money.ofMinor(Long.MAX_VALUE / 4))
+                .build());
+
+        TransactionsProperties props = new TransactionsProperties();
+        props.getStageTimers().setEnabled(stageTimers);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        riskRules = new RiskRuleCache(repos.riskRules(), registry, props);
+        riskRules.refresh().block();
+        risk = new RiskService(riskRules, new VelocityCounters(repos.transactions(), props));
+        rejections = new RejectionRecorder(repos.transactions(), props, registry);
+        rejections.start();
+        AccountLookupCache accounts = new AccountLookupCache(repos.accounts(), props, registry);
+        TransactionJournal journal = new TransactionJournal(repos.transactions(), props, registry);
+        service = new TransactionService(
+                repos.accounts(),
+                repos.transactions(),
+                risk,
+                new TransactionStreamRouter(props, frameEncoder, registry),
+                new AccountLaneExecutor(props, registry),
+                new TransactionGroupCommit(repos.transactions(), props, registry),
+                props,
+                accounts,
+                rejections,
+                new IdempotencyCache(repos.idempotency(), repos.transactions(), props, registry),
+                journal,
+                new LedgerService(repos.accounts(), repos.transactions(), repos.snapshots(), journal, props, registry),
+                new BalanceStripes(repos.accounts(), repos.stripes(), accounts),
+                new StageTimers(registry, props));
+
+        body = "{\"accountNumber\":\"001-0001\",\"type\":\"DEBIT\",\"amount\":125.40}"
+                .getBytes(StandardCharsets.UTF_8);
+        debit = new CreateTxRequest(ACCOUNT, "DEBIT", Money.of("125.40"));
+        credit = new CreateTxRequest(ACCOUNT, "CREDIT", Money.of("125.40"));
+        tx = Transaction.builder()
+                .id("65a1f0c2e4b0a1b2c3d4e5f6")
+                .accountId("65a1f0c2e4b0a1b2c3d4e5f7")
+                .type("DEBIT")
+                .amount(Money.of("125.40"))
+                .timestamp(Instant.parse("2025-01-10T10:00:00Z"))
+                .status("OK")
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        rejections.stop();
+    }
+
+    @Benchmark
+    public Object decodeRequest() {
+        return decoder.decodeToMono(Mono.just(buffers.wrap(body)), REQUEST_TYPE, MediaType.APPLICATION_JSON, Map.of())
+                .block();
+    }
+
+    @Benchmark
+    public boolean riskIsAllowed() {
+        return risk.isAllowed("PEN", "DEBIT", debit.getAmount());
+    }
+
+    @Benchmark
+    public Transaction createDebit() {
+        return service.create(debit).block();
+    }
+
+    @Benchmark
+    public Transaction createCredit() {
+        return service.create(credit).block();
+    }
+
+    @Benchmark
+    public ByteBuf encodeEvent() {
+        return frameEncoder.encode("1700000000000-1-1736503200000", tx);
+    }
+}
@@ -4,6 +4,7 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
 
 @SpringBootApplication(exclude = {
@@ -11,6 +12,7 @@ import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRep
 		HibernateJpaAutoConfiguration.class
 })
 @EnableReactiveMongoRepositories(basePackages = "transactions_service.domain.repository")
+@ConfigurationPropertiesScan
 public class TransactionsServiceApplication {
 
 	public static void main(String[] args) {
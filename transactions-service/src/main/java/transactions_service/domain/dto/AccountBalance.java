@@ -0,0 +1,18 @@
+package transactions_service.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import transactions_service.domain.model.Money;
+
+/**
+ * Respuesta de GET /api/accounts/{accountNumber}/balance: el saldo base más el de todos los stripes.
+ */
+@Data
+@AllArgsConstructor
+public class AccountBalance {
+
+    private String accountNumber;
+    private String currency;
+    private Money balance;
+    private int stripes;
+}
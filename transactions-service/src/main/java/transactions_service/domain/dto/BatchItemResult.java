@@ -0,0 +1,40 @@
+package transactions_service.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de un elemento de POST /api/transactions/batch (mismo orden que la entrada).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+
+    private int index;
+    private String status;          // "OK", "REJECTED" o "UNKNOWN"
+    private String reason;          // null si OK
+    private String transactionId;   // null si REJECTED
+
+    public static BatchItemResult ok(int index, String transactionId) {
+        return new BatchItemResult(index, "OK", null, transactionId);
+    }
+
+    public static BatchItemResult rejected(int index, String reason) {
+        return new BatchItemResult(index, "REJECTED", reason, null);
+    }
+
+    /**
+     * El saldo ya se movió pero la transacción no llegó a guardarse: no debe reintentarse a ciegas.
+     */
+    public static BatchItemResult unpersisted(int index, String transactionId) {
+        return new BatchItemResult(index, "UNKNOWN", "applied_not_persisted", transactionId);
+    }
+
+    public boolean unknown() {
+        return "UNKNOWN".equals(status);
+    }
+}
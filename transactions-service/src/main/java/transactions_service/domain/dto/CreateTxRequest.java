@@ -1,13 +1,17 @@
 package transactions_service.domain.dto;
 
-import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Data;
-
-import java.math.BigDecimal;
+import lombok.NoArgsConstructor;
+import transactions_service.domain.model.Money;
 
 @Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class CreateTxRequest {
 
     @NotBlank
@@ -17,6 +21,13 @@ public class CreateTxRequest {
     private String type;
 
     @NotNull
-    @DecimalMin("0.01")
-    private BigDecimal amount;
+    @MinAmount("0.01")
+    private Money amount;
+
+    /**
+     * Solo DEBIT y CREDIT (sin distinguir mayúsculas); cualquier otro se rechaza con invalid_type.
+     */
+    public boolean knownType() {
+        return "DEBIT".equalsIgnoreCase(type) || "CREDIT".equalsIgnoreCase(type);
+    }
 }
@@ -0,0 +1,46 @@
+package transactions_service.domain.dto;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.Payload;
+import transactions_service.domain.model.Money;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Equivalente a {@code @DecimalMin} para {@link Money}. Un valor nulo es válido (se combina con @NotNull).
+ */
+@Documented
+@Constraint(validatedBy = MinAmount.Validator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MinAmount {
+
+    String value();
+
+    String message() default "must be greater than or equal to {value}";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+
+    class Validator implements ConstraintValidator<MinAmount, Money> {
+
+        private Money min;
+
+        @Override
+        public void initialize(MinAmount annotation) {
+            min = Money.of(annotation.value());
+        }
+
+        @Override
+        public boolean isValid(Money value, ConstraintValidatorContext context) {
+            return value == null || value.compareTo(min) >= 0;
+        }
+    }
+}
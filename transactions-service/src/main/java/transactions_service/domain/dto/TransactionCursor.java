@@ -0,0 +1,39 @@
+package transactions_service.domain.dto;
+
+import transactions_service.domain.model.Transaction;
+import transactions_service.infrastructure.exception.ErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Posición de la última transacción devuelta (timestamp + id), opaca para el cliente.
+ * La siguiente página empieza justo después, en el mismo orden (timestamp desc, id desc).
+ */
+public record TransactionCursor(Instant timestamp, String id) {
+
+    public static TransactionCursor of(Transaction tx) {
+        return new TransactionCursor(tx.getTimestamp(), tx.getId());
+    }
+
+    public String encode() {
+        String raw = timestamp.toEpochMilli() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TransactionCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+            if (sep <= 0 || sep == raw.length() - 1) {
+                throw ErrorCode.INVALID_CURSOR.exception();
+            }
+            return new TransactionCursor(
+                    Instant.ofEpochMilli(Long.parseLong(raw.substring(0, sep))),
+                    raw.substring(sep + 1));
+        } catch (IllegalArgumentException e) {
+            throw ErrorCode.INVALID_CURSOR.exception();
+        }
+    }
+}
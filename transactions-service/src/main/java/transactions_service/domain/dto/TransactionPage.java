@@ -0,0 +1,18 @@
+package transactions_service.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import transactions_service.domain.model.Transaction;
+
+import java.util.List;
+
+/**
+ * Una página de GET /api/transactions; {@code nextCursor} es null en la última.
+ */
+@Data
+@AllArgsConstructor
+public class TransactionPage {
+
+    private List<Transaction> items;
+    private String nextCursor;
+}
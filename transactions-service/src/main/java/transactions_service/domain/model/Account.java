@@ -6,9 +6,11 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
-import java.math.BigDecimal;
+// Sin nombre: se mantiene la colección por defecto ("account")
+@Document
 @Entity
 @Table(name = "accounts")
 @Data
@@ -19,10 +21,23 @@ public class Account {
 
     @Id
     private String id;
+    @Indexed(name = "account_number_unique", unique = true)
     private String number;
     private String holderName;
     private String currency; // "PEN" o "USD"
-    private BigDecimal balance;
-
+    // Int64 de céntimos (ver MongoMoneyConversions) para que $inc y $gte operen en el servidor
+    private Money balance;
+    // Secuencia del último movimiento aplicado; sube en la misma escritura que el saldo
+    private long sequence;
+    // 0 o 1: sin stripes. Con más, los abonos se reparten en account_stripes (ver AccountStripe)
+    private int stripes;
+    // Segmento de riesgo (p. ej. "RETAIL", "CORPORATE"); lo usan las reglas de decisión
+    private String segment;
 
+    /**
+     * Con stripes la cuenta no lleva secuencia de ledger: ningún movimiento la avanza.
+     */
+    public boolean striped() {
+        return stripes > 1;
+    }
 }
@@ -0,0 +1,31 @@
+package transactions_service.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Saldo de una cuenta derivado del ledger hasta {@code sequence} (incluida).
+ * Reconstruir la cuenta parte del último snapshot y solo reaplica las transacciones posteriores.
+ */
+@Document("account_snapshots")
+@CompoundIndex(name = "account_sequence_desc", def = "{'accountId': 1, 'sequence': -1}", unique = true)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountSnapshot {
+
+    @Id
+    private String id;
+    private String accountId;
+    private long sequence;
+    private Money balance;
+    private Instant takenAt;
+}
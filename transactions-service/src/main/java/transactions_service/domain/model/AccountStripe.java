@@ -0,0 +1,32 @@
+package transactions_service.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Parte del saldo de una cuenta con stripes. El saldo lógico es {@code Account.balance} más la suma
+ * de sus stripes; cada parte se mantiene por sí sola en cero o más.
+ */
+@Document("account_stripes")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountStripe {
+
+    @Id
+    private String id;                      // "<accountId>:<stripe>"
+    @Indexed(name = "stripe_account")
+    private String accountId;
+    private int stripe;
+    private Money balance;
+
+    public static String id(String accountId, int stripe) {
+        return accountId + ":" + stripe;
+    }
+}
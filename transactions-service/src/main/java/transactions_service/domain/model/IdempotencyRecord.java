@@ -0,0 +1,34 @@
+package transactions_service.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Resultado guardado de un POST con Idempotency-Key. Se inserta sin {@code transaction} al empezar
+ * (reserva la clave entre instancias) y se completa al confirmar el movimiento. La reserva dura
+ * {@code lease} desde {@code claimedAt}; después, otra petición puede relevarla.
+ */
+@Document("idempotency_keys")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    @Id
+    private String key;
+    private String fingerprint;             // cuenta, tipo e importe de la petición original
+    private Transaction transaction;        // null mientras se ejecuta
+    private String transactionId;           // id reservado para la transacción; sirve para ver si llegó a crearse
+    private Instant claimedAt;
+    // Mongo borra el documento al llegar a expiresAt
+    @Indexed(name = "expires_at_ttl", expireAfter = "0s")
+    private Instant expiresAt;
+}
@@ -0,0 +1,172 @@
+package transactions_service.domain.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Currency;
+
+/**
+ * Importe en punto fijo: un {@code long} en unidades menores (céntimos, escala 2).
+ * Inmutable; la aritmética es exacta y lanza {@link ArithmeticException} si desborda.
+ * En JSON se escribe como número decimal ({@code 125.40}); en Mongo, como Int64 de céntimos.
+ */
+@JsonSerialize(using = Money.Writer.class)
+@JsonDeserialize(using = Money.Reader.class)
+public final class Money implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+
+    private static final long UNIT = 100;
+
+    private final long minor;
+
+    private Money(long minor) {
+        this.minor = minor;
+    }
+
+    public static Money ofMinor(long minor) {
+        return minor == 0 ? ZERO : new Money(minor);
+    }
+
+    /**
+     * Conversión exacta: falla si el importe tiene más de dos decimales o no cabe en un long.
+     */
+    public static Money of(BigDecimal amount) {
+        return ofMinor(amount.movePointRight(SCALE).longValueExact());
+    }
+
+    public static Money of(String amount) {
+        return of(new BigDecimal(amount));
+    }
+
+    public long minor() {
+        return minor;
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minor, other.minor));
+    }
+
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minor, other.minor));
+    }
+
+    public Money negate() {
+        return ofMinor(Math.negateExact(minor));
+    }
+
+    public Money max(Money other) {
+        return minor >= other.minor ? this : other;
+    }
+
+    public boolean isPositive() {
+        return minor > 0;
+    }
+
+    public boolean isNegative() {
+        return minor < 0;
+    }
+
+    /**
+     * {@code true} si el importe no usa más decimales de los que admite la moneda
+     * (p. ej. JPY no acepta céntimos). Monedas con más de dos decimales no se soportan.
+     * Una moneda nula o que no es ISO 4217 tampoco admite ningún importe: el alta lo rechaza
+     * como {@code invalid_amount} en vez de fallar con un 500.
+     */
+    public boolean fitsCurrency(String currency) {
+        if (currency == null) {
+            return false;
+        }
+        int digits;
+        try {
+            digits = Currency.getInstance(currency).getDefaultFractionDigits();
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        if (digits < 0 || digits > SCALE) {
+            return false;
+        }
+        long step = digits == 0 ? UNIT : digits == 1 ? 10 : 1;
+        return minor % step == 0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minor, other.minor);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money other && other.minor == minor;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minor);
+    }
+
+    /**
+     * Forma decimal plana con dos decimales ({@code -0.05}, {@code 125.40}), sin pasar por BigDecimal.
+     */
+    @Override
+    public String toString() {
+        long units = minor / UNIT;
+        int cents = (int) Math.abs(minor % UNIT);
+        StringBuilder sb = new StringBuilder(24);
+        if (minor < 0 && units == 0) {
+            sb.append('-');
+        }
+        sb.append(units).append('.');
+        if (cents < 10) {
+            sb.append('0');
+        }
+        return sb.append(cents).toString();
+    }
+
+    static final class Writer extends JsonSerializer<Money> {
+        @Override
+        public void serialize(Money value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            if (gen.canWriteFormattedNumbers()) {
+                gen.writeNumber(value.toString());
+            } else {
+                gen.writeNumber(value.toBigDecimal());
+            }
+        }
+    }
+
+    static final class Reader extends JsonDeserializer<Money> {
+        @Override
+        public Money deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            JsonToken token = p.currentToken();
+            try {
+                if (token == JsonToken.VALUE_NUMBER_INT && p.getNumberType() != JsonParser.NumberType.BIG_INTEGER) {
+                    return ofMinor(Math.multiplyExact(p.getLongValue(), UNIT));
+                }
+                if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+                    return of(p.getDecimalValue());
+                }
+                if (token == JsonToken.VALUE_STRING) {
+                    return of(p.getText().trim());
+                }
+            } catch (ArithmeticException | NumberFormatException e) {
+                throw InvalidFormatException.from(p, "invalid_amount", p.getText(), Money.class);
+            }
+            return (Money) ctxt.handleUnexpectedToken(Money.class, p);
+        }
+    }
+}
@@ -7,8 +7,6 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 
-import java.math.BigDecimal;
-
 @Document(collection = "risk_rules")
 @Data
 @NoArgsConstructor
@@ -21,5 +19,33 @@ public class RiskRule {
 
     private String currency;
 
-    private BigDecimal maxDebitPerTx;
+    private Money maxDebitPerTx;
+
+    // Velocidad por cuenta: suma y número de débitos en el último minuto, hora y día; null = sin límite
+    private Money maxDebitPerMinute;
+    private Money maxDebitPerHour;
+    private Money maxDebitPerDay;
+    private Integer maxDebitsPerMinute;
+    private Integer maxDebitsPerHour;
+    private Integer maxDebitsPerDay;
+
+    // Regla de decisión si action no es null ("ALLOW" o "REJECT"): se compila en RiskDecisionTable.
+    // ALLOW no levanta maxDebitPerTx ni la velocidad: solo impide que gane una REJECT de menor prioridad.
+    // En las dimensiones, null = cualquiera
+    private String action;
+    // Mayor gana; a igual prioridad, la que llegó antes
+    private Integer priority;
+    private String type;
+    private String segment;
+    // Banda [minAmount, maxAmount)
+    private Money minAmount;
+    private Money maxAmount;
+    // Franja [fromHour, toHour) en transactions.risk.zone; si fromHour > toHour cruza la medianoche.
+    // Las dos o ninguna: una regla con solo una de ellas se descarta por mal formada
+    private Integer fromHour;
+    private Integer toHour;
+
+    public boolean decision() {
+        return action != null;
+    }
 }
@@ -7,12 +7,17 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 
 @Document("transactions")
+// Orden del historial por cuenta; sirve la paginación por cursor como consulta de rango
+@CompoundIndex(name = "account_timestamp_id", def = "{'accountId': 1, 'timestamp': -1, '_id': -1}")
+// Ledger por cuenta: la reconstrucción lee el tramo posterior a un snapshot como rango
+@CompoundIndex(name = "account_sequence", def = "{'accountId': 1, 'sequence': 1}", unique = true,
+        partialFilter = "{'sequence': {$exists: true}}")
 @Data
 @Builder
 @NoArgsConstructor
@@ -23,8 +28,9 @@ public class Transaction {
     private String id;
     private String accountId;
     private String type;                    // "CREDIT" o "DEBIT"
-    private BigDecimal amount;
+    private Money amount;
     private Instant timestamp;
     private String status;                   // "OK" o "REJECTED"
     private String reason;                   // null si OK
+    private Long sequence;                   // posición en el ledger de la cuenta; null en las anteriores y en cuentas con stripes
 }
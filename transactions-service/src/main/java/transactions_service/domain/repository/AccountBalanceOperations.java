@@ -0,0 +1,32 @@
+package transactions_service.domain.repository;
+
+import reactor.core.publisher.Mono;
+import transactions_service.domain.model.Account;
+import transactions_service.domain.model.Money;
+
+/**
+ * Actualizaciones atómicas de saldo (un solo findAndModify en Mongo, sin read-modify-write).
+ * Cada una avanza también {@code sequence}, uno por movimiento, en la misma escritura.
+ * Ninguna toca una cuenta con stripes: el filtro lo comprueba en Mongo, así que una caché que aún
+ * no los conoce no puede meter movimientos suyos en el ledger. En ese caso devuelven vacío.
+ */
+public interface AccountBalanceOperations {
+
+    /**
+     * Resta {@code amount} solo si {@code balance >= amount}.
+     * Devuelve la cuenta ya actualizada, o vacío si la condición no se cumple.
+     */
+    Mono<Account> debitIfSufficient(String accountId, Money amount);
+
+    /**
+     * Suma {@code amount} al saldo. Devuelve la cuenta actualizada, o vacío si no existe (o tiene stripes).
+     */
+    Mono<Account> credit(String accountId, Money amount);
+
+    /**
+     * Aplica {@code delta} (positivo o negativo) solo si {@code balance >= minBalance}.
+     * Lo usa el lote para aplicar el efecto neto de {@code movements} movimientos en una sola escritura;
+     * la secuencia avanza {@code movements}.
+     */
+    Mono<Account> applyDelta(String accountId, Money delta, Money minBalance, int movements);
+}
@@ -0,0 +1,48 @@
+package transactions_service.domain.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+import transactions_service.domain.model.Account;
+import transactions_service.domain.model.Money;
+
+@RequiredArgsConstructor
+public class AccountBalanceOperationsImpl implements AccountBalanceOperations {
+
+    private static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
+
+    private final ReactiveMongoTemplate mongo;
+
+    @Override
+    public Mono<Account> debitIfSufficient(String accountId, Money amount) {
+        // El guard va en el filtro: si otro débito gana la carrera, simplemente no hay match
+        Query query = Query.query(ledgered(accountId)
+                .and("balance").gte(amount.minor()));
+        Update update = new Update().inc("balance", -amount.minor()).inc("sequence", 1);
+        return mongo.findAndModify(query, update, RETURN_NEW, Account.class);
+    }
+
+    @Override
+    public Mono<Account> credit(String accountId, Money amount) {
+        Query query = Query.query(ledgered(accountId));
+        Update update = new Update().inc("balance", amount.minor()).inc("sequence", 1);
+        return mongo.findAndModify(query, update, RETURN_NEW, Account.class);
+    }
+
+    @Override
+    public Mono<Account> applyDelta(String accountId, Money delta, Money minBalance, int movements) {
+        Query query = Query.query(ledgered(accountId)
+                .and("balance").gte(minBalance.minor()));
+        Update update = new Update().inc("balance", delta.minor()).inc("sequence", movements);
+        return mongo.findAndModify(query, update, RETURN_NEW, Account.class);
+    }
+
+    // Sin stripes (el campo puede faltar en cuentas antiguas): las que los tienen no avanzan la secuencia
+    private static Criteria ledgered(String accountId) {
+        return Criteria.where("id").is(accountId).and("stripes").not().gt(1);
+    }
+}
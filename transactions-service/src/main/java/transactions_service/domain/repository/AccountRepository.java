@@ -4,6 +4,6 @@ import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import reactor.core.publisher.Mono;
 import transactions_service.domain.model.Account;
 
-public interface  AccountRepository extends ReactiveMongoRepository<Account, String> {
+public interface  AccountRepository extends ReactiveMongoRepository<Account, String>, AccountBalanceOperations {
     Mono<Account> findByNumber(String number);
 }
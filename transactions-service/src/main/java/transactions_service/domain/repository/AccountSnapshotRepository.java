@@ -0,0 +1,10 @@
+package transactions_service.domain.repository;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Mono;
+import transactions_service.domain.model.AccountSnapshot;
+
+public interface AccountSnapshotRepository extends ReactiveMongoRepository<AccountSnapshot, String> {
+
+    Mono<AccountSnapshot> findFirstByAccountIdOrderBySequenceDesc(String accountId);
+}
@@ -0,0 +1,35 @@
+package transactions_service.domain.repository;
+
+import reactor.core.publisher.Mono;
+import transactions_service.domain.model.Account;
+import transactions_service.domain.model.AccountStripe;
+import transactions_service.domain.model.Money;
+
+/**
+ * Escrituras atómicas sobre los stripes de una cuenta. Ninguna deja una parte en negativo.
+ */
+public interface AccountStripeOperations {
+
+    /**
+     * Suma {@code amount} al stripe; lo crea si aún no existe.
+     */
+    Mono<AccountStripe> creditStripe(String accountId, int stripe, Money amount);
+
+    /**
+     * Resta {@code amount} del stripe solo si le alcanza. Vacío si no.
+     */
+    Mono<AccountStripe> debitStripe(String accountId, int stripe, Money amount);
+
+    /**
+     * Mueve {@code delta} en el saldo base de una cuenta con stripes. No avanza la secuencia:
+     * las cuentas con stripes quedan fuera del ledger.
+     * Vacío si el saldo base quedaría en negativo.
+     */
+    Mono<Account> moveBase(String accountId, Money delta);
+
+    /**
+     * Reparte la cuenta en {@code stripes}. Solo crece: bajar el número dejaría saldo en stripes huérfanos.
+     * Vacío si la cuenta no existe o ya tenía al menos ese número.
+     */
+    Mono<Account> enableStripes(String accountId, int stripes);
+}
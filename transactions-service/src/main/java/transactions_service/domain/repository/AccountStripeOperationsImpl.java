@@ -0,0 +1,55 @@
+package transactions_service.domain.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+import transactions_service.domain.model.Account;
+import transactions_service.domain.model.AccountStripe;
+import transactions_service.domain.model.Money;
+
+@RequiredArgsConstructor
+public class AccountStripeOperationsImpl implements AccountStripeOperations {
+
+    private static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
+    private static final FindAndModifyOptions UPSERT = FindAndModifyOptions.options().returnNew(true).upsert(true);
+
+    private final ReactiveMongoTemplate mongo;
+
+    @Override
+    public Mono<AccountStripe> creditStripe(String accountId, int stripe, Money amount) {
+        Query query = Query.query(Criteria.where("id").is(AccountStripe.id(accountId, stripe)));
+        Update update = new Update()
+                .inc("balance", amount.minor())
+                .setOnInsert("accountId", accountId)
+                .setOnInsert("stripe", stripe);
+        return mongo.findAndModify(query, update, UPSERT, AccountStripe.class);
+    }
+
+    @Override
+    public Mono<AccountStripe> debitStripe(String accountId, int stripe, Money amount) {
+        Query query = Query.query(Criteria.where("id").is(AccountStripe.id(accountId, stripe))
+                .and("balance").gte(amount.minor()));
+        Update update = new Update().inc("balance", -amount.minor());
+        return mongo.findAndModify(query, update, RETURN_NEW, AccountStripe.class);
+    }
+
+    @Override
+    public Mono<Account> moveBase(String accountId, Money delta) {
+        Criteria criteria = Criteria.where("id").is(accountId);
+        if (delta.isNegative()) {
+            criteria = criteria.and("balance").gte(-delta.minor());
+        }
+        Update update = new Update().inc("balance", delta.minor());
+        return mongo.findAndModify(Query.query(criteria), update, RETURN_NEW, Account.class);
+    }
+
+    @Override
+    public Mono<Account> enableStripes(String accountId, int stripes) {
+        Query query = Query.query(Criteria.where("id").is(accountId).and("stripes").lt(stripes));
+        return mongo.findAndModify(query, new Update().set("stripes", stripes), RETURN_NEW, Account.class);
+    }
+}
@@ -0,0 +1,10 @@
+package transactions_service.domain.repository;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import transactions_service.domain.model.AccountStripe;
+
+public interface AccountStripeRepository extends ReactiveMongoRepository<AccountStripe, String>, AccountStripeOperations {
+
+    Flux<AccountStripe> findByAccountId(String accountId);
+}
@@ -0,0 +1,19 @@
+package transactions_service.domain.repository;
+
+import reactor.core.publisher.Mono;
+import transactions_service.domain.model.IdempotencyRecord;
+
+import java.time.Instant;
+
+/**
+ * Relevo atómico de una reserva de idempotencia abandonada.
+ */
+public interface IdempotencyRecordOperations {
+
+    /**
+     * Pasa la clave a {@code claim} solo si sigue sin transacción y reservada en {@code claimedAt}
+     * (la reserva que se leyó). Devuelve el registro ya relevado, o vacío si otra instancia se adelantó
+     * o la operación original terminó.
+     */
+    Mono<IdempotencyRecord> takeOver(IdempotencyRecord claim, Instant claimedAt);
+}
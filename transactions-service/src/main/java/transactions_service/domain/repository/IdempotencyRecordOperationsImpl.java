@@ -0,0 +1,34 @@
+package transactions_service.domain.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+import transactions_service.domain.model.IdempotencyRecord;
+
+import java.time.Instant;
+
+@RequiredArgsConstructor
+public class IdempotencyRecordOperationsImpl implements IdempotencyRecordOperations {
+
+    private static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
+
+    private final ReactiveMongoTemplate mongo;
+
+    @Override
+    public Mono<IdempotencyRecord> takeOver(IdempotencyRecord claim, Instant claimedAt) {
+        // claimedAt hace de compare-and-set: de dos relevos concurrentes solo casa el primero
+        Query query = Query.query(Criteria.where("key").is(claim.getKey())
+                .and("transaction").is(null)
+                .and("claimedAt").is(claimedAt));
+        Update update = new Update()
+                .set("fingerprint", claim.getFingerprint())
+                .set("transactionId", claim.getTransactionId())
+                .set("claimedAt", claim.getClaimedAt())
+                .set("expiresAt", claim.getExpiresAt());
+        return mongo.findAndModify(query, update, RETURN_NEW, IdempotencyRecord.class);
+    }
+}
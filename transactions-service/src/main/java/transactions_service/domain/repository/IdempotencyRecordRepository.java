@@ -0,0 +1,8 @@
+package transactions_service.domain.repository;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import transactions_service.domain.model.IdempotencyRecord;
+
+public interface IdempotencyRecordRepository extends ReactiveMongoRepository<IdempotencyRecord, String>,
+        IdempotencyRecordOperations {
+}
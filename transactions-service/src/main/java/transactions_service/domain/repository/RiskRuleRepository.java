@@ -1,11 +1,10 @@
 package transactions_service.domain.repository;
 
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Mono;
 import transactions_service.domain.model.RiskRule;
 
-import java.util.Optional;
+public interface RiskRuleRepository extends ReactiveMongoRepository<RiskRule, String> {
 
-public interface RiskRuleRepository extends ReactiveMongoRepository<RiskRule, Long> {
-
-    Optional<RiskRule> findFirstByCurrency(String currency);
+    Mono<RiskRule> findFirstByCurrency(String currency);
 }
@@ -0,0 +1,25 @@
+package transactions_service.domain.repository;
+
+import reactor.core.publisher.Mono;
+import transactions_service.domain.model.Transaction;
+
+import java.util.List;
+
+public interface TransactionBulkOperations {
+
+    /**
+     * Intentos rechazados: colección aparte para no mezclarlos con el historial de la cuenta.
+     */
+    String REJECTIONS_COLLECTION = "transaction_rejections";
+
+    /**
+     * Inserta los documentos en un único bulk write no ordenado.
+     * Los ids deben venir asignados: así reintentar es idempotente (los duplicados se ignoran).
+     */
+    Mono<Void> insertUnordered(List<Transaction> transactions);
+
+    /**
+     * Igual que {@link #insertUnordered}, pero en {@link #REJECTIONS_COLLECTION}.
+     */
+    Mono<Void> insertRejected(List<Transaction> transactions);
+}
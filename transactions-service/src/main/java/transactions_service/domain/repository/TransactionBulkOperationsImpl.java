@@ -0,0 +1,52 @@
+package transactions_service.domain.repository;
+
+import com.mongodb.MongoBulkWriteException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Mono;
+import transactions_service.domain.model.Transaction;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class TransactionBulkOperationsImpl implements TransactionBulkOperations {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final ReactiveMongoTemplate mongo;
+
+    @Override
+    public Mono<Void> insertUnordered(List<Transaction> transactions) {
+        return insert(transactions, mongo.getCollectionName(Transaction.class));
+    }
+
+    @Override
+    public Mono<Void> insertRejected(List<Transaction> transactions) {
+        return insert(transactions, REJECTIONS_COLLECTION);
+    }
+
+    private Mono<Void> insert(List<Transaction> transactions, String collection) {
+        if (transactions.isEmpty()) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> mongo.bulkOps(BulkMode.UNORDERED, Transaction.class, collection)
+                        .insert(transactions)
+                        .execute())
+                .then()
+                // Un reintento tras un fallo parcial vuelve a enviar documentos ya escritos
+                .onErrorResume(e -> onlyDuplicates(e) ? Mono.empty() : Mono.error(e));
+    }
+
+    /**
+     * El traductor de Spring convierte cualquier bulk con un duplicado en DuplicateKeyException,
+     * así que se mira la excepción original del driver.
+     */
+    static boolean onlyDuplicates(Throwable e) {
+        Throwable cause = e instanceof MongoBulkWriteException ? e : e.getCause();
+        return cause instanceof MongoBulkWriteException bulk
+                && bulk.getWriteConcernError() == null
+                && !bulk.getWriteErrors().isEmpty()
+                && bulk.getWriteErrors().stream().allMatch(err -> err.getCode() == DUPLICATE_KEY);
+    }
+}
@@ -0,0 +1,31 @@
+package transactions_service.domain.repository;
+
+import reactor.core.publisher.Flux;
+import transactions_service.domain.model.Transaction;
+
+import java.time.Instant;
+import java.util.Collection;
+
+public interface TransactionKeysetOperations {
+
+    /**
+     * Transacciones de la cuenta ordenadas por (timestamp desc, id desc), empezando después de
+     * (beforeTimestamp, beforeId); sin posición previa empieza por la más reciente.
+     * Es una consulta de rango sobre el índice (accountId, timestamp, _id): no salta documentos.
+     */
+    Flux<Transaction> findPage(String accountId, Instant beforeTimestamp, String beforeId, int limit);
+
+    /**
+     * Transacciones posteriores a (afterTimestamp, afterId) en orden (timestamp, id) ascendente, de las
+     * cuentas indicadas (todas si está vacío); la de esa posición no se incluye. Sin {@code afterId}
+     * entran todas las de {@code afterTimestamp}. Sirve para reenviar a un cliente SSE lo que se perdió
+     * al reconectar.
+     */
+    Flux<Transaction> findSince(Collection<String> accountIds, Instant afterTimestamp, String afterId, int limit);
+
+    /**
+     * Hasta {@code limit} débitos OK con id mayor que {@code afterId}, en orden de id. El ObjectId lleva
+     * la hora, así que es un rango sobre _id. Solo trae id, accountId, amount y timestamp.
+     */
+    Flux<Transaction> findDebitsAfter(String afterId, int limit);
+}
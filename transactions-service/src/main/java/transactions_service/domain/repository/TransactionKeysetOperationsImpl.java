@@ -0,0 +1,68 @@
+package transactions_service.domain.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import transactions_service.domain.model.Transaction;
+
+import java.time.Instant;
+import java.util.Collection;
+
+@RequiredArgsConstructor
+public class TransactionKeysetOperationsImpl implements TransactionKeysetOperations {
+
+    private final ReactiveMongoTemplate mongo;
+
+    @Override
+    public Flux<Transaction> findPage(String accountId, Instant beforeTimestamp, String beforeId, int limit) {
+        return mongo.find(pageQuery(accountId, beforeTimestamp, beforeId, limit), Transaction.class);
+    }
+
+    @Override
+    public Flux<Transaction> findSince(Collection<String> accountIds, Instant afterTimestamp, String afterId,
+                                       int limit) {
+        return mongo.find(sinceQuery(accountIds, afterTimestamp, afterId, limit), Transaction.class);
+    }
+
+    @Override
+    public Flux<Transaction> findDebitsAfter(String afterId, int limit) {
+        return mongo.find(debitsQuery(afterId, limit), Transaction.class);
+    }
+
+    static Query debitsQuery(String afterId, int limit) {
+        Query query = Query.query(Criteria.where("id").gt(afterId).and("type").is("DEBIT").and("status").is("OK"))
+                .with(Sort.by(Sort.Direction.ASC, "id"))
+                .limit(limit);
+        query.fields().include("accountId", "amount", "timestamp");
+        return query;
+    }
+
+    static Query sinceQuery(Collection<String> accountIds, Instant afterTimestamp, String afterId, int limit) {
+        Criteria after = afterId == null
+                ? Criteria.where("timestamp").gte(afterTimestamp)
+                : new Criteria().orOperator(
+                        Criteria.where("timestamp").gt(afterTimestamp),
+                        Criteria.where("timestamp").is(afterTimestamp).and("id").gt(afterId));
+        Criteria criteria = accountIds.isEmpty()
+                ? after
+                : new Criteria().andOperator(Criteria.where("accountId").in(accountIds), after);
+        return Query.query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "timestamp", "id"))
+                .limit(limit);
+    }
+
+    static Query pageQuery(String accountId, Instant beforeTimestamp, String beforeId, int limit) {
+        Criteria criteria = Criteria.where("accountId").is(accountId);
+        if (beforeTimestamp != null) {
+            criteria = criteria.orOperator(
+                    Criteria.where("timestamp").lt(beforeTimestamp),
+                    Criteria.where("timestamp").is(beforeTimestamp).and("id").lt(beforeId));
+        }
+        return Query.query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "timestamp", "id"))
+                .limit(limit);
+    }
+}
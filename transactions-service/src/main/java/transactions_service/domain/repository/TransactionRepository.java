@@ -5,8 +5,12 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import transactions_service.domain.model.Transaction;
 
-public interface TransactionRepository extends ReactiveMongoRepository<Transaction, String> {
+public interface TransactionRepository extends ReactiveMongoRepository<Transaction, String>, TransactionBulkOperations,
+        TransactionKeysetOperations {
 
     Flux<Transaction> findByAccountIdOrderByTimestampDesc(String accountId);
+
+    // Tramo del ledger posterior a un snapshot; rango sobre el índice (accountId, sequence)
+    Flux<Transaction> findByAccountIdAndSequenceGreaterThanOrderBySequenceAsc(String accountId, long sequence);
  //   Mono<?> save(Transaction ok);
 }
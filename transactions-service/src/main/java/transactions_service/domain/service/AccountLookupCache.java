@@ -0,0 +1,95 @@
+package transactions_service.domain.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import transactions_service.domain.model.Account;
+import transactions_service.domain.repository.AccountRepository;
+import transactions_service.infrastructure.config.TransactionsProperties;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Caché acotada número de cuenta → (id, moneda, stripes, segmento) delante de {@code findByNumber}.
+ * Las búsquedas concurrentes de una misma cuenta comparten una sola consulta; las cuentas
+ * inexistentes también se guardan, con un TTL corto. El saldo no se cachea nunca.
+ */
+@Component
+public class AccountLookupCache {
+
+    static final String CACHE_NAME = "accounts";
+
+    private final AccountRepository accountRepo;
+    private final AsyncCache<String, Optional<AccountRef>> cache;
+
+    public AccountLookupCache(AccountRepository accountRepo, TransactionsProperties props, MeterRegistry registry) {
+        this.accountRepo = accountRepo;
+        TransactionsProperties.AccountCache cfg = props.getAccountCache();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cfg.getMaxSize())
+                .expireAfter(new PositiveNegativeExpiry(cfg.getTtl(), cfg.getNegativeTtl()))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.synchronous().stats().hitRate())
+                .tag("cache", CACHE_NAME)
+                .register(registry);
+    }
+
+    /**
+     * Vacío si la cuenta no existe. Cancelar la suscripción no cancela la carga compartida.
+     */
+    public Mono<AccountRef> resolve(String accountNumber) {
+        return Mono.fromFuture(() -> cache.get(accountNumber, (number, executor) -> load(number)), true)
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    public void invalidate(String accountNumber) {
+        cache.synchronous().invalidate(accountNumber);
+    }
+
+    private CompletableFuture<Optional<AccountRef>> load(String accountNumber) {
+        return accountRepo.findByNumber(accountNumber)
+                .map(AccountRef::of)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .toFuture();
+    }
+
+    public record AccountRef(String id, String number, String currency, int stripes, String segment) {
+        static AccountRef of(Account account) {
+            return new AccountRef(account.getId(), account.getNumber(), account.getCurrency(), account.getStripes(),
+                    account.getSegment());
+        }
+
+        public boolean striped() {
+            return stripes > 1;
+        }
+    }
+
+    private record PositiveNegativeExpiry(Duration ttl, Duration negativeTtl)
+            implements Expiry<String, Optional<AccountRef>> {
+
+        @Override
+        public long expireAfterCreate(String key, Optional<AccountRef> value, long currentTime) {
+            return (value.isPresent() ? ttl : negativeTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Optional<AccountRef> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Optional<AccountRef> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package transactions_service.domain.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import transactions_service.domain.dto.AccountBalance;
+import transactions_service.domain.model.Money;
+import transactions_service.domain.repository.AccountRepository;
+import transactions_service.domain.repository.AccountStripeRepository;
+import transactions_service.domain.service.AccountLookupCache.AccountRef;
+import transactions_service.infrastructure.exception.ErrorCode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Saldo repartido para cuentas muy calientes: los abonos van a un stripe al azar, así que no compiten
+ * por el mismo documento. Un débito sale entero de una sola parte (el base o un stripe) con un único
+ * findAndModify condicional; no se reparte entre varias porque Mongo no las movería de forma atómica
+ * y un fallo a medias dejaría dinero fuera del saldo. Si ninguna parte basta sola, se rechaza con
+ * insufficient_funds aunque la suma alcance.
+ * Estas cuentas salen del ledger: ni los stripes ni el saldo base avanzan su secuencia, los lotes las
+ * rechazan y la reconstrucción las omite. Numerar cada abono volvería a serializarlos en la cuenta.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BalanceStripes {
+
+    static final int BASE = -1;
+    static final int MAX_STRIPES = 64;
+
+    private final AccountRepository accountRepo;
+    private final AccountStripeRepository stripes;
+    private final AccountLookupCache accounts;
+
+    public Mono<Void> credit(AccountRef acc, Money amount) {
+        int stripe = ThreadLocalRandom.current().nextInt(acc.stripes());
+        return stripes.creditStripe(acc.id(), stripe, amount).then();
+    }
+
+    /**
+     * {@code false} si ninguna parte cubre el importe por sí sola (o todas las que lo cubrían
+     * cambiaron entre la lectura y la escritura).
+     */
+    public Mono<Boolean> debit(AccountRef acc, Money amount) {
+        long wanted = amount.minor();
+        return parts(acc.id()).flatMap(parts -> {
+            // Empezando al azar, para que los débitos concurrentes no vayan todos al mismo stripe
+            int offset = ThreadLocalRandom.current().nextInt(parts.size());
+            List<Part> candidates = new ArrayList<>(parts.size());
+            for (int i = 0; i < parts.size(); i++) {
+                Part p = parts.get((offset + i) % parts.size());
+                if (p.balance() >= wanted) {
+                    candidates.add(p);
+                }
+            }
+            // Cada intento es una sola escritura condicional: si otra la vació antes, se prueba la siguiente
+            return Flux.fromIterable(candidates)
+                    .concatMap(p -> take(acc.id(), p.stripe(), amount))
+                    .any(Boolean::booleanValue);
+        });
+    }
+
+    /**
+     * Saldo lógico: el base de la cuenta más todos sus stripes. Se leen los stripes aunque la caché
+     * diga que no los tiene, porque otra instancia pudo activarlos hace poco.
+     */
+    public Mono<AccountBalance> balance(String accountNumber) {
+        return accounts.resolve(accountNumber)
+                .switchIfEmpty(Mono.error(ErrorCode.ACCOUNT_NOT_FOUND.exception()))
+                .flatMap(acc -> accountRepo.findById(acc.id()))
+                .switchIfEmpty(Mono.error(ErrorCode.ACCOUNT_NOT_FOUND.exception()))
+                .flatMap(account -> stripes.findByAccountId(account.getId())
+                        .map(s -> s.getBalance().minor())
+                        .reduce(account.getBalance().minor(), Math::addExact)
+                        .map(total -> new AccountBalance(account.getNumber(), account.getCurrency(),
+                                Money.ofMinor(total), account.getStripes())));
+    }
+
+    /**
+     * Activa {@code count} stripes para la cuenta; el saldo que ya tenía queda como base. Solo crece:
+     * pedir menos de los que ya tiene no cambia nada. Las demás instancias no esperan a que caduque su
+     * caché: las escrituras del ledger no casan con una cuenta con stripes, y al fallar se relee.
+     */
+    public Mono<AccountBalance> enable(String accountNumber, int count) {
+        if (count < 2 || count > MAX_STRIPES) {
+            return Mono.error(ErrorCode.INVALID_STRIPE_COUNT.exception());
+        }
+        return accounts.resolve(accountNumber)
+                .switchIfEmpty(Mono.error(ErrorCode.ACCOUNT_NOT_FOUND.exception()))
+                .flatMap(acc -> stripes.enableStripes(acc.id(), count))
+                .doOnNext(updated -> log.info("Cuenta {} repartida en {} stripes", accountNumber, count))
+                .then(Mono.fromRunnable(() -> accounts.invalidate(accountNumber)))
+                .then(balance(accountNumber));
+    }
+
+    private Mono<List<Part>> parts(String accountId) {
+        Mono<Part> base = accountRepo.findById(accountId)
+                .map(a -> new Part(BASE, a.getBalance().minor()));
+        return base.concatWith(stripes.findByAccountId(accountId)
+                        .map(s -> new Part(s.getStripe(), s.getBalance().minor())))
+                .collectList();
+    }
+
+    private Mono<Boolean> take(String accountId, int stripe, Money amount) {
+        if (stripe == BASE) {
+            return stripes.moveBase(accountId, amount.negate()).hasElement();
+        }
+        return stripes.debitStripe(accountId, stripe, amount).hasElement();
+    }
+
+    private record Part(int stripe, long balance) {
+    }
+}
@@ -0,0 +1,249 @@
+package transactions_service.domain.service;
+
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import transactions_service.domain.dto.BatchItemResult;
+import transactions_service.domain.dto.CreateTxRequest;
+import transactions_service.domain.model.Account;
+import transactions_service.domain.model.Money;
+import transactions_service.domain.model.Transaction;
+import transactions_service.domain.repository.AccountRepository;
+import transactions_service.domain.repository.TransactionRepository;
+import transactions_service.infrastructure.audit.RejectionRecorder;
+import transactions_service.infrastructure.config.TransactionsProperties;
+import transactions_service.infrastructure.exception.BusinessException;
+import transactions_service.infrastructure.exception.ErrorCode;
+import transactions_service.infrastructure.lane.AccountLaneExecutor;
+import transactions_service.infrastructure.stream.TransactionStreamRouter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ingesta por lotes: agrupa por cuenta, decide cada movimiento en orden contra el saldo leído,
+ * aplica el efecto neto de la cuenta en una sola escritura condicional e inserta las
+ * transacciones aceptadas con un bulk write no ordenado.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BatchTransactionService {
+
+    private final AccountRepository accountRepo;
+    private final TransactionRepository txRepo;
+    private final RiskService riskService;
+    private final TransactionStreamRouter streams;
+    private final AccountLaneExecutor lanes;
+    private final Validator validator;
+    private final TransactionsProperties props;
+    private final RejectionRecorder rejections;
+    private final LedgerService ledger;
+
+    public Mono<List<BatchItemResult>> create(Flux<CreateTxRequest> requests) {
+        int maxItems = props.getBatch().getMaxItems();
+        return requests.take(maxItems + 1L)
+                .collectList()
+                .flatMap(items -> {
+                    if (items.size() > maxItems) {
+                        return Mono.error(ErrorCode.BATCH_TOO_LARGE.exception());
+                    }
+                    BatchItemResult[] results = new BatchItemResult[items.size()];
+                    Map<String, List<Item>> byAccount = group(items, results);
+
+                    return Flux.fromIterable(byAccount.entrySet())
+                            .flatMap(e -> lanes.submit(e.getKey(), () -> applyAccount(e.getKey(), e.getValue(), results))
+                                            .onErrorResume(ex -> {
+                                                String reason = ex instanceof BusinessException
+                                                        ? ex.getMessage()
+                                                        : "internal_error";
+                                                e.getValue().forEach(it ->
+                                                        results[it.index()] = BatchItemResult.rejected(it.index(), reason));
+                                                return Mono.empty();
+                                            }),
+                                    props.getBatch().getAccountConcurrency())
+                            .then(Mono.fromSupplier(() -> Arrays.asList(results)));
+                });
+    }
+
+    private Map<String, List<Item>> group(List<CreateTxRequest> items, BatchItemResult[] results) {
+        Map<String, List<Item>> byAccount = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            CreateTxRequest req = items.get(i);
+            if (!validator.validate(req).isEmpty()) {
+                results[i] = BatchItemResult.rejected(i, "invalid_request");
+                continue;
+            }
+            // El plan trata como abono todo lo que no sea DEBIT: un tipo desconocido no debe llegar
+            if (!req.knownType()) {
+                results[i] = BatchItemResult.rejected(i, ErrorCode.INVALID_TYPE.code());
+                continue;
+            }
+            byAccount.computeIfAbsent(req.getAccountNumber(), k -> new ArrayList<>())
+                    .add(new Item(i, req.getType().toUpperCase(), req.getAmount()));
+        }
+        return byAccount;
+    }
+
+    private Mono<Void> applyAccount(String accountNumber, List<Item> items, BatchItemResult[] results) {
+        return accountRepo.findByNumber(accountNumber)
+                .switchIfEmpty(Mono.error(ErrorCode.ACCOUNT_NOT_FOUND.exception()))
+                .flatMap(acc -> apply(acc, items, results, 1));
+    }
+
+    private Mono<Void> apply(Account acc, List<Item> items, BatchItemResult[] results, int attempt) {
+        // Sus débitos no saldrían del saldo base: los stripes solo se mueven de uno en uno
+        if (acc.striped()) {
+            return Mono.error(ErrorCode.BATCH_STRIPED_ACCOUNT.exception());
+        }
+        if (items.stream().anyMatch(it -> !riskService.velocityReady(acc.getCurrency(), it.type()))) {
+            return Mono.error(ErrorCode.VELOCITY_WARMING_UP.exception());
+        }
+        Plan plan = plan(acc, items);
+        if (plan.acceptedCount() == 0) {
+            plan.commit(items, results, List.of(), true);
+            recordRejected(acc.getId(), items, plan);
+            return Mono.empty();
+        }
+        return accountRepo.applyDelta(acc.getId(), plan.net(), plan.required(), plan.acceptedCount())
+                .flatMap(updated -> persist(updated, items, plan, results).thenReturn(Boolean.TRUE))
+                // El saldo cambió desde la lectura, o la cuenta pasó a tener stripes: se vuelve a planificar
+                .switchIfEmpty(Mono.defer(() -> attempt < props.getBatch().getApplyAttempts()
+                        ? accountRepo.findById(acc.getId())
+                                .switchIfEmpty(Mono.error(ErrorCode.ACCOUNT_NOT_FOUND.exception()))
+                                .flatMap(fresh -> apply(fresh, items, results, attempt + 1))
+                                .thenReturn(Boolean.TRUE)
+                        : Mono.error(ErrorCode.CONCURRENT_UPDATE.exception())))
+                .then();
+    }
+
+    /**
+     * Decide cada movimiento en orden, como si se aplicaran uno a uno sobre el saldo leído.
+     * {@code required} es el saldo mínimo que garantiza que ningún prefijo quede en negativo.
+     */
+    private Plan plan(Account acc, List<Item> items) {
+        String[] reasons = new String[items.size()];
+        // En céntimos: el bucle no asigna nada; solo se envuelve en Money al final
+        long running = acc.getBalance().minor();
+        long net = 0;
+        long required = 0;
+        int accepted = 0;
+        // Débitos ya aceptados en este lote: cuentan para los límites de velocidad de los siguientes
+        long debited = 0;
+        int debits = 0;
+
+        for (int k = 0; k < items.size(); k++) {
+            Item it = items.get(k);
+            if (!it.amount().fitsCurrency(acc.getCurrency())) {
+                reasons[k] = ErrorCode.INVALID_AMOUNT.code();
+                continue;
+            }
+            if (!riskService.isAllowed(acc.getId(), acc.getSegment(), acc.getCurrency(), it.type(), it.amount(),
+                    debited, debits)) {
+                reasons[k] = ErrorCode.RISK_REJECTED.code();
+                continue;
+            }
+            long amount = it.amount().minor();
+            if ("DEBIT".equals(it.type())) {
+                if (running < amount) {
+                    reasons[k] = ErrorCode.INSUFFICIENT_FUNDS.code();
+                    continue;
+                }
+                running -= amount;
+                debited += amount;
+                debits++;
+                net = Math.subtractExact(net, amount);
+                required = Math.max(required, -net);
+            } else {
+                running = Math.addExact(running, amount);
+                net = Math.addExact(net, amount);
+            }
+            accepted++;
+        }
+        return new Plan(reasons, Money.ofMinor(net), Money.ofMinor(required), accepted);
+    }
+
+    private Mono<Void> persist(Account updated, List<Item> items, Plan plan, BatchItemResult[] results) {
+        Instant now = Instant.now();
+        // La escritura avanzó la secuencia una vez por aceptado: se reparten en el orden del lote
+        long first = updated.getSequence() - plan.acceptedCount();
+        long sequence = first;
+        List<Transaction> txs = new ArrayList<>(plan.acceptedCount());
+        for (int k = 0; k < items.size(); k++) {
+            if (plan.reasons()[k] == null) {
+                Item it = items.get(k);
+                txs.add(Transaction.builder()
+                        .id(new ObjectId().toHexString())
+                        .accountId(updated.getId())
+                        .type(it.type())
+                        .amount(it.amount())
+                        .timestamp(now)
+                        .status("OK")
+                        .sequence(++sequence)
+                        .build());
+            }
+        }
+        // Con ids asignados el reintento es idempotente
+        return txRepo.insertUnordered(txs)
+                .retryWhen(Retry.backoff(2, Duration.ofMillis(50)))
+                .thenReturn(Boolean.TRUE)
+                // El saldo ya se movió: los aceptados no son rechazos, y reintentarlos duplicaría el dinero
+                .onErrorResume(ex -> {
+                    log.error("Lote: saldo de {} aplicado pero {} transacciones sin guardar ({})",
+                            updated.getId(), txs.size(), txs.stream().map(Transaction::getId).toList(), ex);
+                    return Mono.just(Boolean.FALSE);
+                })
+                .doOnNext(persisted -> {
+                    plan.commit(items, results, txs, persisted);
+                    txs.forEach(tx -> riskService.applied(tx.getAccountId(), tx.getType(), tx.getAmount()));
+                    if (persisted) {
+                        txs.forEach(streams::publish);
+                        ledger.applied(updated.getId(), first, updated.getSequence());
+                    }
+                    recordRejected(updated.getId(), items, plan);
+                })
+                .then();
+    }
+
+    /**
+     * Solo con el plan ya confirmado: los reintentos por concurrent_update no duplican rechazos.
+     */
+    private void recordRejected(String accountId, List<Item> items, Plan plan) {
+        for (int k = 0; k < items.size(); k++) {
+            String reason = plan.reasons()[k];
+            if (reason != null) {
+                Item it = items.get(k);
+                rejections.record(accountId, it.type(), it.amount(), reason);
+            }
+        }
+    }
+
+    private record Item(int index, String type, Money amount) {
+    }
+
+    private record Plan(String[] reasons, Money net, Money required, int acceptedCount) {
+
+        void commit(List<Item> items, BatchItemResult[] results, List<Transaction> txs, boolean persisted) {
+            int next = 0;
+            for (int k = 0; k < items.size(); k++) {
+                int index = items.get(k).index();
+                if (reasons[k] != null) {
+                    results[index] = BatchItemResult.rejected(index, reasons[k]);
+                } else {
+                    String id = txs.get(next++).getId();
+                    results[index] = persisted ? BatchItemResult.ok(index, id) : BatchItemResult.unpersisted(index, id);
+                }
+            }
+        }
+    }
+}
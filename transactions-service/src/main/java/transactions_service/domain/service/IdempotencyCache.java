@@ -0,0 +1,170 @@
+package transactions_service.domain.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import transactions_service.domain.model.IdempotencyRecord;
+import transactions_service.domain.model.Transaction;
+import transactions_service.domain.repository.IdempotencyRecordRepository;
+import transactions_service.domain.repository.TransactionRepository;
+import transactions_service.infrastructure.config.TransactionsProperties;
+import transactions_service.infrastructure.exception.ErrorCode;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Deduplicación de POST por Idempotency-Key en dos niveles: una caché acotada en memoria y,
+ * detrás, la colección {@code idempotency_keys} con índice TTL. Los duplicados concurrentes en una
+ * instancia comparten una sola ejecución; entre instancias, la inserción de la clave hace de reserva.
+ * Solo se guardan los éxitos: si la operación falla la clave se libera y el reintento vuelve a ejecutar.
+ * Una reserva sin transacción pasado {@code lease} (la instancia se cayó a mitad) se puede relevar:
+ * antes se busca la transacción por el id que se le reservó, y si existe se devuelve en vez de repetirla.
+ */
+@Slf4j
+@Component
+public class IdempotencyCache {
+
+    static final String CACHE_NAME = "idempotency";
+
+    private final IdempotencyRecordRepository repo;
+    private final TransactionRepository txRepo;
+    private final TransactionsProperties.Idempotency cfg;
+    private final AsyncCache<String, Stored> cache;
+    private final Counter storedReplays;
+
+    public IdempotencyCache(IdempotencyRecordRepository repo, TransactionRepository txRepo, TransactionsProperties props,
+                            MeterRegistry registry) {
+        this.repo = repo;
+        this.txRepo = txRepo;
+        this.cfg = props.getIdempotency();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cfg.getCacheMaxSize())
+                .expireAfterWrite(cfg.getCacheTtl())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+        this.storedReplays = registry.counter("transactions.idempotency.replays", "tier", "mongo");
+    }
+
+    /**
+     * Ejecuta {@code action} una sola vez por clave y devuelve siempre la misma transacción.
+     * {@code action} recibe el id que debe llevar la transacción que cree.
+     * {@code fingerprint} resume la petición: reutilizar la clave con otra petición es un error.
+     * Cancelar la suscripción no cancela la ejecución en curso.
+     */
+    public Mono<Transaction> execute(String key, String fingerprint, Function<String, Mono<Transaction>> action) {
+        if (key.length() > cfg.getMaxKeyLength()) {
+            return Mono.error(ErrorCode.INVALID_IDEMPOTENCY_KEY.exception());
+        }
+        return Mono.fromFuture(() -> cache.get(key, (k, executor) -> claimOrLoad(k, fingerprint, action)), true)
+                .flatMap(stored -> stored.fingerprint().equals(fingerprint)
+                        ? Mono.just(stored.transaction())
+                        : Mono.error(ErrorCode.IDEMPOTENCY_KEY_REUSED.exception()));
+    }
+
+    private CompletableFuture<Stored> claimOrLoad(String key, String fingerprint,
+                                                  Function<String, Mono<Transaction>> action) {
+        IdempotencyRecord claim = claim(key, fingerprint);
+        // Solo el fallo de la reserva significa "ya existe"; los de la operación se propagan
+        return repo.insert(claim)
+                .map(claimed -> true)
+                .onErrorResume(DuplicateKeyException.class, e -> Mono.just(false))
+                .flatMap(claimed -> claimed ? run(claim, action) : load(key, fingerprint, action))
+                .toFuture();
+    }
+
+    private IdempotencyRecord claim(String key, String fingerprint) {
+        Instant now = Instant.now();
+        return IdempotencyRecord.builder()
+                .key(key)
+                .fingerprint(fingerprint)
+                .transactionId(new ObjectId().toHexString())
+                .claimedAt(now)
+                .expiresAt(now.plus(cfg.getRetention()))
+                .build();
+    }
+
+    private Mono<Stored> run(IdempotencyRecord claimed, Function<String, Mono<Transaction>> action) {
+        return Mono.defer(() -> action.apply(claimed.getTransactionId()))
+                .flatMap(tx -> complete(claimed, tx))
+                .onErrorResume(e -> release(claimed.getKey()).then(Mono.error(e)));
+    }
+
+    private Mono<Stored> complete(IdempotencyRecord claimed, Transaction tx) {
+        claimed.setTransaction(tx);
+        // El movimiento ya está aplicado: si no se puede completar la clave no se libera. Un relevo
+        // tras el lease encontrará la transacción por su id y no la repetirá
+        return repo.save(claimed)
+                .onErrorResume(e -> {
+                    log.warn("No se pudo completar la clave de idempotencia {}: {}",
+                            claimed.getKey(), e.toString());
+                    return Mono.empty();
+                })
+                .thenReturn(new Stored(claimed.getFingerprint(), tx));
+    }
+
+    private Mono<Stored> load(String key, String fingerprint, Function<String, Mono<Transaction>> action) {
+        return repo.findById(key)
+                .flatMap(found -> {
+                    if (found.getTransaction() != null) {
+                        storedReplays.increment();
+                        return Mono.just(new Stored(found.getFingerprint(), found.getTransaction()));
+                    }
+                    if (!abandoned(found)) {
+                        return Mono.error(ErrorCode.IDEMPOTENCY_IN_PROGRESS.exception());
+                    }
+                    if (!found.getFingerprint().equals(fingerprint)) {
+                        return Mono.error(ErrorCode.IDEMPOTENCY_KEY_REUSED.exception());
+                    }
+                    return takeOver(found, action);
+                })
+                .switchIfEmpty(Mono.error(ErrorCode.IDEMPOTENCY_IN_PROGRESS.exception()));
+    }
+
+    // Las reservas anteriores al lease no tienen claimedAt: se tratan como vencidas
+    private boolean abandoned(IdempotencyRecord found) {
+        return found.getClaimedAt() == null || found.getClaimedAt().plus(cfg.getLease()).isBefore(Instant.now());
+    }
+
+    /**
+     * La operación original pudo llegar a crear la transacción y caerse antes de completar la clave:
+     * si existe, se completa con ella. Si no, se releva la reserva y se ejecuta.
+     */
+    private Mono<Stored> takeOver(IdempotencyRecord found, Function<String, Mono<Transaction>> action) {
+        Mono<Transaction> existing = found.getTransactionId() == null
+                ? Mono.empty()
+                : txRepo.findById(found.getTransactionId());
+        return existing
+                .flatMap(tx -> {
+                    storedReplays.increment();
+                    return complete(found, tx);
+                })
+                .switchIfEmpty(Mono.defer(() -> {
+                    IdempotencyRecord claim = claim(found.getKey(), found.getFingerprint());
+                    return repo.takeOver(claim, found.getClaimedAt())
+                            .doOnNext(taken -> log.info("Clave de idempotencia {} relevada tras el lease", taken.getKey()))
+                            .flatMap(taken -> run(claim, action))
+                            .switchIfEmpty(Mono.error(ErrorCode.IDEMPOTENCY_IN_PROGRESS.exception()));
+                }));
+    }
+
+    private Mono<Void> release(String key) {
+        return repo.deleteById(key)
+                .onErrorResume(e -> {
+                    log.warn("No se pudo liberar la clave de idempotencia {}: {}", key, e.toString());
+                    return Mono.empty();
+                });
+    }
+
+    private record Stored(String fingerprint, Transaction transaction) {
+    }
+}
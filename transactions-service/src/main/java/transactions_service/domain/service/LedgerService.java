@@ -0,0 +1,198 @@
+package transactions_service.domain.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import transactions_service.domain.model.Account;
+import transactions_service.domain.model.AccountSnapshot;
+import transactions_service.domain.model.Money;
+import transactions_service.domain.model.Transaction;
+import transactions_service.domain.repository.AccountRepository;
+import transactions_service.domain.repository.AccountSnapshotRepository;
+import transactions_service.domain.repository.TransactionRepository;
+import transactions_service.infrastructure.config.TransactionsProperties;
+import transactions_service.infrastructure.journal.TransactionJournal;
+
+import java.time.Instant;
+
+/**
+ * Saldos derivados del ledger: las transacciones con {@code sequence} son la fuente de verdad y
+ * {@code Account.balance} es una proyección. Una cuenta se reconstruye desde su último snapshot
+ * reaplicando solo las transacciones posteriores; la reconstrucción se detiene en el primer hueco
+ * de secuencia (p. ej. una transacción aún en el journal), así que nunca salta movimientos.
+ * Un hueco que no se cierra (el saldo se movió pero la transacción no llegó a guardarse) detiene el
+ * ledger de esa cuenta: se avisa en el log y en {@code transactions.ledger.stalled}. Con el journal
+ * activo solo se avisa cuando no le queda nada por volcar, porque hasta entonces el hueco puede ser
+ * solo retraso. Se consulta y se reconstruye desde {@code /actuator/ledger}.
+ * Las cuentas con stripes no llevan secuencia (ver {@link BalanceStripes}) y quedan fuera.
+ */
+@Slf4j
+@Service
+public class LedgerService {
+
+    private final AccountRepository accountRepo;
+    private final TransactionRepository txRepo;
+    private final AccountSnapshotRepository snapshots;
+    private final TransactionJournal journal;
+    private final TransactionsProperties.Ledger cfg;
+    private final Counter stalled;
+
+    public LedgerService(AccountRepository accountRepo, TransactionRepository txRepo,
+                         AccountSnapshotRepository snapshots, TransactionJournal journal, TransactionsProperties props,
+                         MeterRegistry registry) {
+        this.accountRepo = accountRepo;
+        this.txRepo = txRepo;
+        this.snapshots = snapshots;
+        this.journal = journal;
+        this.cfg = props.getLedger();
+        this.stalled = registry.counter("transactions.ledger.stalled");
+    }
+
+    /**
+     * Solo tiene sentido para cuentas sin stripes: en las otras el ledger se quedó en la secuencia
+     * que tenían al activarlos.
+     */
+    public Mono<LedgerBalance> rebuild(String accountId) {
+        return snapshots.findFirstByAccountIdOrderBySequenceDesc(accountId)
+                .defaultIfEmpty(AccountSnapshot.builder().accountId(accountId).balance(Money.ZERO).build())
+                .flatMap(base -> {
+                    Replay replay = new Replay(base);
+                    return txRepo.findByAccountIdAndSequenceGreaterThanOrderBySequenceAsc(accountId, base.getSequence())
+                            .takeWhile(replay::apply)
+                            .then(Mono.fromSupplier(replay::result));
+                });
+    }
+
+    /**
+     * Reconstruye todas las cuentas sin stripes, {@code rebuildParallelism} a la vez (por defecto una
+     * por núcleo). El orden de salida no es el de las cuentas.
+     */
+    public Flux<LedgerBalance> rebuildAll() {
+        int parallelism = cfg.getRebuildParallelism() > 0
+                ? cfg.getRebuildParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        return accountRepo.findAll()
+                .filter(account -> !account.striped())
+                .map(Account::getId)
+                .parallel(parallelism)
+                .runOn(Schedulers.parallel())
+                .flatMap(this::rebuild, false, 1, 1)
+                .sequential();
+    }
+
+    /**
+     * Guarda un snapshot con lo reconstruido, si avanzó respecto al anterior.
+     * El id es cuenta + secuencia: dos snapshots concurrentes de la misma posición son el mismo documento.
+     */
+    public Mono<AccountSnapshot> snapshot(String accountId) {
+        return rebuild(accountId).flatMap(this::snapshot);
+    }
+
+    /**
+     * Igual que {@link #snapshot(String)} con una reconstrucción ya hecha; vacío si no avanzó.
+     */
+    public Mono<AccountSnapshot> snapshot(LedgerBalance rebuilt) {
+        if (rebuilt.replayed() == 0) {
+            return Mono.empty();
+        }
+        return snapshots.save(snapshotOf(rebuilt.accountId(), rebuilt.sequence(), rebuilt.balance()));
+    }
+
+    /**
+     * Snapshot de apertura para una cuenta cuyo saldo no sale del ledger (alta o datos previos al ledger).
+     */
+    public Mono<AccountSnapshot> open(Account account) {
+        return snapshots.save(snapshotOf(account.getId(), account.getSequence(), account.getBalance()));
+    }
+
+    /**
+     * Avisa de que la cuenta pasó de {@code fromSequence} a {@code toSequence}. Si cruzó un múltiplo de
+     * {@code snapshotEvery} se toma un snapshot en segundo plano, sin retrasar la respuesta.
+     * Con el journal activo la transacción se confirma antes de llegar a Mongo, así que se espera
+     * {@code journalDelay} antes de reconstruir.
+     * Si el ledger ni siquiera llega a {@code fromSequence}, los movimientos anteriores ya confirmados
+     * tienen un hueco: se avisa, porque desde ahí ningún snapshot avanzará por sí solo.
+     */
+    public void applied(String accountId, long fromSequence, long toSequence) {
+        int every = cfg.getSnapshotEvery();
+        if (every <= 0 || fromSequence / every == toSequence / every) {
+            return;
+        }
+        boolean journaled = journal.isEnabled();
+        Mono<LedgerBalance> boundary = journaled
+                ? Mono.delay(cfg.getJournalDelay()).then(Mono.defer(() -> rebuild(accountId)))
+                : rebuild(accountId);
+        boundary
+                .doOnNext(rebuilt -> {
+                    // Con registros aún por volcar el hueco puede estar en camino: no se da por detenido
+                    if (rebuilt.sequence() < fromSequence && (!journaled || journal.pending() == 0)) {
+                        stalled.increment();
+                        log.warn("Ledger de {} detenido: falta la secuencia {} y la cuenta va por la {}",
+                                accountId, rebuilt.sequence() + 1, toSequence);
+                    }
+                })
+                .flatMap(this::snapshot)
+                .subscribe(null, e -> log.warn("No se pudo guardar el snapshot de {}: {}", accountId, e.toString()));
+    }
+
+    private static AccountSnapshot snapshotOf(String accountId, long sequence, Money balance) {
+        return AccountSnapshot.builder()
+                .id(accountId + ":" + sequence)
+                .accountId(accountId)
+                .sequence(sequence)
+                .balance(balance)
+                .takenAt(Instant.now())
+                .build();
+    }
+
+    /**
+     * Saldo de {@code accountId} tras aplicar hasta {@code sequence}; {@code replayed} son las
+     * transacciones leídas después del snapshot.
+     */
+    public record LedgerBalance(String accountId, long sequence, Money balance, int replayed) {
+
+        /**
+         * {@code true} si la proyección guardada en la cuenta coincide con el ledger en la misma posición.
+         */
+        public boolean matches(Account account) {
+            return account.getSequence() == sequence && balance.equals(account.getBalance());
+        }
+    }
+
+    /**
+     * Acumulador en céntimos: no crea objetos por transacción.
+     */
+    private static final class Replay {
+        private final String accountId;
+        private long sequence;
+        private long balance;
+        private int replayed;
+
+        Replay(AccountSnapshot base) {
+            this.accountId = base.getAccountId();
+            this.sequence = base.getSequence();
+            this.balance = base.getBalance().minor();
+        }
+
+        boolean apply(Transaction tx) {
+            if (tx.getSequence() == null || tx.getSequence() != sequence + 1) {
+                return false;
+            }
+            long amount = tx.getAmount().minor();
+            balance = "DEBIT".equals(tx.getType())
+                    ? Math.subtractExact(balance, amount)
+                    : Math.addExact(balance, amount);
+            sequence++;
+            replayed++;
+            return true;
+        }
+
+        LedgerBalance result() {
+            return new LedgerBalance(accountId, sequence, Money.ofMinor(balance), replayed);
+        }
+    }
+}
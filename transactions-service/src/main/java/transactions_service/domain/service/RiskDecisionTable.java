@@ -0,0 +1,266 @@
+package transactions_service.domain.service;
+
+import lombok.extern.slf4j.Slf4j;
+import transactions_service.domain.model.Money;
+import transactions_service.domain.model.RiskRule;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+/**
+ * Reglas de decisión (moneda, tipo, banda de importe, segmento, hora) compiladas en índices de bits.
+ * Las reglas se ordenan por prioridad y cada valor de cada dimensión tiene un bitset de las reglas que
+ * admite; decidir es un AND palabra a palabra de cuatro bitsets hasta el primer bit a uno, que es la
+ * regla ganadora. Sin asignar memoria ni comparar regla a regla: con N reglas, a lo sumo {@code N/64} palabras.
+ * Inmutable: {@link RiskRuleCache} publica una tabla nueva entera cuando cambian las reglas.
+ * La memoria crece con (monedas × tipos + segmentos + 24 + bandas distintas) × N/64 palabras.
+ */
+@Slf4j
+public final class RiskDecisionTable {
+
+    public enum Outcome { ALLOW, REJECT, NO_MATCH }
+
+    public static final RiskDecisionTable EMPTY = compile(List.of(), ZoneId.of("UTC"));
+
+    // Tal como llegaron de risk_rules: define la igualdad entre tablas
+    private final List<RiskRule> source;
+    // Válidas y ordenadas por prioridad: el bit i es rules.get(i)
+    private final List<RiskRule> rules;
+    private final Outcome[] outcomes;
+    private final int words;
+
+    // Tipos con nombre propio en alguna regla; el último índice es "cualquier otro tipo"
+    private final String[] types;
+    // Moneda → bitset por índice de tipo; las monedas sin regla propia usan anyCurrency
+    private final Map<String, long[][]> byCurrency;
+    private final long[][] anyCurrency;
+    private final Map<String, long[]> bySegment;
+    private final long[] anySegment;
+    private final long[][] byHour;
+    // Bordes de banda ordenados; la banda k es [edges[k-1], edges[k])
+    private final long[] edges;
+    private final long[][] byBand;
+
+    private final ZoneRules zone;
+    private final int fixedOffsetSeconds;
+
+    private RiskDecisionTable(List<RiskRule> source, List<RiskRule> rules, ZoneId zoneId) {
+        this.source = source;
+        this.rules = rules;
+        int n = rules.size();
+        this.words = (n + 63) >>> 6;
+        this.outcomes = new Outcome[n];
+        for (int i = 0; i < n; i++) {
+            outcomes[i] = Outcome.valueOf(rules.get(i).getAction());
+        }
+
+        this.types = rules.stream()
+                .map(RiskRule::getType)
+                .filter(Objects::nonNull)
+                .map(t -> t.toUpperCase(Locale.ROOT))
+                .distinct()
+                .toArray(String[]::new);
+        this.anyCurrency = typeBits(null);
+        this.byCurrency = new HashMap<>();
+        for (RiskRule rule : rules) {
+            if (rule.getCurrency() != null) {
+                byCurrency.computeIfAbsent(rule.getCurrency(), this::typeBits);
+            }
+        }
+
+        this.anySegment = bits(rule -> rule.getSegment() == null);
+        this.bySegment = new HashMap<>();
+        for (RiskRule rule : rules) {
+            if (rule.getSegment() != null) {
+                bySegment.computeIfAbsent(rule.getSegment(),
+                        s -> bits(r -> r.getSegment() == null || r.getSegment().equals(s)));
+            }
+        }
+
+        this.byHour = new long[24][];
+        for (int h = 0; h < 24; h++) {
+            int hour = h;
+            byHour[h] = bits(rule -> coversHour(rule, hour));
+        }
+
+        TreeSet<Long> bounds = new TreeSet<>();
+        for (RiskRule rule : rules) {
+            if (rule.getMinAmount() != null) {
+                bounds.add(rule.getMinAmount().minor());
+            }
+            if (rule.getMaxAmount() != null) {
+                bounds.add(rule.getMaxAmount().minor());
+            }
+        }
+        this.edges = bounds.stream().mapToLong(Long::longValue).toArray();
+        this.byBand = new long[edges.length + 1][];
+        for (int k = 0; k <= edges.length; k++) {
+            // Cualquier importe de la banda vale como representante: sus reglas son las mismas
+            long representative = k == 0 ? Long.MIN_VALUE : edges[k - 1];
+            byBand[k] = bits(rule -> coversAmount(rule, representative));
+        }
+
+        this.zone = zoneId.getRules();
+        this.fixedOffsetSeconds = zone.isFixedOffset() ? zone.getOffset(Instant.EPOCH).getTotalSeconds() : 0;
+    }
+
+    /**
+     * Ordena por prioridad y compila. Las reglas mal formadas (acción desconocida, horas fuera
+     * de 0-23 o banda vacía) se descartan con un aviso, sin tumbar el resto.
+     */
+    public static RiskDecisionTable compile(List<RiskRule> decisions, ZoneId zone) {
+        List<RiskRule> valid = new ArrayList<>(decisions.size());
+        for (RiskRule rule : decisions) {
+            if (valid(rule)) {
+                valid.add(rule);
+            } else {
+                log.warn("Regla de riesgo {} ignorada: mal formada", rule.getId());
+            }
+        }
+        // sort es estable: a igual prioridad se mantiene el orden de llegada
+        valid.sort(Comparator.comparingInt((RiskRule r) -> r.getPriority() != null ? r.getPriority() : 0).reversed());
+        return new RiskDecisionTable(List.copyOf(decisions), List.copyOf(valid), zone);
+    }
+
+    /**
+     * Acción de la regla de mayor prioridad que cubre la operación; {@link Outcome#NO_MATCH} si ninguna.
+     * {@code segment} puede ser null (solo casan las reglas sin segmento).
+     */
+    public Outcome decide(String currency, String type, String segment, long amountMinor, long epochMillis) {
+        if (words == 0) {
+            return Outcome.NO_MATCH;
+        }
+        long[][] perType = currency != null ? byCurrency.get(currency) : null;
+        long[] byCurrencyAndType = (perType != null ? perType : anyCurrency)[typeIndex(type)];
+        long[] bySeg = segment != null ? bySegment.get(segment) : null;
+        if (bySeg == null) {
+            bySeg = anySegment;
+        }
+        long[] hour = byHour[hourOf(epochMillis)];
+        long[] band = byBand[band(amountMinor)];
+        for (int w = 0; w < words; w++) {
+            long match = byCurrencyAndType[w] & bySeg[w] & hour[w] & band[w];
+            if (match != 0) {
+                return outcomes[(w << 6) + Long.numberOfTrailingZeros(match)];
+            }
+        }
+        return Outcome.NO_MATCH;
+    }
+
+    public int size() {
+        return rules.size();
+    }
+
+    /**
+     * {@code true} si compilar {@code decisions} en {@code zone} daría esta misma tabla.
+     */
+    public boolean compiledFrom(List<RiskRule> decisions, ZoneId zoneId) {
+        return source.equals(decisions) && zone.equals(zoneId.getRules());
+    }
+
+    int hourOf(long epochMillis) {
+        long offset = fixedOffsetSeconds;
+        if (!zone.isFixedOffset()) {
+            offset = zone.getOffset(Instant.ofEpochMilli(epochMillis)).getTotalSeconds();
+        }
+        return (int) Math.floorMod(Math.floorDiv(epochMillis, 1000L) + offset, 86_400L) / 3600;
+    }
+
+    private int typeIndex(String type) {
+        if (type != null) {
+            for (int i = 0; i < types.length; i++) {
+                if (types[i].equalsIgnoreCase(type)) {
+                    return i;
+                }
+            }
+        }
+        return types.length;
+    }
+
+    private int band(long amountMinor) {
+        int i = Arrays.binarySearch(edges, amountMinor);
+        // En un borde, el importe ya pertenece a la banda que empieza ahí
+        return i >= 0 ? i + 1 : -i - 1;
+    }
+
+    /**
+     * Bitsets por índice de tipo para una moneda (null = las reglas sin moneda).
+     */
+    private long[][] typeBits(String currency) {
+        long[][] perType = new long[types.length + 1][];
+        for (int t = 0; t <= types.length; t++) {
+            String type = t < types.length ? types[t] : null;
+            perType[t] = bits(rule -> (rule.getCurrency() == null || rule.getCurrency().equals(currency))
+                    && (rule.getType() == null || rule.getType().equalsIgnoreCase(type)));
+        }
+        return perType;
+    }
+
+    private long[] bits(Predicate<RiskRule> matches) {
+        long[] set = new long[words];
+        for (int i = 0; i < rules.size(); i++) {
+            if (matches.test(rules.get(i))) {
+                set[i >>> 6] |= 1L << i;
+            }
+        }
+        return set;
+    }
+
+    private static boolean coversHour(RiskRule rule, int hour) {
+        if (rule.getFromHour() == null || rule.getToHour() == null) {
+            return true;
+        }
+        int from = rule.getFromHour();
+        int to = rule.getToHour();
+        if (from == to) {
+            return true;
+        }
+        return from < to ? hour >= from && hour < to : hour >= from || hour < to;
+    }
+
+    private static boolean coversAmount(RiskRule rule, long amountMinor) {
+        return (rule.getMinAmount() == null || amountMinor >= rule.getMinAmount().minor())
+                && (rule.getMaxAmount() == null || amountMinor < rule.getMaxAmount().minor());
+    }
+
+    private static boolean valid(RiskRule rule) {
+        if (!"ALLOW".equals(rule.getAction()) && !"REJECT".equals(rule.getAction())) {
+            return false;
+        }
+        if (!validHour(rule.getFromHour()) || !validHour(rule.getToHour())) {
+            return false;
+        }
+        // Una franja con un solo extremo no dice dónde acaba: mejor descartarla que adivinar
+        if ((rule.getFromHour() == null) != (rule.getToHour() == null)) {
+            return false;
+        }
+        Money min = rule.getMinAmount();
+        Money max = rule.getMaxAmount();
+        return min == null || max == null || min.compareTo(max) < 0;
+    }
+
+    private static boolean validHour(Integer hour) {
+        return hour == null || (hour >= 0 && hour < 24);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof RiskDecisionTable other && source.equals(other.source) && zone.equals(other.zone);
+    }
+
+    @Override
+    public int hashCode() {
+        return source.hashCode();
+    }
+}
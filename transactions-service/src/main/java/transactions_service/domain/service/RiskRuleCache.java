@@ -0,0 +1,140 @@
+package transactions_service.domain.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import transactions_service.domain.model.Money;
+import transactions_service.domain.model.RiskRule;
+import transactions_service.domain.repository.RiskRuleRepository;
+import transactions_service.infrastructure.config.TransactionsProperties;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tabla en memoria de límites por moneda (por transacción y de velocidad) y de reglas de decisión
+ * ya compiladas ({@link RiskDecisionTable}). Se carga al arrancar y se relee periódicamente; solo se
+ * reemplaza (de forma atómica, las tres cosas a la vez) cuando risk_rules cambió.
+ */
+@Slf4j
+@Component
+public class RiskRuleCache {
+
+    private final RiskRuleRepository riskRepo;
+    private final Duration refreshInterval;
+    private final ZoneId zone;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter refreshes;
+
+    private volatile Rules current = new Rules(Map.of(), Map.of(), RiskDecisionTable.EMPTY);
+    private Disposable poller;
+
+    public RiskRuleCache(RiskRuleRepository riskRepo, MeterRegistry registry, TransactionsProperties props) {
+        this.riskRepo = riskRepo;
+        this.refreshInterval = props.getRisk().getRefreshInterval();
+        this.zone = props.getRisk().getZone();
+        this.hits = registry.counter("risk.rules.cache.hits");
+        this.misses = registry.counter("risk.rules.cache.misses");
+        this.refreshes = registry.counter("risk.rules.cache.refreshes");
+    }
+
+    @PostConstruct
+    void start() {
+        poller = Flux.interval(Duration.ZERO, refreshInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> Mono.defer(this::refresh)
+                        .onErrorResume(e -> {
+                            log.warn("No se pudo refrescar risk_rules: {}", e.toString());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (poller != null) {
+            poller.dispose();
+        }
+    }
+
+    /**
+     * Relee risk_rules y publica la nueva tabla si difiere de la actual.
+     * Emite {@code true} cuando hubo cambio.
+     */
+    public Mono<Boolean> refresh() {
+        return riskRepo.findAll()
+                .collectList()
+                .map(rules -> {
+                    Map<String, Money> maxDebit = new HashMap<>();
+                    Map<String, VelocityLimits> velocity = new HashMap<>();
+                    List<RiskRule> decisions = new ArrayList<>();
+                    for (RiskRule rule : rules) {
+                        if (rule.decision()) {
+                            decisions.add(rule);
+                        } else if (rule.getCurrency() != null && !maxDebit.containsKey(rule.getCurrency())) {
+                            // Igual que findFirstByCurrency: gana la primera regla de cada moneda
+                            maxDebit.put(rule.getCurrency(),
+                                    rule.getMaxDebitPerTx() != null ? rule.getMaxDebitPerTx() : Money.ZERO);
+                            VelocityLimits limits = VelocityLimits.of(rule);
+                            if (!limits.unlimited()) {
+                                velocity.put(rule.getCurrency(), limits);
+                            }
+                        }
+                    }
+                    // Compilar miles de reglas en cada sondeo sería en balde si no cambiaron
+                    RiskDecisionTable table = current.decisions().compiledFrom(decisions, zone)
+                            ? current.decisions()
+                            : RiskDecisionTable.compile(decisions, zone);
+                    Rules next = new Rules(Map.copyOf(maxDebit), Map.copyOf(velocity), table);
+                    if (next.equals(current)) {
+                        return false;
+                    }
+                    current = next;
+                    refreshes.increment();
+                    return true;
+                });
+    }
+
+    /**
+     * Límite de débito por transacción; cero si la moneda no tiene regla.
+     */
+    public Money maxDebitPerTx(String currency) {
+        Money max = currency != null ? current.maxDebit().get(currency) : null;
+        if (max == null) {
+            misses.increment();
+            return Money.ZERO;
+        }
+        hits.increment();
+        return max;
+    }
+
+    /**
+     * Límites de velocidad por cuenta; {@link VelocityLimits#NONE} si la moneda no tiene.
+     */
+    public VelocityLimits velocity(String currency) {
+        VelocityLimits limits = currency != null ? current.velocity().get(currency) : null;
+        return limits != null ? limits : VelocityLimits.NONE;
+    }
+
+    /**
+     * Reglas de decisión vigentes; la tabla leída no cambia aunque se publique otra mientras se usa.
+     */
+    public RiskDecisionTable decisions() {
+        return current.decisions();
+    }
+
+    private record Rules(Map<String, Money> maxDebit, Map<String, VelocityLimits> velocity,
+                         RiskDecisionTable decisions) {
+    }
+}
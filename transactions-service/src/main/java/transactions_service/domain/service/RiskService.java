@@ -2,30 +2,74 @@ package transactions_service.domain.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
-import transactions_service.domain.model.RiskRule;
-import transactions_service.domain.repository.RiskRuleRepository;
-
-import java.math.BigDecimal;
+import transactions_service.domain.model.Money;
+import transactions_service.domain.service.RiskDecisionTable.Outcome;
 
 @Service
 @RequiredArgsConstructor
 public class RiskService {
 
-    private final RiskRuleRepository riskRepo;
-
-    public Mono<Boolean> isAllowed(String currency, String type, BigDecimal amount) {
-        return Mono.fromCallable(() ->
-                        riskRepo.findFirstByCurrency(currency)
-                                .map(RiskRule::getMaxDebitPerTx)
-                                .orElse(new BigDecimal("0")))
-                .subscribeOn(Schedulers.boundedElastic())
-                .map(max -> {
-                    if ("DEBIT".equalsIgnoreCase(type)) {
-                        return amount.compareTo(max) <= 0;
-                    }
-                    return true;
-                });
+    private final RiskRuleCache rules;
+    private final VelocityCounters velocity;
+
+    /**
+     * Evaluación síncrona contra la tabla en memoria: sin I/O ni saltos de scheduler.
+     */
+    public boolean isAllowed(String currency, String type, Money amount) {
+        return allowedByRules(null, currency, type, amount, System.currentTimeMillis());
+    }
+
+    /**
+     * Rechaza si la regla de decisión que gana es REJECT. ALLOW solo significa "no denegado": tapa las
+     * REJECT de menor prioridad, pero no levanta el límite por transacción de la moneda (que solo
+     * afecta a los débitos).
+     */
+    private boolean allowedByRules(String segment, String currency, String type, Money amount, long nowMillis) {
+        Outcome outcome = rules.decisions().decide(currency, type, segment, amount.minor(), nowMillis);
+        if (outcome == Outcome.REJECT) {
+            return false;
+        }
+        if (!"DEBIT".equalsIgnoreCase(type)) {
+            return true;
+        }
+        return amount.compareTo(rules.maxDebitPerTx(currency)) <= 0;
+    }
+
+    /**
+     * Además de lo anterior, los límites de velocidad de la cuenta, contra sus contadores en memoria.
+     */
+    public boolean isAllowed(String accountId, String segment, String currency, String type, Money amount) {
+        return isAllowed(accountId, segment, currency, type, amount, 0, 0);
+    }
+
+    /**
+     * Para lotes: {@code pendingMinor}/{@code pendingCount} son los débitos del lote ya aceptados.
+     */
+    public boolean isAllowed(String accountId, String segment, String currency, String type, Money amount,
+                             long pendingMinor, int pendingCount) {
+        long now = System.currentTimeMillis();
+        if (!allowedByRules(segment, currency, type, amount, now)) {
+            return false;
+        }
+        return !"DEBIT".equalsIgnoreCase(type)
+                || velocity.allows(accountId, rules.velocity(currency), amount.minor(),
+                pendingMinor, pendingCount, now);
+    }
+
+    /**
+     * {@code false} si es un débito con límites de velocidad y los contadores aún se rellenan al
+     * arrancar: comprobarlo ahora lo dejaría pasar contra contadores incompletos.
+     */
+    public boolean velocityReady(String currency, String type) {
+        return velocity.isReady() || !"DEBIT".equalsIgnoreCase(type) || rules.velocity(currency).unlimited();
+    }
+
+    /**
+     * Anota un movimiento ya aplicado; solo los débitos cuentan para la velocidad.
+     */
+    public void applied(String accountId, String type, Money amount) {
+        if ("DEBIT".equalsIgnoreCase(type)) {
+            velocity.record(accountId, amount.minor(), System.currentTimeMillis());
+        }
     }
 }
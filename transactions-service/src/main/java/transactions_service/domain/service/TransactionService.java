@@ -1,21 +1,36 @@
 package transactions_service.domain.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.Sinks;
-import reactor.core.scheduler.Schedulers;
 import transactions_service.domain.dto.CreateTxRequest;
+import transactions_service.domain.dto.TransactionCursor;
+import transactions_service.domain.dto.TransactionPage;
 import transactions_service.domain.model.Account;
+import transactions_service.domain.model.Money;
 import transactions_service.domain.model.Transaction;
 import transactions_service.domain.repository.AccountRepository;
 import transactions_service.domain.repository.TransactionRepository;
+import transactions_service.domain.service.AccountLookupCache.AccountRef;
+import transactions_service.infrastructure.audit.RejectionRecorder;
+import transactions_service.infrastructure.config.TransactionsProperties;
 import transactions_service.infrastructure.exception.BusinessException;
+import transactions_service.infrastructure.exception.ErrorCode;
+import transactions_service.infrastructure.groupcommit.TransactionGroupCommit;
+import transactions_service.infrastructure.journal.TransactionJournal;
+import transactions_service.infrastructure.lane.AccountLaneExecutor;
+import transactions_service.infrastructure.metrics.StageTimers;
+import transactions_service.infrastructure.metrics.StageTimers.Stage;
+import transactions_service.infrastructure.stream.OverflowPolicy;
+import transactions_service.infrastructure.stream.StreamEvent;
+import transactions_service.infrastructure.stream.TransactionStreamRouter;
 
-import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -24,62 +39,253 @@ public class TransactionService {
     private final AccountRepository accountRepo;
     private final TransactionRepository txRepo;
     private final RiskService riskService;
-    private final Sinks.Many<Transaction> txSink;
+    private final TransactionStreamRouter streams;
+    private final AccountLaneExecutor lanes;
+    private final TransactionGroupCommit groupCommit;
+    private final TransactionsProperties props;
+    private final AccountLookupCache accounts;
+    private final RejectionRecorder rejections;
+    private final IdempotencyCache idempotency;
+    private final TransactionJournal journal;
+    private final LedgerService ledger;
+    private final BalanceStripes stripes;
+    private final StageTimers timers;
+
+    /**
+     * Con {@code idempotencyKey} los reintentos de la misma petición devuelven la transacción
+     * original sin volver a tocar el saldo.
+     */
+    public Mono<Transaction> create(CreateTxRequest req, String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return create(req);
+        }
+        return idempotency.execute(idempotencyKey, fingerprint(req), txId -> createWithId(req, txId));
+    }
 
     public Mono<Transaction> create(CreateTxRequest req) {
-        return accountRepo.findByNumber(req.getAccountNumber())
-                .switchIfEmpty(Mono.error(new BusinessException("account_not_found")))
-                .flatMap(acc -> validateAndApply(acc, req))
+        return createWithId(req, null);
+    }
+
+    /**
+     * {@code txId} es el id que llevará la transacción; null para asignarlo al guardarla.
+     */
+    private Mono<Transaction> createWithId(CreateTxRequest req, String txId) {
+        // El saldo trata como abono todo lo que no sea DEBIT: un tipo desconocido no debe llegar
+        if (!req.knownType()) {
+            return Mono.error(ErrorCode.INVALID_TYPE.exception());
+        }
+        if ("CREDIT".equalsIgnoreCase(req.getType())) {
+            // Los abonos a una cuenta con stripes no compiten entre sí: no pasan por la cola de la cuenta
+            return Mono.defer(() -> timers.time(Stage.LOOKUP, "CREDIT", accounts.resolve(req.getAccountNumber())))
+                    .filter(AccountRef::striped)
+                    .flatMap(acc -> validateAndApply(acc, req, txId))
+                    .flatMap(this::persistAndPublish)
+                    .switchIfEmpty(Mono.defer(() -> createInLane(req, txId)));
+        }
+        return createInLane(req, txId);
+    }
+
+    private Mono<Transaction> createInLane(CreateTxRequest req, String txId) {
+        return Mono.defer(() -> {
+                    long queued = timers.start();
+                    // Los movimientos de saldo de una misma cuenta se serializan en su cola. Guardar y
+                    // publicar van fuera: un insert lento no frena a las demás cuentas de la cola
+                    return lanes.submit(req.getAccountNumber(), () -> {
+                        String type = req.getType().toUpperCase();
+                        timers.record(Stage.LANE, type, queued, StageTimers.OK);
+                        return timers.time(Stage.LOOKUP, type, accounts.resolve(req.getAccountNumber()))
+                                .switchIfEmpty(reject(null, type, req.getAmount(), ErrorCode.ACCOUNT_NOT_FOUND))
+                                .flatMap(acc -> validateAndApply(acc, req, txId));
+                    });
+                })
+                .flatMap(this::persistAndPublish)
                 .onErrorMap(IllegalStateException.class,
                         e -> new BusinessException(e.getMessage()));
     }
 
-    private Mono<Transaction> validateAndApply(Account acc, CreateTxRequest req) {
+    /**
+     * Valida y mueve el saldo. Devuelve la transacción aún sin guardar; con secuencia si la cuenta
+     * lleva ledger.
+     */
+    private Mono<Transaction> validateAndApply(AccountRef acc, CreateTxRequest req, String txId) {
         String type = req.getType().toUpperCase();
-        BigDecimal amount = req.getAmount();
+        Money amount = req.getAmount();
 
-        return riskService.isAllowed(acc.getCurrency(), type, amount)
-                .flatMap(allowed -> {
-                    if (!allowed) {
-                        return Mono.error(new BusinessException("risk_rejected"));
-                    }
+        // Escala fija de dos decimales; una moneda sin céntimos no admite importes fraccionarios
+        if (!amount.fitsCurrency(acc.currency())) {
+            return reject(acc.id(), type, amount, ErrorCode.INVALID_AMOUNT);
+        }
+        if (!riskService.velocityReady(acc.currency(), type)) {
+            return Mono.error(ErrorCode.VELOCITY_WARMING_UP.exception());
+        }
+        long riskStart = timers.start();
+        boolean allowed = riskService.isAllowed(acc.id(), acc.segment(), acc.currency(), type, amount);
+        timers.record(Stage.RISK, type, riskStart, allowed ? StageTimers.OK : ErrorCode.RISK_REJECTED.code());
+        if (!allowed) {
+            return reject(acc.id(), type, amount, ErrorCode.RISK_REJECTED);
+        }
 
-                    if ("DEBIT".equals(type) && acc.getBalance().compareTo(amount) < 0) {
-                        return Mono.error(new BusinessException("insufficient_funds"));
-                    }
+        if (acc.striped()) {
+            return applyStriped(acc, type, amount, txId);
+        }
+        return timers.time(Stage.BALANCE, type, applyBalance(acc, type, amount))
+                // El saldo ya se movió: cuenta para la velocidad aunque la persistencia tarde
+                .doOnNext(saved -> riskService.applied(acc.id(), type, amount))
+                .map(saved -> Transaction.builder()
+                        .id(txId)
+                        .accountId(saved.getId())
+                        .type(type)
+                        .amount(amount)
+                        .timestamp(Instant.now())
+                        .status("OK")
+                        .sequence(saved.getSequence())
+                        .build())
+                // La cuenta se repartió en stripes (quizá en otra instancia) y la caché aún no lo sabía
+                .switchIfEmpty(Mono.defer(() -> accounts.resolve(acc.number())
+                        .flatMap(fresh -> applyStriped(fresh, type, amount, txId))
+                        .switchIfEmpty(reject(acc.id(), type, amount, ErrorCode.ACCOUNT_NOT_FOUND))));
+    }
+
+    private Mono<Transaction> applyStriped(AccountRef acc, String type, Money amount, String txId) {
+        return timers.time(Stage.BALANCE, type, moveStriped(acc, type, amount))
+                .then(Mono.fromSupplier(() -> {
+                    riskService.applied(acc.id(), type, amount);
+                    return Transaction.builder()
+                            .id(txId)
+                            .accountId(acc.id())
+                            .type(type)
+                            .amount(amount)
+                            .timestamp(Instant.now())
+                            .status("OK")
+                            .build();
+                }));
+    }
 
-                    return Mono.just(acc)
-                            .publishOn(Schedulers.parallel())
-                            .map(a -> {
-                                BigDecimal newBal = "DEBIT".equals(type)
-                                        ? a.getBalance().subtract(amount)
-                                        : a.getBalance().add(amount);
-                                a.setBalance(newBal);
-                                return a;
-                            })
-                            .flatMap(accountRepo::save)
-                            .flatMap(saved -> txRepo.save(Transaction.builder()
-                                    .accountId(saved.getId())
-                                    .type(type)
-                                    .amount(amount)
-                                    .timestamp(Instant.now())
-                                    .status("OK")
-                                    .build()))
-                            .doOnNext(tx -> txSink.tryEmitNext(tx));
+    private Mono<Transaction> persistAndPublish(Transaction tx) {
+        return persist(tx)
+                .doOnNext(saved -> {
+                    if (tx.getSequence() != null) {
+                        ledger.applied(tx.getAccountId(), tx.getSequence() - 1, tx.getSequence());
+                    }
+                    publish(saved);
                 });
     }
 
-    public Flux<Transaction> byAccount(String accountNumber) {
-        return accountRepo.findByNumber(accountNumber)
-                .switchIfEmpty(Mono.error(new BusinessException("account_not_found")))
-                .flatMapMany(acc ->
-                        txRepo.findByAccountIdOrderByTimestampDesc(acc.getId()));
+    /**
+     * Con el journal activo el movimiento se confirma al quedar en disco local y llega a Mongo después.
+     */
+    private Mono<Transaction> persist(Transaction tx) {
+        return timers.time(Stage.PERSIST, tx.getType(),
+                journal.isEnabled() ? journal.append(tx) : groupCommit.save(tx));
+    }
+
+    private void publish(Transaction tx) {
+        long start = timers.start();
+        streams.publish(tx);
+        timers.record(Stage.PUBLISH, tx.getType(), start, StageTimers.OK);
+    }
+
+    /**
+     * Aplica el movimiento con un único findAndModify condicional.
+     * El saldo no se lee antes: el guard lo evalúa Mongo. Solo si no hay match se relee la cuenta,
+     * para distinguir el rechazo de una cuenta que ya tiene stripes: en ese caso se descarta de la
+     * caché y se devuelve vacío para que el movimiento vaya a los stripes.
+     */
+    private Mono<Account> applyBalance(AccountRef acc, String type, Money amount) {
+        Mono<Account> write = "DEBIT".equals(type)
+                ? accountRepo.debitIfSufficient(acc.id(), amount)
+                : accountRepo.credit(acc.id(), amount);
+        return write.switchIfEmpty(Mono.defer(() -> accountRepo.findById(acc.id())
+                // La cuenta cacheada ya no existe: se descarta para que la próxima búsqueda vaya a Mongo
+                .switchIfEmpty(Mono.fromRunnable(() -> accounts.invalidate(acc.number())))
+                .switchIfEmpty(reject(acc.id(), type, amount, ErrorCode.ACCOUNT_NOT_FOUND))
+                .flatMap(fresh -> fresh.striped()
+                        ? Mono.<Account>fromRunnable(() -> accounts.invalidate(acc.number()))
+                        : reject(acc.id(), type, amount, ErrorCode.INSUFFICIENT_FUNDS))));
+    }
+
+    private static String fingerprint(CreateTxRequest req) {
+        return req.getAccountNumber() + '|' + req.getType().toUpperCase() + '|' + req.getAmount().minor();
+    }
+
+    private Mono<Void> moveStriped(AccountRef acc, String type, Money amount) {
+        if ("DEBIT".equals(type)) {
+            return stripes.debit(acc, amount)
+                    .flatMap(ok -> ok ? Mono.<Void>empty() : reject(acc.id(), type, amount, ErrorCode.INSUFFICIENT_FUNDS));
+        }
+        return stripes.credit(acc, amount);
+    }
+
+    /**
+     * Rechazo de negocio: se anota el intento (muestreado, en segundo plano) y se propaga el error.
+     */
+    private <T> Mono<T> reject(String accountId, String type, Money amount, ErrorCode code) {
+        return Mono.defer(() -> {
+            rejections.record(accountId, type, amount, code.code());
+            return Mono.error(code.exception());
+        });
+    }
+
+    /**
+     * Página de historial por keyset: {@code cursor} es el {@code nextCursor} de la página anterior.
+     * Se pide un elemento más del límite para saber si hay página siguiente.
+     */
+    public Mono<TransactionPage> page(String accountNumber, Integer limit, String cursor) {
+        return Mono.defer(() -> {
+            int size = pageSize(limit);
+            TransactionCursor after = cursor == null || cursor.isBlank() ? null : TransactionCursor.decode(cursor);
+            return accounts.resolve(accountNumber)
+                    .switchIfEmpty(Mono.error(ErrorCode.ACCOUNT_NOT_FOUND.exception()))
+                    .flatMap(acc -> txRepo.findPage(acc.id(),
+                                    after == null ? null : after.timestamp(),
+                                    after == null ? null : after.id(),
+                                    size + 1)
+                            .collectList())
+                    .map(found -> found.size() <= size
+                            ? new TransactionPage(found, null)
+                            : new TransactionPage(found.subList(0, size),
+                                    TransactionCursor.of(found.get(size - 1)).encode()));
+        });
+    }
+
+    private int pageSize(Integer limit) {
+        TransactionsProperties.Pagination cfg = props.getPagination();
+        if (limit == null) {
+            return cfg.getDefaultLimit();
+        }
+        if (limit < 1) {
+            throw ErrorCode.INVALID_LIMIT.exception();
+        }
+        return Math.min(limit, cfg.getMaxLimit());
+    }
+
+    public Flux<StreamEvent> stream(List<String> accountNumbers) {
+        return stream(accountNumbers, null, null);
+    }
+
+    /**
+     * Eventos de las cuentas indicadas; sin cuentas, los de todas.
+     * Los números se resuelven antes de suscribirse: uno desconocido falla con account_not_found.
+     * {@code overflow} elige qué hacer si el cliente no consume a tiempo (por defecto, la configurada).
+     * Con {@code lastEventId} se reenvía primero lo perdido desde ese evento.
+     * Cada evento lleva ya su frame SSE codificado.
+     */
+    public Flux<StreamEvent> stream(List<String> accountNumbers, String overflow, String lastEventId) {
+        return Mono.fromCallable(() -> overflow == null || overflow.isBlank()
+                        ? props.getStream().getOverflowPolicy()
+                        : OverflowPolicy.parse(overflow))
+                .zipWith(resolveIds(accountNumbers))
+                .flatMapMany(t -> streams.subscribe(t.getT2(), t.getT1(), lastEventId,
+                        (from, max) -> txRepo.findSince(t.getT2(), Instant.ofEpochMilli(from.millis()),
+                                from.txId(), max)));
     }
 
-    public Flux<ServerSentEvent<Transaction>> stream() {
-        return txSink.asFlux()
-                .map(tx -> ServerSentEvent.builder(tx)
-                        .event("transaction")
-                        .build());
+    private Mono<Set<String>> resolveIds(List<String> accountNumbers) {
+        List<String> numbers = accountNumbers == null ? List.of() : accountNumbers;
+        return Flux.fromIterable(new LinkedHashSet<>(numbers))
+                .concatMap(number -> accounts.resolve(number)
+                        .switchIfEmpty(Mono.error(ErrorCode.ACCOUNT_NOT_FOUND.exception())))
+                .map(AccountRef::id)
+                .collect(Collectors.toSet());
     }
 }
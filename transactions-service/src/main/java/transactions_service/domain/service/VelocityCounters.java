@@ -0,0 +1,208 @@
+package transactions_service.domain.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import transactions_service.domain.model.Transaction;
+import transactions_service.domain.repository.TransactionRepository;
+import transactions_service.infrastructure.config.TransactionsProperties;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Suma y número de débitos por cuenta en ventanas deslizantes de un minuto, una hora y un día.
+ * Cada cuenta tiene un único {@link AtomicLongArray} con los buckets de las tres ventanas
+ * ({@code [época, suma, número]} por bucket); escribir es un CAS o dos {@code addAndGet} y leer
+ * no bloquea. Una ventana de {@code n} buckets guarda {@code n+1} y suma del actual al {@code now-n}:
+ * siempre cubre la ventana entera y puede sumar hasta un bucket de más, nunca de menos.
+ * Al arrancar se rellena con los débitos del último día, por páginas; hasta que termina no está
+ * {@link #isReady() lista} y los débitos con límites no se pueden comprobar.
+ * Una cuenta que sale de la caché (más de {@code maxAccounts} con débitos) pierde sus contadores y
+ * vuelve a empezar de cero; {@code maxAccounts} debe cubrir las cuentas que debitan en un día.
+ */
+@Slf4j
+@Component
+public class VelocityCounters {
+
+    public enum Window {
+        MINUTE(0, 12, Duration.ofSeconds(5)),
+        HOUR(13, 12, Duration.ofMinutes(5)),
+        DAY(26, 24, Duration.ofHours(1));
+
+        final int buckets;
+        // Un bucket más que la ventana: el del borde, en parte dentro y en parte fuera
+        final int slots;
+        final long bucketMillis;
+        // Primer bucket de la ventana dentro del array de la cuenta
+        final int offset;
+
+        Window(int offset, int buckets, Duration bucket) {
+            this.offset = offset;
+            this.buckets = buckets;
+            this.slots = buckets + 1;
+            this.bucketMillis = bucket.toMillis();
+        }
+
+        long bucket(long epochMillis) {
+            return epochMillis / bucketMillis;
+        }
+    }
+
+    // values() copia el array en cada llamada
+    private static final Window[] WINDOWS = Window.values();
+    private static final int SLOTS = Window.DAY.offset + Window.DAY.slots;
+    private static final long RESETTING = -1;
+    private static final Duration LONGEST = Duration.ofDays(1);
+
+    private final TransactionRepository txRepo;
+    private final TransactionsProperties.Velocity cfg;
+    private final Cache<String, AtomicLongArray> byAccount;
+    // Solo se cierra mientras corre el relleno del arranque
+    private volatile boolean ready = true;
+
+    public VelocityCounters(TransactionRepository txRepo, TransactionsProperties props) {
+        this.txRepo = txRepo;
+        this.cfg = props.getVelocity();
+        // Solo por tamaño: expirar por acceso lee el reloj en cada consulta y los buckets viejos ya no suman
+        this.byAccount = Caffeine.newBuilder()
+                .maximumSize(cfg.getMaxAccounts())
+                .build();
+    }
+
+    @PostConstruct
+    void start() {
+        if (cfg.isEnabled() && cfg.isRebuildOnStartup()) {
+            ready = false;
+            Instant now = Instant.now();
+            // Cada intento empieza de cero: lo anotado por uno fallido se contaría dos veces
+            Mono.defer(() -> {
+                        byAccount.invalidateAll();
+                        return rebuild(now);
+                    })
+                    .retryWhen(Retry.backoff(3, Duration.ofSeconds(1)))
+                    .doFinally(signal -> ready = true)
+                    .subscribe(
+                            n -> log.info("Contadores de velocidad rellenados con {} débitos", n),
+                            // Sin relleno, los límites del último día cuentan solo desde ahora
+                            e -> log.error("No se pudieron rellenar los contadores de velocidad: {}", e.toString()));
+        }
+    }
+
+    /**
+     * {@code false} mientras se rellenan los contadores al arrancar: hasta entonces un límite se
+     * quedaría corto.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Anota los débitos de las 24 h anteriores a {@code now}, leídos de {@code rebuildPageSize} en
+     * {@code rebuildPageSize} por _id. Emite cuántos se contaron.
+     */
+    public Mono<Long> rebuild(Instant now) {
+        Instant from = now.minus(LONGEST);
+        int pageSize = cfg.getRebuildPageSize();
+        return page(ObjectId.getSmallestWithDate(Date.from(from)).toHexString(), pageSize)
+                .expand(page -> page.size() < pageSize
+                        ? Mono.empty()
+                        : page(page.get(page.size() - 1).getId(), pageSize))
+                .flatMapIterable(page -> page)
+                // Lo posterior a now ya lo anota el camino normal
+                .filter(tx -> tx.getTimestamp() != null
+                        && tx.getTimestamp().isAfter(from) && tx.getTimestamp().isBefore(now))
+                .doOnNext(this::record)
+                .count();
+    }
+
+    private Mono<List<Transaction>> page(String afterId, int pageSize) {
+        return txRepo.findDebitsAfter(afterId, pageSize).collectList();
+    }
+
+    public void record(Transaction tx) {
+        record(tx.getAccountId(), tx.getAmount().minor(), tx.getTimestamp().toEpochMilli());
+    }
+
+    public void record(String accountId, long amountMinor, long atMillis) {
+        if (!cfg.isEnabled() || accountId == null) {
+            return;
+        }
+        AtomicLongArray counters = byAccount.get(accountId, id -> new AtomicLongArray(SLOTS * 3));
+        for (Window window : WINDOWS) {
+            add(counters, window, window.bucket(atMillis), amountMinor);
+        }
+    }
+
+    /**
+     * {@code true} si un débito más de {@code amountMinor} cabe en todas las ventanas con límite.
+     * {@code pendingMinor}/{@code pendingCount} son débitos ya aceptados que aún no se anotaron
+     * (los anteriores del mismo lote).
+     */
+    public boolean allows(String accountId, VelocityLimits limits, long amountMinor,
+                          long pendingMinor, int pendingCount, long nowMillis) {
+        if (limits.unlimited()) {
+            return true;
+        }
+        AtomicLongArray counters = cfg.isEnabled() ? byAccount.getIfPresent(accountId) : null;
+        for (Window window : WINDOWS) {
+            long maxSum = limits.maxSum(window);
+            long maxCount = limits.maxCount(window);
+            if (maxSum == Long.MAX_VALUE && maxCount == Long.MAX_VALUE) {
+                continue;
+            }
+            long sum = pendingMinor + amountMinor;
+            long count = pendingCount + 1L;
+            if (counters != null) {
+                long now = window.bucket(nowMillis);
+                for (int i = 0; i < window.slots; i++) {
+                    int base = 3 * (window.offset + i);
+                    long epoch = counters.get(base);
+                    if (epoch >= now - window.buckets && epoch <= now) {
+                        sum += counters.get(base + 1);
+                        count += counters.get(base + 2);
+                    }
+                }
+            }
+            if (sum > maxSum || count > maxCount) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * El bucket se reutiliza cuando su época quedó atrás: quien gana el CAS lo pone a cero
+     * y los demás esperan esas dos escrituras.
+     */
+    private static void add(AtomicLongArray counters, Window window, long bucket, long amountMinor) {
+        int base = 3 * (window.offset + (int) (bucket % window.slots));
+        while (true) {
+            long epoch = counters.get(base);
+            if (epoch == bucket) {
+                counters.addAndGet(base + 1, amountMinor);
+                counters.incrementAndGet(base + 2);
+                return;
+            }
+            if (epoch > bucket) {
+                // El bucket ya es de una vuelta posterior: el débito quedó fuera de la ventana
+                return;
+            }
+            if (epoch == RESETTING) {
+                Thread.onSpinWait();
+            } else if (counters.compareAndSet(base, epoch, RESETTING)) {
+                counters.set(base + 1, 0);
+                counters.set(base + 2, 0);
+                counters.set(base, bucket);
+            }
+        }
+    }
+}
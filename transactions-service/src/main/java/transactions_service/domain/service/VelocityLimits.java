@@ -0,0 +1,50 @@
+package transactions_service.domain.service;
+
+import transactions_service.domain.model.Money;
+import transactions_service.domain.model.RiskRule;
+
+/**
+ * Límites de velocidad de una moneda ya en céntimos y contadores, uno por ventana de
+ * {@link VelocityCounters.Window} (minuto, hora, día). {@code Long.MAX_VALUE} es "sin límite".
+ */
+public record VelocityLimits(long maxSumMinute, long maxSumHour, long maxSumDay,
+                             long maxCountMinute, long maxCountHour, long maxCountDay) {
+
+    public static final VelocityLimits NONE = new VelocityLimits(
+            Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE);
+
+    public static VelocityLimits of(RiskRule rule) {
+        VelocityLimits limits = new VelocityLimits(
+                minor(rule.getMaxDebitPerMinute()), minor(rule.getMaxDebitPerHour()), minor(rule.getMaxDebitPerDay()),
+                count(rule.getMaxDebitsPerMinute()), count(rule.getMaxDebitsPerHour()), count(rule.getMaxDebitsPerDay()));
+        return limits.equals(NONE) ? NONE : limits;
+    }
+
+    public boolean unlimited() {
+        return this == NONE;
+    }
+
+    long maxSum(VelocityCounters.Window window) {
+        return switch (window) {
+            case MINUTE -> maxSumMinute;
+            case HOUR -> maxSumHour;
+            case DAY -> maxSumDay;
+        };
+    }
+
+    long maxCount(VelocityCounters.Window window) {
+        return switch (window) {
+            case MINUTE -> maxCountMinute;
+            case HOUR -> maxCountHour;
+            case DAY -> maxCountDay;
+        };
+    }
+
+    private static long minor(Money max) {
+        return max == null ? Long.MAX_VALUE : max.minor();
+    }
+
+    private static long count(Integer max) {
+        return max == null ? Long.MAX_VALUE : max;
+    }
+}
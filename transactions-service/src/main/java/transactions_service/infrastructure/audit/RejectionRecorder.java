@@ -0,0 +1,129 @@
+package transactions_service.infrastructure.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import transactions_service.domain.model.Money;
+import transactions_service.domain.model.Transaction;
+import transactions_service.domain.repository.TransactionRepository;
+import transactions_service.infrastructure.config.TransactionsProperties;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Guarda los intentos rechazados (status REJECTED) para auditoría y fraude, fuera del camino
+ * de la petición: {@link #record} solo encola y vuelve. Un pipeline aparte los escribe por grupos
+ * en {@code transaction_rejections}, así el historial y sus índices no cambian.
+ * Se muestrea con {@code sampleRate}; si la cola está llena el rechazo se descarta y se cuenta, nunca se espera.
+ */
+@Slf4j
+@Component
+public class RejectionRecorder {
+
+    private final TransactionRepository txRepo;
+    private final TransactionsProperties.Rejections cfg;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Counter sampledOut;
+    private final Counter droppedOverflow;
+    private final Counter droppedWriteError;
+    private final Counter written;
+    private final DistributionSummary batchSize;
+
+    private volatile FluxSink<Transaction> inbox;
+    private Disposable pipeline;
+
+    public RejectionRecorder(TransactionRepository txRepo, TransactionsProperties props, MeterRegistry registry) {
+        this.txRepo = txRepo;
+        this.cfg = props.getRejections();
+        this.sampledOut = registry.counter("transactions.rejections.sampled.out");
+        this.droppedOverflow = registry.counter("transactions.rejections.dropped", "cause", "overflow");
+        this.droppedWriteError = registry.counter("transactions.rejections.dropped", "cause", "write_error");
+        this.written = registry.counter("transactions.rejections.written");
+        this.batchSize = DistributionSummary.builder("transactions.rejections.batch.size").register(registry);
+        Gauge.builder("transactions.rejections.pending", pending, AtomicInteger::get).register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!cfg.isEnabled() || cfg.getSampleRate() <= 0) {
+            return;
+        }
+        pipeline = Flux.<Transaction>create(sink -> inbox = sink)
+                .onBackpressureBuffer(Math.max(1, cfg.getQueueCapacity()), this::dropOverflow,
+                        BufferOverflowStrategy.DROP_LATEST)
+                .bufferTimeout(Math.max(1, cfg.getMaxItems()), cfg.getMaxDelay(), true)
+                .concatMap(this::flush)
+                .subscribe(null, e -> log.error("Registro de rechazos detenido", e));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (inbox != null) {
+            inbox.complete();
+        }
+        if (pipeline != null) {
+            pipeline.dispose();
+        }
+    }
+
+    /**
+     * Encola el intento rechazado si entra en la muestra. No bloquea ni falla nunca.
+     * {@code accountId} es nulo si la cuenta no existe.
+     */
+    public void record(String accountId, String type, Money amount, String reason) {
+        FluxSink<Transaction> sink = inbox;
+        if (sink == null) {
+            return;
+        }
+        double rate = cfg.getSampleRate();
+        if (rate < 1.0 && ThreadLocalRandom.current().nextDouble() >= rate) {
+            sampledOut.increment();
+            return;
+        }
+        pending.incrementAndGet();
+        sink.next(Transaction.builder()
+                .id(new ObjectId().toHexString())
+                .accountId(accountId)
+                .type(type)
+                .amount(amount)
+                .timestamp(Instant.now())
+                .status("REJECTED")
+                .reason(reason)
+                .build());
+    }
+
+    private void dropOverflow(Transaction tx) {
+        pending.decrementAndGet();
+        droppedOverflow.increment();
+    }
+
+    private Mono<Void> flush(List<Transaction> group) {
+        batchSize.record(group.size());
+        // Reintento corto; con ids asignados un reintento nunca duplica documentos
+        return txRepo.insertRejected(group)
+                .retryWhen(Retry.backoff(2, Duration.ofMillis(50)))
+                .doOnSuccess(v -> written.increment(group.size()))
+                .onErrorResume(e -> {
+                    log.warn("No se pudieron guardar {} rechazos: {}", group.size(), e.toString());
+                    droppedWriteError.increment(group.size());
+                    return Mono.empty();
+                })
+                .doFinally(s -> pending.addAndGet(-group.size()));
+    }
+}
@@ -0,0 +1,72 @@
+package transactions_service.infrastructure.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.reactivestreams.Publisher;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Añade application/cbor a la negociación de contenido. Usa la misma configuración de Jackson
+ * que JSON (módulos, fechas, Money), solo cambia el formato. JSON sigue siendo el formato por
+ * defecto: CBOR se usa únicamente si el cliente lo pide en Accept o Content-Type.
+ */
+@Configuration
+public class BinaryCodecsConfig implements WebFluxConfigurer {
+
+    private final ObjectMapper cborMapper;
+
+    public BinaryCodecsConfig(Jackson2ObjectMapperBuilder builder) {
+        this.cborMapper = builder.factory(new CBORFactory()).build();
+    }
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        configurer.customCodecs().register(decoder());
+        configurer.customCodecs().register(encoder());
+    }
+
+    public Jackson2CborDecoder decoder() {
+        return new Jackson2CborDecoder(cborMapper, MediaType.APPLICATION_CBOR);
+    }
+
+    public SingleValueCborEncoder encoder() {
+        return new SingleValueCborEncoder(cborMapper);
+    }
+
+    /**
+     * El encoder de Spring no implementa encode (lanza UnsupportedOperationException), que es lo que
+     * usa WebFlux para escribir cualquier cuerpo. Aquí un Mono se codifica como un único valor;
+     * los endpoints CBOR devuelven siempre un valor (la página ya viene como lista por la cabecera Link).
+     */
+    public static class SingleValueCborEncoder extends Jackson2CborEncoder {
+
+        public SingleValueCborEncoder(ObjectMapper mapper) {
+            super(mapper, MediaType.APPLICATION_CBOR);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                       ResolvableType elementType, @Nullable MimeType mimeType,
+                                       @Nullable Map<String, Object> hints) {
+            if (inputStream instanceof Mono<?> mono) {
+                return mono.map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints)).flux();
+            }
+            return super.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+        }
+    }
+}
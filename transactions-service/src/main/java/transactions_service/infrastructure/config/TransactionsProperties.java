@@ -0,0 +1,201 @@
+package transactions_service.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import transactions_service.infrastructure.stream.OverflowPolicy;
+
+import java.time.Duration;
+import java.time.ZoneId;
+
+/**
+ * Parámetros propios del servicio (prefijo {@code transactions} en application.yaml).
+ */
+@Data
+@ConfigurationProperties(prefix = "transactions")
+public class TransactionsProperties {
+
+    private Risk risk = new Risk();
+    private Lanes lanes = new Lanes();
+    private Batch batch = new Batch();
+    private GroupCommit groupCommit = new GroupCommit();
+    private Pagination pagination = new Pagination();
+    private AccountCache accountCache = new AccountCache();
+    private Stream stream = new Stream();
+    private Rejections rejections = new Rejections();
+    private Idempotency idempotency = new Idempotency();
+    private Journal journal = new Journal();
+    private Ledger ledger = new Ledger();
+    private StageTimers stageTimers = new StageTimers();
+    private Velocity velocity = new Velocity();
+
+    @Data
+    public static class Risk {
+        /** Cada cuánto se relee risk_rules para detectar cambios. */
+        private Duration refreshInterval = Duration.ofSeconds(30);
+        /** Zona con la que se evalúan las franjas horarias de las reglas de decisión. */
+        private ZoneId zone = ZoneId.of("UTC");
+    }
+
+    @Data
+    public static class Lanes {
+        private boolean enabled = true;
+        /** Número fijo de colas; el número de cuenta se reparte por hash. */
+        private int count = 64;
+        /** Operaciones en espera por cola antes de rechazar con lane_overloaded. */
+        private int queueCapacity = 256;
+    }
+
+    @Data
+    public static class Batch {
+        /** Tamaño máximo de un lote; por encima se rechaza entero. */
+        private int maxItems = 10_000;
+        /** Cuentas del lote procesadas a la vez. */
+        private int accountConcurrency = 32;
+        /** Reintentos si el saldo cambió entre la lectura y la escritura condicional. */
+        private int applyAttempts = 3;
+    }
+
+    @Data
+    public static class GroupCommit {
+        private boolean enabled = false;
+        /** Inserts agrupados como máximo en un insertMany. */
+        private int maxItems = 256;
+        /** Espera máxima desde el primer insert del grupo. */
+        private Duration maxDelay = Duration.ofNanos(500_000);
+        /** insertMany en vuelo a la vez. */
+        private int flushConcurrency = 4;
+        /** Inserts esperando grupo o escritura; por encima se rechazan con group_commit_overloaded. */
+        private int queueCapacity = 10_000;
+        /** Al parar, cuánto se espera a que se escriban los grupos pendientes. */
+        private Duration drainTimeout = Duration.ofSeconds(5);
+    }
+
+    @Data
+    public static class Pagination {
+        /** Tamaño de página si el cliente no envía limit. */
+        private int defaultLimit = 50;
+        /** Un limit mayor se recorta a este valor. */
+        private int maxLimit = 500;
+    }
+
+    @Data
+    public static class AccountCache {
+        /** Número máximo de cuentas en caché. */
+        private long maxSize = 100_000;
+        /** Vida de una cuenta encontrada; el id y la moneda casi nunca cambian. */
+        private Duration ttl = Duration.ofMinutes(10);
+        /** Vida de un "no existe": corta, para absorber ráfagas sin ocultar altas nuevas. */
+        private Duration negativeTtl = Duration.ofSeconds(5);
+    }
+
+    @Data
+    public static class Stream {
+        /** Eventos pendientes por suscriptor SSE. */
+        private int bufferSize = 256;
+        /** Política si el cliente no elige una con ?overflow=. */
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+        /** Eventos recientes guardados para retomar con Last-Event-ID. */
+        private int replayMaxEvents = 10_000;
+        /** Límite en bytes del buffer de replay (aproximado); 0 = solo por número. */
+        private DataSize replayMaxBytes = DataSize.ofMegabytes(8);
+        /** Máximo de transacciones leídas de Mongo si el hueco ya no está en el buffer. */
+        private int catchUpLimit = 1_000;
+    }
+
+    @Data
+    public static class Rejections {
+        /** Guardar los intentos rechazados (status REJECTED) para auditoría. */
+        private boolean enabled = true;
+        /** Fracción de rechazos que se guardan, de 0 a 1. */
+        private double sampleRate = 1.0;
+        /** Rechazos pendientes de escribir; por encima se descartan (y se cuentan). */
+        private int queueCapacity = 10_000;
+        /** Rechazos por insertMany. */
+        private int maxItems = 500;
+        /** Espera máxima antes de escribir un grupo incompleto. */
+        private Duration maxDelay = Duration.ofMillis(200);
+    }
+
+    @Data
+    public static class Idempotency {
+        /** Claves recientes en memoria; el resto se busca en Mongo. */
+        private long cacheMaxSize = 100_000;
+        /** Vida de una clave en memoria; no debe superar la retención. */
+        private Duration cacheTtl = Duration.ofMinutes(10);
+        /** Tiempo que Mongo guarda cada clave antes de que el índice TTL la borre. */
+        private Duration retention = Duration.ofHours(24);
+        /**
+         * Vida de una reserva sin completar: pasado este tiempo otra petición puede relevarla. Debe
+         * superar la creación más lenta y, con el journal activo, lo que tarde el volcado a Mongo.
+         */
+        private Duration lease = Duration.ofSeconds(30);
+        /** Longitud máxima de la cabecera Idempotency-Key. */
+        private int maxKeyLength = 255;
+    }
+
+    @Data
+    public static class Journal {
+        /** Confirmar las transacciones al escribirlas en el journal local y volcarlas a Mongo después. */
+        private boolean enabled = false;
+        /** Carpeta de los segmentos; debe estar en disco local y sobrevivir a reinicios. */
+        private String directory = "data/journal";
+        /** Tamaño fijo de cada segmento mapeado en memoria. */
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+        /** Registros que comparten un mismo fsync como máximo. */
+        private int syncMaxItems = 256;
+        /** Espera máxima desde el primer registro del grupo antes del fsync. */
+        private Duration syncMaxDelay = Duration.ofNanos(200_000);
+        /** Registros por insertMany hacia Mongo. */
+        private int flushMaxItems = 2_000;
+        /** Espera máxima antes de volcar un grupo incompleto. */
+        private Duration flushInterval = Duration.ofMillis(50);
+        /** Registros aún no volcados a Mongo; por encima se rechaza con journal_overloaded. */
+        private int maxPending = 200_000;
+        /** Al parar, cuánto se espera a que terminen la escritura y el volcado en curso. */
+        private Duration drainTimeout = Duration.ofSeconds(5);
+    }
+
+    @Data
+    public static class Ledger {
+        /** Movimientos por cuenta entre snapshots; 0 desactiva los snapshots automáticos. */
+        private int snapshotEvery = 1_000;
+        /** Cuentas reconstruidas a la vez en una reconstrucción completa; 0 = una por núcleo. */
+        private int rebuildParallelism = 0;
+        /** Con el journal activo, espera antes del snapshot de frontera para que el volcado a Mongo llegue. */
+        private Duration journalDelay = Duration.ofSeconds(1);
+    }
+
+    @Data
+    public static class StageTimers {
+        /** Timers por etapa de la creación (transactions.stage); en false no se mide nada. */
+        private boolean enabled = true;
+        /** Percentiles calculados en el servicio para cada timer. */
+        private double[] percentiles = {0.5, 0.95, 0.99, 0.999};
+        /** Ventana de cada histograma de percentiles; al rotar, el más antiguo se vacía. */
+        private Duration expiry = Duration.ofMinutes(2);
+        /**
+         * Histogramas de la ventana. Con más de uno, los percentiles siguen cubriendo el último
+         * {@code expiry} justo después de una rotación en lugar de quedarse vacíos.
+         */
+        private int bufferLength = 3;
+    }
+
+    @Data
+    public static class Velocity {
+        /** Contadores de débitos por cuenta para los límites de velocidad de risk_rules. */
+        private boolean enabled = true;
+        /**
+         * Cuentas con contadores en memoria (unos 1,2 KB cada una). Las menos usadas se descartan y
+         * vuelven a contar desde cero, así que debe cubrir las cuentas que debitan en un día.
+         */
+        private long maxAccounts = 100_000;
+        /**
+         * Al arrancar, rellena los contadores con los débitos del último día. Mientras tanto, los débitos
+         * de monedas con límites de velocidad se rechazan con velocity_warming_up (503).
+         */
+        private boolean rebuildOnStartup = true;
+        /** Débitos leídos por consulta al rellenar los contadores. */
+        private int rebuildPageSize = 5_000;
+    }
+}
@@ -3,10 +3,32 @@ package transactions_service.infrastructure.exception;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+/**
+ * Rechazo de negocio. No captura stack trace ni acumula suprimidas: las instancias del
+ * {@link ErrorCode catálogo} se reutilizan y pueden viajar por varias peticiones a la vez.
+ */
 @ResponseStatus(HttpStatus.BAD_REQUEST)
 public class BusinessException extends RuntimeException {
 
+    private final transient ErrorCode errorCode;
+
+    /**
+     * Para códigos fuera del catálogo; los habituales usan {@link ErrorCode#exception()}.
+     */
     public BusinessException(String message) {
-        super(message);
+        super(message, null, false, false);
+        this.errorCode = ErrorCode.find(message);
+    }
+
+    BusinessException(ErrorCode errorCode) {
+        super(errorCode.code(), null, false, false);
+        this.errorCode = errorCode;
+    }
+
+    /**
+     * Entrada del catálogo, o {@code null} si el código no está catalogado.
+     */
+    public ErrorCode getErrorCode() {
+        return errorCode;
     }
 }
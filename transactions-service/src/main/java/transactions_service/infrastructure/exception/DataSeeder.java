@@ -6,11 +6,12 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 import transactions_service.domain.model.Account;
+import transactions_service.domain.model.Money;
 import transactions_service.domain.model.RiskRule;
 import transactions_service.domain.repository.AccountRepository;
 import transactions_service.domain.repository.RiskRuleRepository;
-
-import java.math.BigDecimal;
+import transactions_service.domain.service.LedgerService;
+import transactions_service.domain.service.RiskRuleCache;
 
 @Profile("!test")
 @Component
@@ -19,20 +20,28 @@ public class DataSeeder implements CommandLineRunner {
 
     private final RiskRuleRepository riskRepo;
     private final AccountRepository accountRepo;
+    private final LedgerService ledger;
+    private final RiskRuleCache riskRules;
 
     @Override
     public void run(String... args) {
 
-        // 🔹 Bloqueante (JPA/H2)
-        riskRepo.save(RiskRule.builder()
-                .currency("PEN")
-                .maxDebitPerTx(new BigDecimal("1500"))
-                .build());
-
-        riskRepo.save(RiskRule.builder()
-                .currency("USD")
-                .maxDebitPerTx(new BigDecimal("500"))
-                .build());
+        // 🔹 Reactivo (Mongo): sin suscribirse, save no escribe nada.
+        // Solo con la colección vacía: no se tocan las reglas que los operadores añaden en caliente
+        riskRepo.count()
+                .filter(rules -> rules == 0)
+                .flatMapMany(rules -> riskRepo.saveAll(Flux.just(
+                        RiskRule.builder()
+                                .currency("PEN")
+                                .maxDebitPerTx(Money.of("1500"))
+                                .build(),
+                        RiskRule.builder()
+                                .currency("USD")
+                                .maxDebitPerTx(Money.of("500"))
+                                .build())))
+                // La tabla en memoria se carga ya, sin esperar al siguiente refresco
+                .then(riskRules.refresh())
+                .block(); // ✔️ solo permitido en bootstrap
 
         // 🔹 Reactivo (Mongo)
         accountRepo.deleteAll()
@@ -41,16 +50,18 @@ public class DataSeeder implements CommandLineRunner {
                                 .number("001-0001")
                                 .holderName("Ana Peru")
                                 .currency("PEN")
-                                .balance(new BigDecimal("2000"))
+                                .balance(Money.of("2000"))
                                 .build(),
                         Account.builder()
                                 .number("001-0002")
                                 .holderName("Luis Acuña")
                                 .currency("PEN")
-                                .balance(new BigDecimal("800"))
+                                .balance(Money.of("800"))
                                 .build()
                 ))
                 .flatMap(accountRepo::save)
+                // El saldo inicial no sale de ninguna transacción: es el punto de partida del ledger
+                .flatMap(ledger::open)
                 .blockLast(); // ✔️ solo permitido en bootstrap
 
         System.out.println("✅ Datos iniciales cargados: 2 cuentas y 2 reglas de riesgo");
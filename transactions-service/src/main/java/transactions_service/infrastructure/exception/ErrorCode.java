@@ -0,0 +1,91 @@
+package transactions_service.infrastructure.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Catálogo de rechazos de negocio. Son tráfico normal, no fallos: cada código tiene una única
+ * {@link BusinessException} sin stack trace que se comparte entre peticiones. Salvo que se indique,
+ * responden 400; los de sobrecarga, 503 con {@code Retry-After} para que el cliente reintente.
+ */
+public enum ErrorCode {
+
+    ACCOUNT_NOT_FOUND,
+    RISK_REJECTED,
+    INSUFFICIENT_FUNDS,
+    INVALID_AMOUNT,
+    INVALID_TYPE,
+    LANE_OVERLOADED(HttpStatus.SERVICE_UNAVAILABLE, 1),
+    CONCURRENT_UPDATE,
+    BATCH_TOO_LARGE,
+    // Los lotes no mueven cuentas con stripes: sus movimientos van por la API unitaria
+    BATCH_STRIPED_ACCOUNT,
+    INVALID_CURSOR,
+    INVALID_LIMIT,
+    INVALID_OVERFLOW_POLICY,
+    INVALID_IDEMPOTENCY_KEY,
+    IDEMPOTENCY_KEY_REUSED,
+    // La petición original sigue en curso: conflicto, el cliente puede reintentar después
+    IDEMPOTENCY_IN_PROGRESS(HttpStatus.CONFLICT),
+    JOURNAL_OVERLOADED(HttpStatus.SERVICE_UNAVAILABLE, 1),
+    INVALID_STRIPE_COUNT,
+    // Los contadores de velocidad aún se rellenan al arrancar: sus límites no se pueden comprobar
+    VELOCITY_WARMING_UP(HttpStatus.SERVICE_UNAVAILABLE, 1),
+    GROUP_COMMIT_OVERLOADED(HttpStatus.SERVICE_UNAVAILABLE, 1);
+
+    private static final Map<String, ErrorCode> BY_CODE = new HashMap<>();
+
+    static {
+        for (ErrorCode c : values()) {
+            BY_CODE.put(c.code, c);
+        }
+    }
+
+    private final String code = name().toLowerCase(Locale.ROOT);
+    private final HttpStatus status;
+    // Segundos para la cabecera Retry-After; 0 = sin cabecera
+    private final int retryAfterSeconds;
+    private final BusinessException exception = new BusinessException(this);
+
+    ErrorCode() {
+        this(HttpStatus.BAD_REQUEST, 0);
+    }
+
+    ErrorCode(HttpStatus status) {
+        this(status, 0);
+    }
+
+    ErrorCode(HttpStatus status, int retryAfterSeconds) {
+        this.status = status;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Código tal como viaja en el cuerpo de error y en los resultados del lote ({@code account_not_found}).
+     */
+    public String code() {
+        return code;
+    }
+
+    public HttpStatus status() {
+        return status;
+    }
+
+    public int retryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public BusinessException exception() {
+        return exception;
+    }
+
+    /**
+     * Código del catálogo o {@code null} si no existe.
+     */
+    public static ErrorCode find(String code) {
+        return code == null ? null : BY_CODE.get(code);
+    }
+}
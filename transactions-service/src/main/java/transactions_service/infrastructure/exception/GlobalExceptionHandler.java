@@ -1,24 +1,79 @@
 package transactions_service.infrastructure.exception;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.ServerWebInputException;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+/**
+ * Único manejador de errores de la API. Todos los cuerpos llevan {@code timestamp}, {@code status}
+ * y {@code error}; en rechazos de negocio y errores internos {@code error} es un código estable
+ * ({@code insufficient_funds}, {@code internal_error}). Los cuerpos salen en JSON salvo que el
+ * cliente prefiera CBOR en Accept.
+ */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
-    public GlobalExceptionHandler() {
+    private static final byte[] TIMESTAMP_PREFIX = "{\"timestamp\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final HttpHeaders JSON_HEADERS = jsonHeaders();
+
+    private final ObjectMapper mapper;
+    // Todo el cuerpo salvo el timestamp: ","status":400,"error":"<código>"}
+    private final Map<ErrorCode, byte[]> renderedTails = new EnumMap<>(ErrorCode.class);
+    private final Map<ErrorCode, HttpHeaders> headers = new EnumMap<>(ErrorCode.class);
+
+    public GlobalExceptionHandler(ObjectMapper mapper) {
+        this.mapper = mapper;
+        for (ErrorCode code : ErrorCode.values()) {
+            renderedTails.put(code, tail(code.status(), code.code()));
+            headers.put(code, code.retryAfterSeconds() > 0 ? retryHeaders(code.retryAfterSeconds()) : JSON_HEADERS);
+        }
         System.out.println("🚀 GlobalExceptionHandler LOADED!");
     }
+
+    /**
+     * Rechazos de negocio: cuerpo pre-serializado, solo se escribe el timestamp. El estado es el del
+     * código ({@link ErrorCode#status()}); los códigos fuera del catálogo responden 400.
+     * Si el cliente prefiere CBOR, el mismo cuerpo se codifica con el codec CBOR configurado.
+     */
+    @ExceptionHandler(BusinessException.class)
+    public Mono<ResponseEntity<Object>> handleBusiness(BusinessException ex, ServerWebExchange exchange) {
+        ErrorCode code = ex.getErrorCode();
+        HttpStatus status = code != null ? code.status() : HttpStatus.BAD_REQUEST;
+        if (prefersCbor(exchange.getRequest().getHeaders().getAccept())) {
+            HttpHeaders cbor = new HttpHeaders();
+            cbor.addAll(code != null ? headers.get(code) : JSON_HEADERS);
+            cbor.setContentType(MediaType.APPLICATION_CBOR);
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("timestamp", Instant.now().toString());
+            body.put("status", status.value());
+            body.put("error", ex.getMessage());
+            return Mono.just(new ResponseEntity<>(body, cbor, status));
+        }
+        byte[] tail = code != null ? renderedTails.get(code) : tail(HttpStatus.BAD_REQUEST, ex.getMessage());
+        return Mono.just(new ResponseEntity<>(render(Instant.now(), tail),
+                code != null ? headers.get(code) : JSON_HEADERS, status));
+    }
+
     /**
      * Maneja errores de validación de @Valid
      */
@@ -26,11 +81,7 @@ public class GlobalExceptionHandler {
     public Mono<ResponseEntity<Map<String, Object>>> handleValidationErrors(
             WebExchangeBindException ex) {
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("timestamp", Instant.now().toString());
-        response.put("status", HttpStatus.BAD_REQUEST.value());
-        response.put("error", "Bad Request");
-        response.put("message", "Validation failed");
+        Map<String, Object> response = body(HttpStatus.BAD_REQUEST, "Validation failed");
 
         // Extraer errores de cada campo
         Map<String, String> fieldErrors = ex.getBindingResult()
@@ -55,14 +106,8 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(ServerWebInputException.class)
     public Mono<ResponseEntity<Map<String, Object>>> handleServerWebInputException(
             ServerWebInputException ex) {
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("timestamp", Instant.now().toString());
-        response.put("status", HttpStatus.BAD_REQUEST.value());
-        response.put("error", "Bad Request");
-        response.put("message", "Invalid input: " + ex.getReason());
-
-        return Mono.just(ResponseEntity.badRequest().body(response));
+        return Mono.just(ResponseEntity.badRequest()
+                .body(body(HttpStatus.BAD_REQUEST, "Invalid input: " + ex.getReason())));
     }
 
     /**
@@ -71,14 +116,8 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(IllegalArgumentException.class)
     public Mono<ResponseEntity<Map<String, Object>>> handleIllegalArgument(
             IllegalArgumentException ex) {
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("timestamp", Instant.now().toString());
-        response.put("status", HttpStatus.BAD_REQUEST.value());
-        response.put("error", "Bad Request");
-        response.put("message", ex.getMessage());
-
-        return Mono.just(ResponseEntity.badRequest().body(response));
+        return Mono.just(ResponseEntity.badRequest()
+                .body(body(HttpStatus.BAD_REQUEST, ex.getMessage())));
     }
 
     /**
@@ -87,15 +126,71 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(Exception.class)
     public Mono<ResponseEntity<Map<String, Object>>> handleGenericException(
             Exception ex) {
+        Map<String, Object> response = body(HttpStatus.INTERNAL_SERVER_ERROR,
+                "An unexpected error occurred: " + ex.getMessage());
+        response.put("error", "internal_error");
+        return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response));
+    }
 
+    private static Map<String, Object> body(HttpStatus status, String message) {
         Map<String, Object> response = new HashMap<>();
         response.put("timestamp", Instant.now().toString());
-        response.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
-        response.put("error", "Internal Server Error");
-        response.put("message", "An unexpected error occurred: " + ex.getMessage());
+        response.put("status", status.value());
+        response.put("error", status.getReasonPhrase());
+        response.put("message", message);
+        return response;
+    }
+
+    private static HttpHeaders jsonHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return HttpHeaders.readOnlyHttpHeaders(headers);
+    }
+
+    /**
+     * JSON sigue siendo el formato por defecto: CBOR solo si en Accept va antes que JSON (o {@code *}/{@code *}).
+     */
+    private static boolean prefersCbor(List<MediaType> accept) {
+        if (accept.isEmpty()) {
+            return false;
+        }
+        List<MediaType> byQuality = new ArrayList<>(accept);
+        // sort es estable: a igual calidad manda el orden de la cabecera
+        byQuality.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType type : byQuality) {
+            if (type.includes(MediaType.APPLICATION_JSON)) {
+                return false;
+            }
+            if (type.includes(MediaType.APPLICATION_CBOR)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static HttpHeaders retryHeaders(int seconds) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(HttpHeaders.RETRY_AFTER, Integer.toString(seconds));
+        return HttpHeaders.readOnlyHttpHeaders(headers);
+    }
+
+    private byte[] tail(HttpStatus status, String code) {
+        try {
+            return ("\",\"status\":" + status.value()
+                    + ",\"error\":" + mapper.writeValueAsString(code) + "}")
+                    .getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 
-        return Mono.just(
-                ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response)
-        );
+    private static byte[] render(Instant timestamp, byte[] tail) {
+        byte[] ts = timestamp.toString().getBytes(StandardCharsets.US_ASCII);
+        byte[] out = new byte[TIMESTAMP_PREFIX.length + ts.length + tail.length];
+        System.arraycopy(TIMESTAMP_PREFIX, 0, out, 0, TIMESTAMP_PREFIX.length);
+        System.arraycopy(ts, 0, out, TIMESTAMP_PREFIX.length, ts.length);
+        System.arraycopy(tail, 0, out, TIMESTAMP_PREFIX.length + ts.length, tail.length);
+        return out;
     }
-}
\ No newline at end of file
+}
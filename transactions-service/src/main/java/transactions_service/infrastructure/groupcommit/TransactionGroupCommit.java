@@ -0,0 +1,227 @@
+package transactions_service.infrastructure.groupcommit;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import transactions_service.domain.model.Transaction;
+import transactions_service.domain.repository.TransactionRepository;
+import transactions_service.infrastructure.config.TransactionsProperties;
+import transactions_service.infrastructure.exception.ErrorCode;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Agrupa los inserts de transacciones de peticiones concurrentes en un único insertMany.
+ * Se envía el grupo al llegar a {@code maxItems} o al pasar {@code maxDelay} desde el primero;
+ * el Mono de cada llamada termina cuando su propio documento quedó escrito.
+ * Como mucho {@code queueCapacity} inserts esperan a la vez; por encima se rechazan con
+ * {@code group_commit_overloaded} en vez de acumularse en memoria si Mongo va lento.
+ * Si el pipeline termina con un error, las llamadas en curso fallan y se abre uno nuevo.
+ * Desactivado por defecto: entonces {@link #save} es un {@code txRepo.save} normal.
+ */
+@Slf4j
+@Component
+public class TransactionGroupCommit {
+
+    private final TransactionRepository txRepo;
+    private final TransactionsProperties.GroupCommit cfg;
+    private final DistributionSummary batchSize;
+    private final Timer flushTimer;
+    private final Counter overflow;
+    // Llamadas sin respuesta todavía: al parar, las que no llegaron a escribirse fallan
+    private final Set<Pending> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private volatile FluxSink<Pending> inbox;
+    private volatile CountDownLatch drained;
+    private volatile boolean stopped;
+    private Disposable pipeline;
+
+    public TransactionGroupCommit(TransactionRepository txRepo, TransactionsProperties props, MeterRegistry registry) {
+        this.txRepo = txRepo;
+        this.cfg = props.getGroupCommit();
+        this.batchSize = DistributionSummary.builder("transactions.groupcommit.batch.size")
+                .register(registry);
+        this.flushTimer = Timer.builder("transactions.groupcommit.flush")
+                .register(registry);
+        Gauge.builder("transactions.groupcommit.max.items", cfg, TransactionsProperties.GroupCommit::getMaxItems)
+                .register(registry);
+        TimeGauge.builder("transactions.groupcommit.max.delay", cfg, TimeUnit.MICROSECONDS,
+                        c -> c.getMaxDelay().toNanos() / 1_000.0)
+                .register(registry);
+        this.overflow = registry.counter("transactions.groupcommit.rejected", "cause", "overflow");
+        Gauge.builder("transactions.groupcommit.pending", pending, AtomicInteger::get).register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!cfg.isEnabled()) {
+            return;
+        }
+        open();
+    }
+
+    private void open() {
+        CountDownLatch done = new CountDownLatch(1);
+        drained = done;
+        // fairBackpressure: si todos los flush están ocupados el grupo espera en vez de fallar
+        pipeline = Flux.<Pending>create(sink -> inbox = sink)
+                .bufferTimeout(Math.max(1, cfg.getMaxItems()), cfg.getMaxDelay(), true)
+                .flatMap(this::flush, Math.max(1, cfg.getFlushConcurrency()))
+                .doFinally(s -> done.countDown())
+                .subscribe(null, e -> {
+                    // Nada debe encolarse en un sink muerto: quedaría esperando para siempre
+                    inbox = null;
+                    log.error("Group commit detenido, se reabre", e);
+                    failInFlight(e);
+                    if (!stopped) {
+                        open();
+                    }
+                });
+    }
+
+    /**
+     * Deja de aceptar inserts agrupados, espera a que se escriban los grupos pendientes
+     * (hasta {@code drainTimeout}) y hace fallar a quien siga esperando.
+     */
+    @PreDestroy
+    public void stop() {
+        FluxSink<Pending> sink = inbox;
+        if (sink == null) {
+            return;
+        }
+        // Lo que llegue a partir de aquí va directo a txRepo.save
+        stopped = true;
+        inbox = null;
+        sink.complete();
+        try {
+            if (!drained.await(cfg.getDrainTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Group commit: {} inserts sin escribir al parar", pending.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        pipeline.dispose();
+        failInFlight(new IllegalStateException("Group commit detenido"));
+    }
+
+    public Mono<Transaction> save(Transaction tx) {
+        FluxSink<Pending> sink = inbox;
+        if (sink == null) {
+            return txRepo.save(tx);
+        }
+        return Mono.create(caller -> {
+            if (pending.incrementAndGet() > Math.max(1, cfg.getQueueCapacity())) {
+                pending.decrementAndGet();
+                overflow.increment();
+                caller.error(ErrorCode.GROUP_COMMIT_OVERLOADED.exception());
+                return;
+            }
+            // El id se asigna aquí: el bulk insert no lo devuelve a la entidad
+            if (tx.getId() == null) {
+                tx.setId(new ObjectId().toHexString());
+            }
+            Pending p = new Pending(tx, caller);
+            inFlight.add(p);
+            // Éxito, error o cancelación: en todos los casos deja de contar
+            caller.onDispose(() -> {
+                if (inFlight.remove(p)) {
+                    pending.decrementAndGet();
+                }
+            });
+            sink.next(p);
+            // El pipeline murió entre leer inbox y encolar: se falla ya en vez de esperar sin fin
+            if (sink.isCancelled() && inFlight.remove(p)) {
+                pending.decrementAndGet();
+                caller.error(ErrorCode.GROUP_COMMIT_OVERLOADED.exception());
+            }
+        });
+    }
+
+    private void failInFlight(Throwable e) {
+        for (Pending p : inFlight) {
+            p.caller().error(e);
+        }
+    }
+
+    private Mono<Void> flush(List<Pending> group) {
+        batchSize.record(group.size());
+        long start = System.nanoTime();
+        List<Transaction> docs = group.stream().map(Pending::tx).toList();
+        return txRepo.insertUnordered(docs)
+                .doOnSuccess(v -> group.forEach(Pending::complete))
+                .onErrorResume(e -> {
+                    fail(group, e);
+                    return Mono.empty();
+                })
+                .doFinally(s -> flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * En un bulk unordered el resto de documentos sí se escribió:
+     * solo fallan las llamadas cuyo índice aparece en los errores.
+     */
+    static void fail(List<Pending> group, Throwable e) {
+        Throwable cause = e instanceof MongoBulkWriteException ? e : e.getCause();
+        if (cause instanceof MongoBulkWriteException bulk && bulk.getWriteConcernError() == null) {
+            Map<Integer, BulkWriteError> byIndex = new HashMap<>();
+            bulk.getWriteErrors().forEach(err -> byIndex.put(err.getIndex(), err));
+            for (int i = 0; i < group.size(); i++) {
+                if (byIndex.containsKey(i)) {
+                    group.get(i).caller().error(e);
+                } else {
+                    group.get(i).complete();
+                }
+            }
+            return;
+        }
+        group.forEach(p -> p.caller().error(e));
+    }
+
+    /**
+     * Igualdad por identidad: vive en {@link #inFlight} y dos inserts nunca son la misma llamada.
+     */
+    static final class Pending {
+        private final Transaction tx;
+        private final MonoSink<Transaction> caller;
+
+        Pending(Transaction tx, MonoSink<Transaction> caller) {
+            this.tx = tx;
+            this.caller = caller;
+        }
+
+        Transaction tx() {
+            return tx;
+        }
+
+        MonoSink<Transaction> caller() {
+            return caller;
+        }
+
+        void complete() {
+            caller.success(tx);
+        }
+    }
+}
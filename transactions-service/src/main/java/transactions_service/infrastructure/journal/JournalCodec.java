@@ -0,0 +1,112 @@
+package transactions_service.infrastructure.journal;
+
+import org.bson.types.ObjectId;
+import transactions_service.domain.model.Money;
+import transactions_service.domain.model.Transaction;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.zip.CRC32C;
+
+/**
+ * Formato de un registro del journal: {@code [int longitud][int crc32c][payload]}.
+ * Una longitud 0 (la zona aún no escrita de un segmento) o un crc que no cuadra marcan el final.
+ */
+final class JournalCodec {
+
+    static final int HEADER = 8;
+    private static final int NULL = -1;
+
+    private JournalCodec() {
+    }
+
+    static byte[] encode(Transaction tx) {
+        byte[] accountId = utf8(tx.getAccountId());
+        byte[] type = utf8(tx.getType());
+        byte[] status = utf8(tx.getStatus());
+        byte[] reason = utf8(tx.getReason());
+        int payload = 12 + 8 + 8 + 4 + 8 + field(accountId) + field(type) + field(status) + field(reason);
+        ByteBuffer buf = ByteBuffer.allocate(HEADER + payload);
+        buf.putInt(payload).putInt(0);
+        buf.put(new ObjectId(tx.getId()).toByteArray());
+        buf.putLong(tx.getAmount().minor());
+        buf.putLong(tx.getTimestamp().getEpochSecond()).putInt(tx.getTimestamp().getNano());
+        buf.putLong(tx.getSequence() == null ? NULL : tx.getSequence());
+        put(buf, accountId);
+        put(buf, type);
+        put(buf, status);
+        put(buf, reason);
+        buf.putInt(4, crc(buf.array(), HEADER, payload));
+        return buf.array();
+    }
+
+    /**
+     * Lee el registro en la posición actual y avanza; {@code null} si ahí termina el segmento.
+     */
+    static Transaction decode(ByteBuffer buf) {
+        if (buf.remaining() < HEADER) {
+            return null;
+        }
+        int start = buf.position();
+        int payload = buf.getInt(start);
+        int expected = buf.getInt(start + 4);
+        if (payload <= 0 || payload > buf.remaining() - HEADER) {
+            return null;
+        }
+        byte[] bytes = new byte[payload];
+        buf.get(start + HEADER, bytes);
+        if (crc(bytes, 0, payload) != expected) {
+            return null;
+        }
+        buf.position(start + HEADER + payload);
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        byte[] id = new byte[12];
+        in.get(id);
+        long minor = in.getLong();
+        Instant timestamp = Instant.ofEpochSecond(in.getLong(), in.getInt());
+        long sequence = in.getLong();
+        return Transaction.builder()
+                .id(new ObjectId(id).toHexString())
+                .amount(Money.ofMinor(minor))
+                .timestamp(timestamp)
+                .sequence(sequence == NULL ? null : sequence)
+                .accountId(get(in))
+                .type(get(in))
+                .status(get(in))
+                .reason(get(in))
+                .build();
+    }
+
+    private static int crc(byte[] bytes, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] utf8(String s) {
+        return s == null ? null : s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int field(byte[] bytes) {
+        return 4 + (bytes == null ? 0 : bytes.length);
+    }
+
+    private static void put(ByteBuffer buf, byte[] bytes) {
+        if (bytes == null) {
+            buf.putInt(NULL);
+        } else {
+            buf.putInt(bytes.length).put(bytes);
+        }
+    }
+
+    private static String get(ByteBuffer in) {
+        int length = in.getInt();
+        if (length == NULL) {
+            return null;
+        }
+        String s = new String(in.array(), in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return s;
+    }
+}
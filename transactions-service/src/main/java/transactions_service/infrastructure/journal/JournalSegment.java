@@ -0,0 +1,149 @@
+package transactions_service.infrastructure.journal;
+
+import transactions_service.domain.model.Transaction;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Un fichero del journal de tamaño fijo, mapeado en memoria y escrito solo al final.
+ * Lo escribe un único hilo; los contadores de volcado a Mongo los actualiza otro, de ahí el synchronized.
+ * Se borra cuando está sellado (ya no recibe registros) y todo lo escrito llegó a Mongo.
+ */
+final class JournalSegment {
+
+    private static final Pattern NAME = Pattern.compile("journal-(\\d{20})\\.log");
+
+    private final long sequence;
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private int synced;
+    private int appended;
+    private int flushed;
+    private boolean sealed;
+    private boolean deleted;
+
+    private JournalSegment(long sequence, Path path, MappedByteBuffer buffer) {
+        this.sequence = sequence;
+        this.path = path;
+        this.buffer = buffer;
+    }
+
+    static JournalSegment create(Path directory, long sequence, int size) {
+        Path path = directory.resolve(String.format("journal-%020d.log", sequence));
+        return new JournalSegment(sequence, path, map(path, size, StandardOpenOption.CREATE_NEW));
+    }
+
+    /**
+     * Segmentos que quedaron en disco (no volcados del todo), por orden de escritura.
+     */
+    static List<JournalSegment> existing(Path directory) {
+        List<JournalSegment> found = new ArrayList<>();
+        try (var files = Files.list(directory)) {
+            for (Path path : files.sorted().toList()) {
+                Matcher m = NAME.matcher(path.getFileName().toString());
+                if (m.matches()) {
+                    int size = (int) Files.size(path);
+                    JournalSegment segment = new JournalSegment(Long.parseLong(m.group(1)), path, map(path, size));
+                    segment.sealed = true;
+                    found.add(segment);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return found;
+    }
+
+    long sequence() {
+        return sequence;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    /**
+     * {@code false} si el registro no cabe: hay que pasar al siguiente segmento.
+     */
+    boolean append(byte[] record) {
+        if (buffer.remaining() < record.length) {
+            return false;
+        }
+        buffer.put(record);
+        synchronized (this) {
+            appended++;
+        }
+        return true;
+    }
+
+    /**
+     * fsync de lo escrito desde el último force: al volver, los registros sobreviven a un fallo de la máquina.
+     */
+    void force() {
+        int end = buffer.position();
+        if (end > synced) {
+            buffer.force(synced, end - synced);
+            synced = end;
+        }
+    }
+
+    /**
+     * Registros completos del segmento, para la recuperación tras un reinicio.
+     */
+    List<Transaction> read() {
+        List<Transaction> entries = new ArrayList<>();
+        var view = buffer.duplicate().position(0);
+        for (Transaction tx = JournalCodec.decode(view); tx != null; tx = JournalCodec.decode(view)) {
+            entries.add(tx);
+        }
+        synchronized (this) {
+            appended = entries.size();
+        }
+        return entries;
+    }
+
+    synchronized void seal() {
+        sealed = true;
+        deleteIfDrained();
+    }
+
+    synchronized void flushed(int count) {
+        flushed += count;
+        deleteIfDrained();
+    }
+
+    synchronized boolean isDeleted() {
+        return deleted;
+    }
+
+    private void deleteIfDrained() {
+        if (sealed && !deleted && flushed >= appended) {
+            try {
+                Files.deleteIfExists(path);
+                deleted = true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static MappedByteBuffer map(Path path, int size, StandardOpenOption... extra) {
+        List<StandardOpenOption> options = new ArrayList<>(List.of(StandardOpenOption.READ, StandardOpenOption.WRITE));
+        options.addAll(List.of(extra));
+        try (FileChannel channel = FileChannel.open(path, options.toArray(StandardOpenOption[]::new))) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package transactions_service.infrastructure.journal;
+
+import com.mongodb.MongoException;
+import com.mongodb.MongoSocketException;
+import com.mongodb.MongoTimeoutException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+import transactions_service.domain.model.Transaction;
+import transactions_service.domain.repository.TransactionRepository;
+import transactions_service.infrastructure.config.TransactionsProperties;
+import transactions_service.infrastructure.exception.ErrorCode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Modo de ingesta para absorber ráfagas: el movimiento ya aplicado al saldo se escribe en un journal
+ * local (segmentos mapeados en memoria, solo append) y la petición se confirma tras el fsync.
+ * Un volcador aparte lo pasa a Mongo en insertMany grandes, reintentando mientras Mongo no responda.
+ * Un grupo que Mongo rechaza por otro motivo no se reintenta: se registra, se cuenta en
+ * {@code transactions.journal.flush.failed} y sus registros se quedan en el segmento, que no se borra.
+ * Al arrancar se reenvían los segmentos que quedaron en disco; los ids ya van en el registro,
+ * así que un documento que sí llegó a escribirse se ignora como duplicado.
+ * Desactivado por defecto.
+ */
+@Slf4j
+@Component
+public class TransactionJournal {
+
+    private final TransactionRepository txRepo;
+    private final TransactionsProperties.Journal cfg;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final DistributionSummary syncBatch;
+    private final DistributionSummary flushBatch;
+    private final Timer syncTimer;
+    private final Timer flushTimer;
+    private final Counter flushFailed;
+    private final CountDownLatch written = new CountDownLatch(1);
+    private final CountDownLatch flushed = new CountDownLatch(1);
+
+    private final Sinks.Many<Entry> drain = Sinks.many().unicast().onBackpressureBuffer();
+    private volatile FluxSink<Pending> inbox;
+    private Scheduler writer;
+    private Disposable writes;
+    private Disposable flushes;
+    private JournalSegment active;
+    private long nextSequence;
+
+    public TransactionJournal(TransactionRepository txRepo, TransactionsProperties props, MeterRegistry registry) {
+        this.txRepo = txRepo;
+        this.cfg = props.getJournal();
+        this.syncBatch = DistributionSummary.builder("transactions.journal.sync.batch.size").register(registry);
+        this.flushBatch = DistributionSummary.builder("transactions.journal.flush.batch.size").register(registry);
+        this.syncTimer = Timer.builder("transactions.journal.sync").register(registry);
+        this.flushTimer = Timer.builder("transactions.journal.flush").register(registry);
+        this.flushFailed = registry.counter("transactions.journal.flush.failed");
+        Gauge.builder("transactions.journal.pending", pending, AtomicInteger::get).register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!cfg.isEnabled()) {
+            return;
+        }
+        Path directory = Path.of(cfg.getDirectory());
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // El volcado arranca antes que la recuperación: lo que se reenvía entra en la misma cola
+        flushes = drain.asFlux()
+                .bufferTimeout(Math.max(1, cfg.getFlushMaxItems()), cfg.getFlushInterval())
+                .concatMap(this::flush)
+                .doFinally(s -> flushed.countDown())
+                .subscribe(null, e -> log.error("Volcado del journal detenido", e));
+        recover(directory);
+        active = JournalSegment.create(directory, nextSequence++, segmentSize());
+
+        // Un solo hilo escribe y hace fsync; cada grupo comparte un único force
+        writer = Schedulers.newSingle("tx-journal");
+        writes = Flux.<Pending>create(sink -> inbox = sink)
+                .bufferTimeout(Math.max(1, cfg.getSyncMaxItems()), cfg.getSyncMaxDelay(), true)
+                .concatMap(group -> Mono.fromRunnable(() -> write(group)).subscribeOn(writer))
+                .doFinally(s -> written.countDown())
+                .subscribe(null, e -> log.error("Journal detenido", e));
+    }
+
+    /**
+     * Deja de aceptar registros, espera (hasta {@code drainTimeout}) a que se escriban los grupos
+     * pendientes y a que termine el volcado en curso, y solo entonces sella el segmento activo.
+     */
+    @PreDestroy
+    public void stop() {
+        FluxSink<Pending> sink = inbox;
+        if (sink == null) {
+            return;
+        }
+        inbox = null;
+        sink.complete();
+        // Sellar con una escritura a medias podría borrar el segmento antes de que reciba su registro
+        boolean idle = await(written, "escritura");
+        writes.dispose();
+        writer.dispose();
+        drain.tryEmitComplete();
+        await(flushed, "volcado");
+        flushes.dispose();
+        // Si ya se volcó todo, el segmento activo no hace falta reenviarlo en el próximo arranque
+        if (idle) {
+            active.seal();
+        }
+    }
+
+    public boolean isEnabled() {
+        return inbox != null;
+    }
+
+    /**
+     * Registros confirmados (o reenviados al arrancar) que aún no llegaron a Mongo.
+     */
+    public int pending() {
+        return pending.get();
+    }
+
+    /**
+     * Termina cuando el registro está en disco (no en Mongo). Con demasiados registros
+     * pendientes de volcar falla con journal_overloaded en vez de seguir creciendo.
+     */
+    public Mono<Transaction> append(Transaction tx) {
+        FluxSink<Pending> sink = inbox;
+        if (sink == null) {
+            return Mono.error(new IllegalStateException("journal disabled"));
+        }
+        return Mono.create(caller -> {
+            if (pending.incrementAndGet() > cfg.getMaxPending()) {
+                pending.decrementAndGet();
+                caller.error(ErrorCode.JOURNAL_OVERLOADED.exception());
+                return;
+            }
+            if (tx.getId() == null) {
+                tx.setId(new ObjectId().toHexString());
+            }
+            sink.next(new Pending(tx, caller));
+        });
+    }
+
+    private boolean await(CountDownLatch latch, String stage) {
+        try {
+            if (latch.await(cfg.getDrainTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+            log.warn("Journal: {} sin terminar al parar, {} registros sin volcar", stage, pending.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    private void recover(Path directory) {
+        for (JournalSegment segment : JournalSegment.existing(directory)) {
+            nextSequence = segment.sequence() + 1;
+            List<Transaction> entries = segment.read();
+            log.info("Reenviando {} registros del journal {}", entries.size(), segment.path().getFileName());
+            pending.addAndGet(entries.size());
+            segment.seal();
+            entries.forEach(tx -> drain.emitNext(new Entry(tx, segment), Sinks.EmitFailureHandler.FAIL_FAST));
+        }
+    }
+
+    private void write(List<Pending> group) {
+        long start = System.nanoTime();
+        List<Entry> written = new ArrayList<>(group.size());
+        try {
+            for (Pending p : group) {
+                byte[] record = JournalCodec.encode(p.tx());
+                if (!active.append(record)) {
+                    roll();
+                    if (!active.append(record)) {
+                        throw new IllegalStateException("journal record larger than a segment");
+                    }
+                }
+                written.add(new Entry(p.tx(), active));
+            }
+            active.force();
+        } catch (RuntimeException e) {
+            // Sin fsync no hay confirmación; lo ya escrito del grupo se volcará igualmente
+            log.error("No se pudo escribir en el journal", e);
+            pending.addAndGet(-(group.size() - written.size()));
+            group.forEach(p -> p.caller().error(e));
+            written.forEach(entry -> drain.emitNext(entry, Sinks.EmitFailureHandler.FAIL_FAST));
+            return;
+        }
+        syncBatch.record(group.size());
+        syncTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        group.forEach(p -> p.caller().success(p.tx()));
+        written.forEach(entry -> drain.emitNext(entry, Sinks.EmitFailureHandler.FAIL_FAST));
+    }
+
+    private void roll() {
+        active.force();
+        JournalSegment full = active;
+        active = JournalSegment.create(full.path().getParent(), nextSequence++, segmentSize());
+        full.seal();
+    }
+
+    private Mono<Void> flush(List<Entry> group) {
+        flushBatch.record(group.size());
+        long start = System.nanoTime();
+        List<Transaction> docs = group.stream().map(Entry::tx).toList();
+        // Mientras Mongo no responda los registros siguen en disco: se reintenta sin límite
+        return txRepo.insertUnordered(docs)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofMillis(100)).maxBackoff(Duration.ofSeconds(5))
+                        .filter(TransactionJournal::isTransient)
+                        .doBeforeRetry(s -> log.warn("Reintentando el volcado del journal: {}", s.failure().toString())))
+                .doOnSuccess(v -> {
+                    flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    pending.addAndGet(-group.size());
+                    release(group);
+                })
+                // Reintentar no lo arreglaría y bloquearía el resto: el segmento se queda como copia
+                .onErrorResume(e -> {
+                    log.error("Volcado del journal rechazado, {} registros quedan en disco", group.size(), e);
+                    flushFailed.increment();
+                    pending.addAndGet(-group.size());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Fallos de conexión o de tiempo de espera, que se arreglan solos cuando Mongo vuelve.
+     */
+    private static boolean isTransient(Throwable e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof MongoSocketException
+                || e instanceof MongoTimeoutException
+                || e instanceof MongoException mongo && mongo.hasErrorLabel("TransientTransactionError");
+    }
+
+    private static void release(List<Entry> group) {
+        int i = 0;
+        while (i < group.size()) {
+            JournalSegment segment = group.get(i).segment();
+            int count = 0;
+            while (i < group.size() && group.get(i).segment() == segment) {
+                count++;
+                i++;
+            }
+            segment.flushed(count);
+        }
+    }
+
+    private int segmentSize() {
+        return (int) Math.min(Integer.MAX_VALUE, cfg.getSegmentSize().toBytes());
+    }
+
+    record Pending(Transaction tx, MonoSink<Transaction> caller) {
+    }
+
+    record Entry(Transaction tx, JournalSegment segment) {
+    }
+}
@@ -0,0 +1,153 @@
+package transactions_service.infrastructure.lane;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import transactions_service.infrastructure.config.TransactionsProperties;
+import transactions_service.infrastructure.exception.ErrorCode;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Reparte las escrituras por número de cuenta en un conjunto fijo de colas de un solo escritor.
+ * Dentro de una cola las operaciones se ejecutan una tras otra (en orden de llegada y sin locks);
+ * colas distintas avanzan en paralelo. Cada cola tiene profundidad acotada: si está llena
+ * la operación se rechaza con {@code lane_overloaded} en vez de esperar.
+ */
+@Component
+public class AccountLaneExecutor {
+
+    private final boolean enabled;
+    private final Lane[] lanes;
+
+    public AccountLaneExecutor(TransactionsProperties props, MeterRegistry registry) {
+        TransactionsProperties.Lanes cfg = props.getLanes();
+        this.enabled = cfg.isEnabled();
+        this.lanes = new Lane[Math.max(1, cfg.getCount())];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane(i, cfg.getQueueCapacity(), registry);
+        }
+    }
+
+    /**
+     * Ejecuta {@code work} en la cola de {@code accountNumber}; el Mono se suscribe
+     * solo cuando terminó la operación anterior de esa cola.
+     */
+    public <T> Mono<T> submit(String accountNumber, Supplier<Mono<T>> work) {
+        if (!enabled) {
+            return Mono.defer(work);
+        }
+        Lane lane = laneFor(accountNumber);
+        return Mono.create(sink -> lane.offer(new Task<>(work, sink)));
+    }
+
+    public int laneCount() {
+        return lanes.length;
+    }
+
+    public int laneIndex(String accountNumber) {
+        int h = accountNumber == null ? 0 : accountNumber.hashCode();
+        return Math.floorMod(h ^ (h >>> 16), lanes.length);
+    }
+
+    private Lane laneFor(String accountNumber) {
+        return lanes[laneIndex(accountNumber)];
+    }
+
+    private static final class Lane {
+
+        private final int capacity;
+        private final Queue<Task<?>> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger depth = new AtomicInteger();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final Counter submitted;
+        private final Counter rejected;
+        private volatile boolean busy;
+
+        Lane(int index, int capacity, MeterRegistry registry) {
+            this.capacity = capacity;
+            String tag = Integer.toString(index);
+            this.submitted = registry.counter("transactions.lane.submitted", "lane", tag);
+            this.rejected = registry.counter("transactions.lane.rejected", "lane", tag);
+            Gauge.builder("transactions.lane.queue.depth", depth, AtomicInteger::get)
+                    .tag("lane", tag)
+                    .register(registry);
+        }
+
+        void offer(Task<?> task) {
+            if (depth.incrementAndGet() > capacity) {
+                depth.decrementAndGet();
+                rejected.increment();
+                task.sink.error(ErrorCode.LANE_OVERLOADED.exception());
+                return;
+            }
+            submitted.increment();
+            queue.offer(task);
+            drain();
+        }
+
+        void release() {
+            busy = false;
+            drain();
+        }
+
+        // Bucle work-in-progress: un único hilo a la vez decide qué tarea arranca
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                while (!busy) {
+                    Task<?> task = queue.poll();
+                    if (task == null) {
+                        break;
+                    }
+                    depth.decrementAndGet();
+                    if (task.cancelled) {
+                        continue;
+                    }
+                    busy = true;
+                    task.run(this);
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class Task<T> {
+
+        private final Supplier<Mono<T>> work;
+        private final MonoSink<T> sink;
+        private volatile boolean cancelled;
+
+        Task(Supplier<Mono<T>> work, MonoSink<T> sink) {
+            this.work = work;
+            this.sink = sink;
+            sink.onCancel(() -> cancelled = true);
+        }
+
+        void run(Lane lane) {
+            Mono<T> mono;
+            try {
+                mono = work.get();
+            } catch (Throwable e) {
+                sink.error(e);
+                lane.release();
+                return;
+            }
+            // La cola se libera solo cuando la operación terminó del todo
+            mono.doFinally(signal -> lane.release())
+                    .subscribe(sink::success, sink::error, sink::success);
+        }
+    }
+}
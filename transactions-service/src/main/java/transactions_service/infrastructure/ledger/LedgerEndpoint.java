@@ -0,0 +1,118 @@
+package transactions_service.infrastructure.ledger;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import transactions_service.domain.model.Account;
+import transactions_service.domain.repository.AccountRepository;
+import transactions_service.domain.service.LedgerService;
+import transactions_service.domain.service.LedgerService.LedgerBalance;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reconstrucción de saldos desde el ledger.
+ * <ul>
+ *   <li>GET /actuator/ledger/{accountId}: saldo reconstruido frente al guardado en la cuenta
+ *       ({@code striped} si la cuenta tiene stripes y por tanto no lleva ledger).</li>
+ *   <li>POST /actuator/ledger: reconstruye todas las cuentas, guarda un snapshot de las que avanzaron
+ *       y devuelve cuántas cuadran, cuántas van por detrás (hueco de secuencia) y cuántas no cuadran.</li>
+ * </ul>
+ * No corrige saldos: una cuenta que no cuadra se revisa a mano.
+ */
+@Component
+@Endpoint(id = "ledger")
+@RequiredArgsConstructor
+public class LedgerEndpoint {
+
+    // Cuentas a revisar que se listan en la respuesta; el resto solo se cuenta
+    static final int MAX_LISTED = 100;
+
+    private final LedgerService ledger;
+    private final AccountRepository accountRepo;
+
+    @ReadOperation
+    public Mono<Map<String, Object>> account(@Selector String accountId) {
+        return accountRepo.findById(accountId)
+                .flatMap(account -> account.striped()
+                        ? Mono.just(striped(account))
+                        : ledger.rebuild(accountId).map(rebuilt -> describe(rebuilt, account)));
+    }
+
+    @WriteOperation
+    public Mono<Map<String, Object>> rebuildAll() {
+        return ledger.rebuildAll()
+                .flatMap(rebuilt -> ledger.snapshot(rebuilt)
+                        .then(accountRepo.findById(rebuilt.accountId()))
+                        .map(account -> describe(rebuilt, account)))
+                .collect(Report::new, Report::add)
+                .map(Report::toMap);
+    }
+
+    static Map<String, Object> describe(LedgerBalance rebuilt, Account account) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("accountId", rebuilt.accountId());
+        body.put("state", state(rebuilt, account));
+        body.put("ledgerSequence", rebuilt.sequence());
+        body.put("ledgerBalance", rebuilt.balance().toString());
+        body.put("accountSequence", account.getSequence());
+        body.put("accountBalance", String.valueOf(account.getBalance()));
+        body.put("replayed", rebuilt.replayed());
+        return body;
+    }
+
+    private static Map<String, Object> striped(Account account) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("accountId", account.getId());
+        body.put("state", "striped");
+        body.put("accountSequence", account.getSequence());
+        body.put("stripes", account.getStripes());
+        return body;
+    }
+
+    /**
+     * {@code behind}: la cuenta tiene movimientos que el ledger aún no puede reaplicar (en el journal o perdidos).
+     */
+    private static String state(LedgerBalance rebuilt, Account account) {
+        if (rebuilt.matches(account)) {
+            return "ok";
+        }
+        return account.getSequence() > rebuilt.sequence() ? "behind" : "mismatch";
+    }
+
+    private static final class Report {
+        private final Map<String, Integer> counts = new LinkedHashMap<>();
+        private final List<Map<String, Object>> review = new ArrayList<>();
+        private int accounts;
+
+        Report() {
+            counts.put("ok", 0);
+            counts.put("behind", 0);
+            counts.put("mismatch", 0);
+        }
+
+        void add(Map<String, Object> account) {
+            accounts++;
+            String state = (String) account.get("state");
+            counts.merge(state, 1, Integer::sum);
+            if (!"ok".equals(state) && review.size() < MAX_LISTED) {
+                review.add(account);
+            }
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("accounts", accounts);
+            body.putAll(counts);
+            body.put("review", review);
+            return body;
+        }
+    }
+}
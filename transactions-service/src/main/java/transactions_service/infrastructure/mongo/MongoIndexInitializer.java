@@ -0,0 +1,101 @@
+package transactions_service.infrastructure.mongo;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver.IndexDefinitionHolder;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import transactions_service.domain.model.Account;
+import transactions_service.domain.model.AccountSnapshot;
+import transactions_service.domain.model.AccountStripe;
+import transactions_service.domain.model.IdempotencyRecord;
+import transactions_service.domain.model.Transaction;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Crea (o verifica, si ya existen) los índices declarados en las entidades de las consultas calientes.
+ * Se lanza al quedar lista la aplicación y corre en segundo plano: no retrasa el arranque
+ * ni la readiness. El estado de cada índice se publica en el endpoint {@code queryplans}.
+ */
+@Slf4j
+@Component
+public class MongoIndexInitializer {
+
+    static final List<Class<?>> INDEXED_ENTITIES = List.of(Account.class, Transaction.class, IdempotencyRecord.class,
+            AccountSnapshot.class, AccountStripe.class);
+
+    private final ReactiveMongoTemplate mongo;
+    private final Map<String, String> status = new ConcurrentHashMap<>();
+
+    public MongoIndexInitializer(ReactiveMongoTemplate mongo) {
+        this.mongo = mongo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        ensureIndexes().subscribe();
+    }
+
+    public Mono<Void> ensureIndexes() {
+        List<IndexDefinitionHolder> definitions = definitions(mongo.getConverter().getMappingContext());
+        definitions.forEach(d -> status.put(key(d), "pending"));
+        // Un índice que falla (p.ej. duplicados en un unique) no impide crear el resto
+        return Flux.fromIterable(definitions)
+                .concatMap(d -> mongo.indexOps(d.getCollection()).ensureIndex(d)
+                        .retryWhen(Retry.backoff(5, Duration.ofSeconds(1)))
+                        .doOnNext(name -> {
+                            status.put(key(d), "ok");
+                            log.info("Índice {} verificado", key(d));
+                        })
+                        .onErrorResume(e -> {
+                            status.put(key(d), "failed: " + rootMessage(e));
+                            log.error("No se pudo crear el índice {}", key(d), e);
+                            return Mono.empty();
+                        }))
+                .then();
+    }
+
+    /**
+     * Estado por índice ({@code coleccion.nombre}): pending, ok o failed.
+     */
+    public Map<String, String> status() {
+        return new LinkedHashMap<>(status);
+    }
+
+    public static List<IndexDefinitionHolder> definitions(
+            MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext) {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        List<IndexDefinitionHolder> definitions = new ArrayList<>();
+        for (Class<?> entity : INDEXED_ENTITIES) {
+            resolver.resolveIndexFor(entity).forEach(d -> definitions.add((IndexDefinitionHolder) d));
+        }
+        return definitions;
+    }
+
+    private static String key(IndexDefinitionHolder d) {
+        return d.getCollection() + "." + d.getIndexOptions().getString("name");
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+}
@@ -0,0 +1,60 @@
+package transactions_service.infrastructure.mongo;
+
+import org.bson.types.Decimal128;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import transactions_service.domain.model.Money;
+
+import java.util.List;
+
+/**
+ * {@link Money} se guarda como Int64 de céntimos: $inc y $gte operan en el servidor sobre enteros.
+ * Los documentos antiguos con Decimal128 se siguen leyendo (y Mongo compara y suma tipos numéricos mezclados).
+ */
+@Configuration
+public class MongoMoneyConversions {
+
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return customConversions();
+    }
+
+    public static MongoCustomConversions customConversions() {
+        return new MongoCustomConversions(List.of(
+                MoneyToLong.INSTANCE, LongToMoney.INSTANCE, Decimal128ToMoney.INSTANCE));
+    }
+
+    @WritingConverter
+    enum MoneyToLong implements Converter<Money, Long> {
+        INSTANCE;
+
+        @Override
+        public Long convert(Money source) {
+            return source.minor();
+        }
+    }
+
+    @ReadingConverter
+    enum LongToMoney implements Converter<Long, Money> {
+        INSTANCE;
+
+        @Override
+        public Money convert(Long source) {
+            return Money.ofMinor(source);
+        }
+    }
+
+    @ReadingConverter
+    enum Decimal128ToMoney implements Converter<Decimal128, Money> {
+        INSTANCE;
+
+        @Override
+        public Money convert(Decimal128 source) {
+            return Money.of(source.bigDecimalValue());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package transactions_service.infrastructure.mongo;
+
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import transactions_service.domain.model.Account;
+import transactions_service.domain.model.Transaction;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GET /actuator/queryplans: plan ganador de cada consulta caliente según {@code explain}.
+ * Una consulta con {@code COLLSCAN} indica un índice que falta.
+ */
+@Component
+@Endpoint(id = "queryplans")
+@RequiredArgsConstructor
+public class QueryPlanEndpoint {
+
+    // El valor no importa: el plan depende de la forma de la consulta
+    private static final String PROBE = "__probe__";
+
+    private final ReactiveMongoTemplate mongo;
+    private final MongoIndexInitializer indexes;
+
+    @ReadOperation
+    public Mono<Map<String, Object>> plans() {
+        return Flux.fromIterable(hotQueries())
+                .concatMap(q -> explain(q).map(plan -> Map.entry(q.name(), plan)))
+                .collectList()
+                .map(entries -> {
+                    Map<String, Object> queries = new LinkedHashMap<>();
+                    entries.forEach(e -> queries.put(e.getKey(), e.getValue()));
+                    Map<String, Object> body = new LinkedHashMap<>();
+                    body.put("indexes", indexes.status());
+                    body.put("queries", queries);
+                    return body;
+                });
+    }
+
+    static List<HotQuery> hotQueries() {
+        return List.of(
+                new HotQuery("accounts.findByNumber", Account.class,
+                        new Document("number", PROBE), null, 1),
+                new HotQuery("transactions.historyByAccount", Transaction.class,
+                        new Document("accountId", PROBE),
+                        new Document("timestamp", -1).append("_id", -1), 50));
+    }
+
+    private Mono<Map<String, Object>> explain(HotQuery q) {
+        return mongo.getCollection(mongo.getCollectionName(q.entity()))
+                .flatMap(c -> {
+                    var find = c.find(q.filter()).limit(q.limit());
+                    if (q.sort() != null) {
+                        find = find.sort(q.sort());
+                    }
+                    return Mono.from(find.explain(Document.class));
+                })
+                .map(QueryPlanEndpoint::summarize)
+                .onErrorResume(e -> Mono.just(Map.of("error", String.valueOf(e.getMessage()))));
+    }
+
+    /**
+     * Reduce la salida de explain a las etapas del plan ganador y los índices usados.
+     */
+    public static Map<String, Object> summarize(Document explain) {
+        Document planner = explain.get("queryPlanner", Document.class);
+        Document winning = planner == null ? null : planner.get("winningPlan", Document.class);
+        List<String> stages = new ArrayList<>();
+        List<String> indexNames = new ArrayList<>();
+        collect(winning, stages, indexNames);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("stages", stages);
+        summary.put("indexes", indexNames);
+        summary.put("collectionScan", stages.contains("COLLSCAN"));
+        return summary;
+    }
+
+    private static void collect(Document node, List<String> stages, List<String> indexNames) {
+        if (node == null) {
+            return;
+        }
+        // Desde Mongo 7 (motor SBE) el plan viene anidado en queryPlan
+        collect(node.get("queryPlan", Document.class), stages, indexNames);
+        String stage = node.getString("stage");
+        if (stage != null) {
+            stages.add(stage);
+        }
+        String indexName = node.getString("indexName");
+        if (indexName != null) {
+            indexNames.add(indexName);
+        }
+        collect(node.get("inputStage", Document.class), stages, indexNames);
+        Object inputs = node.get("inputStages");
+        if (inputs instanceof List<?> list) {
+            list.stream()
+                    .filter(Document.class::isInstance)
+                    .forEach(child -> collect((Document) child, stages, indexNames));
+        }
+    }
+
+    record HotQuery(String name, Class<?> entity, Document filter, Document sort, int limit) {
+    }
+}
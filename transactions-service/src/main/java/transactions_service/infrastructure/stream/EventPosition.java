@@ -0,0 +1,36 @@
+package transactions_service.infrastructure.stream;
+
+/**
+ * Id SSE de un evento: {@code epoch-seq-millis-txId}.
+ * {@code epoch} identifica el arranque del proceso (la secuencia empieza de nuevo en cada uno),
+ * {@code seq} es la posición en el buffer de replay (0 si el evento vino de Mongo),
+ * y {@code millis} y {@code txId} son el timestamp y el id de la transacción: la posición
+ * (timestamp, id) desde la que se retoma en Mongo, sin incluir ese mismo evento.
+ * {@code txId} es null en los ids de tres partes que se emitían antes.
+ */
+public record EventPosition(long epoch, long seq, long millis, String txId) {
+
+    public String format() {
+        String prefix = epoch + "-" + seq + "-" + millis;
+        return txId == null ? prefix : prefix + "-" + txId;
+    }
+
+    /**
+     * Null si no hay id o no tiene el formato esperado: el cliente empieza en vivo.
+     */
+    public static EventPosition parse(String id) {
+        if (id == null || id.isBlank()) {
+            return null;
+        }
+        String[] parts = id.trim().split("-", 4);
+        if (parts.length < 3 || (parts.length == 4 && parts[3].isEmpty())) {
+            return null;
+        }
+        try {
+            return new EventPosition(Long.parseLong(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2]),
+                    parts.length == 4 ? parts[3] : null);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package transactions_service.infrastructure.stream;
+
+import transactions_service.infrastructure.exception.ErrorCode;
+
+import java.util.Locale;
+
+/**
+ * Qué hacer cuando el buffer de un suscriptor lento está lleno.
+ */
+public enum OverflowPolicy {
+    /** Descarta el evento más antiguo del buffer y encola el nuevo. */
+    DROP_OLDEST,
+    /** Descarta el evento nuevo. */
+    DROP_LATEST,
+    /** Cierra la conexión del suscriptor lento. */
+    DISCONNECT;
+
+    /**
+     * Acepta el formato de la query ({@code drop-oldest}) además del nombre del enum.
+     */
+    public static OverflowPolicy parse(String value) {
+        try {
+            return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw ErrorCode.INVALID_OVERFLOW_POLICY.exception();
+        }
+    }
+}
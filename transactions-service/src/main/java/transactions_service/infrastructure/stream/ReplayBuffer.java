@@ -0,0 +1,84 @@
+package transactions_service.infrastructure.stream;
+
+import transactions_service.domain.model.Transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Últimos eventos publicados, acotados por número y por bytes. Las secuencias son contiguas,
+ * así que la posición de un seq se calcula directamente. No es thread-safe: lo protege el router.
+ */
+final class ReplayBuffer {
+
+    private final StreamEvent[] slots;
+    private final long maxBytes;
+    private long first = 1;
+    private long next = 1;
+    private long bytes;
+
+    ReplayBuffer(int maxEvents, long maxBytes) {
+        this.slots = new StreamEvent[Math.max(1, maxEvents)];
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * {@code json} viene ya serializado: aquí solo se asigna el seq y se arma el frame.
+     */
+    StreamEvent append(long epoch, Transaction tx, byte[] json, SseFrameEncoder encoder) {
+        StreamEvent event = StreamEvent.live(epoch, next, tx, json, encoder);
+        if (next - first == slots.length) {
+            evictOldest();
+        }
+        slots[slot(next)] = event;
+        bytes += event.bytes();
+        next++;
+        // Siempre queda al menos el último evento, aunque por sí solo supere el límite
+        while (maxBytes > 0 && bytes > maxBytes && next - first > 1) {
+            evictOldest();
+        }
+        return event;
+    }
+
+    /**
+     * Si todo lo publicado después de {@code seq} sigue en el buffer.
+     */
+    boolean covers(long seq) {
+        return seq > 0 && seq >= first - 1 && seq < next;
+    }
+
+    List<StreamEvent> since(long seq, Predicate<Transaction> filter) {
+        List<StreamEvent> events = new ArrayList<>();
+        for (long s = Math.max(seq + 1, first); s < next; s++) {
+            StreamEvent event = slots[slot(s)];
+            if (filter.test(event.tx())) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    long lastSeq() {
+        return next - 1;
+    }
+
+    int size() {
+        return (int) (next - first);
+    }
+
+    long bytes() {
+        return bytes;
+    }
+
+    private void evictOldest() {
+        int index = slot(first);
+        bytes -= slots[index].bytes();
+        slots[index] = null;
+        first++;
+    }
+
+    private int slot(long seq) {
+        return (int) (seq % slots.length);
+    }
+}
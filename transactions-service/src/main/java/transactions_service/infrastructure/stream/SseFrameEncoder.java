@@ -0,0 +1,79 @@
+package transactions_service.infrastructure.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.springframework.stereotype.Component;
+import transactions_service.domain.model.Transaction;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Codifica un evento como frame SSE completo ({@code id/event/data}) una sola vez.
+ * El resultado es de solo lectura y lo comparten todos los suscriptores mediante
+ * {@link ByteBuf#duplicate()} (sin copia); la memoria es de heap y la libera el GC,
+ * así que los descartes por overflow o cancelación no necesitan liberar nada.
+ */
+@Component
+public class SseFrameEncoder {
+
+    private static final byte[] ID = "id:".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] EVENT_DATA = "\nevent:transaction\ndata:".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] END = "\n\n".getBytes(StandardCharsets.UTF_8);
+    private static final ByteBuf GAP = Unpooled.unreleasableBuffer(Unpooled.wrappedBuffer(
+            "event:gap\ndata:{\"reason\":\"catch_up_limit\"}\n\n".getBytes(StandardCharsets.UTF_8)).asReadOnly());
+
+    private final ObjectMapper mapper;
+
+    public SseFrameEncoder(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * Mismo formato que escribe WebFlux para un {@code ServerSentEvent}; Jackson escapa los saltos
+     * de línea, así que el JSON cabe en una sola línea {@code data:}.
+     */
+    public ByteBuf encode(String id, Transaction tx) {
+        return frame(id, json(tx));
+    }
+
+    /**
+     * La parte cara (Jackson), separada para hacerla antes de conocer el id del evento.
+     */
+    public byte[] json(Transaction tx) {
+        try {
+            return mapper.writeValueAsBytes(tx);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Frame completo a partir del JSON ya serializado: solo copia bytes.
+     */
+    public ByteBuf frame(String id, byte[] json) {
+        byte[] idBytes = id.getBytes(StandardCharsets.US_ASCII);
+        byte[] frame = new byte[ID.length + idBytes.length + EVENT_DATA.length + json.length + END.length];
+        int pos = 0;
+        pos = put(frame, pos, ID);
+        pos = put(frame, pos, idBytes);
+        pos = put(frame, pos, EVENT_DATA);
+        pos = put(frame, pos, json);
+        put(frame, pos, END);
+        return Unpooled.unreleasableBuffer(Unpooled.wrappedBuffer(frame).asReadOnly());
+    }
+
+    /**
+     * Frame {@code event:gap}: el cliente debe recargar el historial por GET /api/transactions.
+     */
+    public ByteBuf gap() {
+        return GAP;
+    }
+
+    private static int put(byte[] target, int pos, byte[] part) {
+        System.arraycopy(part, 0, target, pos, part.length);
+        return pos + part.length;
+    }
+}
@@ -0,0 +1,47 @@
+package transactions_service.infrastructure.stream;
+
+import io.netty.buffer.ByteBuf;
+import transactions_service.domain.model.Transaction;
+
+/**
+ * Transacción tal como sale por el stream: su id SSE y el frame ya codificado,
+ * compartido por todos los suscriptores.
+ */
+public record StreamEvent(long seq, String id, Transaction tx, ByteBuf frame) {
+
+    // Objeto, record, Transaction y el array del frame
+    private static final int OVERHEAD_BYTES = 256;
+
+    static StreamEvent live(long epoch, long seq, Transaction tx, byte[] json, SseFrameEncoder encoder) {
+        String id = new EventPosition(epoch, seq, millis(tx), tx.getId()).format();
+        return new StreamEvent(seq, id, tx, encoder.frame(id, json));
+    }
+
+    static StreamEvent catchUp(long epoch, Transaction tx, SseFrameEncoder encoder) {
+        String id = new EventPosition(epoch, 0, millis(tx), tx.getId()).format();
+        return new StreamEvent(0, id, tx, encoder.encode(id, tx));
+    }
+
+    /**
+     * Aviso de que el reenvío desde Mongo se cortó en {@code catchUpLimit}: faltan eventos entre
+     * el último recibido y los que siguen en vivo. Sin id, así que Last-Event-ID no avanza.
+     */
+    static StreamEvent gap(SseFrameEncoder encoder) {
+        return new StreamEvent(0, null, null, encoder.gap());
+    }
+
+    /**
+     * Vista propia del frame (índices independientes, mismos bytes) para escribirla en una conexión.
+     */
+    public ByteBuf frameView() {
+        return frame.duplicate();
+    }
+
+    int bytes() {
+        return OVERHEAD_BYTES + frame.capacity();
+    }
+
+    private static long millis(Transaction tx) {
+        return tx.getTimestamp() == null ? 0 : tx.getTimestamp().toEpochMilli();
+    }
+}
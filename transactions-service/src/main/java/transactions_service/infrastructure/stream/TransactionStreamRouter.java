@@ -0,0 +1,295 @@
+package transactions_service.infrastructure.stream;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.Exceptions;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import transactions_service.domain.model.Transaction;
+import transactions_service.infrastructure.config.TransactionsProperties;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+
+/**
+ * Reparte cada transacción emitida solo a los suscriptores SSE interesados en su cuenta.
+ * Mantiene un índice accountId → suscriptores; los que no filtran por cuenta reciben todo.
+ * El coste de publicar depende de los interesados, no del total de conexiones.
+ * Cada suscriptor tiene su propio buffer acotado: uno lento no retiene a los demás
+ * ni hace crecer la memoria; al llenarse se aplica su {@link OverflowPolicy}.
+ * Los últimos eventos quedan en un buffer de replay para retomar desde Last-Event-ID.
+ * Cada evento se codifica una vez al publicarlo; los suscriptores comparten esos bytes.
+ */
+@Component
+public class TransactionStreamRouter {
+
+    private final Map<String, Set<Subscriber>> byAccount = new ConcurrentHashMap<>();
+    private final Set<Subscriber> firehose = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final Counter delivered;
+    private final Map<OverflowPolicy, Counter> overflows = new EnumMap<>(OverflowPolicy.class);
+    private final Counter disconnected;
+    private final Counter replayedFromBuffer;
+    private final Counter replayedFromStore;
+    private final Counter catchUpTruncated;
+    private final int bufferSize;
+    private final int catchUpLimit;
+    private final OverflowPolicy defaultPolicy;
+    // Distingue ids de arranques distintos: tras reiniciar, las secuencias vuelven a empezar
+    private final long epoch = System.currentTimeMillis();
+    private final ReplayBuffer ring;
+    private final SseFrameEncoder encoder;
+
+    public TransactionStreamRouter(TransactionsProperties props, SseFrameEncoder encoder, MeterRegistry registry) {
+        TransactionsProperties.Stream cfg = props.getStream();
+        this.encoder = encoder;
+        this.bufferSize = Math.max(1, cfg.getBufferSize());
+        this.catchUpLimit = Math.max(1, cfg.getCatchUpLimit());
+        this.defaultPolicy = cfg.getOverflowPolicy();
+        this.ring = new ReplayBuffer(cfg.getReplayMaxEvents(), cfg.getReplayMaxBytes().toBytes());
+        this.delivered = registry.counter("transactions.stream.delivered");
+        this.disconnected = registry.counter("transactions.stream.disconnected");
+        this.replayedFromBuffer = registry.counter("transactions.stream.resumed", "source", "buffer");
+        this.replayedFromStore = registry.counter("transactions.stream.resumed", "source", "store");
+        this.catchUpTruncated = registry.counter("transactions.stream.catchup.truncated");
+        for (OverflowPolicy policy : OverflowPolicy.values()) {
+            overflows.put(policy, registry.counter("transactions.stream.overflow",
+                    "policy", policy.name().toLowerCase(Locale.ROOT)));
+        }
+        Gauge.builder("transactions.stream.subscribers", subscribers, AtomicInteger::get)
+                .register(registry);
+        Gauge.builder("transactions.stream.routed.accounts", byAccount, Map::size)
+                .register(registry);
+        Gauge.builder("transactions.stream.replay.events", ring, ReplayBuffer::size)
+                .register(registry);
+        Gauge.builder("transactions.stream.replay.bytes", ring, ReplayBuffer::bytes)
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    public Flux<StreamEvent> subscribe(Set<String> accountIds) {
+        return subscribe(accountIds, defaultPolicy);
+    }
+
+    public Flux<StreamEvent> subscribe(Set<String> accountIds, OverflowPolicy policy) {
+        return subscribe(accountIds, policy, null, (from, max) -> Flux.empty());
+    }
+
+    /**
+     * Transacciones de las cuentas {@code accountIds} (todas si está vacío).
+     * Con {@code lastEventId} primero se reenvía lo publicado después de ese evento: desde el buffer
+     * de replay si aún lo contiene y, si no, con {@code catchUp} (consulta al store de como mucho
+     * {@code max} transacciones posteriores al evento, en orden (timestamp, id)). Si la consulta llega
+     * a {@code catchUpLimit} se corta y se envía un evento {@code gap}. Luego sigue en vivo sin huecos:
+     * el suscriptor se registra antes de leer el historial y lo que llega mientras tanto se retiene
+     * y se deduplica.
+     */
+    public Flux<StreamEvent> subscribe(Set<String> accountIds, OverflowPolicy policy, String lastEventId,
+                                       BiFunction<EventPosition, Integer, Flux<Transaction>> catchUp) {
+        Set<String> accounts = Set.copyOf(accountIds);
+        return Flux.defer(() -> {
+            Subscriber sub = new Subscriber(accounts, policy);
+            EventPosition from = EventPosition.parse(lastEventId);
+            List<StreamEvent> replay = null;
+            long high;
+            synchronized (ring) {
+                register(sub);
+                high = ring.lastSeq();
+                if (from != null && from.epoch() == epoch && ring.covers(from.seq())) {
+                    replay = ring.since(from.seq(), sub::interestedIn);
+                }
+            }
+
+            Flux<StreamEvent> history;
+            Predicate<StreamEvent> duplicate;
+            if (from == null) {
+                history = Flux.empty();
+                duplicate = e -> false;
+            } else if (replay != null) {
+                replayedFromBuffer.increment();
+                history = Flux.fromIterable(replay);
+                duplicate = e -> e.seq() <= high;
+            } else {
+                replayedFromStore.increment();
+                Set<String> seen = ConcurrentHashMap.newKeySet();
+                // Se pide uno de más: si llega, el hueco no cabe en el límite y se avisa en su lugar
+                history = catchUp.apply(from, catchUpLimit + 1)
+                        .take(catchUpLimit + 1L)
+                        .index()
+                        .map(t -> {
+                            if (t.getT1() == catchUpLimit) {
+                                catchUpTruncated.increment();
+                                return StreamEvent.gap(encoder);
+                            }
+                            seen.add(t.getT2().getId());
+                            return StreamEvent.catchUp(epoch, t.getT2(), encoder);
+                        });
+                duplicate = e -> seen.contains(e.tx().getId());
+            }
+
+            // create pide sin límite al buffer acotado de abajo, así que nunca acumula por su cuenta
+            Flux<StreamEvent> live = bounded(Flux.create(sink -> sub.attach(sink, duplicate)), policy);
+            return history.concatWith(live)
+                    .doFinally(signal -> unregister(sub));
+        });
+    }
+
+    /**
+     * El reparto va en el mismo cerrojo que asigna el seq: cada suscriptor recibe los eventos en
+     * orden de seq, así que quien retoma desde N no puede haberse saltado uno anterior a N.
+     * Entregar solo encola en el buffer del suscriptor; no espera a la conexión. El JSON se serializa
+     * antes de tomar el cerrojo: dentro solo se pone el id y se copian bytes.
+     */
+    public void publish(Transaction tx) {
+        byte[] json = encoder.json(tx);
+        synchronized (ring) {
+            StreamEvent event = ring.append(epoch, tx, json, encoder);
+            Set<Subscriber> interested = tx.getAccountId() == null ? null : byAccount.get(tx.getAccountId());
+            if (interested != null) {
+                interested.forEach(sub -> sub.deliver(event));
+            }
+            firehose.forEach(sub -> sub.deliver(event));
+        }
+    }
+
+    private Flux<StreamEvent> bounded(Flux<StreamEvent> source, OverflowPolicy policy) {
+        Counter overflow = overflows.get(policy);
+        return switch (policy) {
+            case DROP_OLDEST -> source.onBackpressureBuffer(bufferSize, dropped -> overflow.increment(),
+                    BufferOverflowStrategy.DROP_OLDEST);
+            case DROP_LATEST -> source.onBackpressureBuffer(bufferSize, dropped -> overflow.increment(),
+                    BufferOverflowStrategy.DROP_LATEST);
+            case DISCONNECT -> source.onBackpressureBuffer(bufferSize, dropped -> overflow.increment(),
+                            BufferOverflowStrategy.ERROR)
+                    .onErrorResume(Exceptions::isOverflow, e -> {
+                        disconnected.increment();
+                        return Mono.empty();
+                    });
+        };
+    }
+
+    private void register(Subscriber sub) {
+        if (sub.accounts.isEmpty()) {
+            firehose.add(sub);
+        }
+        for (String accountId : sub.accounts) {
+            byAccount.compute(accountId, (k, set) -> {
+                Set<Subscriber> target = set != null ? set : ConcurrentHashMap.newKeySet();
+                target.add(sub);
+                return target;
+            });
+        }
+        subscribers.incrementAndGet();
+    }
+
+    private void unregister(Subscriber sub) {
+        if (!sub.registered.compareAndSet(true, false)) {
+            return;
+        }
+        if (sub.accounts.isEmpty()) {
+            firehose.remove(sub);
+        }
+        // Sin suscriptores la cuenta sale del índice
+        for (String accountId : sub.accounts) {
+            byAccount.computeIfPresent(accountId, (k, set) -> {
+                set.remove(sub);
+                return set.isEmpty() ? null : set;
+            });
+        }
+        subscribers.decrementAndGet();
+    }
+
+    public int subscriberCount() {
+        return subscribers.get();
+    }
+
+    public int routedAccountCount() {
+        return byAccount.size();
+    }
+
+    /**
+     * Hasta que termina el historial los eventos en vivo se retienen (acotados por el mismo
+     * tamaño de buffer y la misma política); al conectar se vuelcan sin los ya enviados.
+     */
+    private final class Subscriber {
+
+        private final Set<String> accounts;
+        private final OverflowPolicy policy;
+        private final AtomicBoolean registered = new AtomicBoolean(true);
+        private final Deque<StreamEvent> held = new ArrayDeque<>();
+        private boolean heldOverflow;
+        private Predicate<StreamEvent> duplicate = e -> false;
+        private volatile FluxSink<StreamEvent> sink;
+
+        Subscriber(Set<String> accounts, OverflowPolicy policy) {
+            this.accounts = accounts;
+            this.policy = policy;
+        }
+
+        boolean interestedIn(Transaction tx) {
+            return accounts.isEmpty() || accounts.contains(tx.getAccountId());
+        }
+
+        void deliver(StreamEvent event) {
+            FluxSink<StreamEvent> target = sink;
+            if (target == null) {
+                synchronized (this) {
+                    target = sink;
+                    if (target == null) {
+                        hold(event);
+                        return;
+                    }
+                }
+            }
+            if (!duplicate.test(event)) {
+                target.next(event);
+                delivered.increment();
+            }
+        }
+
+        synchronized void attach(FluxSink<StreamEvent> target, Predicate<StreamEvent> duplicate) {
+            if (heldOverflow && policy == OverflowPolicy.DISCONNECT) {
+                held.clear();
+                disconnected.increment();
+                target.complete();
+                return;
+            }
+            for (StreamEvent event : held) {
+                if (!duplicate.test(event)) {
+                    target.next(event);
+                    delivered.increment();
+                }
+            }
+            held.clear();
+            this.duplicate = duplicate;
+            this.sink = target;
+        }
+
+        private void hold(StreamEvent event) {
+            if (held.size() < bufferSize) {
+                held.add(event);
+                return;
+            }
+            heldOverflow = true;
+            overflows.get(policy).increment();
+            if (policy == OverflowPolicy.DROP_OLDEST) {
+                held.poll();
+                held.add(event);
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package transactions_service.precentation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import transactions_service.domain.dto.AccountBalance;
+import transactions_service.domain.service.BalanceStripes;
+
+@RestController
+@RequestMapping("/api/accounts")
+@RequiredArgsConstructor
+public class AccountController {
+
+    private final BalanceStripes stripes;
+
+    /**
+     * Saldo lógico de la cuenta: el base más sus stripes, si los tiene.
+     */
+    @GetMapping("/{accountNumber}/balance")
+    public Mono<AccountBalance> balance(@PathVariable String accountNumber) {
+        return stripes.balance(accountNumber);
+    }
+
+    /**
+     * Reparte los abonos de una cuenta muy caliente en {@code count} stripes (2 a 64). Solo crece,
+     * y la cuenta deja de llevar secuencia de ledger.
+     */
+    @PutMapping("/{accountNumber}/stripes")
+    public Mono<AccountBalance> enableStripes(@PathVariable String accountNumber, @RequestParam int count) {
+        return stripes.enable(accountNumber, count);
+    }
+}
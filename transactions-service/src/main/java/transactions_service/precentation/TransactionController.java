@@ -1,37 +1,96 @@
 package transactions_service.precentation;
 
+import io.netty.buffer.ByteBufAllocator;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import transactions_service.domain.dto.BatchItemResult;
 import transactions_service.domain.dto.CreateTxRequest;
 import transactions_service.domain.model.Transaction;
+import transactions_service.domain.service.BatchTransactionService;
 import transactions_service.domain.service.TransactionService;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api")
 @RequiredArgsConstructor
 public class TransactionController {
+    private static final NettyDataBufferFactory FRAMES = new NettyDataBufferFactory(ByteBufAllocator.DEFAULT);
+
     private final TransactionService service;
+    private final BatchTransactionService batchService;
 
-    @PostMapping("/transactions")
-    public Mono<ResponseEntity<Transaction>> create(@Valid @RequestBody CreateTxRequest req) {
-        return service.create(req)
+    /**
+     * Acepta y responde JSON (por defecto) o application/cbor, según Content-Type y Accept.
+     * Con Idempotency-Key, repetir la petición devuelve la transacción original sin aplicarla otra vez.
+     */
+    @PostMapping(value = "/transactions", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public Mono<ResponseEntity<Transaction>> create(@Valid @RequestBody CreateTxRequest req,
+                                                    @RequestHeader(value = "Idempotency-Key", required = false)
+                                                    String idempotencyKey) {
+        return service.create(req, idempotencyKey)
                 .map(t -> ResponseEntity.status(HttpStatus.CREATED).body(t));
     }
 
-    @GetMapping("/transactions")
-    public Flux<Transaction> list(@RequestParam String accountNumber) {
-        return service.byAccount(accountNumber);
+    @PostMapping(value = "/transactions/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<List<BatchItemResult>>> createBatch(@RequestBody Flux<CreateTxRequest> requests) {
+        // Con algún UNKNOWN (aplicado sin guardar) el resto sí se aplicó: 207 con el estado de cada elemento
+        return batchService.create(requests)
+                .map(results -> ResponseEntity
+                        .status(results.stream().anyMatch(BatchItemResult::unknown)
+                                ? HttpStatus.MULTI_STATUS
+                                : HttpStatus.OK)
+                        .body(results));
+    }
+
+    /**
+     * Historial paginado por cursor; la siguiente página va en la cabecera Link (rel="next").
+     * Con Accept: application/cbor la página se codifica en CBOR.
+     */
+    @GetMapping(value = "/transactions", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public Mono<ResponseEntity<List<Transaction>>> list(@RequestParam String accountNumber,
+                                                        @RequestParam(required = false) Integer limit,
+                                                        @RequestParam(required = false) String cursor,
+                                                        ServerHttpRequest request) {
+        return service.page(accountNumber, limit, cursor)
+                .map(page -> {
+                    ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+                    if (page.getNextCursor() != null) {
+                        String next = UriComponentsBuilder.fromUri(request.getURI())
+                                .replaceQueryParam("cursor", page.getNextCursor())
+                                .build()
+                                .toUriString();
+                        ok.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+                    }
+                    return ok.body(page.getItems());
+                });
     }
 
+    /**
+     * {@code accountNumber} se puede repetir o separar por comas; sin él llegan todas las cuentas.
+     * {@code overflow} (drop-oldest, drop-latest, disconnect) decide qué pasa si el cliente se queda atrás.
+     * Al reconectar, el navegador envía Last-Event-ID y el stream retoma desde ese evento.
+     * Los frames llegan ya codificados: se escriben tal cual, uno por flush, sin pasar por Jackson.
+     */
     @GetMapping(value = "/stream/transactions", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public Flux<ServerSentEvent<Transaction>> stream() {
-        return service.stream();
+    public Mono<Void> stream(@RequestParam(required = false) List<String> accountNumber,
+                             @RequestParam(required = false) String overflow,
+                             @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                             ServerHttpResponse response) {
+        response.getHeaders().setContentType(MediaType.TEXT_EVENT_STREAM);
+        return response.writeAndFlushWith(service.stream(accountNumber, overflow, lastEventId)
+                .map(event -> Flux.just(FRAMES.wrap(event.frameView()))));
     }
 }
@@ -0,0 +1,113 @@
+package com.example.transactions.benchmark;
+
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import transactions_service.domain.model.Account;
+import transactions_service.domain.model.Money;
+import transactions_service.domain.repository.AccountBalanceOperationsImpl;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Martilla una sola cuenta con débitos concurrentes y compara el read-modify-write
+ * anterior con el findAndModify condicional.
+ *
+ * Requiere un Mongo real:
+ * ./mvnw test -Dtest=AccountBalanceConcurrencyBenchmark -Dbench.mongo.uri=mongodb://localhost:27017/bench
+ */
+@EnabledIfSystemProperty(named = "bench.mongo.uri", matches = ".+")
+@DisplayName("Account balance concurrency benchmark")
+class AccountBalanceConcurrencyBenchmark {
+
+    private static final int DEBITS = 2_000;
+    private static final int CONCURRENCY = 64;
+    private static final Money AMOUNT = Money.of("1.00");
+    private static final Money INITIAL = Money.of("1000.00");
+
+    private MongoClient client;
+    private ReactiveMongoTemplate mongo;
+    private AccountBalanceOperationsImpl balanceOps;
+
+    @BeforeEach
+    void setUp() {
+        String uri = System.getProperty("bench.mongo.uri");
+        client = MongoClients.create(uri);
+        mongo = new ReactiveMongoTemplate(client, "bench_balance");
+        balanceOps = new AccountBalanceOperationsImpl(mongo);
+        mongo.dropCollection(Account.class).block();
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+    }
+
+    @Test
+    void atomicDebitsNeverLoseUpdatesNorOverdraw() {
+        Account acc = seed("BENCH-ATOMIC");
+        AtomicInteger ok = new AtomicInteger();
+
+        long start = System.nanoTime();
+        Flux.range(0, DEBITS)
+                .flatMap(i -> balanceOps.debitIfSufficient(acc.getId(), AMOUNT)
+                        .doOnNext(a -> ok.incrementAndGet()), CONCURRENCY)
+                .blockLast(Duration.ofMinutes(2));
+        long elapsed = System.nanoTime() - start;
+
+        Money finalBalance = mongo.findById(acc.getId(), Account.class).block().getBalance();
+        report("atomic findAndModify", ok.get(), finalBalance, elapsed);
+
+        // Exactamente INITIAL / AMOUNT débitos ganan el guard; el resto ve vacío
+        assertThat(ok.get()).isEqualTo((int) (INITIAL.minor() / AMOUNT.minor()));
+        assertThat(finalBalance).isEqualTo(Money.ZERO);
+    }
+
+    @Test
+    void legacyReadModifyWriteForComparison() {
+        Account acc = seed("BENCH-LEGACY");
+        AtomicInteger ok = new AtomicInteger();
+
+        long start = System.nanoTime();
+        Flux.range(0, DEBITS)
+                .flatMap(i -> mongo.findById(acc.getId(), Account.class)
+                        .filter(a -> a.getBalance().compareTo(AMOUNT) >= 0)
+                        .flatMap(a -> {
+                            a.setBalance(a.getBalance().minus(AMOUNT));
+                            return mongo.save(a);
+                        })
+                        .doOnNext(a -> ok.incrementAndGet()), CONCURRENCY)
+                .blockLast(Duration.ofMinutes(2));
+        long elapsed = System.nanoTime() - start;
+
+        Money finalBalance = mongo.findById(acc.getId(), Account.class).block().getBalance();
+        report("legacy read-modify-write", ok.get(), finalBalance, elapsed);
+    }
+
+    private Account seed(String number) {
+        return mongo.insert(Account.builder()
+                .number(number)
+                .holderName("bench")
+                .currency("PEN")
+                .balance(INITIAL)
+                .build()).block();
+    }
+
+    private static void report(String label, int accepted, Money finalBalance, long elapsedNanos) {
+        long expected = INITIAL.minor() - AMOUNT.minor() * accepted;
+        long lost = Math.abs(expected - finalBalance.minor()) / AMOUNT.minor();
+        double opsPerSec = DEBITS / (elapsedNanos / 1_000_000_000.0);
+        System.out.printf("%-26s accepted=%d final=%s lostUpdates=%d throughput=%.0f ops/s%n",
+                label, accepted, finalBalance, lost, opsPerSec);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.transactions.benchmark;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import transactions_service.TransactionsServiceApplication;
+import transactions_service.domain.dto.CreateTxRequest;
+import transactions_service.domain.model.Account;
+import transactions_service.domain.model.Money;
+import transactions_service.domain.repository.AccountRepository;
+import transactions_service.domain.repository.TransactionRepository;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara el throughput por elemento de POST /api/transactions contra POST /api/transactions/batch.
+ *
+ * Requiere un Mongo real:
+ * ./mvnw test -Dtest=BatchIngestionBenchmark -Dbench.mongo.uri=mongodb://localhost:27017/bench
+ */
+@EnabledIfSystemProperty(named = "bench.mongo.uri", matches = ".+")
+@SpringBootTest(
+        classes = TransactionsServiceApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.data.mongodb.uri=${bench.mongo.uri}",
+                "transactions.lanes.queue-capacity=100000"
+        }
+)
+@ActiveProfiles("test")
+@DisplayName("Batch ingestion benchmark")
+class BatchIngestionBenchmark {
+
+    private static final int ITEMS = 20_000;
+    private static final int ACCOUNTS = 100;
+    private static final int BATCH_SIZE = 1_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AccountRepository accountRepo;
+
+    @Autowired
+    private TransactionRepository txRepo;
+
+    private WebClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = WebClient.create("http://localhost:" + port);
+        txRepo.deleteAll().block();
+        accountRepo.deleteAll()
+                .thenMany(Flux.range(0, ACCOUNTS).map(i -> Account.builder()
+                        .number(account(i))
+                        .holderName("bench")
+                        .currency("PEN")
+                        .balance(Money.ZERO)
+                        .build()))
+                .flatMap(accountRepo::save)
+                .blockLast();
+    }
+
+    @Test
+    void batchEndpointVersusSingleEndpoint() {
+        long singleStart = System.nanoTime();
+        Flux.range(0, ITEMS)
+                .flatMap(i -> client.post().uri("/api/transactions")
+                        .bodyValue(credit(i))
+                        .retrieve()
+                        .toBodilessEntity(), 64)
+                .blockLast(Duration.ofMinutes(10));
+        double singlePerSec = ITEMS / seconds(singleStart);
+
+        long batchStart = System.nanoTime();
+        Flux.range(0, ITEMS)
+                .map(BatchIngestionBenchmark::credit)
+                .buffer(BATCH_SIZE)
+                .flatMap(chunk -> client.post().uri("/api/transactions/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(chunk)
+                        .retrieve()
+                        .bodyToMono(List.class), 4)
+                .blockLast(Duration.ofMinutes(10));
+        double batchPerSec = ITEMS / seconds(batchStart);
+
+        System.out.printf("single=%.0f items/s batch=%.0f items/s speedup=%.1fx (target 10x)%n",
+                singlePerSec, batchPerSec, batchPerSec / singlePerSec);
+
+        assertThat(txRepo.count().block()).isEqualTo(2L * ITEMS);
+    }
+
+    private static CreateTxRequest credit(int i) {
+        return CreateTxRequest.builder()
+                .accountNumber(account(i % ACCOUNTS))
+                .type("CREDIT")
+                .amount(Money.of("1.00"))
+                .build();
+    }
+
+    private static String account(int i) {
+        return String.format("BENCH-%04d", i);
+    }
+
+    private static double seconds(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000_000.0;
+    }
+}
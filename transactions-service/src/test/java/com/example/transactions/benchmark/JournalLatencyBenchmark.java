@@ -0,0 +1,113 @@
+package com.example.transactions.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import transactions_service.domain.model.Money;
+import transactions_service.domain.model.Transaction;
+import transactions_service.domain.repository.TransactionRepository;
+import transactions_service.infrastructure.config.TransactionsProperties;
+import transactions_service.infrastructure.groupcommit.TransactionGroupCommit;
+import transactions_service.infrastructure.journal.TransactionJournal;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Latencia de confirmación con Mongo lento: group commit (espera al insertMany) frente al journal
+ * local (espera al fsync). Mongo se simula con un insertMany de {@code bench.journal.base.ms} que
+ * cada {@code bench.journal.stall.every} llamadas tarda {@code bench.journal.stall.ms}.
+ * No necesita Mongo; el fsync sí es real, sobre el disco de java.io.tmpdir.
+ *
+ * ./mvnw test -Dtest=JournalLatencyBenchmark -Dbench.journal=true [-Dbench.journal.requests=20000]
+ */
+@EnabledIfSystemProperty(named = "bench.journal", matches = "true")
+@DisplayName("Journal vs group commit under Mongo slowdowns")
+class JournalLatencyBenchmark {
+
+    private static final int REQUESTS = Integer.getInteger("bench.journal.requests", 20_000);
+    private static final int CONCURRENCY = Integer.getInteger("bench.journal.concurrency", 64);
+    private static final long BASE_MS = Long.getLong("bench.journal.base.ms", 2);
+    private static final long STALL_MS = Long.getLong("bench.journal.stall.ms", 300);
+    private static final long STALL_EVERY = Long.getLong("bench.journal.stall.every", 20);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void p99UnderInjectedDatabaseLatency() {
+        TransactionsProperties props = new TransactionsProperties();
+        props.getGroupCommit().setEnabled(true);
+        props.getJournal().setEnabled(true);
+        props.getJournal().setDirectory(directory.toString());
+
+        TransactionGroupCommit groupCommit = new TransactionGroupCommit(slowMongo(), props, new SimpleMeterRegistry());
+        groupCommit.start();
+        long[] direct = run(groupCommit::save);
+        groupCommit.stop();
+
+        TransactionJournal journal = new TransactionJournal(slowMongo(), props, new SimpleMeterRegistry());
+        journal.start();
+        long[] journaled = run(journal::append);
+        journal.stop();
+
+        report("group commit", direct);
+        report("journal", journaled);
+        assertThat(percentile(journaled, 0.99)).isLessThan(percentile(direct, 0.99));
+    }
+
+    private TransactionRepository slowMongo() {
+        TransactionRepository repo = mock(TransactionRepository.class);
+        AtomicLong calls = new AtomicLong();
+        when(repo.insertUnordered(anyList())).thenAnswer(i -> {
+            long ms = calls.incrementAndGet() % STALL_EVERY == 0 ? STALL_MS : BASE_MS;
+            return Mono.delay(Duration.ofMillis(ms)).then();
+        });
+        return repo;
+    }
+
+    private static long[] run(Function<Transaction, Mono<Transaction>> ack) {
+        long[] latencies = new long[REQUESTS];
+        Flux.range(0, REQUESTS)
+                .flatMap(i -> Mono.defer(() -> {
+                    long start = System.nanoTime();
+                    return ack.apply(tx(i)).doOnSuccess(t -> latencies[i] = System.nanoTime() - start);
+                }), CONCURRENCY)
+                .blockLast(Duration.ofMinutes(5));
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private static Transaction tx(int i) {
+        return Transaction.builder()
+                .accountId("acc-" + (i % 1_000))
+                .type("DEBIT")
+                .amount(Money.ofMinor(1_000 + i))
+                .timestamp(Instant.now())
+                .status("OK")
+                .build();
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private static void report(String mode, long[] sorted) {
+        System.out.printf("%-13s p50=%7.2f ms  p99=%7.2f ms  p99.9=%7.2f ms  max=%7.2f ms%n", mode,
+                percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.99) / 1e6,
+                percentile(sorted, 0.999) / 1e6, sorted[sorted.length - 1] / 1e6);
+    }
+}
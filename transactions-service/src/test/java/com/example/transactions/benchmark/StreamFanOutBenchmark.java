@@ -0,0 +1,152 @@
+package com.example.transactions.benchmark;
+
+import com.sun.management.OperatingSystemMXBean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.Disposable;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import transactions_service.TransactionsServiceApplication;
+import transactions_service.domain.model.Money;
+import transactions_service.domain.model.Transaction;
+import transactions_service.infrastructure.stream.TransactionStreamRouter;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fan-out del stream SSE extremo a extremo: N clientes reales suscritos, M eventos publicados.
+ * Mide CPU de proceso por evento entregado (servidor y clientes comparten JVM, así que es
+ * una cota superior; sirve para comparar antes/después del frame compartido).
+ *
+ * ./mvnw test -Dtest=StreamFanOutBenchmark -Dbench.fanout=true [-Dbench.fanout.clients=100,1000] [-Dbench.fanout.events=200]
+ * (10k clientes y el servidor en la misma JVM necesitan ulimit -n por encima de 20k)
+ */
+@EnabledIfSystemProperty(named = "bench.fanout", matches = "true")
+@SpringBootTest(
+        classes = TransactionsServiceApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.data.mongodb.uri=mongodb://localhost:27017/fanout?serverSelectionTimeoutMS=1000",
+                "transactions.stream.buffer-size=1024"
+        }
+)
+@ActiveProfiles("test")
+@DisplayName("SSE stream fan-out")
+class StreamFanOutBenchmark {
+
+    private static final int EVENTS = Integer.getInteger("bench.fanout.events", 200);
+
+    static IntStream clientCounts() {
+        return Arrays.stream(System.getProperty("bench.fanout.clients", "100,1000,10000").split(","))
+                .mapToInt(c -> Integer.parseInt(c.trim()));
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TransactionStreamRouter router;
+
+    @ParameterizedTest(name = "{0} clients")
+    @MethodSource("clientCounts")
+    void cpuPerDeliveredEvent(int clients) throws InterruptedException {
+        ConnectionProvider provider = ConnectionProvider.builder("fanout")
+                .maxConnections(clients)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        HttpClient client = HttpClient.create(provider).baseUrl("http://localhost:" + port);
+        AtomicLong frames = new AtomicLong();
+        List<Disposable> connections = new ArrayList<>(clients);
+        int before = router.subscriberCount();
+
+        for (int i = 0; i < clients; i++) {
+            connections.add(client.get()
+                    .uri("/api/stream/transactions")
+                    .responseContent()
+                    .asString(StandardCharsets.UTF_8)
+                    .subscribe(new FrameCounter(frames)));
+        }
+        awaitUntil(() -> router.subscriberCount() - before >= clients, Duration.ofMinutes(2));
+        assertThat(router.subscriberCount() - before).isEqualTo(clients);
+
+        OperatingSystemMXBean os = (OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        long expected = (long) clients * EVENTS;
+        long cpuStart = os.getProcessCpuTime();
+        long wallStart = System.nanoTime();
+        for (int e = 0; e < EVENTS; e++) {
+            router.publish(tx(e));
+        }
+        awaitUntil(() -> frames.get() >= expected, Duration.ofMinutes(2));
+        long cpuNanos = os.getProcessCpuTime() - cpuStart;
+        long wallNanos = System.nanoTime() - wallStart;
+
+        System.out.printf("clients=%d events=%d delivered=%d wallMs=%d cpuMs=%d cpuUsPerDelivery=%.2f%n",
+                clients, EVENTS, frames.get(), wallNanos / 1_000_000, cpuNanos / 1_000_000,
+                cpuNanos / 1_000.0 / frames.get());
+
+        connections.forEach(Disposable::dispose);
+        provider.disposeLater().block(Duration.ofSeconds(30));
+        awaitUntil(() -> router.subscriberCount() <= before, Duration.ofMinutes(1));
+
+        assertThat(frames.get()).isEqualTo(expected);
+    }
+
+    // Cuenta frames por su "\n\n" final; el separador puede quedar partido entre dos chunks
+    private static final class FrameCounter implements Consumer<String> {
+        private final AtomicLong frames;
+        private char last;
+
+        FrameCounter(AtomicLong frames) {
+            this.frames = frames;
+        }
+
+        @Override
+        public void accept(String chunk) {
+            for (int i = 0; i < chunk.length(); i++) {
+                char c = chunk.charAt(i);
+                if (c == '\n' && last == '\n') {
+                    frames.incrementAndGet();
+                    c = 0;
+                }
+                last = c;
+            }
+        }
+    }
+
+    private static void awaitUntil(BooleanSupplier condition, Duration timeout)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    private static Transaction tx(int seq) {
+        return Transaction.builder()
+                .id("fanout-" + seq)
+                .accountId("acc-" + (seq % 100))
+                .type("CREDIT")
+                .amount(Money.of("1.00"))
+                .timestamp(Instant.now())
+                .status("OK")
+                .build();
+    }
+}
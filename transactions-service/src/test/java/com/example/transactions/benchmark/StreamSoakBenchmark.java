@@ -0,0 +1,141 @@
+package com.example.transactions.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.reactivestreams.Subscription;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import transactions_service.TransactionsServiceApplication;
+import transactions_service.domain.model.Money;
+import transactions_service.domain.model.Transaction;
+import transactions_service.infrastructure.stream.TransactionStreamRouter;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Soak del stream SSE: muchos clientes conectados, una parte deliberadamente lentos
+ * (leen un evento y dejan de leer). Con buffers acotados por suscriptor el heap
+ * debe quedarse plano ronda tras ronda.
+ *
+ * ./mvnw test -Dtest=StreamSoakBenchmark -Dbench.soak=true [-Dbench.soak.clients=10000]
+ * (10k clientes y el servidor en la misma JVM necesitan ulimit -n por encima de 20k)
+ */
+@EnabledIfSystemProperty(named = "bench.soak", matches = "true")
+@SpringBootTest(
+        classes = TransactionsServiceApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.data.mongodb.uri=mongodb://localhost:27017/soak?serverSelectionTimeoutMS=1000",
+                "transactions.stream.buffer-size=64"
+        }
+)
+@ActiveProfiles("test")
+@DisplayName("SSE stream soak")
+class StreamSoakBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("bench.soak.clients", 10_000);
+    private static final int SLOW_EVERY = 10;
+    private static final int ROUNDS = Integer.getInteger("bench.soak.rounds", 8);
+    private static final int EVENTS_PER_ROUND = Integer.getInteger("bench.soak.events", 200);
+    private static final long MAX_GROWTH_BYTES = 64L * 1024 * 1024;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TransactionStreamRouter router;
+
+    @Test
+    void heapStaysFlatWithSlowClients() throws InterruptedException {
+        ConnectionProvider provider = ConnectionProvider.builder("soak")
+                .maxConnections(CLIENTS)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        HttpClient client = HttpClient.create(provider).baseUrl("http://localhost:" + port);
+        AtomicLong fastBytes = new AtomicLong();
+        List<Disposable> connections = new ArrayList<>(CLIENTS);
+
+        for (int i = 0; i < CLIENTS; i++) {
+            Flux<byte[]> body = client.get()
+                    .uri("/api/stream/transactions")
+                    .responseContent()
+                    .asByteArray();
+            if (i % SLOW_EVERY == 0) {
+                SlowClient slow = new SlowClient();
+                body.subscribe(slow);
+                connections.add(slow);
+            } else {
+                connections.add(body.subscribe(bytes -> fastBytes.addAndGet(bytes.length)));
+            }
+        }
+        long deadline = System.nanoTime() + Duration.ofMinutes(2).toNanos();
+        while (router.subscriberCount() < CLIENTS && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        assertThat(router.subscriberCount()).isEqualTo(CLIENTS);
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        List<Long> heapPerRound = new ArrayList<>();
+        int seq = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int e = 0; e < EVENTS_PER_ROUND; e++) {
+                router.publish(tx(seq++));
+            }
+            Thread.sleep(500);
+            System.gc();
+            heapPerRound.add(memory.getHeapMemoryUsage().getUsed());
+        }
+
+        System.out.printf("clients=%d slow=%d events=%d fastBytes=%d heapMB per round=%s%n",
+                CLIENTS, CLIENTS / SLOW_EVERY, seq, fastBytes.get(),
+                heapPerRound.stream().map(b -> b / (1024 * 1024)).toList());
+
+        connections.forEach(Disposable::dispose);
+        provider.disposeLater().block(Duration.ofSeconds(30));
+
+        // La primera ronda llena los buffers de los lentos; desde ahí no debe crecer
+        long baseline = heapPerRound.get(1);
+        long last = heapPerRound.get(heapPerRound.size() - 1);
+        assertThat(last - baseline).isLessThan(MAX_GROWTH_BYTES);
+    }
+
+    private static Transaction tx(int seq) {
+        return Transaction.builder()
+                .id("soak-" + seq)
+                .accountId("acc-" + (seq % 100))
+                .type("CREDIT")
+                .amount(Money.of("1.00"))
+                .timestamp(Instant.now())
+                .status("OK")
+                .build();
+    }
+
+    // Lee un evento y deja de pedir: el servidor acumula hasta su buffer y aplica la política
+    private static final class SlowClient extends BaseSubscriber<byte[]> {
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            subscription.request(1);
+        }
+
+        @Override
+        protected void hookOnNext(byte[] value) {
+            // no se pide más
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.transactions.benchmark;
+
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import transactions_service.domain.model.AccountStripe;
+import transactions_service.domain.model.Money;
+import transactions_service.domain.repository.AccountStripeOperationsImpl;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Abonos concurrentes a una sola cuenta con 1, 2, 4, 8 y 16 stripes: con uno todos compiten
+ * por el mismo documento; con más, el lock de documento se reparte.
+ *
+ * Requiere un Mongo real:
+ * ./mvnw test -Dtest=StripedCreditBenchmark -Dbench.mongo.uri=mongodb://localhost:27017/bench
+ */
+@EnabledIfSystemProperty(named = "bench.mongo.uri", matches = ".+")
+@DisplayName("Striped credit throughput benchmark")
+class StripedCreditBenchmark {
+
+    private static final int CREDITS = 5_000;
+    private static final int CONCURRENCY = 64;
+    private static final Money AMOUNT = Money.of("1.00");
+
+    private MongoClient client;
+    private ReactiveMongoTemplate mongo;
+    private AccountStripeOperationsImpl stripeOps;
+
+    @BeforeEach
+    void setUp() {
+        client = MongoClients.create(System.getProperty("bench.mongo.uri"));
+        mongo = new ReactiveMongoTemplate(client, "bench_stripes");
+        stripeOps = new AccountStripeOperationsImpl(mongo);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+    }
+
+    @Test
+    void creditThroughputByStripeCount() {
+        for (int stripes : new int[]{1, 2, 4, 8, 16}) {
+            mongo.dropCollection(AccountStripe.class).block();
+            String accountId = "BENCH-STRIPES-" + stripes;
+
+            long start = System.nanoTime();
+            Flux.range(0, CREDITS)
+                    .flatMap(i -> stripeOps.creditStripe(accountId,
+                            ThreadLocalRandom.current().nextInt(stripes), AMOUNT), CONCURRENCY)
+                    .blockLast(Duration.ofMinutes(2));
+            long elapsed = System.nanoTime() - start;
+
+            long total = mongo.findAll(AccountStripe.class)
+                    .map(s -> s.getBalance().minor())
+                    .reduce(0L, Long::sum)
+                    .block();
+            System.out.printf("stripes=%-2d total=%s throughput=%.0f ops/s%n",
+                    stripes, Money.ofMinor(total), CREDITS / (elapsed / 1_000_000_000.0));
+
+            // Ningún abono se pierde, sea cual sea el reparto
+            assertThat(total).isEqualTo(AMOUNT.minor() * CREDITS);
+        }
+    }
+}
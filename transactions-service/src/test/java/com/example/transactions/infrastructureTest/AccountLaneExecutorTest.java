@@ -0,0 +1,147 @@
+package com.example.transactions.infrastructureTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import transactions_service.infrastructure.config.TransactionsProperties;
+import transactions_service.infrastructure.exception.BusinessException;
+import transactions_service.infrastructure.lane.AccountLaneExecutor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AccountLaneExecutor Tests")
+class AccountLaneExecutorTest {
+
+    private SimpleMeterRegistry registry;
+    private TransactionsProperties props;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        props = new TransactionsProperties();
+    }
+
+    @Test
+    @DisplayName("Should run writes of the same account one at a time, in order")
+    void shouldSerializeSameAccountInOrder() {
+        // Given
+        AccountLaneExecutor lanes = new AccountLaneExecutor(props, registry);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        List<Integer> order = new CopyOnWriteArrayList<>();
+
+        // When - later tasks finish faster, so ordering only holds if the lane serializes them
+        Flux.range(0, 20)
+                .flatMap(i -> lanes.submit("001-0001", () -> Mono.fromRunnable(() ->
+                                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                        .then(Mono.delay(Duration.ofMillis(20 - i)))
+                        .doOnNext(x -> {
+                            order.add(i);
+                            inFlight.decrementAndGet();
+                        })))
+                .blockLast(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(maxInFlight.get()).isEqualTo(1);
+        assertThat(order).containsExactlyElementsOf(Flux.range(0, 20).collectList().block());
+    }
+
+    @Test
+    @DisplayName("Should run different lanes in parallel")
+    void shouldRunDifferentLanesInParallel() {
+        // Given
+        AccountLaneExecutor lanes = new AccountLaneExecutor(props, registry);
+        Sinks.One<Void> gate = Sinks.one();
+        String first = "001-0001";
+        String other = firstAccountOnAnotherLane(lanes, first);
+
+        // When - the first lane is blocked on the gate
+        Mono<Void> blocked = lanes.submit(first, gate::asMono);
+        blocked.subscribe();
+
+        // Then - a different lane is not held back
+        StepVerifier.create(lanes.submit(other, () -> Mono.just("done")))
+                .expectNext("done")
+                .verifyComplete();
+        gate.tryEmitEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject with lane_overloaded when the queue is full")
+    void shouldRejectWhenQueueIsFull() {
+        // Given
+        props.getLanes().setCount(1);
+        props.getLanes().setQueueCapacity(2);
+        AccountLaneExecutor lanes = new AccountLaneExecutor(props, registry);
+        Sinks.One<Void> gate = Sinks.one();
+        lanes.submit("A", gate::asMono).subscribe();      // running
+        lanes.submit("A", () -> Mono.empty()).subscribe(); // queued 1
+        lanes.submit("A", () -> Mono.empty()).subscribe(); // queued 2
+
+        // When & Then
+        StepVerifier.create(lanes.submit("A", () -> Mono.just(1)))
+                .expectErrorMatches(e -> e instanceof BusinessException
+                        && e.getMessage().equals("lane_overloaded"))
+                .verify();
+        assertThat(registry.counter("transactions.lane.rejected", "lane", "0").count()).isEqualTo(1.0);
+        assertThat(registry.get("transactions.lane.queue.depth").tag("lane", "0").gauge().value()).isEqualTo(2.0);
+
+        gate.tryEmitEmpty();
+        assertThat(registry.get("transactions.lane.queue.depth").tag("lane", "0").gauge().value()).isEqualTo(0.0);
+    }
+
+    @Test
+    @DisplayName("Should keep draining after a task fails")
+    void shouldKeepDrainingAfterFailure() {
+        // Given
+        AccountLaneExecutor lanes = new AccountLaneExecutor(props, registry);
+
+        // When & Then
+        StepVerifier.create(lanes.submit("A", () -> Mono.error(new IllegalStateException("boom"))))
+                .expectError(IllegalStateException.class)
+                .verify();
+        StepVerifier.create(lanes.submit("A", () -> {
+                    throw new IllegalStateException("supplier");
+                }))
+                .expectError(IllegalStateException.class)
+                .verify();
+        StepVerifier.create(lanes.submit("A", () -> Mono.just("next")))
+                .expectNext("next")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should bypass lanes when disabled")
+    void shouldBypassWhenDisabled() {
+        // Given
+        props.getLanes().setEnabled(false);
+        AccountLaneExecutor lanes = new AccountLaneExecutor(props, registry);
+
+        // When & Then
+        StepVerifier.create(lanes.submit("A", () -> Mono.just(1)))
+                .expectNext(1)
+                .verifyComplete();
+        assertThat(registry.find("transactions.lane.submitted").counters())
+                .allMatch(c -> c.count() == 0.0);
+    }
+
+    private static String firstAccountOnAnotherLane(AccountLaneExecutor lanes, String account) {
+        for (int i = 2; i < 10_000; i++) {
+            String candidate = String.format("001-%04d", i);
+            if (lanes.laneIndex(candidate) != lanes.laneIndex(account)) {
+                return candidate;
+            }
+        }
+        throw new IllegalStateException("no account on another lane");
+    }
+}
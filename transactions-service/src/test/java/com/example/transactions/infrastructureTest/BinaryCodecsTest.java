@@ -0,0 +1,157 @@
+package com.example.transactions.infrastructureTest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import transactions_service.domain.dto.CreateTxRequest;
+import transactions_service.domain.dto.TransactionPage;
+import transactions_service.domain.model.Money;
+import transactions_service.domain.model.Transaction;
+import transactions_service.domain.service.BatchTransactionService;
+import transactions_service.domain.service.TransactionService;
+import transactions_service.infrastructure.config.BinaryCodecsConfig;
+import transactions_service.infrastructure.exception.ErrorCode;
+import transactions_service.infrastructure.exception.GlobalExceptionHandler;
+import transactions_service.precentation.TransactionController;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Binary content negotiation Tests")
+class BinaryCodecsTest {
+
+    private static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+
+    @Mock
+    private TransactionService service;
+
+    @Mock
+    private BatchTransactionService batchService;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        BinaryCodecsConfig config = new BinaryCodecsConfig(new Jackson2ObjectMapperBuilder());
+        client = WebTestClient.bindToController(new TransactionController(service, batchService))
+                .controllerAdvice(new GlobalExceptionHandler(Jackson2ObjectMapperBuilder.json().build()))
+                .httpMessageCodecs(config::configureHttpMessageCodecs)
+                .configureClient()
+                .codecs(c -> {
+                    c.customCodecs().register(config.decoder());
+                    c.customCodecs().register(config.encoder());
+                })
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should accept and answer CBOR on create")
+    void shouldCreateWithCbor() {
+        // Given
+        when(service.create(any(), any())).thenReturn(Mono.just(tx(1)));
+        CreateTxRequest req = new CreateTxRequest("001-0001", "DEBIT", Money.of("10.50"));
+
+        // When
+        Transaction created = client.post().uri("/api/transactions")
+                .contentType(CBOR)
+                .accept(CBOR)
+                .bodyValue(req)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().contentType(CBOR)
+                .expectBody(Transaction.class)
+                .returnResult()
+                .getResponseBody();
+
+        // Then
+        ArgumentCaptor<CreateTxRequest> sent = ArgumentCaptor.forClass(CreateTxRequest.class);
+        verify(service).create(sent.capture(), isNull());
+        assertThat(sent.getValue()).isEqualTo(req);
+        assertThat(created).isEqualTo(tx(1));
+    }
+
+    @Test
+    @DisplayName("Should keep JSON as the default and encode pages smaller in CBOR")
+    void shouldNegotiateListFormat() {
+        // Given
+        List<Transaction> items = IntStream.range(0, 50).mapToObj(BinaryCodecsTest::tx).toList();
+        when(service.page(eq("001-0001"), any(), any())).thenReturn(Mono.just(new TransactionPage(items, null)));
+
+        // When
+        byte[] json = client.get().uri("/api/transactions?accountNumber=001-0001")
+                .exchange()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody().returnResult().getResponseBody();
+        List<Transaction> decoded = client.get().uri("/api/transactions?accountNumber=001-0001")
+                .accept(CBOR)
+                .exchange()
+                .expectHeader().contentType(CBOR)
+                .expectBody(new ParameterizedTypeReference<List<Transaction>>() {
+                })
+                .returnResult()
+                .getResponseBody();
+        byte[] cbor = client.get().uri("/api/transactions?accountNumber=001-0001")
+                .accept(CBOR)
+                .exchange()
+                .expectBody().returnResult().getResponseBody();
+
+        // Then
+        assertThat(decoded).isEqualTo(items);
+        assertThat(cbor.length).isLessThan(json.length);
+    }
+
+    @Test
+    @DisplayName("Should answer business errors in CBOR when the client asks for it")
+    void shouldNegotiateErrorBody() {
+        // Given
+        when(service.create(any(), any())).thenReturn(Mono.error(ErrorCode.LANE_OVERLOADED.exception()));
+
+        // When
+        Map<String, Object> body = client.post().uri("/api/transactions")
+                .contentType(CBOR)
+                .accept(CBOR)
+                .bodyValue(new CreateTxRequest("001-0001", "DEBIT", Money.of("10.50")))
+                .exchange()
+                .expectStatus().isEqualTo(503)
+                .expectHeader().contentType(CBOR)
+                .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "1")
+                .expectBody(new ParameterizedTypeReference<Map<String, Object>>() {
+                })
+                .returnResult()
+                .getResponseBody();
+
+        // Then
+        assertThat(body).containsEntry("error", "lane_overloaded").containsEntry("status", 503);
+    }
+
+    private static Transaction tx(int i) {
+        return Transaction.builder()
+                .id("65a1f0c2e4b0a1b2c3d4e5" + String.format("%02x", i))
+                .accountId("65a1f0c2e4b0a1b2c3d4e5f7")
+                .type("DEBIT")
+                .amount(Money.ofMinor(1050 + i))
+                .timestamp(Instant.parse("2025-01-10T10:00:00Z").plusSeconds(i))
+                .status("OK")
+                .build();
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.transactions.infrastructureTest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import transactions_service.domain.dto.CreateTxRequest;
+import transactions_service.domain.model.Money;
+import transactions_service.domain.service.BatchTransactionService;
+import transactions_service.domain.service.TransactionService;
+import transactions_service.infrastructure.exception.BusinessException;
+import transactions_service.infrastructure.exception.ErrorCode;
+import transactions_service.infrastructure.exception.GlobalExceptionHandler;
+import transactions_service.precentation.TransactionController;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GlobalExceptionHandler Tests")
+class GlobalExceptionHandlerTest {
+
+    private static final MockServerWebExchange JSON_REQUEST = MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+    private GlobalExceptionHandler handler;
+
+    @Mock
+    private TransactionService service;
+
+    @Mock
+    private BatchTransactionService batchService;
+
+    @BeforeEach
+    void setUp() {
+        handler = new GlobalExceptionHandler(mapper);
+    }
+
+    @Test
+    @DisplayName("Should reuse one stackless exception per catalog code")
+    void shouldReuseStacklessExceptions() {
+        // Given
+        BusinessException ex = ErrorCode.INSUFFICIENT_FUNDS.exception();
+
+        // When - Reactor añade suprimidas al propagar errores; no deben acumularse
+        ex.addSuppressed(new IllegalStateException("checkpoint"));
+
+        // Then
+        assertThat(ErrorCode.INSUFFICIENT_FUNDS.exception()).isSameAs(ex);
+        assertThat(ex.getMessage()).isEqualTo("insufficient_funds");
+        assertThat(ex.getStackTrace()).isEmpty();
+        assertThat(ex.getSuppressed()).isEmpty();
+        assertThat(new BusinessException("risk_rejected").getErrorCode()).isEqualTo(ErrorCode.RISK_REJECTED);
+    }
+
+    @Test
+    @DisplayName("Should render the pre-serialized body with a fresh timestamp")
+    void shouldRenderBusinessBody() throws Exception {
+        // When
+        ResponseEntity<Object> response =
+                handler.handleBusiness(ErrorCode.ACCOUNT_NOT_FOUND.exception(), JSON_REQUEST).block();
+
+        // Then
+        assertThat(response.getStatusCode().value()).isEqualTo(400);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        JsonNode body = mapper.readTree((byte[]) response.getBody());
+        assertThat(body.get("error").asText()).isEqualTo("account_not_found");
+        assertThat(body.get("status").asInt()).isEqualTo(400);
+        assertThat(body.get("timestamp").asText()).isNotBlank();
+    }
+
+    @Test
+    @DisplayName("Should answer load shedding with 503 and Retry-After")
+    void shouldAnswerOverloadWithRetryAfter() throws Exception {
+        // When
+        ResponseEntity<Object> response =
+                handler.handleBusiness(ErrorCode.LANE_OVERLOADED.exception(), JSON_REQUEST).block();
+
+        // Then
+        assertThat(response.getStatusCode().value()).isEqualTo(503);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(mapper.readTree((byte[]) response.getBody()).get("status").asInt()).isEqualTo(503);
+    }
+
+    @Test
+    @DisplayName("Should answer a full journal with 503 and Retry-After")
+    void shouldAnswerJournalOverloadWithRetryAfter() {
+        // When
+        ResponseEntity<Object> response =
+                handler.handleBusiness(ErrorCode.JOURNAL_OVERLOADED.exception(), JSON_REQUEST).block();
+
+        // Then
+        assertThat(response.getStatusCode().value()).isEqualTo(503);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("Should answer a key still in progress with 409")
+    void shouldAnswerIdempotencyInProgressWithConflict() {
+        // When
+        ResponseEntity<Object> response =
+                handler.handleBusiness(ErrorCode.IDEMPOTENCY_IN_PROGRESS.exception(), JSON_REQUEST).block();
+
+        // Then
+        assertThat(response.getStatusCode().value()).isEqualTo(409);
+        assertThat(response.getHeaders().containsKey(HttpHeaders.RETRY_AFTER)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should render codes outside the catalog the same way")
+    void shouldRenderUncataloguedCode() throws Exception {
+        // When
+        ResponseEntity<Object> response =
+                handler.handleBusiness(new BusinessException("quote \"x\""), JSON_REQUEST).block();
+
+        // Then
+        assertThat(mapper.readTree((byte[]) response.getBody()).get("error").asText()).isEqualTo("quote \"x\"");
+    }
+
+    @Test
+    @DisplayName("Should answer unexpected errors with internal_error")
+    void shouldAnswerInternalError() {
+        // When
+        ResponseEntity<Map<String, Object>> response =
+                handler.handleGenericException(new IllegalStateException("boom")).block();
+
+        // Then
+        assertThat(response.getStatusCode().value()).isEqualTo(500);
+        assertThat(response.getBody()).containsEntry("error", "internal_error").containsEntry("status", 500);
+    }
+
+    @Test
+    @DisplayName("Should resolve rejections through the single advice")
+    void shouldResolveThroughAdvice() {
+        // Given
+        when(service.create(any(), any())).thenReturn(Mono.error(ErrorCode.INSUFFICIENT_FUNDS.exception()));
+        WebTestClient client = WebTestClient.bindToController(new TransactionController(service, batchService))
+                .controllerAdvice(handler)
+                .build();
+
+        // When & Then
+        client.post().uri("/api/transactions")
+                .bodyValue(new CreateTxRequest("001-0001", "DEBIT", Money.of("10.00")))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("insufficient_funds")
+                .jsonPath("$.status").isEqualTo(400);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.transactions.infrastructureTest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import transactions_service.domain.model.Account;
+import transactions_service.domain.model.AccountSnapshot;
+import transactions_service.domain.model.Money;
+import transactions_service.domain.repository.AccountRepository;
+import transactions_service.domain.service.LedgerService;
+import transactions_service.domain.service.LedgerService.LedgerBalance;
+import transactions_service.infrastructure.ledger.LedgerEndpoint;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LedgerEndpoint Tests")
+class LedgerEndpointTest {
+
+    @Mock
+    private LedgerService ledger;
+
+    @Mock
+    private AccountRepository accountRepo;
+
+    private LedgerEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        endpoint = new LedgerEndpoint(ledger, accountRepo);
+    }
+
+    @Test
+    @DisplayName("Should compare one account's ledger with its stored balance")
+    void shouldDescribeOneAccount() {
+        // Given
+        when(accountRepo.findById("acc-1")).thenReturn(Mono.just(account("acc-1", 7, "30.00")));
+        when(ledger.rebuild("acc-1")).thenReturn(Mono.just(new LedgerBalance("acc-1", 7, Money.of("30.00"), 2)));
+
+        // When & Then
+        StepVerifier.create(endpoint.account("acc-1"))
+                .assertNext(body -> assertThat(body)
+                        .containsEntry("state", "ok")
+                        .containsEntry("ledgerBalance", "30.00"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should not rebuild a striped account, which carries no ledger")
+    void shouldReportStripedAccount() {
+        // Given
+        when(accountRepo.findById("acc-1"))
+                .thenReturn(Mono.just(Account.builder().id("acc-1").sequence(7).stripes(8).build()));
+
+        // When & Then
+        StepVerifier.create(endpoint.account("acc-1"))
+                .assertNext(body -> assertThat(body).containsEntry("state", "striped"))
+                .verifyComplete();
+        verify(ledger, never()).rebuild("acc-1");
+    }
+
+    @Test
+    @DisplayName("Should rebuild every account, snapshot it and list the ones to review")
+    @SuppressWarnings("unchecked")
+    void shouldRebuildAllAndReport() {
+        // Given - acc-2 has a movement the ledger cannot replay, acc-3 disagrees at the same position
+        when(ledger.rebuildAll()).thenReturn(Flux.just(
+                new LedgerBalance("acc-1", 5, Money.of("10.00"), 5),
+                new LedgerBalance("acc-2", 3, Money.of("10.00"), 3),
+                new LedgerBalance("acc-3", 4, Money.of("10.00"), 0)));
+        when(ledger.snapshot(any(LedgerBalance.class))).thenReturn(Mono.just(new AccountSnapshot()));
+        when(accountRepo.findById("acc-1")).thenReturn(Mono.just(account("acc-1", 5, "10.00")));
+        when(accountRepo.findById("acc-2")).thenReturn(Mono.just(account("acc-2", 4, "12.00")));
+        when(accountRepo.findById("acc-3")).thenReturn(Mono.just(account("acc-3", 4, "11.00")));
+
+        // When
+        Map<String, Object> report = endpoint.rebuildAll().block();
+
+        // Then
+        assertThat(report).containsEntry("accounts", 3)
+                .containsEntry("ok", 1)
+                .containsEntry("behind", 1)
+                .containsEntry("mismatch", 1);
+        assertThat((List<Map<String, Object>>) report.get("review"))
+                .extracting(a -> a.get("accountId"))
+                .containsExactlyInAnyOrder("acc-2", "acc-3");
+        verify(ledger).snapshot(new LedgerBalance("acc-1", 5, Money.of("10.00"), 5));
+    }
+
+    private static Account account(String id, long sequence, String balance) {
+        return Account.builder().id(id).sequence(sequence).balance(Money.of(balance)).build();
+    }
+}
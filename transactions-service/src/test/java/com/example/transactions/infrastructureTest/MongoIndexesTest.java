@@ -0,0 +1,123 @@
+package com.example.transactions.infrastructureTest;
+
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver.IndexDefinitionHolder;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import transactions_service.infrastructure.mongo.MongoIndexInitializer;
+import transactions_service.infrastructure.mongo.MongoMoneyConversions;
+import transactions_service.infrastructure.mongo.QueryPlanEndpoint;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Mongo index management Tests")
+class MongoIndexesTest {
+
+    @Nested
+    @DisplayName("Index definitions")
+    class Definitions {
+
+        private final List<IndexDefinitionHolder> definitions = MongoIndexInitializer.definitions(mappingContext());
+
+        @Test
+        @DisplayName("Should define a unique index on account number")
+        void shouldDefineUniqueAccountNumber() {
+            IndexDefinitionHolder number = byName("account_number_unique");
+
+            assertThat(number.getCollection()).isEqualTo("account");
+            assertThat(number.getIndexKeys()).isEqualTo(new Document("number", 1));
+            assertThat(number.getIndexOptions().getBoolean("unique")).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should define the (accountId, timestamp desc) history index")
+        void shouldDefineHistoryIndex() {
+            IndexDefinitionHolder history = byName("account_timestamp_id");
+
+            assertThat(history.getCollection()).isEqualTo("transactions");
+            assertThat(history.getIndexKeys().keySet()).containsExactly("accountId", "timestamp", "_id");
+            assertThat(history.getIndexKeys().get("timestamp")).isEqualTo(-1);
+        }
+
+        @Test
+        @DisplayName("Should keep ledger sequences unique per account, ignoring unsequenced history")
+        void shouldDefineLedgerSequenceIndex() {
+            IndexDefinitionHolder ledger = byName("account_sequence");
+
+            assertThat(ledger.getCollection()).isEqualTo("transactions");
+            assertThat(ledger.getIndexKeys().keySet()).containsExactly("accountId", "sequence");
+            assertThat(ledger.getIndexOptions().getBoolean("unique")).isTrue();
+            assertThat(ledger.getIndexOptions().get("partialFilterExpression"))
+                    .isEqualTo(new Document("sequence", new Document("$exists", true)));
+        }
+
+        @Test
+        @DisplayName("Should expire idempotency keys at their own expiresAt")
+        void shouldDefineIdempotencyTtl() {
+            IndexDefinitionHolder ttl = byName("expires_at_ttl");
+
+            assertThat(ttl.getCollection()).isEqualTo("idempotency_keys");
+            assertThat(ttl.getIndexKeys()).isEqualTo(new Document("expiresAt", 1));
+            assertThat(ttl.getIndexOptions().get("expireAfterSeconds")).isEqualTo(0L);
+        }
+
+        private static MongoMappingContext mappingContext() {
+            // Mismos tipos simples que la app (Money, Instant...) para no tratarlos como entidades
+            MongoMappingContext context = new MongoMappingContext();
+            context.setSimpleTypeHolder(MongoMoneyConversions.customConversions().getSimpleTypeHolder());
+            return context;
+        }
+
+        private IndexDefinitionHolder byName(String name) {
+            return definitions.stream()
+                    .filter(d -> name.equals(d.getIndexOptions().getString("name")))
+                    .findFirst()
+                    .orElseThrow();
+        }
+    }
+
+    @Nested
+    @DisplayName("Query plan summary")
+    class PlanSummary {
+
+        @Test
+        @DisplayName("Should report index scans and the index used")
+        void shouldReportIndexScan() {
+            // Given
+            Document explain = Document.parse("""
+                    {"queryPlanner": {"winningPlan": {"stage": "LIMIT", "inputStage": {"stage": "FETCH",
+                      "inputStage": {"stage": "IXSCAN", "indexName": "account_timestamp_id"}}}}}
+                    """);
+
+            // When
+            Map<String, Object> summary = QueryPlanEndpoint.summarize(explain);
+
+            // Then
+            assertThat(summary.get("stages")).isEqualTo(List.of("LIMIT", "FETCH", "IXSCAN"));
+            assertThat(summary.get("indexes")).isEqualTo(List.of("account_timestamp_id"));
+            assertThat(summary.get("collectionScan")).isEqualTo(false);
+        }
+
+        @Test
+        @DisplayName("Should flag a collection scan, also in slot-based plans")
+        void shouldFlagCollectionScan() {
+            // Given
+            Document explain = Document.parse("""
+                    {"queryPlanner": {"winningPlan": {"queryPlan": {"stage": "SORT",
+                      "inputStage": {"stage": "COLLSCAN"}}, "slotBasedPlan": {}}}}
+                    """);
+
+            // When
+            Map<String, Object> summary = QueryPlanEndpoint.summarize(explain);
+
+            // Then
+            assertThat(summary.get("stages")).isEqualTo(List.of("SORT", "COLLSCAN"));
+            assertThat(summary.get("collectionScan")).isEqualTo(true);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.transactions.infrastructureTest;
+
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import transactions_service.domain.model.Account;
+import transactions_service.domain.model.Money;
+import transactions_service.infrastructure.mongo.MongoMoneyConversions;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Mongo Money conversion Tests")
+class MongoMoneyConversionsTest {
+
+    private MappingMongoConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        MongoCustomConversions conversions = MongoMoneyConversions.customConversions();
+        MongoMappingContext context = new MongoMappingContext();
+        context.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+    }
+
+    @Test
+    @DisplayName("Should write balances as Int64 minor units")
+    void shouldWriteInt64() {
+        // Given
+        Account account = Account.builder().number("001-0001").balance(Money.of("2000.50")).build();
+        Document doc = new Document();
+
+        // When
+        converter.write(account, doc);
+
+        // Then
+        assertThat(doc.get("balance")).isEqualTo(200050L);
+    }
+
+    @Test
+    @DisplayName("Should read Int64 and legacy Decimal128 balances")
+    void shouldReadInt64AndDecimal128() {
+        // When
+        Account current = converter.read(Account.class, new Document("balance", 200050L));
+        Account legacy = converter.read(Account.class,
+                new Document("balance", new Decimal128(new BigDecimal("2000.5"))));
+
+        // Then
+        assertThat(current.getBalance()).isEqualTo(Money.of("2000.50"));
+        assertThat(legacy.getBalance()).isEqualTo(Money.of("2000.50"));
+    }
+}
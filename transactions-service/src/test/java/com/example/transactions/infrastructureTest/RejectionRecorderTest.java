@@ -0,0 +1,118 @@
+package com.example.transactions.infrastructureTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import transactions_service.domain.model.Money;
+import transactions_service.domain.model.Transaction;
+import transactions_service.domain.repository.TransactionRepository;
+import transactions_service.infrastructure.audit.RejectionRecorder;
+import transactions_service.infrastructure.config.TransactionsProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RejectionRecorder Tests")
+class RejectionRecorderTest {
+
+    @Mock
+    private TransactionRepository txRepo;
+
+    private SimpleMeterRegistry registry;
+    private TransactionsProperties props;
+    private RejectionRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        props = new TransactionsProperties();
+        props.getRejections().setMaxItems(2);
+        props.getRejections().setMaxDelay(Duration.ofSeconds(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (recorder != null) {
+            recorder.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should write rejected attempts in groups with status REJECTED")
+    @SuppressWarnings("unchecked")
+    void shouldWriteRejectionsInGroups() {
+        // Given
+        when(txRepo.insertRejected(anyList())).thenReturn(Mono.empty());
+        start();
+
+        // When
+        recorder.record("acc-1", "DEBIT", Money.of("70.00"), "insufficient_funds");
+        recorder.record(null, "CREDIT", Money.of("5.00"), "account_not_found");
+
+        // Then
+        ArgumentCaptor<List<Transaction>> captor = ArgumentCaptor.forClass(List.class);
+        verify(txRepo, timeout(2000)).insertRejected(captor.capture());
+        assertThat(captor.getValue()).extracting(Transaction::getStatus).containsOnly("REJECTED");
+        assertThat(captor.getValue()).extracting(Transaction::getReason)
+                .containsExactly("insufficient_funds", "account_not_found");
+        assertThat(captor.getValue()).allSatisfy(tx -> assertThat(tx.getId()).isNotNull());
+        assertThat(registry.counter("transactions.rejections.written").count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not queue anything when the sample rate is zero")
+    void shouldSkipWhenSampleRateIsZero() {
+        // Given
+        props.getRejections().setSampleRate(0);
+        start();
+
+        // When
+        recorder.record("acc-1", "DEBIT", Money.of("1.00"), "risk_rejected");
+        recorder.stop();
+
+        // Then
+        verify(txRepo, never()).insertRejected(anyList());
+    }
+
+    @Test
+    @DisplayName("Should drop and count rejections instead of waiting when the queue is full")
+    void shouldDropOnOverflow() {
+        // Given - the first write never finishes, so nothing drains
+        props.getRejections().setQueueCapacity(4);
+        props.getRejections().setMaxItems(1);
+        when(txRepo.insertRejected(anyList())).thenReturn(Mono.never());
+        start();
+
+        // When
+        for (int i = 0; i < 1_000; i++) {
+            recorder.record("acc-1", "DEBIT", Money.of("1.00"), "insufficient_funds");
+        }
+
+        // Then
+        double dropped = registry.counter("transactions.rejections.dropped", "cause", "overflow").count();
+        assertThat(dropped).isGreaterThan(900);
+        assertThat(registry.get("transactions.rejections.pending").gauge().value())
+                .isEqualTo(1_000 - dropped);
+        assertThat(registry.counter("transactions.rejections.written").count()).isZero();
+    }
+
+    private void start() {
+        recorder = new RejectionRecorder(txRepo, props, registry);
+        recorder.start();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.transactions.infrastructureTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.codec.ServerSentEventHttpMessageWriter;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import reactor.core.publisher.Mono;
+import transactions_service.domain.model.Money;
+import transactions_service.domain.model.Transaction;
+import transactions_service.infrastructure.stream.SseFrameEncoder;
+
+import java.nio.ReadOnlyBufferException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SseFrameEncoder Tests")
+class SseFrameEncoderTest {
+
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+    private final SseFrameEncoder encoder = new SseFrameEncoder(mapper);
+
+    private final Transaction tx = Transaction.builder()
+            .id("t1")
+            .accountId("acc-1")
+            .type("CREDIT")
+            .amount(Money.of("10.50"))
+            .timestamp(Instant.parse("2025-01-10T10:00:00Z"))
+            .status("OK")
+            .build();
+
+    @Test
+    @DisplayName("Should produce the same bytes WebFlux writes for a ServerSentEvent")
+    void shouldMatchWebFluxFormat() {
+        // Given
+        ServerSentEventHttpMessageWriter writer = new ServerSentEventHttpMessageWriter(new Jackson2JsonEncoder(mapper));
+        MockServerHttpResponse response = new MockServerHttpResponse();
+        ServerSentEvent<Transaction> sse = ServerSentEvent.builder(tx).id("1-2-3").event("transaction").build();
+        writer.write(Mono.just(sse), ResolvableType.forClass(ServerSentEvent.class), MediaType.TEXT_EVENT_STREAM,
+                response, Map.of()).block();
+
+        // When
+        ByteBuf frame = encoder.encode("1-2-3", tx);
+
+        // Then
+        assertThat(frame.toString(StandardCharsets.UTF_8)).isEqualTo(response.getBodyAsString().block());
+    }
+
+    @Test
+    @DisplayName("Should share one read-only frame through independent views")
+    void shouldShareReadOnlyFrame() {
+        // Given
+        ByteBuf frame = encoder.encode("1-2-3", tx);
+        ByteBuf first = frame.duplicate();
+        ByteBuf second = frame.duplicate();
+
+        // When - one connection consumes its view
+        first.skipBytes(first.readableBytes());
+
+        // Then
+        assertThat(second.readableBytes()).isEqualTo(frame.readableBytes());
+        assertThat(frame.isReadOnly()).isTrue();
+        assertThatThrownBy(() -> frame.setByte(0, 'x')).isInstanceOf(ReadOnlyBufferException.class);
+    }
+
+    @Test
+    @DisplayName("Should build the same frame from JSON serialized before the id is known")
+    void shouldFramePreSerializedJson() {
+        // Given
+        byte[] json = encoder.json(tx);
+
+        // When
+        ByteBuf frame = encoder.frame("1-2-3", json);
+
+        // Then
+        assertThat(frame).isEqualTo(encoder.encode("1-2-3", tx));
+    }
+}
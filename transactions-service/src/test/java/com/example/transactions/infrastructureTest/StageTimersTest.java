@@ -0,0 +1,79 @@
+package com.example.transactions.infrastructureTest;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import transactions_service.infrastructure.config.TransactionsProperties;
+import transactions_service.infrastructure.exception.ErrorCode;
+import transactions_service.infrastructure.metrics.StageTimers;
+import transactions_service.infrastructure.metrics.StageTimers.Stage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("StageTimers Tests")
+class StageTimersTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should time a Mono tagging the catalog code as outcome")
+    void shouldTagOutcome() {
+        // Given
+        StageTimers timers = new StageTimers(registry, new TransactionsProperties());
+
+        // When
+        timers.time(Stage.BALANCE, "DEBIT", Mono.just(1)).block();
+        StepVerifier.create(timers.time(Stage.BALANCE, "DEBIT", Mono.error(ErrorCode.INSUFFICIENT_FUNDS.exception())))
+                .verifyError();
+        StepVerifier.create(timers.time(Stage.PERSIST, "CREDIT", Mono.error(new IllegalStateException("boom"))))
+                .verifyError();
+
+        // Then
+        assertThat(count("balance", "DEBIT", "ok")).isEqualTo(1);
+        assertThat(count("balance", "DEBIT", "insufficient_funds")).isEqualTo(1);
+        assertThat(count("persist", "CREDIT", "error")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reuse one timer per stage, type and outcome and publish percentiles")
+    void shouldReuseTimers() {
+        // Given
+        StageTimers timers = new StageTimers(registry, new TransactionsProperties());
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            timers.record(Stage.RISK, "DEBIT", timers.start(), StageTimers.OK);
+        }
+
+        // Then
+        Timer timer = registry.get("transactions.stage").tags("stage", "risk").timer();
+        assertThat(registry.find("transactions.stage").timers()).hasSize(1);
+        assertThat(timer.count()).isEqualTo(100);
+        assertThat(timer.takeSnapshot().percentileValues()).hasSize(4);
+    }
+
+    @Test
+    @DisplayName("Should neither wrap nor register anything when disabled")
+    void shouldDoNothingWhenDisabled() {
+        // Given
+        TransactionsProperties props = new TransactionsProperties();
+        props.getStageTimers().setEnabled(false);
+        StageTimers timers = new StageTimers(registry, props);
+        Mono<Integer> source = Mono.just(1);
+
+        // When
+        Mono<Integer> timed = timers.time(Stage.LOOKUP, "DEBIT", source);
+        timers.record(Stage.RISK, "DEBIT", timers.start(), StageTimers.OK);
+
+        // Then
+        assertThat(timed).isSameAs(source);
+        assertThat(registry.find("transactions.stage").timers()).isEmpty();
+    }
+
+    private long count(String stage, String type, String outcome) {
+        return registry.get("transactions.stage").tags("stage", stage, "type", type, "outcome", outcome).timer().count();
+    }
+}
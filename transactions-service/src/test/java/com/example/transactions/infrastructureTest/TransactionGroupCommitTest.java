@@ -0,0 +1,229 @@
+package com.example.transactions.infrastructureTest;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import transactions_service.domain.model.Transaction;
+import transactions_service.domain.repository.TransactionRepository;
+import transactions_service.infrastructure.config.TransactionsProperties;
+import transactions_service.infrastructure.exception.ErrorCode;
+import transactions_service.infrastructure.groupcommit.TransactionGroupCommit;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransactionGroupCommit Tests")
+class TransactionGroupCommitTest {
+
+    @Mock
+    private TransactionRepository txRepo;
+
+    private SimpleMeterRegistry registry;
+    private TransactionsProperties props;
+    private TransactionGroupCommit groupCommit;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        props = new TransactionsProperties();
+        props.getGroupCommit().setEnabled(true);
+        props.getGroupCommit().setMaxItems(3);
+        props.getGroupCommit().setMaxDelay(Duration.ofSeconds(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (groupCommit != null) {
+            groupCommit.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should send concurrent inserts as one insertMany once the window is full")
+    @SuppressWarnings("unchecked")
+    void shouldCoalesceConcurrentInserts() {
+        // Given
+        when(txRepo.insertUnordered(anyList())).thenReturn(Mono.empty());
+        start();
+
+        // When
+        List<Transaction> saved = Flux.range(0, 3)
+                .flatMap(i -> groupCommit.save(tx("acc-" + i)))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        // Then
+        ArgumentCaptor<List<Transaction>> captor = ArgumentCaptor.forClass(List.class);
+        verify(txRepo, times(1)).insertUnordered(captor.capture());
+        verify(txRepo, never()).save(any(Transaction.class));
+        assertThat(captor.getValue()).hasSize(3);
+        assertThat(saved).hasSize(3).allMatch(tx -> tx.getId() != null);
+        assertThat(registry.get("transactions.groupcommit.batch.size").summary().max()).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("Should flush a partial window after the max delay")
+    void shouldFlushAfterMaxDelay() {
+        // Given
+        props.getGroupCommit().setMaxDelay(Duration.ofMillis(20));
+        when(txRepo.insertUnordered(anyList())).thenReturn(Mono.empty());
+        start();
+
+        // When & Then
+        StepVerifier.create(groupCommit.save(tx("acc-1")))
+                .assertNext(tx -> assertThat(tx.getAccountId()).isEqualTo("acc-1"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should fail only the callers whose document was not written")
+    void shouldFailOnlyRejectedDocuments() {
+        // Given
+        BulkWriteError error = new BulkWriteError(121, "validation", new BsonDocument(), 1);
+        MongoBulkWriteException bulk = new MongoBulkWriteException(BulkWriteResult.unacknowledged(),
+                List.of(error), null, new ServerAddress(), Set.of());
+        when(txRepo.insertUnordered(anyList())).thenReturn(Mono.error(bulk));
+        start();
+
+        // When
+        Mono<Transaction> first = groupCommit.save(tx("acc-0"));
+        Mono<Transaction> second = groupCommit.save(tx("acc-1"));
+        Mono<Transaction> third = groupCommit.save(tx("acc-2"));
+        Flux<String> outcomes = Flux.merge(
+                first.map(Transaction::getAccountId).onErrorReturn("failed-0"),
+                second.map(Transaction::getAccountId).onErrorReturn("failed-1"),
+                third.map(Transaction::getAccountId).onErrorReturn("failed-2"));
+
+        // Then - index 1 of the group is the only one rejected by Mongo
+        assertThat(outcomes.collectList().block(Duration.ofSeconds(5)))
+                .hasSize(3)
+                .filteredOn(s -> s.startsWith("failed"))
+                .hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should reject inserts above the queue capacity instead of buffering them")
+    void shouldRejectAboveQueueCapacity() {
+        // Given - Mongo never answers, so the first insert keeps its slot
+        props.getGroupCommit().setQueueCapacity(1);
+        props.getGroupCommit().setMaxItems(1);
+        when(txRepo.insertUnordered(anyList())).thenReturn(Mono.never());
+        start();
+        groupCommit.save(tx("acc-0")).subscribe();
+
+        // When & Then
+        StepVerifier.create(groupCommit.save(tx("acc-1")))
+                .expectErrorMatches(e -> e == ErrorCode.GROUP_COMMIT_OVERLOADED.exception())
+                .verify(Duration.ofSeconds(5));
+        assertThat(registry.get("transactions.groupcommit.rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should fail callers still waiting when stopped instead of leaving them hanging")
+    void shouldFailPendingCallersOnStop() {
+        // Given
+        props.getGroupCommit().setMaxItems(1);
+        props.getGroupCommit().setDrainTimeout(Duration.ofMillis(50));
+        when(txRepo.insertUnordered(anyList())).thenReturn(Mono.never());
+        start();
+        Mono<Transaction> waiting = groupCommit.save(tx("acc-0")).cache();
+        waiting.subscribe(tx -> { }, e -> { });
+
+        // When
+        groupCommit.stop();
+
+        // Then
+        StepVerifier.create(waiting)
+                .expectError(IllegalStateException.class)
+                .verify(Duration.ofSeconds(5));
+        assertThat(registry.get("transactions.groupcommit.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should save directly when disabled")
+    void shouldSaveDirectlyWhenDisabled() {
+        // Given
+        props.getGroupCommit().setEnabled(false);
+        Transaction tx = tx("acc-1");
+        when(txRepo.save(tx)).thenReturn(Mono.just(tx));
+        start();
+
+        // When & Then
+        StepVerifier.create(groupCommit.save(tx))
+                .expectNext(tx)
+                .verifyComplete();
+        verify(txRepo, never()).insertUnordered(anyList());
+    }
+
+    @Test
+    @DisplayName("Should expose window size and max delay as metrics")
+    void shouldExposeWindowMetrics() {
+        // When
+        start();
+
+        // Then
+        assertThat(registry.get("transactions.groupcommit.max.items").gauge().value()).isEqualTo(3.0);
+        assertThat(registry.get("transactions.groupcommit.max.delay").timeGauge()
+                .value(TimeUnit.SECONDS)).isEqualTo(10.0);
+    }
+
+    @Test
+    @DisplayName("Should fail the callers and reopen the pipeline when it dies")
+    void shouldReopenAfterPipelineError() {
+        // Given - the first flush blows up outside the Mono, killing the pipeline
+        props.getGroupCommit().setMaxItems(1);
+        when(txRepo.insertUnordered(anyList()))
+                .thenThrow(new IllegalStateException("boom"))
+                .thenReturn(Mono.empty());
+        start();
+
+        // When & Then
+        StepVerifier.create(groupCommit.save(tx("acc-0")))
+                .expectErrorMessage("boom")
+                .verify(Duration.ofSeconds(5));
+        StepVerifier.create(groupCommit.save(tx("acc-1")))
+                .expectNextCount(1)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+        verify(txRepo, never()).save(any(Transaction.class));
+        assertThat(registry.get("transactions.groupcommit.pending").gauge().value()).isZero();
+    }
+
+    private void start() {
+        groupCommit = new TransactionGroupCommit(txRepo, props, registry);
+        groupCommit.start();
+    }
+
+    private static Transaction tx(String accountId) {
+        return Transaction.builder()
+                .accountId(accountId)
+                .type("CREDIT")
+                .status("OK")
+                .build();
+    }
+}
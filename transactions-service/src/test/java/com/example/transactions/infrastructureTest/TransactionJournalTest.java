@@ -0,0 +1,218 @@
+package com.example.transactions.infrastructureTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import transactions_service.domain.model.Money;
+import transactions_service.domain.model.Transaction;
+import transactions_service.domain.repository.TransactionRepository;
+import transactions_service.infrastructure.config.TransactionsProperties;
+import transactions_service.infrastructure.exception.ErrorCode;
+import transactions_service.infrastructure.journal.TransactionJournal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransactionJournal Tests")
+class TransactionJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private TransactionRepository txRepo;
+
+    private TransactionsProperties props;
+    private TransactionJournal journal;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        props = new TransactionsProperties();
+        props.getJournal().setEnabled(true);
+        props.getJournal().setDirectory(directory.toString());
+        props.getJournal().setSegmentSize(DataSize.ofKilobytes(64));
+        props.getJournal().setFlushInterval(Duration.ofMillis(20));
+        props.getJournal().setDrainTimeout(Duration.ofMillis(500));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (journal != null) {
+            journal.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should acknowledge after fsync and then drain to Mongo in one insertMany")
+    @SuppressWarnings("unchecked")
+    void shouldAcknowledgeAndDrain() throws IOException {
+        // Given
+        when(txRepo.insertUnordered(anyList())).thenReturn(Mono.empty());
+        journal = start();
+
+        // When
+        List<Transaction> acked = Flux.range(0, 3)
+                .flatMap(i -> journal.append(tx("acc-" + i)))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(acked).hasSize(3).allSatisfy(tx -> assertThat(tx.getId()).isNotNull());
+        ArgumentCaptor<List<Transaction>> captor = ArgumentCaptor.forClass(List.class);
+        verify(txRepo, timeout(2000)).insertUnordered(captor.capture());
+        assertThat(captor.getValue()).extracting(Transaction::getId)
+                .containsExactlyInAnyOrderElementsOf(acked.stream().map(Transaction::getId).toList());
+
+        // Todo volcado: al parar, el segmento activo se borra
+        journal.stop();
+        journal = null;
+        assertThat(segments()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should replay unflushed segments on restart with the original ids and values")
+    @SuppressWarnings("unchecked")
+    void shouldReplayAfterRestart() throws IOException {
+        // Given - Mongo never answers, the entries only reach the journal
+        when(txRepo.insertUnordered(anyList())).thenReturn(Mono.never());
+        journal = start();
+        Transaction acked = journal.append(tx("acc-1")).block(Duration.ofSeconds(5));
+        journal.stop();
+        assertThat(segments()).hasSize(1);
+
+        // When - Mongo is back
+        when(txRepo.insertUnordered(anyList())).thenReturn(Mono.empty());
+        journal = start();
+
+        // Then
+        ArgumentCaptor<List<Transaction>> captor = ArgumentCaptor.forClass(List.class);
+        verify(txRepo, timeout(2000).atLeastOnce()).insertUnordered(captor.capture());
+        Transaction replayed = captor.getValue().get(0);
+        assertThat(replayed).isEqualTo(acked);
+    }
+
+    @Test
+    @DisplayName("Should roll segments and delete the sealed ones once drained")
+    void shouldRollAndDeleteDrainedSegments() throws Exception {
+        // Given
+        props.getJournal().setSegmentSize(DataSize.ofBytes(512));
+        when(txRepo.insertUnordered(anyList())).thenReturn(Mono.empty());
+        journal = start();
+
+        // When
+        Flux.range(0, 40).concatMap(i -> journal.append(tx("acc-" + i))).blockLast(Duration.ofSeconds(5));
+
+        // Then - only the active segment is left
+        verify(txRepo, timeout(2000).atLeastOnce()).insertUnordered(anyList());
+        long deadline = System.currentTimeMillis() + 2000;
+        while (segments().size() > 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(segments()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should reject appends with journal_overloaded when too much is pending")
+    void shouldRejectWhenOverloaded() {
+        // Given
+        props.getJournal().setMaxPending(1);
+        when(txRepo.insertUnordered(anyList())).thenReturn(Mono.never());
+        journal = start();
+        journal.append(tx("acc-1")).block(Duration.ofSeconds(5));
+
+        // When & Then
+        StepVerifier.create(journal.append(tx("acc-2")))
+                .expectErrorMatches(e -> e == ErrorCode.JOURNAL_OVERLOADED.exception())
+                .verify();
+        verify(txRepo, timeout(2000)).insertUnordered(anyList());
+    }
+
+    @Test
+    @DisplayName("Should keep draining after Mongo refuses a group and leave that group on disk")
+    void shouldNotRetryNonTransientFailures() throws IOException {
+        // Given - the first group is refused for good, the next one goes through
+        when(txRepo.insertUnordered(anyList()))
+                .thenReturn(Mono.error(new DataIntegrityViolationException("document failed validation")))
+                .thenReturn(Mono.empty());
+        journal = start();
+
+        // When
+        journal.append(tx("acc-1")).block(Duration.ofSeconds(5));
+        verify(txRepo, timeout(2000)).insertUnordered(anyList());
+        journal.append(tx("acc-2")).block(Duration.ofSeconds(5));
+
+        // Then - no retry loop: the second group is flushed, the first stays in the segment
+        verify(txRepo, timeout(2000).times(2)).insertUnordered(anyList());
+        assertThat(registry.counter("transactions.journal.flush.failed").count()).isEqualTo(1);
+        journal.stop();
+        journal = null;
+        assertThat(segments()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should finish the write in progress before sealing on stop")
+    void shouldFinishWritesBeforeSealing() throws IOException {
+        // Given - a group that waits for its delay when stop arrives
+        props.getJournal().setSyncMaxDelay(Duration.ofMillis(100));
+        when(txRepo.insertUnordered(anyList())).thenReturn(Mono.never());
+        journal = start();
+        Mono<Transaction> ack = journal.append(tx("acc-1")).cache();
+        ack.subscribe();
+
+        // When
+        journal.stop();
+        journal = null;
+
+        // Then - acknowledged and still on disk for the next start
+        StepVerifier.create(ack).expectNextCount(1).verifyComplete();
+        assertThat(segments()).hasSize(1);
+    }
+
+    private TransactionJournal start() {
+        registry = new SimpleMeterRegistry();
+        TransactionJournal started = new TransactionJournal(txRepo, props, registry);
+        started.start();
+        return started;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.toList();
+        }
+    }
+
+    private static Transaction tx(String accountId) {
+        return Transaction.builder()
+                .accountId(accountId)
+                .type("DEBIT")
+                .amount(Money.of("12.34"))
+                .timestamp(Instant.parse("2024-05-01T10:15:30.123456789Z"))
+                .status("OK")
+                .sequence(42L)
+                .build();
+    }
+}
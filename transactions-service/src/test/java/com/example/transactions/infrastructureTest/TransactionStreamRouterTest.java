@@ -0,0 +1,426 @@
+package com.example.transactions.infrastructureTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import transactions_service.domain.model.Transaction;
+import transactions_service.infrastructure.config.TransactionsProperties;
+import transactions_service.infrastructure.stream.EventPosition;
+import transactions_service.infrastructure.stream.OverflowPolicy;
+import transactions_service.infrastructure.stream.SseFrameEncoder;
+import transactions_service.infrastructure.stream.StreamEvent;
+import transactions_service.infrastructure.stream.TransactionStreamRouter;
+
+import java.time.Instant;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TransactionStreamRouter Tests")
+class TransactionStreamRouterTest {
+
+    private SimpleMeterRegistry registry;
+    private TransactionsProperties props;
+    private TransactionStreamRouter router;
+    private final SseFrameEncoder encoder = new SseFrameEncoder(Jackson2ObjectMapperBuilder.json().build());
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        props = new TransactionsProperties();
+        props.getStream().setBufferSize(2);
+        router = new TransactionStreamRouter(props, encoder, registry);
+    }
+
+    @Test
+    @DisplayName("Should deliver an event only to subscribers of its account")
+    void shouldDeliverOnlyToInterestedSubscribers() {
+        // Given
+        List<String> ana = new CopyOnWriteArrayList<>();
+        List<String> luis = new CopyOnWriteArrayList<>();
+        router.subscribe(Set.of("acc-1")).subscribe(e -> ana.add(e.tx().getId()));
+        router.subscribe(Set.of("acc-2")).subscribe(e -> luis.add(e.tx().getId()));
+
+        // When
+        router.publish(tx("t1", "acc-1"));
+        router.publish(tx("t2", "acc-2"));
+        router.publish(tx("t3", "acc-3"));
+
+        // Then
+        assertThat(ana).containsExactly("t1");
+        assertThat(luis).containsExactly("t2");
+        assertThat(registry.counter("transactions.stream.delivered").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should deliver every account of a multi-account subscription")
+    void shouldSupportSeveralAccounts() {
+        // Given
+        List<String> received = new CopyOnWriteArrayList<>();
+        router.subscribe(Set.of("acc-1", "acc-2")).subscribe(e -> received.add(e.tx().getId()));
+
+        // When
+        router.publish(tx("t1", "acc-1"));
+        router.publish(tx("t2", "acc-2"));
+        router.publish(tx("t3", "acc-3"));
+
+        // Then
+        assertThat(received).containsExactly("t1", "t2");
+    }
+
+    @Test
+    @DisplayName("Should deliver everything to unfiltered subscribers")
+    void shouldDeliverAllWithoutFilter() {
+        // Given
+        List<String> received = new CopyOnWriteArrayList<>();
+        router.subscribe(Set.of()).subscribe(e -> received.add(e.tx().getId()));
+
+        // When
+        router.publish(tx("t1", "acc-1"));
+        router.publish(tx("t2", "acc-2"));
+
+        // Then
+        assertThat(received).containsExactly("t1", "t2");
+    }
+
+    @Test
+    @DisplayName("Should drop a cancelled subscriber from the routing index")
+    void shouldUnregisterOnCancel() {
+        // Given
+        List<String> received = new CopyOnWriteArrayList<>();
+        Disposable first = router.subscribe(Set.of("acc-1")).subscribe(e -> received.add(e.tx().getId()));
+        Disposable second = router.subscribe(Set.of("acc-1", "acc-2")).subscribe();
+        assertThat(router.routedAccountCount()).isEqualTo(2);
+
+        // When
+        first.dispose();
+        router.publish(tx("t1", "acc-1"));
+        second.dispose();
+
+        // Then
+        assertThat(received).isEmpty();
+        assertThat(router.subscriberCount()).isZero();
+        assertThat(router.routedAccountCount()).isZero();
+        assertThat(registry.get("transactions.stream.subscribers").gauge().value()).isZero();
+    }
+
+    private static Transaction tx(String id, String accountId) {
+        return Transaction.builder()
+                .id(id)
+                .accountId(accountId)
+                .timestamp(Instant.parse("2025-01-10T10:00:00Z").plusSeconds(Long.parseLong(id.substring(1))))
+                .type("CREDIT")
+                .status("OK")
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Slow subscribers")
+    class SlowSubscribers {
+
+        @Test
+        @DisplayName("Should keep the newest events with drop-oldest")
+        void shouldDropOldest() {
+            // Given - a client that has not asked for anything yet
+            Flux<StreamEvent> slow = router.subscribe(Set.of("acc-1"), OverflowPolicy.DROP_OLDEST);
+
+            // When & Then
+            StepVerifier.create(slow.map(e -> e.tx().getId()), 0)
+                    .then(() -> publishAll("t1", "t2", "t3", "t4"))
+                    .thenRequest(2)
+                    .expectNext("t3", "t4")
+                    .thenCancel()
+                    .verify();
+            assertThat(overflowCount("drop_oldest")).isEqualTo(2.0);
+        }
+
+        @Test
+        @DisplayName("Should keep the oldest events with drop-latest")
+        void shouldDropLatest() {
+            // Given
+            Flux<StreamEvent> slow = router.subscribe(Set.of("acc-1"), OverflowPolicy.DROP_LATEST);
+
+            // When & Then
+            StepVerifier.create(slow.map(e -> e.tx().getId()), 0)
+                    .then(() -> publishAll("t1", "t2", "t3", "t4"))
+                    .thenRequest(2)
+                    .expectNext("t1", "t2")
+                    .thenCancel()
+                    .verify();
+            assertThat(overflowCount("drop_latest")).isEqualTo(2.0);
+        }
+
+        @Test
+        @DisplayName("Should close the stream of a slow subscriber with disconnect")
+        void shouldDisconnect() {
+            // Given
+            Flux<StreamEvent> slow = router.subscribe(Set.of("acc-1"), OverflowPolicy.DISCONNECT);
+
+            // When & Then
+            StepVerifier.create(slow, 0)
+                    .then(() -> publishAll("t1", "t2", "t3"))
+                    .thenRequest(Long.MAX_VALUE)
+                    .expectNextCount(2)
+                    .verifyComplete();
+            assertThat(registry.counter("transactions.stream.disconnected").count()).isEqualTo(1.0);
+            assertThat(router.subscriberCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should not hold back a fast subscriber")
+        void shouldNotStallOthers() {
+            // Given
+            router.subscribe(Set.of("acc-1"), OverflowPolicy.DROP_OLDEST).subscribe(new BaseSubscriber<>() {
+                @Override
+                protected void hookOnSubscribe(Subscription subscription) {
+                    // nunca pide: buffer lleno desde el tercer evento
+                }
+            });
+            List<String> fast = new CopyOnWriteArrayList<>();
+            router.subscribe(Set.of("acc-1")).subscribe(e -> fast.add(e.tx().getId()));
+
+            // When
+            publishAll("t1", "t2", "t3", "t4", "t5");
+
+            // Then
+            assertThat(fast).containsExactly("t1", "t2", "t3", "t4", "t5");
+        }
+
+        private void publishAll(String... ids) {
+            for (String id : ids) {
+                router.publish(tx(id, "acc-1"));
+            }
+        }
+
+        private double overflowCount(String policy) {
+            return registry.counter("transactions.stream.overflow", "policy", policy).count();
+        }
+    }
+
+    @Nested
+    @DisplayName("Resume from Last-Event-ID")
+    class Resume {
+
+        private final BiFunction<EventPosition, Integer, Flux<Transaction>> noStore = (from, max) -> {
+            throw new AssertionError("store catch-up not expected");
+        };
+
+        @Test
+        @DisplayName("Should replay missed events from the buffer, then continue live")
+        void shouldReplayFromBuffer() {
+            // Given - a client saw t1 and disconnected
+            List<StreamEvent> seen = new CopyOnWriteArrayList<>();
+            Disposable first = router.subscribe(Set.of()).subscribe(seen::add);
+            router.publish(tx("t1", "acc-1"));
+            first.dispose();
+            router.publish(tx("t2", "acc-1"));
+            router.publish(tx("t3", "acc-2"));
+
+            // When
+            Flux<String> resumed = router.subscribe(Set.of("acc-1"), OverflowPolicy.DROP_OLDEST,
+                            seen.get(0).id(), noStore)
+                    .map(e -> e.tx().getId());
+
+            // Then - t3 is another account; t4 arrives live
+            StepVerifier.create(resumed)
+                    .expectNext("t2")
+                    .then(() -> router.publish(tx("t4", "acc-1")))
+                    .expectNext("t4")
+                    .thenCancel()
+                    .verify();
+            assertThat(registry.counter("transactions.stream.resumed", "source", "buffer").count()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should give every event a distinct, increasing id")
+        void shouldAssignMonotonicIds() {
+            // Given
+            List<StreamEvent> seen = new CopyOnWriteArrayList<>();
+            router.subscribe(Set.of()).subscribe(seen::add);
+
+            // When
+            router.publish(tx("t1", "acc-1"));
+            router.publish(tx("t2", "acc-2"));
+
+            // Then
+            EventPosition a = EventPosition.parse(seen.get(0).id());
+            EventPosition b = EventPosition.parse(seen.get(1).id());
+            assertThat(a.epoch()).isEqualTo(b.epoch());
+            assertThat(b.seq()).isEqualTo(a.seq() + 1);
+        }
+
+        @Test
+        @DisplayName("Should fall back to the store when the gap left the buffer")
+        void shouldCatchUpFromStoreWhenEvicted() {
+            // Given - the buffer only keeps two events
+            props.getStream().setReplayMaxEvents(2);
+            router = new TransactionStreamRouter(props, encoder, registry);
+            List<StreamEvent> seen = new CopyOnWriteArrayList<>();
+            Disposable first = router.subscribe(Set.of()).subscribe(seen::add);
+            router.publish(tx("t1", "acc-1"));
+            first.dispose();
+            router.publish(tx("t2", "acc-1"));
+            router.publish(tx("t3", "acc-1"));
+            router.publish(tx("t4", "acc-1"));
+            List<EventPosition> requested = new CopyOnWriteArrayList<>();
+
+            // When
+            Flux<String> resumed = router.subscribe(Set.of("acc-1"), OverflowPolicy.DROP_OLDEST,
+                            seen.get(0).id(), (from, max) -> {
+                                requested.add(from);
+                                return Flux.just(tx("t2", "acc-1"), tx("t3", "acc-1"), tx("t4", "acc-1"));
+                            })
+                    .map(e -> e.tx().getId());
+
+            // Then
+            StepVerifier.create(resumed)
+                    .expectNext("t2", "t3", "t4")
+                    .then(() -> router.publish(tx("t5", "acc-1")))
+                    .expectNext("t5")
+                    .thenCancel()
+                    .verify();
+            // The store is asked for what comes after t1 itself, so t1 is not sent again
+            assertThat(requested).singleElement().satisfies(from -> {
+                assertThat(from.millis()).isEqualTo(seen.get(0).tx().getTimestamp().toEpochMilli());
+                assertThat(from.txId()).isEqualTo("t1");
+            });
+            assertThat(registry.counter("transactions.stream.resumed", "source", "store").count()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should fall back to the store for ids from a previous run")
+        void shouldCatchUpFromStoreForUnknownEpoch() {
+            // Given
+            String previousRun = new EventPosition(1L, 42, 1_700_000_000_000L, "t9").format();
+            List<EventPosition> requested = new CopyOnWriteArrayList<>();
+
+            // When
+            router.subscribe(Set.of(), OverflowPolicy.DROP_OLDEST, previousRun, (from, max) -> {
+                requested.add(from);
+                return Flux.empty();
+            }).subscribe().dispose();
+
+            // Then
+            assertThat(requested).containsExactly(new EventPosition(1L, 42, 1_700_000_000_000L, "t9"));
+        }
+
+        @Test
+        @DisplayName("Should not lose or repeat events published during a store catch-up")
+        void shouldHoldLiveEventsDuringCatchUp() {
+            // Given - the store answer is still in flight
+            Sinks.Many<Transaction> store = Sinks.many().unicast().onBackpressureBuffer();
+            String previousRun = new EventPosition(1L, 42, 0L, "t0").format();
+            Flux<String> resumed = router.subscribe(Set.of("acc-1"), OverflowPolicy.DROP_OLDEST,
+                            previousRun, (from, max) -> store.asFlux())
+                    .map(e -> e.tx().getId());
+
+            // When & Then - t2 is both in the store answer and published live
+            StepVerifier.create(resumed)
+                    .then(() -> {
+                        store.tryEmitNext(tx("t1", "acc-1"));
+                        router.publish(tx("t2", "acc-1"));
+                        router.publish(tx("t3", "acc-1"));
+                        store.tryEmitNext(tx("t2", "acc-1"));
+                        store.tryEmitComplete();
+                    })
+                    .expectNext("t1", "t2", "t3")
+                    .then(() -> router.publish(tx("t4", "acc-1")))
+                    .expectNext("t4")
+                    .thenCancel()
+                    .verify();
+            assertThat(router.subscriberCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should send a gap event when the store catch-up hits its limit")
+        void shouldSignalTruncatedCatchUp() {
+            // Given
+            props.getStream().setCatchUpLimit(2);
+            router = new TransactionStreamRouter(props, encoder, registry);
+            String previousRun = new EventPosition(1L, 42, 0L, "t0").format();
+            List<Integer> asked = new CopyOnWriteArrayList<>();
+
+            // When
+            Flux<StreamEvent> resumed = router.subscribe(Set.of(), OverflowPolicy.DROP_OLDEST, previousRun,
+                    (from, max) -> {
+                        asked.add(max);
+                        return Flux.just(tx("t1", "acc-1"), tx("t2", "acc-1"), tx("t3", "acc-1"));
+                    });
+
+            // Then - t3 is not sent; the gap frame has no id so Last-Event-ID stays on t2
+            StepVerifier.create(resumed)
+                    .assertNext(e -> assertThat(e.tx().getId()).isEqualTo("t1"))
+                    .assertNext(e -> assertThat(e.tx().getId()).isEqualTo("t2"))
+                    .assertNext(e -> {
+                        assertThat(e.id()).isNull();
+                        assertThat(e.frame().toString(StandardCharsets.UTF_8)).startsWith("event:gap\n");
+                    })
+                    .thenCancel()
+                    .verify();
+            assertThat(asked).containsExactly(3);
+            assertThat(registry.counter("transactions.stream.catchup.truncated").count()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should deliver events in sequence order when lanes publish concurrently")
+        void shouldDeliverInSequenceOrderUnderConcurrentPublish() throws Exception {
+            // Given
+            props.getStream().setBufferSize(10_000);
+            router = new TransactionStreamRouter(props, encoder, registry);
+            List<Long> received = new CopyOnWriteArrayList<>();
+            router.subscribe(Set.of()).subscribe(e -> received.add(e.seq()));
+            ExecutorService lanes = Executors.newFixedThreadPool(4);
+
+            // When
+            try {
+                List<Future<?>> done = new ArrayList<>();
+                for (int lane = 0; lane < 4; lane++) {
+                    int l = lane;
+                    done.add(lanes.submit(() -> {
+                        for (int i = 0; i < 500; i++) {
+                            router.publish(tx("t" + (l * 1_000 + i), "acc-" + l));
+                        }
+                    }));
+                }
+                for (Future<?> f : done) {
+                    f.get(10, TimeUnit.SECONDS);
+                }
+            } finally {
+                lanes.shutdownNow();
+            }
+
+            // Then
+            assertThat(received).hasSize(2_000).isSorted();
+        }
+
+        @Test
+        @DisplayName("Should start live with a malformed Last-Event-ID")
+        void shouldIgnoreMalformedId() {
+            // When & Then
+            StepVerifier.create(router.subscribe(Set.of(), OverflowPolicy.DROP_OLDEST, "garbage", noStore)
+                            .map(e -> e.tx().getId()))
+                    .then(() -> router.publish(tx("t1", "acc-1")))
+                    .expectNext("t1")
+                    .thenCancel()
+                    .verify();
+        }
+    }
+}
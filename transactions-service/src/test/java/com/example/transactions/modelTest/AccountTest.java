@@ -3,8 +3,7 @@ package com.example.transactions.modelTest;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import transactions_service.domain.model.Account;
-
-import java.math.BigDecimal;
+import transactions_service.domain.model.Money;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -18,7 +17,7 @@ public class AccountTest {
                 .number("1234567890")
                 .holderName("John Doe")
                 .currency("PEN")
-                .balance(new BigDecimal("1000.00"))
+                .balance(Money.of("1000.00"))
                 .build();
 
         // Then
@@ -27,7 +26,7 @@ public class AccountTest {
         assertEquals("1234567890", account.getNumber());
         assertEquals("John Doe", account.getHolderName());
         assertEquals("PEN", account.getCurrency());
-        assertEquals(new BigDecimal("1000.00"), account.getBalance());
+        assertEquals(Money.of("1000.00"), account.getBalance());
     }
 
     @Test
@@ -54,7 +53,10 @@ public class AccountTest {
                 "9876543210",
                 "Jane Smith",
                 "USD",
-                new BigDecimal("5000.00")
+                Money.of("5000.00"),
+                0L,
+                0,
+                null
         );
 
         // Then
@@ -63,7 +65,7 @@ public class AccountTest {
         assertEquals("9876543210", account.getNumber());
         assertEquals("Jane Smith", account.getHolderName());
         assertEquals("USD", account.getCurrency());
-        assertEquals(new BigDecimal("5000.00"), account.getBalance());
+        assertEquals(Money.of("5000.00"), account.getBalance());
     }
 
     @Test
@@ -77,14 +79,14 @@ public class AccountTest {
         account.setNumber("1111222233");
         account.setHolderName("Alice Brown");
         account.setCurrency("PEN");
-        account.setBalance(new BigDecimal("2500.50"));
+        account.setBalance(Money.of("2500.50"));
 
         // Then
         assertEquals("acc-003", account.getId());
         assertEquals("1111222233", account.getNumber());
         assertEquals("Alice Brown", account.getHolderName());
         assertEquals("PEN", account.getCurrency());
-        assertEquals(new BigDecimal("2500.50"), account.getBalance());
+        assertEquals(Money.of("2500.50"), account.getBalance());
     }
 
     @Test
@@ -96,7 +98,7 @@ public class AccountTest {
                 .number("5555666677")
                 .holderName("Bob Wilson")
                 .currency("USD")
-                .balance(new BigDecimal("10000.00"))
+                .balance(Money.of("10000.00"))
                 .build();
 
         // Then
@@ -112,11 +114,11 @@ public class AccountTest {
                 .number("9999888877")
                 .holderName("Charlie Davis")
                 .currency("PEN")
-                .balance(BigDecimal.ZERO)
+                .balance(Money.ZERO)
                 .build();
 
         // Then
-        assertEquals(BigDecimal.ZERO, account.getBalance());
+        assertEquals(Money.ZERO, account.getBalance());
     }
 
     @Test
@@ -128,11 +130,11 @@ public class AccountTest {
                 .number("7777666655")
                 .holderName("Diana Prince")
                 .currency("USD")
-                .balance(new BigDecimal("-500.00"))
+                .balance(Money.of("-500.00"))
                 .build();
 
         // Then
-        assertTrue(account.getBalance().compareTo(BigDecimal.ZERO) < 0);
+        assertTrue(account.getBalance().compareTo(Money.ZERO) < 0);
     }
 
     @Test
@@ -144,7 +146,7 @@ public class AccountTest {
                 .number("1234567890")
                 .holderName("Test User")
                 .currency("PEN")
-                .balance(new BigDecimal("1000.00"))
+                .balance(Money.of("1000.00"))
                 .build();
 
         Account account2 = Account.builder()
@@ -152,7 +154,7 @@ public class AccountTest {
                 .number("1234567890")
                 .holderName("Test User")
                 .currency("PEN")
-                .balance(new BigDecimal("1000.00"))
+                .balance(Money.of("1000.00"))
                 .build();
 
         Account account3 = Account.builder()
@@ -160,7 +162,7 @@ public class AccountTest {
                 .number("0987654321")
                 .holderName("Different User")
                 .currency("USD")
-                .balance(new BigDecimal("2000.00"))
+                .balance(Money.of("2000.00"))
                 .build();
 
         // Then
@@ -178,7 +180,7 @@ public class AccountTest {
                 .number("1231231234")
                 .holderName("Test ToString")
                 .currency("PEN")
-                .balance(new BigDecimal("3000.00"))
+                .balance(Money.of("3000.00"))
                 .build();
 
         // When
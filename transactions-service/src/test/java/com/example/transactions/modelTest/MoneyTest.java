@@ -0,0 +1,140 @@
+package com.example.transactions.modelTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import transactions_service.domain.dto.CreateTxRequest;
+import transactions_service.domain.model.Money;
+import transactions_service.domain.model.Transaction;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Money Tests")
+class MoneyTest {
+
+    @Nested
+    @DisplayName("Arithmetic")
+    class Arithmetic {
+
+        @Test
+        @DisplayName("Should store amounts as exact minor units")
+        void shouldStoreMinorUnits() {
+            assertThat(Money.of("125.4").minor()).isEqualTo(12540);
+            assertThat(Money.of("3000.000")).isEqualTo(Money.ofMinor(300000));
+            assertThat(Money.of(new BigDecimal("-0.05")).toBigDecimal()).isEqualTo(new BigDecimal("-0.05"));
+        }
+
+        @Test
+        @DisplayName("Should add, subtract and compare without rounding")
+        void shouldAddSubtractCompare() {
+            // Given
+            Money balance = Money.of("0.30");
+
+            // When
+            Money result = balance.minus(Money.of("0.10")).minus(Money.of("0.20"));
+
+            // Then
+            assertThat(result).isEqualTo(Money.ZERO);
+            assertThat(Money.of("0.10").plus(Money.of("0.20"))).isEqualTo(Money.of("0.30"));
+            assertThat(Money.of("10.00").compareTo(Money.of("9.99"))).isPositive();
+            assertThat(Money.of("-1.00").max(Money.ZERO)).isSameAs(Money.ZERO);
+        }
+
+        @Test
+        @DisplayName("Should reject more than two decimals and overflow")
+        void shouldRejectPrecisionAndOverflow() {
+            assertThatThrownBy(() -> Money.of("0.001")).isInstanceOf(ArithmeticException.class);
+            assertThatThrownBy(() -> Money.of("1e30")).isInstanceOf(ArithmeticException.class);
+            assertThatThrownBy(() -> Money.ofMinor(Long.MAX_VALUE).plus(Money.ofMinor(1)))
+                    .isInstanceOf(ArithmeticException.class);
+        }
+
+        @Test
+        @DisplayName("Should render a plain two-decimal string")
+        void shouldRenderPlainString() {
+            assertThat(Money.of("125.4")).hasToString("125.40");
+            assertThat(Money.of("-0.05")).hasToString("-0.05");
+            assertThat(Money.of("-12.5")).hasToString("-12.50");
+            assertThat(Money.ZERO).hasToString("0.00");
+            assertThat(Money.ofMinor(Long.MIN_VALUE)).hasToString("-92233720368547758.08");
+        }
+
+        @Test
+        @DisplayName("Should only accept fractions the currency supports")
+        void shouldCheckCurrencyDigits() {
+            assertThat(Money.of("10.25").fitsCurrency("PEN")).isTrue();
+            assertThat(Money.of("10.25").fitsCurrency("JPY")).isFalse();
+            assertThat(Money.of("10").fitsCurrency("JPY")).isTrue();
+            assertThat(Money.of("10").fitsCurrency("BHD")).isFalse();
+            assertThat(Money.of("10").fitsCurrency(null)).isFalse();
+            assertThat(Money.of("10").fitsCurrency("XYZ1")).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("JSON")
+    class Json {
+
+        private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+
+        @Test
+        @DisplayName("Should keep amounts as JSON numbers")
+        void shouldWriteNumbers() throws Exception {
+            // Given
+            Transaction tx = Transaction.builder().amount(Money.of("125.4")).build();
+
+            // When
+            String json = mapper.writeValueAsString(tx);
+
+            // Then
+            assertThat(json).contains("\"amount\":125.40");
+        }
+
+        @Test
+        @DisplayName("Should read integers, decimals and strings")
+        void shouldReadNumbers() throws Exception {
+            assertThat(read("{\"amount\":100}").getAmount()).isEqualTo(Money.of("100"));
+            assertThat(read("{\"amount\":99.9}").getAmount()).isEqualTo(Money.of("99.90"));
+            assertThat(read("{\"amount\":\"0.01\"}").getAmount()).isEqualTo(Money.ofMinor(1));
+        }
+
+        @Test
+        @DisplayName("Should fail with invalid_amount on excess precision")
+        void shouldRejectExcessPrecision() {
+            assertThatThrownBy(() -> read("{\"amount\":0.001}"))
+                    .isInstanceOf(InvalidFormatException.class)
+                    .hasMessageContaining("invalid_amount");
+        }
+
+        private CreateTxRequest read(String json) throws Exception {
+            return mapper.readValue(json, CreateTxRequest.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Should validate the request minimum amount")
+    void shouldValidateMinimumAmount() {
+        // Given
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        CreateTxRequest req = CreateTxRequest.builder()
+                .accountNumber("001-0001")
+                .type("DEBIT")
+                .amount(Money.ZERO)
+                .build();
+
+        // When & Then
+        assertThat(validator.validate(req))
+                .singleElement()
+                .satisfies(v -> assertThat(v.getMessage()).isEqualTo("must be greater than or equal to 0.01"));
+        req.setAmount(Money.of("0.01"));
+        assertThat(validator.validate(req)).isEmpty();
+    }
+}
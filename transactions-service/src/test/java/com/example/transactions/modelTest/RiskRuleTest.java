@@ -3,10 +3,9 @@ package com.example.transactions.modelTest;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
+import transactions_service.domain.model.Money;
 import transactions_service.domain.model.RiskRule;
 
-import java.math.BigDecimal;
-
 import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayName("RiskRule Model Tests")
@@ -22,14 +21,14 @@ public class RiskRuleTest {
             RiskRule riskRule = RiskRule.builder()
                     .id("rule-001")
                     .currency("PEN")
-                    .maxDebitPerTx(new BigDecimal("10000.00"))
+                    .maxDebitPerTx(Money.of("10000.00"))
                     .build();
 
             // Then
             assertNotNull(riskRule);
             assertEquals("rule-001", riskRule.getId());
             assertEquals("PEN", riskRule.getCurrency());
-            assertEquals(new BigDecimal("10000.00"), riskRule.getMaxDebitPerTx());
+            assertEquals(Money.of("10000.00"), riskRule.getMaxDebitPerTx());
         }
 
         @Test
@@ -52,14 +51,21 @@ public class RiskRuleTest {
             RiskRule riskRule = new RiskRule(
                     "rule-002",
                     "USD",
-                    new BigDecimal("5000.00")
+                    Money.of("5000.00"),
+                    Money.of("1000.00"), null, null,
+                    5, null, 100,
+                    null, null, null, null, null, null, null, null
             );
 
             // Then
             assertNotNull(riskRule);
             assertEquals("rule-002", riskRule.getId());
             assertEquals("USD", riskRule.getCurrency());
-            assertEquals(new BigDecimal("5000.00"), riskRule.getMaxDebitPerTx());
+            assertEquals(Money.of("5000.00"), riskRule.getMaxDebitPerTx());
+            assertEquals(Money.of("1000.00"), riskRule.getMaxDebitPerMinute());
+            assertEquals(5, riskRule.getMaxDebitsPerMinute());
+            assertEquals(100, riskRule.getMaxDebitsPerDay());
+            assertNull(riskRule.getMaxDebitPerHour());
         }
     }
 
@@ -76,12 +82,12 @@ public class RiskRuleTest {
             // When
             riskRule.setId("rule-003");
             riskRule.setCurrency("PEN");
-            riskRule.setMaxDebitPerTx(new BigDecimal("15000.00"));
+            riskRule.setMaxDebitPerTx(Money.of("15000.00"));
 
             // Then
             assertEquals("rule-003", riskRule.getId());
             assertEquals("PEN", riskRule.getCurrency());
-            assertEquals(new BigDecimal("15000.00"), riskRule.getMaxDebitPerTx());
+            assertEquals(Money.of("15000.00"), riskRule.getMaxDebitPerTx());
         }
 
         @Test
@@ -91,13 +97,13 @@ public class RiskRuleTest {
             RiskRule riskRule = RiskRule.builder()
                     .id("rule-004")
                     .currency("USD")
-                    .maxDebitPerTx(new BigDecimal("8000.00"))
+                    .maxDebitPerTx(Money.of("8000.00"))
                     .build();
 
             // When & Then
             assertEquals("rule-004", riskRule.getId());
             assertEquals("USD", riskRule.getCurrency());
-            assertEquals(new BigDecimal("8000.00"), riskRule.getMaxDebitPerTx());
+            assertEquals(Money.of("8000.00"), riskRule.getMaxDebitPerTx());
         }
     }
 
@@ -112,7 +118,7 @@ public class RiskRuleTest {
             RiskRule riskRule = RiskRule.builder()
                     .id("rule-pen-001")
                     .currency("PEN")
-                    .maxDebitPerTx(new BigDecimal("8000.00"))
+                    .maxDebitPerTx(Money.of("8000.00"))
                     .build();
 
             // Then
@@ -126,7 +132,7 @@ public class RiskRuleTest {
             RiskRule riskRule = RiskRule.builder()
                     .id("rule-usd-001")
                     .currency("USD")
-                    .maxDebitPerTx(new BigDecimal("3000.00"))
+                    .maxDebitPerTx(Money.of("3000.00"))
                     .build();
 
             // Then
@@ -140,7 +146,7 @@ public class RiskRuleTest {
             RiskRule riskRule = RiskRule.builder()
                     .id("rule-005")
                     .currency("PEN")
-                    .maxDebitPerTx(new BigDecimal("10000.00"))
+                    .maxDebitPerTx(Money.of("10000.00"))
                     .build();
 
             // When
@@ -162,11 +168,11 @@ public class RiskRuleTest {
             RiskRule riskRule = RiskRule.builder()
                     .id("rule-large")
                     .currency("USD")
-                    .maxDebitPerTx(new BigDecimal("999999.99"))
+                    .maxDebitPerTx(Money.of("999999.99"))
                     .build();
 
             // Then
-            assertEquals(0, new BigDecimal("999999.99")
+            assertEquals(0, Money.of("999999.99")
                     .compareTo(riskRule.getMaxDebitPerTx()));
         }
 
@@ -177,11 +183,11 @@ public class RiskRuleTest {
             RiskRule riskRule = RiskRule.builder()
                     .id("rule-small")
                     .currency("PEN")
-                    .maxDebitPerTx(new BigDecimal("100.00"))
+                    .maxDebitPerTx(Money.of("100.00"))
                     .build();
 
             // Then
-            assertEquals(0, new BigDecimal("100.00")
+            assertEquals(0, Money.of("100.00")
                     .compareTo(riskRule.getMaxDebitPerTx()));
         }
 
@@ -192,11 +198,11 @@ public class RiskRuleTest {
             RiskRule riskRule = RiskRule.builder()
                     .id("rule-zero")
                     .currency("PEN")
-                    .maxDebitPerTx(BigDecimal.ZERO)
+                    .maxDebitPerTx(Money.ZERO)
                     .build();
 
             // Then
-            assertEquals(0, BigDecimal.ZERO.compareTo(riskRule.getMaxDebitPerTx()));
+            assertEquals(0, Money.ZERO.compareTo(riskRule.getMaxDebitPerTx()));
         }
 
         @Test
@@ -206,14 +212,14 @@ public class RiskRuleTest {
             RiskRule riskRule = RiskRule.builder()
                     .id("rule-update")
                     .currency("PEN")
-                    .maxDebitPerTx(new BigDecimal("5000.00"))
+                    .maxDebitPerTx(Money.of("5000.00"))
                     .build();
 
             // When
-            riskRule.setMaxDebitPerTx(new BigDecimal("12000.00"));
+            riskRule.setMaxDebitPerTx(Money.of("12000.00"));
 
             // Then
-            assertEquals(0, new BigDecimal("12000.00")
+            assertEquals(0, Money.of("12000.00")
                     .compareTo(riskRule.getMaxDebitPerTx()));
         }
 
@@ -224,11 +230,11 @@ public class RiskRuleTest {
             RiskRule riskRule = RiskRule.builder()
                     .id("rule-decimal")
                     .currency("USD")
-                    .maxDebitPerTx(new BigDecimal("5000.50"))
+                    .maxDebitPerTx(Money.of("5000.50"))
                     .build();
 
             // Then
-            assertEquals(0, new BigDecimal("5000.50")
+            assertEquals(0, Money.of("5000.50")
                     .compareTo(riskRule.getMaxDebitPerTx()));
         }
     }
@@ -244,13 +250,13 @@ public class RiskRuleTest {
             RiskRule rule1 = RiskRule.builder()
                     .id("rule-eq-001")
                     .currency("PEN")
-                    .maxDebitPerTx(new BigDecimal("5000.00"))
+                    .maxDebitPerTx(Money.of("5000.00"))
                     .build();
 
             RiskRule rule2 = RiskRule.builder()
                     .id("rule-eq-001")
                     .currency("PEN")
-                    .maxDebitPerTx(new BigDecimal("5000.00"))
+                    .maxDebitPerTx(Money.of("5000.00"))
                     .build();
 
             // Then
@@ -264,13 +270,13 @@ public class RiskRuleTest {
             RiskRule rule1 = RiskRule.builder()
                     .id("rule-diff-001")
                     .currency("PEN")
-                    .maxDebitPerTx(new BigDecimal("5000.00"))
+                    .maxDebitPerTx(Money.of("5000.00"))
                     .build();
 
             RiskRule rule2 = RiskRule.builder()
                     .id("rule-diff-002")
                     .currency("USD")
-                    .maxDebitPerTx(new BigDecimal("3000.00"))
+                    .maxDebitPerTx(Money.of("3000.00"))
                     .build();
 
             // Then
@@ -284,13 +290,13 @@ public class RiskRuleTest {
             RiskRule rule1 = RiskRule.builder()
                     .id("rule-hash-001")
                     .currency("PEN")
-                    .maxDebitPerTx(new BigDecimal("5000.00"))
+                    .maxDebitPerTx(Money.of("5000.00"))
                     .build();
 
             RiskRule rule2 = RiskRule.builder()
                     .id("rule-hash-001")
                     .currency("PEN")
-                    .maxDebitPerTx(new BigDecimal("5000.00"))
+                    .maxDebitPerTx(Money.of("5000.00"))
                     .build();
 
             // Then
@@ -304,7 +310,7 @@ public class RiskRuleTest {
             RiskRule riskRule = RiskRule.builder()
                     .id("rule-str-001")
                     .currency("USD")
-                    .maxDebitPerTx(new BigDecimal("7500.00"))
+                    .maxDebitPerTx(Money.of("7500.00"))
                     .build();
 
             // When
@@ -324,7 +330,7 @@ public class RiskRuleTest {
             RiskRule riskRule = RiskRule.builder()
                     .id("rule-null-test")
                     .currency("PEN")
-                    .maxDebitPerTx(new BigDecimal("5000.00"))
+                    .maxDebitPerTx(Money.of("5000.00"))
                     .build();
 
             // Then
@@ -338,7 +344,7 @@ public class RiskRuleTest {
             RiskRule riskRule = RiskRule.builder()
                     .id("rule-ref-test")
                     .currency("PEN")
-                    .maxDebitPerTx(new BigDecimal("5000.00"))
+                    .maxDebitPerTx(Money.of("5000.00"))
                     .build();
 
             // Then
@@ -373,7 +379,7 @@ public class RiskRuleTest {
             RiskRule riskRule = RiskRule.builder()
                     .id("rule-null")
                     .currency("PEN")
-                    .maxDebitPerTx(new BigDecimal("5000.00"))
+                    .maxDebitPerTx(Money.of("5000.00"))
                     .build();
 
             // When
@@ -399,14 +405,14 @@ public class RiskRuleTest {
             RiskRule riskRule = RiskRule.builder()
                     .id("rule-pen-typical")
                     .currency("PEN")
-                    .maxDebitPerTx(new BigDecimal("10000.00"))
+                    .maxDebitPerTx(Money.of("10000.00"))
                     .build();
 
             // Then
             assertAll(
                     () -> assertEquals("PEN", riskRule.getCurrency()),
                     () -> assertTrue(riskRule.getMaxDebitPerTx()
-                            .compareTo(BigDecimal.ZERO) > 0)
+                            .compareTo(Money.ZERO) > 0)
             );
         }
 
@@ -417,14 +423,14 @@ public class RiskRuleTest {
             RiskRule riskRule = RiskRule.builder()
                     .id("rule-usd-typical")
                     .currency("USD")
-                    .maxDebitPerTx(new BigDecimal("3000.00"))
+                    .maxDebitPerTx(Money.of("3000.00"))
                     .build();
 
             // Then
             assertAll(
                     () -> assertEquals("USD", riskRule.getCurrency()),
                     () -> assertTrue(riskRule.getMaxDebitPerTx()
-                            .compareTo(BigDecimal.ZERO) > 0)
+                            .compareTo(Money.ZERO) > 0)
             );
         }
 
@@ -435,11 +441,11 @@ public class RiskRuleTest {
             RiskRule riskRule = RiskRule.builder()
                     .id("rule-positive")
                     .currency("PEN")
-                    .maxDebitPerTx(new BigDecimal("7500.00"))
+                    .maxDebitPerTx(Money.of("7500.00"))
                     .build();
 
             // Then
-            assertTrue(riskRule.getMaxDebitPerTx().compareTo(BigDecimal.ZERO) > 0,
+            assertTrue(riskRule.getMaxDebitPerTx().compareTo(Money.ZERO) > 0,
                     "Max debit should be positive for valid rules");
         }
     }
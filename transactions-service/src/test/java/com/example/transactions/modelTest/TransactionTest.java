@@ -2,9 +2,9 @@ package com.example.transactions.modelTest;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import transactions_service.domain.model.Money;
 import transactions_service.domain.model.Transaction;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -22,7 +22,7 @@ class TransactionTest {
                 .id("tx-001")
                 .accountId("acc-001")
                 .type("DEBIT")
-                .amount(new BigDecimal("500.00"))
+                .amount(Money.of("500.00"))
                 .timestamp(now)
                 .status("OK")
                 .reason(null)
@@ -33,7 +33,7 @@ class TransactionTest {
         assertEquals("tx-001", transaction.getId());
         assertEquals("acc-001", transaction.getAccountId());
         assertEquals("DEBIT", transaction.getType());
-        assertEquals(new BigDecimal("500.00"), transaction.getAmount());
+        assertEquals(Money.of("500.00"), transaction.getAmount());
         assertEquals(now, transaction.getTimestamp());
         assertEquals("OK", transaction.getStatus());
         assertNull(transaction.getReason());
@@ -67,18 +67,20 @@ class TransactionTest {
                 "tx-002",
                 "acc-002",
                 "CREDIT",
-                new BigDecimal("1000.00"),
+                Money.of("1000.00"),
                 now,
                 "OK",
-                null
+                null,
+                7L
         );
 
         // Then
         assertNotNull(transaction);
         assertEquals("tx-002", transaction.getId());
+        assertEquals(7L, transaction.getSequence());
         assertEquals("acc-002", transaction.getAccountId());
         assertEquals("CREDIT", transaction.getType());
-        assertEquals(new BigDecimal("1000.00"), transaction.getAmount());
+        assertEquals(Money.of("1000.00"), transaction.getAmount());
         assertEquals(now, transaction.getTimestamp());
         assertEquals("OK", transaction.getStatus());
         assertNull(transaction.getReason());
@@ -95,7 +97,7 @@ class TransactionTest {
         transaction.setId("tx-003");
         transaction.setAccountId("acc-003");
         transaction.setType("DEBIT");
-        transaction.setAmount(new BigDecimal("750.00"));
+        transaction.setAmount(Money.of("750.00"));
         transaction.setTimestamp(now);
         transaction.setStatus("REJECTED");
         transaction.setReason("Insufficient funds");
@@ -104,7 +106,7 @@ class TransactionTest {
         assertEquals("tx-003", transaction.getId());
         assertEquals("acc-003", transaction.getAccountId());
         assertEquals("DEBIT", transaction.getType());
-        assertEquals(new BigDecimal("750.00"), transaction.getAmount());
+        assertEquals(Money.of("750.00"), transaction.getAmount());
         assertEquals(now, transaction.getTimestamp());
         assertEquals("REJECTED", transaction.getStatus());
         assertEquals("Insufficient funds", transaction.getReason());
@@ -118,7 +120,7 @@ class TransactionTest {
                 .id("tx-004")
                 .accountId("acc-004")
                 .type("DEBIT")
-                .amount(new BigDecimal("250.00"))
+                .amount(Money.of("250.00"))
                 .timestamp(Instant.now())
                 .status("OK")
                 .build();
@@ -135,7 +137,7 @@ class TransactionTest {
                 .id("tx-005")
                 .accountId("acc-005")
                 .type("CREDIT")
-                .amount(new BigDecimal("1500.00"))
+                .amount(Money.of("1500.00"))
                 .timestamp(Instant.now())
                 .status("OK")
                 .build();
@@ -152,7 +154,7 @@ class TransactionTest {
                 .id("tx-006")
                 .accountId("acc-006")
                 .type("DEBIT")
-                .amount(new BigDecimal("300.00"))
+                .amount(Money.of("300.00"))
                 .timestamp(Instant.now())
                 .status("OK")
                 .reason(null)
@@ -171,7 +173,7 @@ class TransactionTest {
                 .id("tx-007")
                 .accountId("acc-007")
                 .type("DEBIT")
-                .amount(new BigDecimal("15000.00"))
+                .amount(Money.of("15000.00"))
                 .timestamp(Instant.now())
                 .status("REJECTED")
                 .reason("Exceeds maximum debit limit")
@@ -190,7 +192,7 @@ class TransactionTest {
                 .id("tx-008")
                 .accountId("acc-008")
                 .type("DEBIT")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of("100.00"))
                 .timestamp(Instant.now())
                 .status("REJECTED")
                 .reason("Insufficient funds")
@@ -200,7 +202,7 @@ class TransactionTest {
                 .id("tx-009")
                 .accountId("acc-009")
                 .type("DEBIT")
-                .amount(new BigDecimal("20000.00"))
+                .amount(Money.of("20000.00"))
                 .timestamp(Instant.now())
                 .status("REJECTED")
                 .reason("Exceeds risk limit")
@@ -219,13 +221,13 @@ class TransactionTest {
                 .id("tx-010")
                 .accountId("acc-010")
                 .type("CREDIT")
-                .amount(new BigDecimal("999999.99"))
+                .amount(Money.of("999999.99"))
                 .timestamp(Instant.now())
                 .status("OK")
                 .build();
 
         // Then
-        assertEquals(new BigDecimal("999999.99"), transaction.getAmount());
+        assertEquals(Money.of("999999.99"), transaction.getAmount());
     }
 
     @Test
@@ -236,13 +238,13 @@ class TransactionTest {
                 .id("tx-011")
                 .accountId("acc-011")
                 .type("DEBIT")
-                .amount(new BigDecimal("0.01"))
+                .amount(Money.of("0.01"))
                 .timestamp(Instant.now())
                 .status("OK")
                 .build();
 
         // Then
-        assertEquals(new BigDecimal("0.01"), transaction.getAmount());
+        assertEquals(Money.of("0.01"), transaction.getAmount());
     }
 
     @Test
@@ -256,7 +258,7 @@ class TransactionTest {
                 .id("tx-012")
                 .accountId("acc-012")
                 .type("CREDIT")
-                .amount(new BigDecimal("500.00"))
+                .amount(Money.of("500.00"))
                 .timestamp(beforeCreation)
                 .status("OK")
                 .build();
@@ -279,7 +281,7 @@ class TransactionTest {
                 .id("tx-013")
                 .accountId("acc-013")
                 .type("DEBIT")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of("100.00"))
                 .timestamp(now)
                 .status("OK")
                 .reason(null)
@@ -289,7 +291,7 @@ class TransactionTest {
                 .id("tx-013")
                 .accountId("acc-013")
                 .type("DEBIT")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of("100.00"))
                 .timestamp(now)
                 .status("OK")
                 .reason(null)
@@ -299,7 +301,7 @@ class TransactionTest {
                 .id("tx-014")
                 .accountId("acc-014")
                 .type("CREDIT")
-                .amount(new BigDecimal("200.00"))
+                .amount(Money.of("200.00"))
                 .timestamp(Instant.now())
                 .status("OK")
                 .reason(null)
@@ -319,7 +321,7 @@ class TransactionTest {
                 .id("tx-015")
                 .accountId("acc-015")
                 .type("DEBIT")
-                .amount(new BigDecimal("350.00"))
+                .amount(Money.of("350.00"))
                 .timestamp(Instant.now())
                 .status("OK")
                 .build();
@@ -367,7 +369,7 @@ class TransactionTest {
                 .id("tx-016")
                 .accountId("acc-016")
                 .type("DEBIT")
-                .amount(new BigDecimal("500.00"))
+                .amount(Money.of("500.00"))
                 .timestamp(Instant.now())
                 .status("OK")
                 .build();
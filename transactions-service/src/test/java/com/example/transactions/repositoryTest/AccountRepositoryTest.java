@@ -11,9 +11,9 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 import transactions_service.domain.model.Account;
+import transactions_service.domain.model.Money;
 import transactions_service.domain.repository.AccountRepository;
 
-import java.math.BigDecimal;
 import java.time.Duration;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -45,7 +45,7 @@ class AccountRepositoryTest {
                 .number("1234567890")
                 .holderName("John Doe")
                 .currency("PEN")
-                .balance(new BigDecimal("5000.00"))
+                .balance(Money.of("5000.00"))
                 .build();
 
         testAccount2 = Account.builder()
@@ -53,7 +53,7 @@ class AccountRepositoryTest {
                 .number("0987654321")
                 .holderName("Jane Smith")
                 .currency("USD")
-                .balance(new BigDecimal("10000.00"))
+                .balance(Money.of("10000.00"))
                 .build();
 
         testAccount3 = Account.builder()
@@ -61,7 +61,7 @@ class AccountRepositoryTest {
                 .number("5555666677")
                 .holderName("Bob Wilson")
                 .currency("PEN")
-                .balance(new BigDecimal("2500.00"))
+                .balance(Money.of("2500.00"))
                 .build();
     }
 
@@ -85,7 +85,7 @@ class AccountRepositoryTest {
                     assertEquals("1234567890", account.getNumber());
                     assertEquals("John Doe", account.getHolderName());
                     assertEquals("PEN", account.getCurrency());
-                    assertEquals(new BigDecimal("5000.00"), account.getBalance());
+                    assertEquals(Money.of("5000.00"), account.getBalance());
                 })
                 .verifyComplete();
     }
@@ -166,7 +166,7 @@ class AccountRepositoryTest {
         // When
         Mono<Account> updatedAccount = accountRepository.findById("acc-001")
                 .flatMap(account -> {
-                    account.setBalance(new BigDecimal("7500.00"));
+                    account.setBalance(Money.of("7500.00"));
                     return accountRepository.save(account);
                 });
 
@@ -174,7 +174,7 @@ class AccountRepositoryTest {
         StepVerifier.create(updatedAccount)
                 .assertNext(account -> {
                     assertEquals("acc-001", account.getId());
-                    assertEquals(new BigDecimal("7500.00"), account.getBalance());
+                    assertEquals(Money.of("7500.00"), account.getBalance());
                 })
                 .verifyComplete();
     }
@@ -299,7 +299,7 @@ class AccountRepositoryTest {
                 .number("1111111111")
                 .holderName("Concurrent User 1")
                 .currency("PEN")
-                .balance(new BigDecimal("1000.00"))
+                .balance(Money.of("1000.00"))
                 .build();
 
         Account account2 = Account.builder()
@@ -307,7 +307,7 @@ class AccountRepositoryTest {
                 .number("2222222222")
                 .holderName("Concurrent User 2")
                 .currency("USD")
-                .balance(new BigDecimal("2000.00"))
+                .balance(Money.of("2000.00"))
                 .build();
 
         // When
@@ -331,7 +331,7 @@ class AccountRepositoryTest {
                 .number("1234-5678-90")
                 .holderName("Special Account")
                 .currency("PEN")
-                .balance(new BigDecimal("3000.00"))
+                .balance(Money.of("3000.00"))
                 .build();
 
         accountRepository.save(specialAccount).block(Duration.ofSeconds(5));
@@ -381,7 +381,7 @@ class AccountRepositoryTest {
         Mono<Account> updatedAccount = accountRepository.findById("acc-001")
                 .flatMap(account -> {
                     account.setHolderName("John Doe Updated");
-                    account.setBalance(new BigDecimal("15000.00"));
+                    account.setBalance(Money.of("15000.00"));
                     account.setCurrency("USD");
                     return accountRepository.save(account);
                 });
@@ -390,7 +390,7 @@ class AccountRepositoryTest {
         StepVerifier.create(updatedAccount)
                 .assertNext(account -> {
                     assertEquals("John Doe Updated", account.getHolderName());
-                    assertEquals(new BigDecimal("15000.00"), account.getBalance());
+                    assertEquals(Money.of("15000.00"), account.getBalance());
                     assertEquals("USD", account.getCurrency());
                 })
                 .verifyComplete();
@@ -10,10 +10,10 @@ import org.springframework.test.context.TestPropertySource;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
+import transactions_service.domain.model.Money;
 import transactions_service.domain.model.Transaction;
 import transactions_service.domain.repository.TransactionRepository;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
@@ -47,7 +47,7 @@ class TransactionRepositoryTest {
                 .id("tx-001")
                 .accountId("acc-001")
                 .type("DEBIT")
-                .amount(new BigDecimal("500.00"))
+                .amount(Money.of("500.00"))
                 .timestamp(now.minus(3, ChronoUnit.HOURS))
                 .status("OK")
                 .reason(null)
@@ -57,7 +57,7 @@ class TransactionRepositoryTest {
                 .id("tx-002")
                 .accountId("acc-001")
                 .type("CREDIT")
-                .amount(new BigDecimal("1000.00"))
+                .amount(Money.of("1000.00"))
                 .timestamp(now.minus(2, ChronoUnit.HOURS))
                 .status("OK")
                 .reason(null)
@@ -67,7 +67,7 @@ class TransactionRepositoryTest {
                 .id("tx-003")
                 .accountId("acc-001")
                 .type("DEBIT")
-                .amount(new BigDecimal("15000.00"))
+                .amount(Money.of("15000.00"))
                 .timestamp(now.minus(1, ChronoUnit.HOURS))
                 .status("REJECTED")
                 .reason("Exceeds maximum debit limit")
@@ -77,7 +77,7 @@ class TransactionRepositoryTest {
                 .id("tx-004")
                 .accountId("acc-002")
                 .type("DEBIT")
-                .amount(new BigDecimal("200.00"))
+                .amount(Money.of("200.00"))
                 .timestamp(now)
                 .status("OK")
                 .reason(null)
@@ -103,7 +103,7 @@ class TransactionRepositoryTest {
                     assertEquals("tx-001", tx.getId());
                     assertEquals("acc-001", tx.getAccountId());
                     assertEquals("DEBIT", tx.getType());
-                    assertEquals(new BigDecimal("500.00"), tx.getAmount());
+                    assertEquals(Money.of("500.00"), tx.getAmount());
                     assertEquals("OK", tx.getStatus());
                     assertNull(tx.getReason());
                 })
@@ -372,7 +372,7 @@ class TransactionRepositoryTest {
                 .id("tx-same-1")
                 .accountId("acc-001")
                 .type("DEBIT")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of("100.00"))
                 .timestamp(sameTime)
                 .status("OK")
                 .build();
@@ -381,7 +381,7 @@ class TransactionRepositoryTest {
                 .id("tx-same-2")
                 .accountId("acc-001")
                 .type("CREDIT")
-                .amount(new BigDecimal("200.00"))
+                .amount(Money.of("200.00"))
                 .timestamp(sameTime)
                 .status("OK")
                 .build();
@@ -407,7 +407,7 @@ class TransactionRepositoryTest {
                 .id("tx-large")
                 .accountId("acc-001")
                 .type("CREDIT")
-                .amount(new BigDecimal("999999999.99"))
+                .amount(Money.of("999999999.99"))
                 .timestamp(Instant.now())
                 .status("OK")
                 .build();
@@ -418,7 +418,7 @@ class TransactionRepositoryTest {
         // Then
         StepVerifier.create(savedTransaction)
                 .assertNext(tx -> {
-                    assertEquals(new BigDecimal("999999999.99"), tx.getAmount());
+                    assertEquals(Money.of("999999999.99"), tx.getAmount());
                 })
                 .verifyComplete();
     }
@@ -431,7 +431,7 @@ class TransactionRepositoryTest {
                 .id("tx-small")
                 .accountId("acc-001")
                 .type("DEBIT")
-                .amount(new BigDecimal("0.01"))
+                .amount(Money.of("0.01"))
                 .timestamp(Instant.now())
                 .status("OK")
                 .build();
@@ -442,7 +442,7 @@ class TransactionRepositoryTest {
         // Then
         StepVerifier.create(savedTransaction)
                 .assertNext(tx -> {
-                    assertEquals(new BigDecimal("0.01"), tx.getAmount());
+                    assertEquals(Money.of("0.01"), tx.getAmount());
                 })
                 .verifyComplete();
     }
@@ -518,7 +518,7 @@ class TransactionRepositoryTest {
                 .id("concurrent-1")
                 .accountId("acc-concurrent")
                 .type("DEBIT")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of("100.00"))
                 .timestamp(Instant.now())
                 .status("OK")
                 .build();
@@ -527,7 +527,7 @@ class TransactionRepositoryTest {
                 .id("concurrent-2")
                 .accountId("acc-concurrent")
                 .type("CREDIT")
-                .amount(new BigDecimal("200.00"))
+                .amount(Money.of("200.00"))
                 .timestamp(Instant.now())
                 .status("OK")
                 .build();
@@ -0,0 +1,143 @@
+package com.example.transactions.serviceTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import transactions_service.domain.model.Account;
+import transactions_service.domain.model.Money;
+import transactions_service.domain.repository.AccountRepository;
+import transactions_service.domain.service.AccountLookupCache;
+import transactions_service.domain.service.AccountLookupCache.AccountRef;
+import transactions_service.infrastructure.config.TransactionsProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AccountLookupCache Tests")
+class AccountLookupCacheTest {
+
+    @Mock
+    private AccountRepository accountRepo;
+
+    private SimpleMeterRegistry registry;
+    private TransactionsProperties props;
+    private AccountLookupCache cache;
+
+    private final Account account = Account.builder()
+            .id("1")
+            .number("001-0001")
+            .currency("PEN")
+            .balance(Money.of("100.00"))
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        props = new TransactionsProperties();
+        cache = new AccountLookupCache(accountRepo, props, registry);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated lookups from the cache")
+    void shouldServeRepeatedLookupsFromCache() {
+        // Given
+        when(accountRepo.findByNumber("001-0001")).thenReturn(Mono.just(account));
+
+        // When
+        AccountRef first = cache.resolve("001-0001").block();
+        AccountRef second = cache.resolve("001-0001").block();
+
+        // Then
+        assertThat(first).isEqualTo(new AccountRef("1", "001-0001", "PEN", 0, null));
+        assertThat(second).isEqualTo(first);
+        verify(accountRepo, times(1)).findByNumber("001-0001");
+        assertThat(registry.get("cache.gets").tag("cache", "accounts").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(registry.get("cache.hit.ratio").gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("Should coalesce concurrent misses into a single load")
+    void shouldCoalesceConcurrentMisses() {
+        // Given - the load stays in flight until every caller has asked
+        Sinks.One<Account> pending = Sinks.one();
+        when(accountRepo.findByNumber("001-0001")).thenReturn(pending.asMono());
+
+        // When
+        Mono<List<AccountRef>> callers = Flux.range(0, 10)
+                .flatMap(i -> cache.resolve("001-0001"))
+                .collectList();
+        StepVerifier.create(callers)
+                .then(() -> pending.tryEmitValue(account))
+                .assertNext(refs -> assertThat(refs).hasSize(10).allMatch(r -> r.id().equals("1")))
+                .verifyComplete();
+
+        // Then
+        verify(accountRepo, times(1)).findByNumber("001-0001");
+    }
+
+    @Test
+    @DisplayName("Should cache unknown accounts for the negative TTL only")
+    void shouldCacheNegativeResultsBriefly() throws InterruptedException {
+        // Given
+        props.getAccountCache().setNegativeTtl(Duration.ofMillis(50));
+        cache = new AccountLookupCache(accountRepo, props, registry);
+        when(accountRepo.findByNumber("999")).thenReturn(Mono.empty());
+
+        // When
+        StepVerifier.create(cache.resolve("999")).verifyComplete();
+        StepVerifier.create(cache.resolve("999")).verifyComplete();
+        verify(accountRepo, times(1)).findByNumber("999");
+        Thread.sleep(100);
+        StepVerifier.create(cache.resolve("999")).verifyComplete();
+
+        // Then
+        verify(accountRepo, times(2)).findByNumber("999");
+    }
+
+    @Test
+    @DisplayName("Should reload after explicit invalidation")
+    void shouldReloadAfterInvalidate() {
+        // Given
+        when(accountRepo.findByNumber("001-0001")).thenReturn(Mono.just(account));
+        cache.resolve("001-0001").block();
+
+        // When
+        cache.invalidate("001-0001");
+        cache.resolve("001-0001").block();
+
+        // Then
+        verify(accountRepo, times(2)).findByNumber("001-0001");
+    }
+
+    @Test
+    @DisplayName("Should not cache failed loads")
+    void shouldNotCacheFailures() {
+        // Given
+        when(accountRepo.findByNumber("001-0001"))
+                .thenReturn(Mono.error(new IllegalStateException("mongo down")))
+                .thenReturn(Mono.just(account));
+
+        // When & Then
+        StepVerifier.create(cache.resolve("001-0001"))
+                .expectError(IllegalStateException.class)
+                .verify();
+        StepVerifier.create(cache.resolve("001-0001"))
+                .assertNext(ref -> assertThat(ref.id()).isEqualTo("1"))
+                .verifyComplete();
+    }
+}
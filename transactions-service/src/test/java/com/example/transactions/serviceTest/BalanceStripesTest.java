@@ -0,0 +1,178 @@
+package com.example.transactions.serviceTest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import transactions_service.domain.model.Account;
+import transactions_service.domain.model.AccountStripe;
+import transactions_service.domain.model.Money;
+import transactions_service.domain.repository.AccountRepository;
+import transactions_service.domain.repository.AccountStripeRepository;
+import transactions_service.domain.service.AccountLookupCache;
+import transactions_service.domain.service.AccountLookupCache.AccountRef;
+import transactions_service.domain.service.BalanceStripes;
+import transactions_service.infrastructure.exception.ErrorCode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BalanceStripes Tests")
+class BalanceStripesTest {
+
+    private static final AccountRef HOT = new AccountRef("acc-1", "001-0001", "PEN", 4, null);
+
+    @Mock
+    private AccountRepository accountRepo;
+
+    @Mock
+    private AccountStripeRepository stripeRepo;
+
+    @Mock
+    private AccountLookupCache accounts;
+
+    private BalanceStripes stripes;
+
+    @BeforeEach
+    void setUp() {
+        stripes = new BalanceStripes(accountRepo, stripeRepo, accounts);
+    }
+
+    @Test
+    @DisplayName("Should credit one of the account's stripes")
+    void shouldCreditOneStripe() {
+        // Given
+        when(stripeRepo.creditStripe(eq("acc-1"), anyInt(), eq(Money.of("10.00"))))
+                .thenReturn(Mono.just(stripe(0, "10.00")));
+
+        // When
+        stripes.credit(HOT, Money.of("10.00")).block();
+
+        // Then
+        ArgumentCaptor<Integer> index = ArgumentCaptor.forClass(Integer.class);
+        verify(stripeRepo).creditStripe(eq("acc-1"), index.capture(), eq(Money.of("10.00")));
+        assertThat(index.getValue()).isBetween(0, 3);
+        verify(accountRepo, never()).credit(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should debit a single stripe when one covers the amount")
+    void shouldDebitSingleStripe() {
+        // Given
+        given("0.00", stripe(0, "5.00"), stripe(1, "50.00"));
+        when(stripeRepo.debitStripe("acc-1", 1, Money.of("30.00"))).thenReturn(Mono.just(stripe(1, "20.00")));
+
+        // When & Then
+        StepVerifier.create(stripes.debit(HOT, Money.of("30.00"))).expectNext(true).verifyComplete();
+        verify(stripeRepo, never()).debitStripe("acc-1", 0, Money.of("5.00"));
+    }
+
+    @Test
+    @DisplayName("Should refuse without writing when the logical balance is short")
+    void shouldRefuseWhenShort() {
+        // Given
+        given("10.00", stripe(0, "5.00"));
+
+        // When & Then
+        StepVerifier.create(stripes.debit(HOT, Money.of("30.00"))).expectNext(false).verifyComplete();
+        verify(stripeRepo, never()).debitStripe(anyString(), anyInt(), any());
+        verify(stripeRepo, never()).moveBase(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should refuse without writing when only the sum of several parts would cover the amount")
+    void shouldNotDrawAcrossParts() {
+        // Given
+        given("10.00", stripe(0, "15.00"), stripe(1, "10.00"));
+
+        // When & Then
+        StepVerifier.create(stripes.debit(HOT, Money.of("30.00"))).expectNext(false).verifyComplete();
+        verify(stripeRepo, never()).debitStripe(anyString(), anyInt(), any());
+        verify(stripeRepo, never()).moveBase(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should try the next covering part when another debit emptied the first")
+    void shouldTryNextPartOnRace() {
+        // Given - both stripes cover it, but one was drained by another instance after the read
+        given("0.00", stripe(0, "40.00"), stripe(1, "40.00"));
+        when(stripeRepo.debitStripe(eq("acc-1"), anyInt(), eq(Money.of("30.00"))))
+                .thenReturn(Mono.empty(), Mono.just(stripe(1, "10.00")));
+
+        // When & Then
+        StepVerifier.create(stripes.debit(HOT, Money.of("30.00"))).expectNext(true).verifyComplete();
+        verify(stripeRepo, times(2)).debitStripe(eq("acc-1"), anyInt(), eq(Money.of("30.00")));
+        verify(stripeRepo, never()).creditStripe(anyString(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Should aggregate the logical balance on read")
+    void shouldAggregateBalance() {
+        // Given
+        when(accounts.resolve("001-0001")).thenReturn(Mono.just(HOT));
+        given("100.00", stripe(0, "1.50"), stripe(3, "2.25"));
+
+        // When & Then
+        StepVerifier.create(stripes.balance("001-0001"))
+                .assertNext(balance -> {
+                    assertThat(balance.getBalance()).isEqualTo(Money.of("103.75"));
+                    assertThat(balance.getStripes()).isEqualTo(4);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should enable stripes, drop the cached lookup and answer the logical balance")
+    void shouldEnableStripes() {
+        // Given
+        when(accounts.resolve("001-0001")).thenReturn(Mono.just(HOT));
+        when(stripeRepo.enableStripes("acc-1", 8)).thenReturn(Mono.just(new Account()));
+        given("100.00");
+
+        // When & Then
+        StepVerifier.create(stripes.enable("001-0001", 8))
+                .assertNext(balance -> assertThat(balance.getBalance()).isEqualTo(Money.of("100.00")))
+                .verifyComplete();
+        verify(accounts).invalidate("001-0001");
+    }
+
+    @Test
+    @DisplayName("Should reject stripe counts outside 2..64 without writing")
+    void shouldRejectInvalidStripeCount() {
+        // When & Then
+        StepVerifier.create(stripes.enable("001-0001", 1))
+                .expectErrorMatches(e -> e == ErrorCode.INVALID_STRIPE_COUNT.exception())
+                .verify();
+        verify(stripeRepo, never()).enableStripes(anyString(), anyInt());
+    }
+
+    private void given(String base, AccountStripe... parts) {
+        when(accountRepo.findById("acc-1"))
+                .thenReturn(Mono.just(Account.builder().id("acc-1").number("001-0001").currency("PEN")
+                        .balance(Money.of(base)).stripes(4).build()));
+        when(stripeRepo.findByAccountId("acc-1")).thenReturn(Flux.just(parts));
+    }
+
+    private static AccountStripe stripe(int index, String balance) {
+        return AccountStripe.builder()
+                .id(AccountStripe.id("acc-1", index))
+                .accountId("acc-1")
+                .stripe(index)
+                .balance(Money.of(balance))
+                .build();
+    }
+}
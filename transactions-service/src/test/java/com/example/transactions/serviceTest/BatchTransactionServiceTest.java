@@ -0,0 +1,333 @@
+package com.example.transactions.serviceTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import transactions_service.domain.dto.BatchItemResult;
+import transactions_service.domain.dto.CreateTxRequest;
+import transactions_service.domain.model.Account;
+import transactions_service.domain.model.Money;
+import transactions_service.domain.model.Transaction;
+import transactions_service.domain.repository.AccountRepository;
+import transactions_service.domain.repository.TransactionRepository;
+import transactions_service.domain.service.BatchTransactionService;
+import transactions_service.domain.service.LedgerService;
+import transactions_service.domain.service.RiskService;
+import transactions_service.infrastructure.audit.RejectionRecorder;
+import transactions_service.infrastructure.config.TransactionsProperties;
+import transactions_service.infrastructure.exception.BusinessException;
+import transactions_service.infrastructure.lane.AccountLaneExecutor;
+import transactions_service.infrastructure.stream.TransactionStreamRouter;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BatchTransactionService Tests")
+class BatchTransactionServiceTest {
+
+    @Mock
+    private AccountRepository accountRepo;
+
+    @Mock
+    private TransactionRepository txRepo;
+
+    @Mock
+    private RiskService riskService;
+
+    @Mock
+    private TransactionStreamRouter streams;
+
+    @Mock
+    private RejectionRecorder rejections;
+
+    @Mock
+    private LedgerService ledger;
+
+    private TransactionsProperties props;
+    private BatchTransactionService batchService;
+
+    private Account ana;
+    private Account luis;
+
+    @BeforeEach
+    void setUp() {
+        props = new TransactionsProperties();
+        AccountLaneExecutor lanes = new AccountLaneExecutor(props, new SimpleMeterRegistry());
+        batchService = new BatchTransactionService(accountRepo, txRepo, riskService, streams, lanes,
+                Validation.buildDefaultValidatorFactory().getValidator(), props, rejections, ledger);
+
+        ana = Account.builder().id("acc-1").number("001-0001").currency("PEN")
+                .balance(Money.of("100.00")).build();
+        luis = Account.builder().id("acc-2").number("001-0002").currency("PEN")
+                .balance(Money.of("50.00")).build();
+
+        lenient().when(riskService.isAllowed(anyString(), any(), anyString(), anyString(), any(), anyLong(), anyInt())).thenReturn(true);
+        lenient().when(txRepo.insertUnordered(any())).thenReturn(Mono.empty());
+        lenient().when(riskService.velocityReady(any(), any())).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Should apply each account's net effect with a single conditional write")
+    void shouldApplyNetEffectOncePerAccount() {
+        // Given
+        when(accountRepo.findByNumber("001-0001")).thenReturn(Mono.just(ana));
+        when(accountRepo.findByNumber("001-0002")).thenReturn(Mono.just(luis));
+        when(accountRepo.applyDelta(eq("acc-1"), any(), any(), anyInt())).thenReturn(Mono.just(ana));
+        when(accountRepo.applyDelta(eq("acc-2"), any(), any(), anyInt())).thenReturn(Mono.just(luis));
+
+        // When & Then
+        StepVerifier.create(batchService.create(Flux.just(
+                        req("001-0001", "DEBIT", "80.00"),
+                        req("001-0002", "CREDIT", "10.00"),
+                        req("001-0001", "CREDIT", "30.00"),
+                        req("001-0001", "DEBIT", "40.00"))))
+                .assertNext(results -> {
+                    assertThat(results).extracting(BatchItemResult::getStatus)
+                            .containsExactly("OK", "OK", "OK", "OK");
+                    assertThat(results).extracting(BatchItemResult::getIndex)
+                            .containsExactly(0, 1, 2, 3);
+                    assertThat(results).allMatch(r -> r.getTransactionId() != null);
+                })
+                .verifyComplete();
+
+        // net -90, and the balance must cover the deepest prefix (-90) to keep every step >= 0
+        verify(accountRepo).applyDelta("acc-1", Money.of("-90.00"), Money.of("90.00"), 3);
+        verify(accountRepo).applyDelta("acc-2", Money.of("10.00"), Money.ZERO, 1);
+        verify(accountRepo, never()).debitIfSufficient(anyString(), any());
+        verify(streams, times(4)).publish(any());
+    }
+
+    @Test
+    @DisplayName("Should reject only the items that would overdraw the account")
+    @SuppressWarnings("unchecked")
+    void shouldRejectOnlyOverdrawingItems() {
+        // Given
+        when(accountRepo.findByNumber("001-0001")).thenReturn(Mono.just(ana));
+        when(accountRepo.applyDelta(anyString(), any(), any(), anyInt())).thenReturn(Mono.just(ana));
+
+        // When & Then
+        StepVerifier.create(batchService.create(Flux.just(
+                        req("001-0001", "DEBIT", "70.00"),
+                        req("001-0001", "DEBIT", "70.00"),
+                        req("001-0001", "DEBIT", "30.00"))))
+                .assertNext(results -> {
+                    assertThat(results).extracting(BatchItemResult::getStatus)
+                            .containsExactly("OK", "REJECTED", "OK");
+                    assertThat(results.get(1).getReason()).isEqualTo("insufficient_funds");
+                })
+                .verifyComplete();
+
+        ArgumentCaptor<List<Transaction>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(txRepo).insertUnordered(inserted.capture());
+        assertThat(inserted.getValue()).hasSize(2);
+        verify(accountRepo).applyDelta("acc-1", Money.of("-100.00"), Money.of("100.00"), 2);
+        verify(rejections).record("acc-1", "DEBIT", Money.of("70.00"), "insufficient_funds");
+    }
+
+    @Test
+    @DisplayName("Should number accepted items in batch order with the sequences the write reserved")
+    @SuppressWarnings("unchecked")
+    void shouldAssignLedgerSequences() {
+        // Given - the account was at 10 and the write advanced it by the two accepted items
+        Account updated = Account.builder().id("acc-1").number("001-0001").currency("PEN")
+                .balance(Money.of("70.00")).sequence(12).build();
+        when(accountRepo.findByNumber("001-0001")).thenReturn(Mono.just(ana));
+        when(accountRepo.applyDelta("acc-1", Money.of("-30.00"), Money.of("30.00"), 2))
+                .thenReturn(Mono.just(updated));
+
+        // When
+        StepVerifier.create(batchService.create(Flux.just(
+                        req("001-0001", "DEBIT", "20.00"),
+                        req("001-0001", "DEBIT", "500.00"),
+                        req("001-0001", "DEBIT", "10.00"))))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        // Then
+        ArgumentCaptor<List<Transaction>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(txRepo).insertUnordered(inserted.capture());
+        assertThat(inserted.getValue()).extracting(Transaction::getSequence).containsExactly(11L, 12L);
+        verify(ledger).applied("acc-1", 10, 12);
+    }
+
+    @Test
+    @DisplayName("Should reject a striped account's items without moving its base")
+    void shouldRejectStripedAccounts() {
+        // Given
+        Account hot = Account.builder().id("acc-1").number("001-0001").currency("PEN")
+                .balance(Money.of("100.00")).sequence(7).stripes(4).build();
+        when(accountRepo.findByNumber("001-0001")).thenReturn(Mono.just(hot));
+
+        // When & Then
+        StepVerifier.create(batchService.create(Flux.just(
+                        req("001-0001", "DEBIT", "20.00"),
+                        req("001-0001", "CREDIT", "10.00"))))
+                .assertNext(results -> assertThat(results).extracting(BatchItemResult::getReason)
+                        .containsOnly("batch_striped_account"))
+                .verifyComplete();
+        verify(accountRepo, never()).applyDelta(anyString(), any(), any(), anyInt());
+        verify(ledger, never()).applied(anyString(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should reject the items when the account got stripes between the read and the write")
+    void shouldRejectAccountStripedAfterRead() {
+        // Given - the guarded write does not match, and the re-read shows the stripes
+        Account hot = Account.builder().id("acc-1").number("001-0001").currency("PEN")
+                .balance(Money.of("100.00")).sequence(7).stripes(4).build();
+        when(accountRepo.findByNumber("001-0001")).thenReturn(Mono.just(ana));
+        when(accountRepo.applyDelta(anyString(), any(), any(), anyInt())).thenReturn(Mono.empty());
+        when(accountRepo.findById(ana.getId())).thenReturn(Mono.just(hot));
+
+        // When & Then
+        StepVerifier.create(batchService.create(Flux.just(req("001-0001", "CREDIT", "10.00"))))
+                .assertNext(results -> assertThat(results).extracting(BatchItemResult::getReason)
+                        .containsOnly("batch_striped_account"))
+                .verifyComplete();
+        verify(txRepo, never()).insertUnordered(any());
+    }
+
+    @Test
+    @DisplayName("Should report applied but unpersisted items as UNKNOWN instead of rejected")
+    void shouldReportUnpersistedItemsAsUnknown() {
+        // Given - the balance moved but the bulk insert keeps failing
+        when(accountRepo.findByNumber("001-0001")).thenReturn(Mono.just(ana));
+        when(accountRepo.applyDelta(anyString(), any(), any(), anyInt())).thenReturn(Mono.just(ana));
+        when(txRepo.insertUnordered(any())).thenReturn(Mono.error(new IllegalStateException("mongo down")));
+
+        // When & Then
+        StepVerifier.create(batchService.create(Flux.just(
+                        req("001-0001", "DEBIT", "30.00"),
+                        req("001-0001", "DEBIT", "500.00"))))
+                .assertNext(results -> {
+                    assertThat(results).extracting(BatchItemResult::getStatus)
+                            .containsExactly("UNKNOWN", "REJECTED");
+                    assertThat(results.get(0).getReason()).isEqualTo("applied_not_persisted");
+                    assertThat(results.get(0).getTransactionId()).isNotNull();
+                    assertThat(results.get(1).getReason()).isEqualTo("insufficient_funds");
+                })
+                .verifyComplete();
+
+        verify(streams, never()).publish(any());
+        verify(ledger, never()).applied(anyString(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should report unknown accounts, risk and validation rejections per item")
+    void shouldReportRejectionsPerItem() {
+        // Given
+        when(accountRepo.findByNumber("001-0001")).thenReturn(Mono.just(ana));
+        when(accountRepo.findByNumber("999")).thenReturn(Mono.empty());
+        when(riskService.isAllowed(eq("acc-1"), any(), eq("PEN"), eq("DEBIT"), eq(Money.of("60.00")), anyLong(), anyInt()))
+                .thenReturn(false);
+
+        // When & Then
+        StepVerifier.create(batchService.create(Flux.just(
+                        req("999", "DEBIT", "1.00"),
+                        req("001-0001", "DEBIT", "60.00"),
+                        req("001-0001", "DEBIT", "0.00"))))
+                .assertNext(results -> assertThat(results).extracting(BatchItemResult::getReason)
+                        .containsExactly("account_not_found", "risk_rejected", "invalid_request"))
+                .verifyComplete();
+
+        verify(accountRepo, never()).applyDelta(anyString(), any(), any(), anyInt());
+        verify(txRepo, never()).insertUnordered(any());
+    }
+
+    @Test
+    @DisplayName("Should reject an account's items while its velocity counters are still being rebuilt")
+    void shouldRejectWhileVelocityWarmsUp() {
+        // Given
+        when(accountRepo.findByNumber("001-0001")).thenReturn(Mono.just(ana));
+        when(riskService.velocityReady("PEN", "DEBIT")).thenReturn(false);
+
+        // When & Then
+        StepVerifier.create(batchService.create(Flux.just(
+                        req("001-0001", "CREDIT", "5.00"),
+                        req("001-0001", "DEBIT", "10.00"))))
+                .assertNext(results -> assertThat(results).extracting(BatchItemResult::getReason)
+                        .containsOnly("velocity_warming_up"))
+                .verifyComplete();
+
+        verify(accountRepo, never()).applyDelta(anyString(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown types per item instead of crediting them")
+    void shouldRejectUnknownTypes() {
+        // Given
+        when(accountRepo.findByNumber("001-0001")).thenReturn(Mono.just(ana));
+        when(accountRepo.applyDelta("acc-1", Money.of("10.00"), Money.ZERO, 1)).thenReturn(Mono.just(ana));
+        when(txRepo.insertUnordered(any())).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(batchService.create(Flux.just(
+                        req("001-0001", "DEBTI", "500.00"),
+                        req("001-0001", "foo", "500.00"),
+                        req("001-0001", "credit", "10.00"))))
+                .assertNext(results -> assertThat(results).extracting(BatchItemResult::getReason)
+                        .containsExactly("invalid_type", "invalid_type", null))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should re-plan when the balance changed before the conditional write")
+    void shouldReplanOnConcurrentChange() {
+        // Given - another instance drained the account between read and write
+        Account drained = Account.builder().id("acc-1").number("001-0001").currency("PEN")
+                .balance(Money.of("20.00")).build();
+        when(accountRepo.findByNumber("001-0001")).thenReturn(Mono.just(ana));
+        when(accountRepo.applyDelta("acc-1", Money.of("-50.00"), Money.of("50.00"), 1))
+                .thenReturn(Mono.empty());
+        when(accountRepo.findById("acc-1")).thenReturn(Mono.just(drained));
+
+        // When & Then
+        StepVerifier.create(batchService.create(Flux.just(req("001-0001", "DEBIT", "50.00"))))
+                .assertNext(results -> assertThat(results.get(0).getReason()).isEqualTo("insufficient_funds"))
+                .verifyComplete();
+
+        // Solo se registra el plan confirmado, no el intento descartado
+        verify(rejections, times(1)).record("acc-1", "DEBIT", Money.of("50.00"), "insufficient_funds");
+    }
+
+    @Test
+    @DisplayName("Should reject batches above the configured size")
+    void shouldRejectOversizedBatch() {
+        // Given
+        props.getBatch().setMaxItems(2);
+
+        // When & Then
+        StepVerifier.create(batchService.create(Flux.just(
+                        req("001-0001", "CREDIT", "1.00"),
+                        req("001-0001", "CREDIT", "1.00"),
+                        req("001-0001", "CREDIT", "1.00"))))
+                .expectErrorMatches(e -> e instanceof BusinessException
+                        && e.getMessage().equals("batch_too_large"))
+                .verify();
+    }
+
+    private static CreateTxRequest req(String account, String type, String amount) {
+        return CreateTxRequest.builder()
+                .accountNumber(account)
+                .type(type)
+                .amount(Money.of(amount))
+                .build();
+    }
+}
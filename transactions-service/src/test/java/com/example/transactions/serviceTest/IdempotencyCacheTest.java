@@ -0,0 +1,258 @@
+package com.example.transactions.serviceTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import transactions_service.domain.model.IdempotencyRecord;
+import transactions_service.domain.model.Money;
+import transactions_service.domain.model.Transaction;
+import transactions_service.domain.repository.IdempotencyRecordRepository;
+import transactions_service.domain.repository.TransactionRepository;
+import transactions_service.domain.service.IdempotencyCache;
+import transactions_service.infrastructure.config.TransactionsProperties;
+import transactions_service.infrastructure.exception.ErrorCode;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyCache Tests")
+class IdempotencyCacheTest {
+
+    private static final String FINGERPRINT = "001-0001|DEBIT|1000";
+
+    @Mock
+    private IdempotencyRecordRepository repo;
+
+    @Mock
+    private TransactionRepository txRepo;
+
+    private SimpleMeterRegistry registry;
+    private TransactionsProperties props;
+    private IdempotencyCache cache;
+
+    private final Transaction tx = Transaction.builder()
+            .id("tx-1")
+            .accountId("acc-1")
+            .type("DEBIT")
+            .amount(Money.of("10.00"))
+            .status("OK")
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        props = new TransactionsProperties();
+        cache = new IdempotencyCache(repo, txRepo, props, registry);
+    }
+
+    @Test
+    @DisplayName("Should execute once and replay the stored transaction from memory")
+    void shouldReplayFromMemory() {
+        // Given
+        when(repo.insert(any(IdempotencyRecord.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
+        when(repo.save(any(IdempotencyRecord.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
+        AtomicInteger executions = new AtomicInteger();
+
+        // When
+        Transaction first = cache.execute("k-1", FINGERPRINT, id -> apply(executions)).block();
+        Transaction second = cache.execute("k-1", FINGERPRINT, id -> apply(executions)).block();
+
+        // Then
+        assertThat(first).isSameAs(tx);
+        assertThat(second).isSameAs(tx);
+        assertThat(executions).hasValue(1);
+        verify(repo, times(1)).insert(any(IdempotencyRecord.class));
+        verify(repo).save(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    @DisplayName("Should collapse concurrent duplicates into one execution")
+    void shouldCollapseConcurrentDuplicates() {
+        // Given - the operation stays in flight until every duplicate has arrived
+        Sinks.One<Transaction> pending = Sinks.one();
+        when(repo.insert(any(IdempotencyRecord.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
+        when(repo.save(any(IdempotencyRecord.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
+        AtomicInteger executions = new AtomicInteger();
+
+        // When
+        Mono<List<Transaction>> callers = Flux.range(0, 10)
+                .flatMap(i -> cache.execute("k-1", FINGERPRINT, id -> {
+                    executions.incrementAndGet();
+                    return pending.asMono();
+                }))
+                .collectList();
+        StepVerifier.create(callers)
+                .then(() -> pending.tryEmitValue(tx))
+                .assertNext(txs -> assertThat(txs).hasSize(10).allMatch(t -> t == tx))
+                .verifyComplete();
+
+        // Then
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should replay a key completed by another instance from Mongo")
+    void shouldReplayFromMongo() {
+        // Given
+        when(repo.insert(any(IdempotencyRecord.class))).thenReturn(Mono.error(new DuplicateKeyException("dup")));
+        when(repo.findById("k-1")).thenReturn(Mono.just(IdempotencyRecord.builder()
+                .key("k-1").fingerprint(FINGERPRINT).transaction(tx).build()));
+        AtomicInteger executions = new AtomicInteger();
+
+        // When & Then
+        StepVerifier.create(cache.execute("k-1", FINGERPRINT, id -> apply(executions)))
+                .expectNext(tx)
+                .verifyComplete();
+        assertThat(executions).hasValue(0);
+        assertThat(registry.counter("transactions.idempotency.replays", "tier", "mongo").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should report in_progress while another instance holds the key")
+    void shouldReportInProgress() {
+        // Given
+        when(repo.insert(any(IdempotencyRecord.class))).thenReturn(Mono.error(new DuplicateKeyException("dup")));
+        when(repo.findById("k-1")).thenReturn(Mono.just(IdempotencyRecord.builder()
+                .key("k-1").fingerprint(FINGERPRINT).transactionId("tx-1").claimedAt(Instant.now()).build()));
+
+        // When & Then
+        StepVerifier.create(cache.execute("k-1", FINGERPRINT, id -> Mono.just(tx)))
+                .expectErrorMatches(e -> e == ErrorCode.IDEMPOTENCY_IN_PROGRESS.exception())
+                .verify();
+        verify(repo, never()).takeOver(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should take over a claim abandoned past its lease and execute with a fresh id")
+    void shouldTakeOverAbandonedClaim() {
+        // Given - the instance that claimed the key crashed before creating the transaction
+        Instant claimedAt = Instant.now().minus(props.getIdempotency().getLease()).minusSeconds(1);
+        when(repo.insert(any(IdempotencyRecord.class))).thenReturn(Mono.error(new DuplicateKeyException("dup")));
+        when(repo.findById("k-1")).thenReturn(Mono.just(IdempotencyRecord.builder()
+                .key("k-1").fingerprint(FINGERPRINT).transactionId("tx-lost").claimedAt(claimedAt).build()));
+        when(txRepo.findById("tx-lost")).thenReturn(Mono.empty());
+        when(repo.takeOver(any(IdempotencyRecord.class), eq(claimedAt))).thenAnswer(i -> Mono.just(i.getArgument(0)));
+        when(repo.save(any(IdempotencyRecord.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
+        List<String> ids = new ArrayList<>();
+
+        // When & Then
+        StepVerifier.create(cache.execute("k-1", FINGERPRINT, id -> {
+                    ids.add(id);
+                    return Mono.just(tx);
+                }))
+                .expectNext(tx)
+                .verifyComplete();
+        assertThat(ids).hasSize(1).doesNotContain("tx-lost");
+    }
+
+    @Test
+    @DisplayName("Should complete an abandoned claim with its transaction instead of repeating it")
+    void shouldCompleteAbandonedClaimFromTransaction() {
+        // Given - the transaction was created but the key never got completed
+        Instant claimedAt = Instant.now().minus(props.getIdempotency().getLease()).minusSeconds(1);
+        when(repo.insert(any(IdempotencyRecord.class))).thenReturn(Mono.error(new DuplicateKeyException("dup")));
+        when(repo.findById("k-1")).thenReturn(Mono.just(IdempotencyRecord.builder()
+                .key("k-1").fingerprint(FINGERPRINT).transactionId("tx-1").claimedAt(claimedAt).build()));
+        when(txRepo.findById("tx-1")).thenReturn(Mono.just(tx));
+        when(repo.save(any(IdempotencyRecord.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
+        AtomicInteger executions = new AtomicInteger();
+
+        // When & Then
+        StepVerifier.create(cache.execute("k-1", FINGERPRINT, id -> apply(executions)))
+                .expectNext(tx)
+                .verifyComplete();
+        assertThat(executions).hasValue(0);
+        verify(repo, never()).takeOver(any(), any());
+        verify(repo).save(argThat(r -> r.getTransaction() == tx));
+    }
+
+    @Test
+    @DisplayName("Should stay in_progress when another instance took over the claim first")
+    void shouldLoseTakeOverRace() {
+        // Given
+        Instant claimedAt = Instant.now().minus(props.getIdempotency().getLease()).minusSeconds(1);
+        when(repo.insert(any(IdempotencyRecord.class))).thenReturn(Mono.error(new DuplicateKeyException("dup")));
+        when(repo.findById("k-1")).thenReturn(Mono.just(IdempotencyRecord.builder()
+                .key("k-1").fingerprint(FINGERPRINT).transactionId("tx-lost").claimedAt(claimedAt).build()));
+        when(txRepo.findById("tx-lost")).thenReturn(Mono.empty());
+        when(repo.takeOver(any(IdempotencyRecord.class), eq(claimedAt))).thenReturn(Mono.empty());
+        AtomicInteger executions = new AtomicInteger();
+
+        // When & Then
+        StepVerifier.create(cache.execute("k-1", FINGERPRINT, id -> apply(executions)))
+                .expectErrorMatches(e -> e == ErrorCode.IDEMPOTENCY_IN_PROGRESS.exception())
+                .verify();
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused with a different request")
+    void shouldRejectReusedKey() {
+        // Given
+        when(repo.insert(any(IdempotencyRecord.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
+        when(repo.save(any(IdempotencyRecord.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
+        cache.execute("k-1", FINGERPRINT, id -> Mono.just(tx)).block();
+
+        // When & Then
+        StepVerifier.create(cache.execute("k-1", "001-0001|DEBIT|2000", id -> Mono.just(tx)))
+                .expectErrorMatches(e -> e == ErrorCode.IDEMPOTENCY_KEY_REUSED.exception())
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should release the key when the operation fails so a retry executes again")
+    void shouldReleaseOnFailure() {
+        // Given
+        when(repo.insert(any(IdempotencyRecord.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
+        when(repo.save(any(IdempotencyRecord.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
+        when(repo.deleteById("k-1")).thenReturn(Mono.empty());
+
+        // When
+        StepVerifier.create(cache.execute("k-1", FINGERPRINT,
+                        id -> Mono.error(ErrorCode.INSUFFICIENT_FUNDS.exception())))
+                .expectErrorMatches(e -> e == ErrorCode.INSUFFICIENT_FUNDS.exception())
+                .verify();
+
+        // Then
+        verify(repo).deleteById("k-1");
+        StepVerifier.create(cache.execute("k-1", FINGERPRINT, id -> Mono.just(tx)))
+                .expectNext(tx)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should reject keys above the configured length")
+    void shouldRejectLongKeys() {
+        // When & Then
+        StepVerifier.create(cache.execute("k".repeat(256), FINGERPRINT, id -> Mono.just(tx)))
+                .expectErrorMatches(e -> e == ErrorCode.INVALID_IDEMPOTENCY_KEY.exception())
+                .verify();
+        verify(repo, never()).insert(any(IdempotencyRecord.class));
+    }
+
+    private Mono<Transaction> apply(AtomicInteger executions) {
+        executions.incrementAndGet();
+        return Mono.just(tx);
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.transactions.serviceTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import transactions_service.domain.model.Account;
+import transactions_service.domain.model.AccountSnapshot;
+import transactions_service.domain.model.Money;
+import transactions_service.domain.model.Transaction;
+import transactions_service.domain.repository.AccountRepository;
+import transactions_service.domain.repository.AccountSnapshotRepository;
+import transactions_service.domain.repository.TransactionRepository;
+import transactions_service.domain.service.LedgerService;
+import transactions_service.domain.service.LedgerService.LedgerBalance;
+import transactions_service.infrastructure.config.TransactionsProperties;
+import transactions_service.infrastructure.journal.TransactionJournal;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LedgerService Tests")
+class LedgerServiceTest {
+
+    @Mock
+    private AccountRepository accountRepo;
+
+    @Mock
+    private TransactionRepository txRepo;
+
+    @Mock
+    private AccountSnapshotRepository snapshots;
+
+    @Mock
+    private TransactionJournal journal;
+
+    private TransactionsProperties props;
+    private SimpleMeterRegistry registry;
+    private LedgerService ledger;
+
+    @BeforeEach
+    void setUp() {
+        props = new TransactionsProperties();
+        registry = new SimpleMeterRegistry();
+        ledger = new LedgerService(accountRepo, txRepo, snapshots, journal, props, registry);
+    }
+
+    @Test
+    @DisplayName("Should rebuild from the latest snapshot replaying only the tail")
+    void shouldReplayOnlyTheTail() {
+        // Given
+        when(snapshots.findFirstByAccountIdOrderBySequenceDesc("acc-1")).thenReturn(Mono.just(snapshot(100, "50.00")));
+        when(txRepo.findByAccountIdAndSequenceGreaterThanOrderBySequenceAsc("acc-1", 100))
+                .thenReturn(Flux.just(tx(101, "CREDIT", "10.00"), tx(102, "DEBIT", "5.00")));
+
+        // When & Then
+        StepVerifier.create(ledger.rebuild("acc-1"))
+                .expectNext(new LedgerBalance("acc-1", 102, Money.of("55.00"), 2))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should stop at the first sequence gap instead of skipping a movement")
+    void shouldStopAtGap() {
+        // Given - 102 is still on its way to Mongo
+        when(snapshots.findFirstByAccountIdOrderBySequenceDesc("acc-1")).thenReturn(Mono.just(snapshot(100, "50.00")));
+        when(txRepo.findByAccountIdAndSequenceGreaterThanOrderBySequenceAsc("acc-1", 100))
+                .thenReturn(Flux.just(tx(101, "CREDIT", "10.00"), tx(103, "DEBIT", "5.00")));
+
+        // When & Then
+        StepVerifier.create(ledger.rebuild("acc-1"))
+                .expectNext(new LedgerBalance("acc-1", 101, Money.of("60.00"), 1))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should start from zero when the account has no snapshot")
+    void shouldStartFromZeroWithoutSnapshot() {
+        // Given
+        when(snapshots.findFirstByAccountIdOrderBySequenceDesc("acc-1")).thenReturn(Mono.empty());
+        when(txRepo.findByAccountIdAndSequenceGreaterThanOrderBySequenceAsc("acc-1", 0))
+                .thenReturn(Flux.just(tx(1, "CREDIT", "10.00")));
+
+        // When & Then
+        StepVerifier.create(ledger.rebuild("acc-1"))
+                .expectNext(new LedgerBalance("acc-1", 1, Money.of("10.00"), 1))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should save a snapshot keyed by account and sequence only when the ledger advanced")
+    void shouldSnapshotOnlyWhenAdvanced() {
+        // Given
+        when(snapshots.findFirstByAccountIdOrderBySequenceDesc("acc-1")).thenReturn(Mono.just(snapshot(100, "50.00")));
+        when(txRepo.findByAccountIdAndSequenceGreaterThanOrderBySequenceAsc("acc-1", 100))
+                .thenReturn(Flux.just(tx(101, "DEBIT", "20.00")))
+                .thenReturn(Flux.empty());
+        when(snapshots.save(any(AccountSnapshot.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
+
+        // When
+        AccountSnapshot saved = ledger.snapshot("acc-1").block();
+        StepVerifier.create(ledger.snapshot("acc-1")).verifyComplete();
+
+        // Then
+        assertThat(saved.getId()).isEqualTo("acc-1:101");
+        assertThat(saved.getSequence()).isEqualTo(101);
+        assertThat(saved.getBalance()).isEqualTo(Money.of("30.00"));
+    }
+
+    @Test
+    @DisplayName("Should take a background snapshot only when a multiple of snapshotEvery is crossed")
+    void shouldSnapshotOnBoundary() {
+        // Given
+        props.getLedger().setSnapshotEvery(10);
+        when(snapshots.findFirstByAccountIdOrderBySequenceDesc("acc-1")).thenReturn(Mono.just(snapshot(0, "0.00")));
+        when(txRepo.findByAccountIdAndSequenceGreaterThanOrderBySequenceAsc("acc-1", 0)).thenReturn(Flux.empty());
+
+        // When
+        ledger.applied("acc-1", 10, 11);
+        ledger.applied("acc-1", 8, 12);
+
+        // Then
+        verify(snapshots, timeout(1000)).findFirstByAccountIdOrderBySequenceDesc("acc-1");
+        verify(snapshots, never()).save(any(AccountSnapshot.class));
+    }
+
+    @Test
+    @DisplayName("Should count a ledger stalled behind movements already confirmed")
+    void shouldCountStalledGap() {
+        // Given - 5 was applied to the balance but never persisted
+        props.getLedger().setSnapshotEvery(10);
+        when(snapshots.findFirstByAccountIdOrderBySequenceDesc("acc-1")).thenReturn(Mono.just(snapshot(0, "0.00")));
+        when(txRepo.findByAccountIdAndSequenceGreaterThanOrderBySequenceAsc("acc-1", 0))
+                .thenReturn(Flux.just(tx(1, "CREDIT", "1.00"), tx(2, "CREDIT", "1.00"), tx(3, "CREDIT", "1.00"),
+                        tx(4, "CREDIT", "1.00"), tx(6, "CREDIT", "1.00")));
+        when(snapshots.save(any(AccountSnapshot.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
+
+        // When
+        ledger.applied("acc-1", 9, 10);
+
+        // Then - the ledger still snapshots what it could replay
+        verify(snapshots, timeout(1000)).save(any(AccountSnapshot.class));
+        assertThat(registry.counter("transactions.ledger.stalled").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should wait for the journal and not count a gap that is still being flushed")
+    void shouldNotCountGapPendingInJournal() {
+        // Given - 5 is confirmed on the local journal but not in Mongo yet
+        props.getLedger().setSnapshotEvery(10);
+        props.getLedger().setJournalDelay(Duration.ofMillis(20));
+        when(journal.isEnabled()).thenReturn(true);
+        when(journal.pending()).thenReturn(3);
+        when(snapshots.findFirstByAccountIdOrderBySequenceDesc("acc-1")).thenReturn(Mono.just(snapshot(0, "0.00")));
+        when(txRepo.findByAccountIdAndSequenceGreaterThanOrderBySequenceAsc("acc-1", 0))
+                .thenReturn(Flux.just(tx(1, "CREDIT", "1.00"), tx(2, "CREDIT", "1.00"), tx(3, "CREDIT", "1.00"),
+                        tx(4, "CREDIT", "1.00"), tx(6, "CREDIT", "1.00")));
+        when(snapshots.save(any(AccountSnapshot.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
+
+        // When
+        ledger.applied("acc-1", 9, 10);
+
+        // Then
+        verify(snapshots, timeout(1000)).save(any(AccountSnapshot.class));
+        assertThat(registry.counter("transactions.ledger.stalled").count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should rebuild every account in parallel")
+    void shouldRebuildAllAccounts() {
+        // Given
+        props.getLedger().setRebuildParallelism(4);
+        List<Account> accounts = IntStream.range(0, 50)
+                .mapToObj(i -> Account.builder().id("acc-" + i).build())
+                .toList();
+        // Las cuentas con stripes no llevan ledger: no se reconstruyen
+        Account striped = Account.builder().id("acc-hot").stripes(8).build();
+        when(accountRepo.findAll()).thenReturn(Flux.concat(Flux.fromIterable(accounts), Flux.just(striped)));
+        when(snapshots.findFirstByAccountIdOrderBySequenceDesc(anyString())).thenReturn(Mono.empty());
+        when(txRepo.findByAccountIdAndSequenceGreaterThanOrderBySequenceAsc(anyString(), anyLong()))
+                .thenAnswer(i -> Flux.just(tx(1, "CREDIT", "1.00")));
+
+        // When
+        List<LedgerBalance> rebuilt = ledger.rebuildAll().collectList().block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(rebuilt).hasSize(50)
+                .allSatisfy(b -> assertThat(b.balance()).isEqualTo(Money.of("1.00")));
+        assertThat(rebuilt).extracting(LedgerBalance::accountId)
+                .containsExactlyInAnyOrderElementsOf(accounts.stream().map(Account::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Should compare the stored projection only at the same ledger position")
+    void shouldMatchProjection() {
+        // Given
+        LedgerBalance rebuilt = new LedgerBalance("acc-1", 5, Money.of("10.00"), 5);
+
+        // When & Then
+        assertThat(rebuilt.matches(Account.builder().sequence(5).balance(Money.of("10.00")).build())).isTrue();
+        assertThat(rebuilt.matches(Account.builder().sequence(5).balance(Money.of("11.00")).build())).isFalse();
+        assertThat(rebuilt.matches(Account.builder().sequence(6).balance(Money.of("10.00")).build())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should open the ledger from the account's current balance and sequence")
+    void shouldOpenFromAccount() {
+        // Given
+        when(snapshots.save(any(AccountSnapshot.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
+
+        // When
+        ledger.open(Account.builder().id("acc-1").balance(Money.of("2000.00")).build()).block();
+
+        // Then
+        ArgumentCaptor<AccountSnapshot> captor = ArgumentCaptor.forClass(AccountSnapshot.class);
+        verify(snapshots).save(captor.capture());
+        assertThat(captor.getValue().getSequence()).isZero();
+        assertThat(captor.getValue().getBalance()).isEqualTo(Money.of("2000.00"));
+    }
+
+    private static AccountSnapshot snapshot(long sequence, String balance) {
+        return AccountSnapshot.builder().accountId("acc-1").sequence(sequence).balance(Money.of(balance)).build();
+    }
+
+    private static Transaction tx(long sequence, String type, String amount) {
+        return Transaction.builder().sequence(sequence).type(type).amount(Money.of(amount)).status("OK").build();
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.transactions.serviceTest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import transactions_service.domain.model.Money;
+import transactions_service.domain.model.RiskRule;
+import transactions_service.domain.service.RiskDecisionTable;
+import transactions_service.domain.service.RiskDecisionTable.Outcome;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RiskDecisionTable Tests")
+class RiskDecisionTableTest {
+
+    private static final ZoneId UTC = ZoneId.of("UTC");
+    // 2024-01-15 10:30 UTC
+    private static final long MORNING = Instant.parse("2024-01-15T10:30:00Z").toEpochMilli();
+    private static final long NIGHT = Instant.parse("2024-01-15T02:00:00Z").toEpochMilli();
+
+    @Test
+    @DisplayName("Should let the highest priority win and keep arrival order on ties")
+    void shouldResolveByPriority() {
+        // Given
+        RiskDecisionTable table = RiskDecisionTable.compile(List.of(
+                rule("r1", "REJECT").currency("PEN").build(),
+                rule("r2", "ALLOW").currency("PEN").priority(10).build(),
+                rule("r3", "REJECT").currency("USD").priority(5).build(),
+                rule("r4", "ALLOW").currency("USD").priority(5).build()), UTC);
+
+        // When & Then
+        assertThat(table.decide("PEN", "DEBIT", null, 100, MORNING)).isEqualTo(Outcome.ALLOW);
+        assertThat(table.decide("USD", "DEBIT", null, 100, MORNING)).isEqualTo(Outcome.REJECT);
+    }
+
+    @Test
+    @DisplayName("Should match every dimension and treat a missing one as any value")
+    void shouldMatchAllDimensions() {
+        // Given
+        RiskDecisionTable table = RiskDecisionTable.compile(List.of(
+                rule("night-retail", "REJECT").currency("PEN").type("DEBIT").segment("RETAIL")
+                        .minAmount(Money.of("500.00")).fromHour(0).toHour(6).build()), UTC);
+
+        // When & Then
+        assertThat(table.decide("PEN", "debit", "RETAIL", 60_000, NIGHT)).isEqualTo(Outcome.REJECT);
+        assertThat(table.decide("USD", "DEBIT", "RETAIL", 60_000, NIGHT)).isEqualTo(Outcome.NO_MATCH);
+        assertThat(table.decide("PEN", "CREDIT", "RETAIL", 60_000, NIGHT)).isEqualTo(Outcome.NO_MATCH);
+        assertThat(table.decide("PEN", "DEBIT", "CORPORATE", 60_000, NIGHT)).isEqualTo(Outcome.NO_MATCH);
+        assertThat(table.decide("PEN", "DEBIT", null, 60_000, NIGHT)).isEqualTo(Outcome.NO_MATCH);
+        assertThat(table.decide("PEN", "DEBIT", "RETAIL", 40_000, NIGHT)).isEqualTo(Outcome.NO_MATCH);
+        assertThat(table.decide("PEN", "DEBIT", "RETAIL", 60_000, MORNING)).isEqualTo(Outcome.NO_MATCH);
+    }
+
+    @Test
+    @DisplayName("Should include the lower band edge and exclude the upper one")
+    void shouldHonourBandEdges() {
+        // Given
+        RiskDecisionTable table = RiskDecisionTable.compile(List.of(
+                rule("band", "REJECT").minAmount(Money.of("100.00")).maxAmount(Money.of("200.00")).build()), UTC);
+
+        // When & Then
+        assertThat(table.decide("PEN", "DEBIT", null, 9_999, MORNING)).isEqualTo(Outcome.NO_MATCH);
+        assertThat(table.decide("PEN", "DEBIT", null, 10_000, MORNING)).isEqualTo(Outcome.REJECT);
+        assertThat(table.decide("PEN", "DEBIT", null, 19_999, MORNING)).isEqualTo(Outcome.REJECT);
+        assertThat(table.decide("PEN", "DEBIT", null, 20_000, MORNING)).isEqualTo(Outcome.NO_MATCH);
+    }
+
+    @Test
+    @DisplayName("Should wrap an hour range past midnight and evaluate it in the configured zone")
+    void shouldWrapHoursInZone() {
+        // Given - 22:00 a 06:00 en Lima (UTC-5)
+        RiskDecisionTable table = RiskDecisionTable.compile(List.of(
+                rule("night", "REJECT").fromHour(22).toHour(6).build()), ZoneId.of("America/Lima"));
+
+        // When & Then - 02:00 UTC son las 21:00 en Lima; 04:00 UTC, las 23:00
+        assertThat(table.decide("PEN", "DEBIT", null, 100, NIGHT)).isEqualTo(Outcome.NO_MATCH);
+        assertThat(table.decide("PEN", "DEBIT", null, 100, NIGHT + 2 * 3_600_000L)).isEqualTo(Outcome.REJECT);
+        assertThat(table.decide("PEN", "DEBIT", null, 100, MORNING)).isEqualTo(Outcome.REJECT);
+    }
+
+    @Test
+    @DisplayName("Should find a match beyond the first 64 rules")
+    void shouldMatchAcrossWords() {
+        // Given - solo la última de 130 reglas cubre segmento VIP
+        List<RiskRule> rules = new ArrayList<>();
+        for (int i = 0; i < 129; i++) {
+            rules.add(rule("r" + i, "REJECT").segment("S" + i).build());
+        }
+        rules.add(rule("vip", "ALLOW").segment("VIP").build());
+        RiskDecisionTable table = RiskDecisionTable.compile(rules, UTC);
+
+        // When & Then
+        assertThat(table.size()).isEqualTo(130);
+        assertThat(table.decide("PEN", "DEBIT", "VIP", 100, MORNING)).isEqualTo(Outcome.ALLOW);
+        assertThat(table.decide("PEN", "DEBIT", "S70", 100, MORNING)).isEqualTo(Outcome.REJECT);
+        assertThat(table.decide("PEN", "DEBIT", "OTHER", 100, MORNING)).isEqualTo(Outcome.NO_MATCH);
+    }
+
+    @Test
+    @DisplayName("Should drop malformed rules and keep the rest")
+    void shouldDropMalformedRules() {
+        // Given
+        RiskDecisionTable table = RiskDecisionTable.compile(List.of(
+                rule("bad-action", "BLOCK").build(),
+                rule("bad-hour", "REJECT").fromHour(25).toHour(3).build(),
+                rule("only-from", "REJECT").fromHour(22).build(),
+                rule("only-to", "REJECT").toHour(6).build(),
+                rule("empty-band", "REJECT").minAmount(Money.of("10.00")).maxAmount(Money.of("10.00")).build(),
+                rule("ok", "ALLOW").currency("PEN").build()), UTC);
+
+        // When & Then
+        assertThat(table.size()).isEqualTo(1);
+        assertThat(table.decide("PEN", "DEBIT", null, 100, MORNING)).isEqualTo(Outcome.ALLOW);
+        assertThat(RiskDecisionTable.EMPTY.decide("PEN", "DEBIT", null, 100, MORNING)).isEqualTo(Outcome.NO_MATCH);
+    }
+
+    private static RiskRule.RiskRuleBuilder rule(String id, String action) {
+        return RiskRule.builder().id(id).action(action);
+    }
+}
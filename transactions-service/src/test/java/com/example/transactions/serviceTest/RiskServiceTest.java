@@ -1,22 +1,25 @@
 package com.example.transactions.serviceTest;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import reactor.test.StepVerifier;
+import reactor.core.publisher.Flux;
+import transactions_service.domain.model.Money;
 import transactions_service.domain.model.RiskRule;
 import transactions_service.domain.repository.RiskRuleRepository;
+import transactions_service.domain.repository.TransactionRepository;
+import transactions_service.domain.service.RiskDecisionTable;
+import transactions_service.domain.service.RiskRuleCache;
 import transactions_service.domain.service.RiskService;
+import transactions_service.domain.service.VelocityCounters;
+import transactions_service.infrastructure.config.TransactionsProperties;
 
-import java.math.BigDecimal;
-import java.util.Optional;
-
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,7 +29,11 @@ public class RiskServiceTest {
     @Mock
     private RiskRuleRepository riskRuleRepository;
 
-    @InjectMocks
+    @Mock
+    private TransactionRepository txRepo;
+
+    private SimpleMeterRegistry registry;
+    private RiskRuleCache ruleCache;
     private RiskService riskService;
 
     private RiskRule penRule;
@@ -37,14 +44,24 @@ public class RiskServiceTest {
         penRule = RiskRule.builder()
                 .id("rule-pen-001")
                 .currency("PEN")
-                .maxDebitPerTx(new BigDecimal("10000.00"))
+                .maxDebitPerTx(Money.of("10000.00"))
                 .build();
 
         usdRule = RiskRule.builder()
                 .id("rule-usd-001")
                 .currency("USD")
-                .maxDebitPerTx(new BigDecimal("3000.00"))
+                .maxDebitPerTx(Money.of("3000.00"))
                 .build();
+
+        registry = new SimpleMeterRegistry();
+        ruleCache = new RiskRuleCache(riskRuleRepository, registry, new TransactionsProperties());
+        riskService = new RiskService(ruleCache, new VelocityCounters(txRepo, new TransactionsProperties()));
+        loadRules(penRule, usdRule);
+    }
+
+    private void loadRules(RiskRule... rules) {
+        when(riskRuleRepository.findAll()).thenReturn(Flux.just(rules));
+        ruleCache.refresh().block();
     }
 
     @Nested
@@ -54,95 +71,45 @@ public class RiskServiceTest {
         @Test
         @DisplayName("Should allow DEBIT when amount is below limit")
         void shouldAllowDebitWhenAmountIsBelowLimit() {
-            // Given
-            when(riskRuleRepository.findFirstByCurrency("PEN"))
-                    .thenReturn(Optional.of(penRule));
-
             // When & Then
-            StepVerifier.create(riskService.isAllowed("PEN", "DEBIT", new BigDecimal("5000.00")))
-                    .expectNext(true)
-                    .verifyComplete();
-
-            verify(riskRuleRepository, times(1)).findFirstByCurrency("PEN");
+            assertTrue(riskService.isAllowed("PEN", "DEBIT", Money.of("5000.00")));
         }
 
         @Test
         @DisplayName("Should allow DEBIT when amount equals limit")
         void shouldAllowDebitWhenAmountEqualsLimit() {
-            // Given
-            when(riskRuleRepository.findFirstByCurrency("PEN"))
-                    .thenReturn(Optional.of(penRule));
-
             // When & Then
-            StepVerifier.create(riskService.isAllowed("PEN", "DEBIT", new BigDecimal("10000.00")))
-                    .expectNext(true)
-                    .verifyComplete();
-
-            verify(riskRuleRepository, times(1)).findFirstByCurrency("PEN");
+            assertTrue(riskService.isAllowed("PEN", "DEBIT", Money.of("10000.00")));
         }
 
         @Test
         @DisplayName("Should reject DEBIT when amount exceeds limit")
         void shouldRejectDebitWhenAmountExceedsLimit() {
-            // Given
-            when(riskRuleRepository.findFirstByCurrency("PEN"))
-                    .thenReturn(Optional.of(penRule));
-
             // When & Then
-            StepVerifier.create(riskService.isAllowed("PEN", "DEBIT", new BigDecimal("15000.00")))
-                    .expectNext(false)
-                    .verifyComplete();
-
-            verify(riskRuleRepository, times(1)).findFirstByCurrency("PEN");
+            assertFalse(riskService.isAllowed("PEN", "DEBIT", Money.of("15000.00")));
         }
 
         @Test
         @DisplayName("Should reject DEBIT when no rule found for currency")
         void shouldRejectDebitWhenNoRuleFoundForCurrency() {
-            // Given
-            when(riskRuleRepository.findFirstByCurrency("EUR"))
-                    .thenReturn(Optional.empty());
-
             // When & Then
-            StepVerifier.create(riskService.isAllowed("EUR", "DEBIT", new BigDecimal("100.00")))
-                    .expectNext(false)
-                    .verifyComplete();
-
-            verify(riskRuleRepository, times(1)).findFirstByCurrency("EUR");
+            assertFalse(riskService.isAllowed("EUR", "DEBIT", Money.of("100.00")));
         }
 
         @Test
         @DisplayName("Should allow small DEBIT amount")
         void shouldAllowSmallDebitAmount() {
-            // Given
-            when(riskRuleRepository.findFirstByCurrency("USD"))
-                    .thenReturn(Optional.of(usdRule));
-
             // When & Then
-            StepVerifier.create(riskService.isAllowed("USD", "DEBIT", new BigDecimal("0.01")))
-                    .expectNext(true)
-                    .verifyComplete();
-
-            verify(riskRuleRepository, times(1)).findFirstByCurrency("USD");
+            assertTrue(riskService.isAllowed("USD", "DEBIT", Money.of("0.01")));
         }
 
         @Test
         @DisplayName("Should handle DEBIT with case insensitive type")
         void shouldHandleDebitWithCaseInsensitiveType() {
-            // Given
-            when(riskRuleRepository.findFirstByCurrency("PEN"))
-                    .thenReturn(Optional.of(penRule));
-
             // When & Then
-            StepVerifier.create(riskService.isAllowed("PEN", "debit", new BigDecimal("5000.00")))
-                    .expectNext(true)
-                    .verifyComplete();
-
-            StepVerifier.create(riskService.isAllowed("PEN", "DeBiT", new BigDecimal("5000.00")))
-                    .expectNext(true)
-                    .verifyComplete();
+            assertTrue(riskService.isAllowed("PEN", "debit", Money.of("5000.00")));
 
-            verify(riskRuleRepository, times(2)).findFirstByCurrency("PEN");
+            assertTrue(riskService.isAllowed("PEN", "DeBiT", Money.of("5000.00")));
         }
     }
 
@@ -153,65 +120,31 @@ public class RiskServiceTest {
         @Test
         @DisplayName("Should always allow CREDIT transactions")
         void shouldAlwaysAllowCreditTransactions() {
-            // Given
-            when(riskRuleRepository.findFirstByCurrency("PEN"))
-                    .thenReturn(Optional.of(penRule));
-
             // When & Then
-            StepVerifier.create(riskService.isAllowed("PEN", "CREDIT", new BigDecimal("50000.00")))
-                    .expectNext(true)
-                    .verifyComplete();
-
-            verify(riskRuleRepository, times(1)).findFirstByCurrency("PEN");
+            assertTrue(riskService.isAllowed("PEN", "CREDIT", Money.of("50000.00")));
         }
 
         @Test
         @DisplayName("Should allow CREDIT even without rule")
         void shouldAllowCreditEvenWithoutRule() {
-            // Given
-            when(riskRuleRepository.findFirstByCurrency("EUR"))
-                    .thenReturn(Optional.empty());
-
             // When & Then
-            StepVerifier.create(riskService.isAllowed("EUR", "CREDIT", new BigDecimal("100000.00")))
-                    .expectNext(true)
-                    .verifyComplete();
-
-            verify(riskRuleRepository, times(1)).findFirstByCurrency("EUR");
+            assertTrue(riskService.isAllowed("EUR", "CREDIT", Money.of("100000.00")));
         }
 
         @Test
         @DisplayName("Should allow CREDIT with case insensitive type")
         void shouldAllowCreditWithCaseInsensitiveType() {
-            // Given
-            when(riskRuleRepository.findFirstByCurrency("USD"))
-                    .thenReturn(Optional.of(usdRule));
-
             // When & Then
-            StepVerifier.create(riskService.isAllowed("USD", "credit", new BigDecimal("10000.00")))
-                    .expectNext(true)
-                    .verifyComplete();
+            assertTrue(riskService.isAllowed("USD", "credit", Money.of("10000.00")));
 
-            StepVerifier.create(riskService.isAllowed("USD", "CrEdIt", new BigDecimal("10000.00")))
-                    .expectNext(true)
-                    .verifyComplete();
-
-            verify(riskRuleRepository, times(2)).findFirstByCurrency("USD");
+            assertTrue(riskService.isAllowed("USD", "CrEdIt", Money.of("10000.00")));
         }
 
         @Test
         @DisplayName("Should allow very large CREDIT amounts")
         void shouldAllowVeryLargeCreditAmounts() {
-            // Given
-            when(riskRuleRepository.findFirstByCurrency("PEN"))
-                    .thenReturn(Optional.of(penRule));
-
             // When & Then
-            StepVerifier.create(riskService.isAllowed("PEN", "CREDIT", new BigDecimal("999999999.99")))
-                    .expectNext(true)
-                    .verifyComplete();
-
-            verify(riskRuleRepository, times(1)).findFirstByCurrency("PEN");
+            assertTrue(riskService.isAllowed("PEN", "CREDIT", Money.of("999999999.99")));
         }
     }
 
@@ -222,41 +155,21 @@ public class RiskServiceTest {
         @Test
         @DisplayName("Should apply PEN rules correctly")
         void shouldApplyPENRulesCorrectly() {
-            // Given
-            when(riskRuleRepository.findFirstByCurrency("PEN"))
-                    .thenReturn(Optional.of(penRule));
-
             // When & Then - Below limit
-            StepVerifier.create(riskService.isAllowed("PEN", "DEBIT", new BigDecimal("9999.99")))
-                    .expectNext(true)
-                    .verifyComplete();
+            assertTrue(riskService.isAllowed("PEN", "DEBIT", Money.of("9999.99")));
 
             // Above limit
-            StepVerifier.create(riskService.isAllowed("PEN", "DEBIT", new BigDecimal("10000.01")))
-                    .expectNext(false)
-                    .verifyComplete();
-
-            verify(riskRuleRepository, times(2)).findFirstByCurrency("PEN");
+            assertFalse(riskService.isAllowed("PEN", "DEBIT", Money.of("10000.01")));
         }
 
         @Test
         @DisplayName("Should apply USD rules correctly")
         void shouldApplyUSDRulesCorrectly() {
-            // Given
-            when(riskRuleRepository.findFirstByCurrency("USD"))
-                    .thenReturn(Optional.of(usdRule));
-
             // When & Then - Below limit
-            StepVerifier.create(riskService.isAllowed("USD", "DEBIT", new BigDecimal("2999.99")))
-                    .expectNext(true)
-                    .verifyComplete();
+            assertTrue(riskService.isAllowed("USD", "DEBIT", Money.of("2999.99")));
 
             // Above limit
-            StepVerifier.create(riskService.isAllowed("USD", "DEBIT", new BigDecimal("3000.01")))
-                    .expectNext(false)
-                    .verifyComplete();
-
-            verify(riskRuleRepository, times(2)).findFirstByCurrency("USD");
+            assertFalse(riskService.isAllowed("USD", "DEBIT", Money.of("3000.01")));
         }
     }
 
@@ -267,31 +180,15 @@ public class RiskServiceTest {
         @Test
         @DisplayName("Should handle zero amount DEBIT")
         void shouldHandleZeroAmountDebit() {
-            // Given
-            when(riskRuleRepository.findFirstByCurrency("PEN"))
-                    .thenReturn(Optional.of(penRule));
-
             // When & Then
-            StepVerifier.create(riskService.isAllowed("PEN", "DEBIT", BigDecimal.ZERO))
-                    .expectNext(true)
-                    .verifyComplete();
-
-            verify(riskRuleRepository, times(1)).findFirstByCurrency("PEN");
+            assertTrue(riskService.isAllowed("PEN", "DEBIT", Money.ZERO));
         }
 
         @Test
         @DisplayName("Should handle zero amount CREDIT")
         void shouldHandleZeroAmountCredit() {
-            // Given
-            when(riskRuleRepository.findFirstByCurrency("PEN"))
-                    .thenReturn(Optional.of(penRule));
-
             // When & Then
-            StepVerifier.create(riskService.isAllowed("PEN", "CREDIT", BigDecimal.ZERO))
-                    .expectNext(true)
-                    .verifyComplete();
-
-            verify(riskRuleRepository, times(1)).findFirstByCurrency("PEN");
+            assertTrue(riskService.isAllowed("PEN", "CREDIT", Money.ZERO));
         }
 
         @Test
@@ -301,33 +198,20 @@ public class RiskServiceTest {
             RiskRule zeroLimitRule = RiskRule.builder()
                     .id("rule-zero")
                     .currency("EUR")
-                    .maxDebitPerTx(BigDecimal.ZERO)
+                    .maxDebitPerTx(Money.ZERO)
                     .build();
 
-            when(riskRuleRepository.findFirstByCurrency("EUR"))
-                    .thenReturn(Optional.of(zeroLimitRule));
+            loadRules(penRule, usdRule, zeroLimitRule);
 
             // When & Then
-            StepVerifier.create(riskService.isAllowed("EUR", "DEBIT", new BigDecimal("100.00")))
-                    .expectNext(false)
-                    .verifyComplete();
-
-            verify(riskRuleRepository, times(1)).findFirstByCurrency("EUR");
+            assertFalse(riskService.isAllowed("EUR", "DEBIT", Money.of("100.00")));
         }
 
         @Test
         @DisplayName("Should handle unknown transaction type")
         void shouldHandleUnknownTransactionType() {
-            // Given
-            when(riskRuleRepository.findFirstByCurrency("PEN"))
-                    .thenReturn(Optional.of(penRule));
-
             // When & Then - Unknown type should be treated as non-DEBIT (allowed)
-            StepVerifier.create(riskService.isAllowed("PEN", "TRANSFER", new BigDecimal("50000.00")))
-                    .expectNext(true)
-                    .verifyComplete();
-
-            verify(riskRuleRepository, times(1)).findFirstByCurrency("PEN");
+            assertTrue(riskService.isAllowed("PEN", "TRANSFER", Money.of("50000.00")));
         }
 
         @Test
@@ -340,52 +224,191 @@ public class RiskServiceTest {
                     .maxDebitPerTx(null)
                     .build();
 
-            when(riskRuleRepository.findFirstByCurrency("EUR"))
-                    .thenReturn(Optional.of(nullMaxRule));
+            loadRules(penRule, usdRule, nullMaxRule);
 
             // When & Then - Should use default 0
-            StepVerifier.create(riskService.isAllowed("EUR", "DEBIT", new BigDecimal("100.00")))
-                    .expectNext(false)
-                    .verifyComplete();
-
-            verify(riskRuleRepository, times(1)).findFirstByCurrency("EUR");
+            assertFalse(riskService.isAllowed("EUR", "DEBIT", Money.of("100.00")));
         }
     }
 
     @Nested
-    @DisplayName("Repository Interaction Tests")
-    class RepositoryInteractionTests {
+    @DisplayName("Rule Cache Tests")
+    class RuleCacheTests {
+
+        @Test
+        @DisplayName("Should not query repository per request")
+        void shouldNotQueryRepositoryPerRequest() {
+            // When
+            for (int i = 0; i < 100; i++) {
+                assertTrue(riskService.isAllowed("PEN", "DEBIT", Money.of("5000.00")));
+            }
+
+            // Then - only the initial load touched the repository
+            verify(riskRuleRepository, times(1)).findAll();
+            verifyNoMoreInteractions(riskRuleRepository);
+            assertEquals(100.0, registry.counter("risk.rules.cache.hits").count());
+        }
+
+        @Test
+        @DisplayName("Should count unknown currency as a miss")
+        void shouldCountUnknownCurrencyAsMiss() {
+            // When & Then
+            assertFalse(riskService.isAllowed("XXX", "DEBIT", Money.of("100.00")));
+            assertEquals(1.0, registry.counter("risk.rules.cache.misses").count());
+        }
 
         @Test
-        @DisplayName("Should call repository once per request")
-        void shouldCallRepositoryOncePerRequest() {
+        @DisplayName("Should pick up changed rules on refresh")
+        void shouldPickUpChangedRulesOnRefresh() {
             // Given
-            when(riskRuleRepository.findFirstByCurrency("PEN"))
-                    .thenReturn(Optional.of(penRule));
+            assertFalse(riskService.isAllowed("PEN", "DEBIT", Money.of("12000.00")));
+            RiskRule raisedPen = RiskRule.builder()
+                    .id("rule-pen-001")
+                    .currency("PEN")
+                    .maxDebitPerTx(Money.of("20000.00"))
+                    .build();
 
             // When
-            StepVerifier.create(riskService.isAllowed("PEN", "DEBIT", new BigDecimal("5000.00")))
-                    .expectNext(true)
-                    .verifyComplete();
+            loadRules(raisedPen, usdRule);
 
             // Then
-            verify(riskRuleRepository, times(1)).findFirstByCurrency("PEN");
-            verifyNoMoreInteractions(riskRuleRepository);
+            assertTrue(riskService.isAllowed("PEN", "DEBIT", Money.of("12000.00")));
+            assertEquals(2.0, registry.counter("risk.rules.cache.refreshes").count());
+        }
+
+        @Test
+        @DisplayName("Should not count a refresh when rules are unchanged")
+        void shouldNotCountRefreshWhenRulesUnchanged() {
+            // When
+            loadRules(penRule, usdRule);
+
+            // Then
+            assertEquals(1.0, registry.counter("risk.rules.cache.refreshes").count());
+        }
+    }
+
+    @Nested
+    @DisplayName("Velocity Tests")
+    class VelocityTests {
+
+        @BeforeEach
+        void velocityRules() {
+            loadRules(RiskRule.builder()
+                    .id("rule-pen-001")
+                    .currency("PEN")
+                    .maxDebitPerTx(Money.of("10000.00"))
+                    .maxDebitPerMinute(Money.of("1000.00"))
+                    .maxDebitsPerHour(3)
+                    .build(), usdRule);
+        }
+
+        @Test
+        @DisplayName("Should reject a debit that splits the per-minute sum")
+        void shouldRejectSplitDebits() {
+            // Given
+            riskService.applied("acc-1", "DEBIT", Money.of("600.00"));
+
+            // When & Then
+            assertTrue(riskService.isAllowed("acc-1", null, "PEN", "DEBIT", Money.of("400.00")));
+            assertFalse(riskService.isAllowed("acc-1", null, "PEN", "DEBIT", Money.of("400.01")));
+            // Otra cuenta no comparte contadores
+            assertTrue(riskService.isAllowed("acc-2", null, "PEN", "DEBIT", Money.of("1000.00")));
+        }
+
+        @Test
+        @DisplayName("Should cap the number of debits per hour")
+        void shouldCapDebitCount() {
+            // Given
+            for (int i = 0; i < 3; i++) {
+                riskService.applied("acc-1", "DEBIT", Money.of("1.00"));
+            }
+
+            // When & Then
+            assertFalse(riskService.isAllowed("acc-1", null, "PEN", "DEBIT", Money.of("1.00")));
+            assertTrue(riskService.isAllowed("acc-1", null, "PEN", "CREDIT", Money.of("1.00")));
+        }
+
+        @Test
+        @DisplayName("Should count debits already accepted earlier in the same batch")
+        void shouldCountPendingBatchDebits() {
+            // When & Then
+            assertTrue(riskService.isAllowed("acc-1", null, "PEN", "DEBIT", Money.of("500.00"), 50_000, 1));
+            assertFalse(riskService.isAllowed("acc-1", null, "PEN", "DEBIT", Money.of("500.00"), 50_001, 1));
+            assertFalse(riskService.isAllowed("acc-1", null, "PEN", "DEBIT", Money.of("1.00"), 0, 3));
+        }
+
+        @Test
+        @DisplayName("Should keep only the per-transaction limit for currencies without velocity rules")
+        void shouldIgnoreVelocityWithoutRules() {
+            // Given
+            riskService.applied("acc-1", "DEBIT", Money.of("2500.00"));
+
+            // When & Then
+            assertTrue(riskService.isAllowed("acc-1", null, "USD", "DEBIT", Money.of("3000.00")));
+            assertFalse(riskService.isAllowed("acc-1", null, "USD", "DEBIT", Money.of("3000.01")));
         }
+    }
+
+    @Nested
+    @DisplayName("Decision Rule Tests")
+    class DecisionRuleTests {
 
         @Test
-        @DisplayName("Should handle repository returning empty Optional")
-        void shouldHandleRepositoryReturningEmptyOptional() {
+        @DisplayName("Should let an ALLOW shield from a lower REJECT without lifting the per-transaction limit")
+        void shouldShieldFromRejectWithinLimit() {
             // Given
-            when(riskRuleRepository.findFirstByCurrency(anyString()))
-                    .thenReturn(Optional.empty());
+            loadRules(penRule, usdRule,
+                    RiskRule.builder().id("corp").action("ALLOW").currency("PEN").segment("CORPORATE").build(),
+                    RiskRule.builder().id("big").action("REJECT").currency("PEN").type("DEBIT")
+                            .minAmount(Money.of("5000.00")).build());
 
             // When & Then
-            StepVerifier.create(riskService.isAllowed("XXX", "DEBIT", new BigDecimal("100.00")))
-                    .expectNext(false)
-                    .verifyComplete();
+            assertTrue(riskService.isAllowed("acc-1", "CORPORATE", "PEN", "DEBIT", Money.of("6000.00")));
+            assertFalse(riskService.isAllowed("acc-1", "CORPORATE", "PEN", "DEBIT", Money.of("50000.00")));
+            assertFalse(riskService.isAllowed("acc-1", "RETAIL", "PEN", "DEBIT", Money.of("6000.00")));
+            // Sin regla que case: el límite de la moneda
+            assertTrue(riskService.isAllowed("acc-1", "RETAIL", "PEN", "DEBIT", Money.of("4000.00")));
+            assertFalse(riskService.isAllowed("acc-1", "RETAIL", "USD", "DEBIT", Money.of("4000.00")));
+        }
+
+        @Test
+        @DisplayName("Should keep the per-transaction limit under a catch-all ALLOW")
+        void shouldNotBypassLimitWithCatchAllAllow() {
+            // Given
+            loadRules(penRule, usdRule, RiskRule.builder().id("all").action("ALLOW").priority(100).build());
 
-            verify(riskRuleRepository, times(1)).findFirstByCurrency("XXX");
+            // When & Then
+            assertTrue(riskService.isAllowed("acc-1", null, "USD", "DEBIT", Money.of("3000.00")));
+            assertFalse(riskService.isAllowed("acc-1", null, "USD", "DEBIT", Money.of("3000.01")));
+            assertTrue(riskService.isAllowed("acc-1", null, "USD", "CREDIT", Money.of("50000.00")));
+        }
+
+        @Test
+        @DisplayName("Should reject a CREDIT only when a decision rule says so")
+        void shouldRejectCreditByRule() {
+            // Given
+            loadRules(penRule, usdRule,
+                    RiskRule.builder().id("no-usd-credit").action("REJECT").currency("USD").type("CREDIT").build());
+
+            // When & Then
+            assertFalse(riskService.isAllowed("USD", "CREDIT", Money.of("10.00")));
+            assertTrue(riskService.isAllowed("PEN", "CREDIT", Money.of("10.00")));
+        }
+
+        @Test
+        @DisplayName("Should keep the compiled table when a refresh brings the same rules")
+        void shouldKeepCompiledTable() {
+            // Given
+            RiskRule night = RiskRule.builder().id("night").action("REJECT").fromHour(0).toHour(6).build();
+            loadRules(penRule, usdRule, night);
+            RiskDecisionTable compiled = ruleCache.decisions();
+
+            // When
+            loadRules(penRule, usdRule, night);
+
+            // Then
+            assertSame(compiled, ruleCache.decisions());
+            assertEquals(1, compiled.size());
         }
     }
 
@@ -396,49 +419,25 @@ public class RiskServiceTest {
         @Test
         @DisplayName("Should handle precise decimal comparisons")
         void shouldHandlePreciseDecimalComparisons() {
-            // Given
-            when(riskRuleRepository.findFirstByCurrency("PEN"))
-                    .thenReturn(Optional.of(penRule));
-
             // When & Then - Just below limit
-            StepVerifier.create(riskService.isAllowed("PEN", "DEBIT", new BigDecimal("9999.99")))
-                    .expectNext(true)
-                    .verifyComplete();
+            assertTrue(riskService.isAllowed("PEN", "DEBIT", Money.of("9999.99")));
 
             // Exactly at limit
-            StepVerifier.create(riskService.isAllowed("PEN", "DEBIT", new BigDecimal("10000.00")))
-                    .expectNext(true)
-                    .verifyComplete();
+            assertTrue(riskService.isAllowed("PEN", "DEBIT", Money.of("10000.00")));
 
             // Just above limit
-            StepVerifier.create(riskService.isAllowed("PEN", "DEBIT", new BigDecimal("10000.01")))
-                    .expectNext(false)
-                    .verifyComplete();
-
-            verify(riskRuleRepository, times(3)).findFirstByCurrency("PEN");
+            assertFalse(riskService.isAllowed("PEN", "DEBIT", Money.of("10000.01")));
         }
 
         @Test
         @DisplayName("Should handle different decimal scales")
         void shouldHandleDifferentDecimalScales() {
-            // Given
-            when(riskRuleRepository.findFirstByCurrency("USD"))
-                    .thenReturn(Optional.of(usdRule));
-
             // When & Then
-            StepVerifier.create(riskService.isAllowed("USD", "DEBIT", new BigDecimal("3000")))
-                    .expectNext(true)
-                    .verifyComplete();
-
-            StepVerifier.create(riskService.isAllowed("USD", "DEBIT", new BigDecimal("3000.0")))
-                    .expectNext(true)
-                    .verifyComplete();
+            assertTrue(riskService.isAllowed("USD", "DEBIT", Money.of("3000")));
 
-            StepVerifier.create(riskService.isAllowed("USD", "DEBIT", new BigDecimal("3000.000")))
-                    .expectNext(true)
-                    .verifyComplete();
+            assertTrue(riskService.isAllowed("USD", "DEBIT", Money.of("3000.0")));
 
-            verify(riskRuleRepository, times(3)).findFirstByCurrency("USD");
+            assertTrue(riskService.isAllowed("USD", "DEBIT", Money.of("3000.000")));
         }
     }
 }
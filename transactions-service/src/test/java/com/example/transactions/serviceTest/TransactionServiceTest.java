@@ -1,32 +1,51 @@
 package com.example.transactions.serviceTest;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.buffer.Unpooled;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
 import transactions_service.domain.dto.CreateTxRequest;
+import transactions_service.domain.dto.TransactionCursor;
 import transactions_service.domain.model.Account;
+import transactions_service.domain.model.Money;
 import transactions_service.domain.model.Transaction;
 import transactions_service.domain.repository.AccountRepository;
 import transactions_service.domain.repository.TransactionRepository;
+import transactions_service.domain.service.AccountLookupCache;
+import transactions_service.domain.service.BalanceStripes;
+import transactions_service.domain.service.IdempotencyCache;
+import transactions_service.domain.service.LedgerService;
 import transactions_service.domain.service.RiskService;
 import transactions_service.domain.service.TransactionService;
+import transactions_service.infrastructure.audit.RejectionRecorder;
+import transactions_service.infrastructure.config.TransactionsProperties;
 import transactions_service.infrastructure.exception.BusinessException;
-
-import java.math.BigDecimal;
+import transactions_service.infrastructure.exception.ErrorCode;
+import transactions_service.infrastructure.groupcommit.TransactionGroupCommit;
+import transactions_service.infrastructure.journal.TransactionJournal;
+import transactions_service.infrastructure.lane.AccountLaneExecutor;
+import transactions_service.infrastructure.metrics.StageTimers;
+import transactions_service.infrastructure.stream.OverflowPolicy;
+import transactions_service.infrastructure.stream.StreamEvent;
+import transactions_service.infrastructure.stream.TransactionStreamRouter;
+
+import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,9 +61,21 @@ public class TransactionServiceTest {
     private RiskService riskService;
 
     @Mock
-    private Sinks.Many<Transaction> txSink;
+    private TransactionStreamRouter streams;
+
+    @Mock
+    private RejectionRecorder rejections;
+
+    @Mock
+    private IdempotencyCache idempotency;
+
+    @Mock
+    private LedgerService ledger;
+
+    @Mock
+    private BalanceStripes stripes;
 
-    @InjectMocks
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
     private TransactionService transactionService;
 
     private Account testAccount;
@@ -53,23 +84,33 @@ public class TransactionServiceTest {
 
     @BeforeEach
     void setUp() {
+        TransactionsProperties props = new TransactionsProperties();
+        AccountLaneExecutor lanes = new AccountLaneExecutor(props, new SimpleMeterRegistry());
+        TransactionGroupCommit groupCommit = new TransactionGroupCommit(txRepo, props, new SimpleMeterRegistry());
+        AccountLookupCache accounts = new AccountLookupCache(accountRepo, props, new SimpleMeterRegistry());
+        transactionService = new TransactionService(accountRepo, txRepo, riskService, streams, lanes, groupCommit,
+                props, accounts, rejections, idempotency,
+                new TransactionJournal(txRepo, props, new SimpleMeterRegistry()), ledger, stripes,
+                new StageTimers(registry, props));
+        lenient().when(riskService.velocityReady(any(), any())).thenReturn(true);
+
         testAccount = Account.builder()
                 .id(String.valueOf(1L))
                 .number("ACC-001")
-                .balance(new BigDecimal("1000.00"))
+                .balance(Money.of("1000.00"))
                 .currency("USD")
                 .build();
 
         debitRequest = CreateTxRequest.builder()
                 .accountNumber("ACC-001")
                 .type("DEBIT")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of("100.00"))
                 .build();
 
         creditRequest = CreateTxRequest.builder()
                 .accountNumber("ACC-001")
                 .type("CREDIT")
-                .amount(new BigDecimal("200.00"))
+                .amount(Money.of("200.00"))
                 .build();
     }
 
@@ -77,84 +118,93 @@ public class TransactionServiceTest {
     void create_DebitTransaction_Success() {
         // Arrange
         when(accountRepo.findByNumber("ACC-001")).thenReturn(Mono.just(testAccount));
-        when(riskService.isAllowed("USD", "DEBIT", new BigDecimal("100.00")))
-                .thenReturn(Mono.just(true));
+        when(riskService.isAllowed("1", null, "USD", "DEBIT", Money.of("100.00")))
+                .thenReturn(true);
 
         Account updatedAccount = Account.builder()
                 .id(String.valueOf(1L))
                 .number("ACC-001")
-                .balance(new BigDecimal("900.00"))
+                .balance(Money.of("900.00"))
                 .currency("USD")
+                .sequence(8)
                 .build();
-        when(accountRepo.save(any(Account.class))).thenReturn(Mono.just(updatedAccount));
+        when(accountRepo.debitIfSufficient("1", Money.of("100.00")))
+                .thenReturn(Mono.just(updatedAccount));
 
         Transaction savedTx = Transaction.builder()
                 .id(String.valueOf(1L))
                 .accountId(String.valueOf(1L))
                 .type("DEBIT")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of("100.00"))
                 .timestamp(Instant.now())
                 .status("OK")
                 .build();
         when(txRepo.save(any(Transaction.class))).thenReturn(Mono.just(savedTx));
-        when(txSink.tryEmitNext(any())).thenReturn(Sinks.EmitResult.OK);
 
         // Act & Assert
         StepVerifier.create(transactionService.create(debitRequest))
                 .assertNext(tx -> {
                     assertThat(tx.getType()).isEqualTo("DEBIT");
-                    assertThat(tx.getAmount()).isEqualByComparingTo(new BigDecimal("100.00"));
+                    assertThat(tx.getAmount()).isEqualByComparingTo(Money.of("100.00"));
                     assertThat(tx.getStatus()).isEqualTo("OK");
-                    assertThat(tx.getAccountId()).isEqualTo(1L);
+                    assertThat(tx.getAccountId()).isEqualTo("1");
                 })
                 .verifyComplete();
 
-        // Verify account balance was updated
-        ArgumentCaptor<Account> accountCaptor = ArgumentCaptor.forClass(Account.class);
-        verify(accountRepo).save(accountCaptor.capture());
-        assertThat(accountCaptor.getValue().getBalance())
-                .isEqualByComparingTo(new BigDecimal("900.00"));
+        // La transacción lleva la secuencia que reservó la escritura del saldo
+        verify(txRepo).save(argThat(saved -> saved.getSequence() == 8L));
+        verify(ledger).applied("1", 7, 8);
+        verify(riskService).applied("1", "DEBIT", Money.of("100.00"));
+
+        // Verify balance was updated atomically, without rewriting the document
+        verify(accountRepo).debitIfSufficient("1", Money.of("100.00"));
+        verify(accountRepo, never()).save(any());
+
+        // Cada etapa queda medida una vez, por tipo y resultado
+        for (String stage : List.of("lane", "lookup", "risk", "balance", "persist", "publish")) {
+            assertThat(registry.get("transactions.stage")
+                    .tags("stage", stage, "type", "DEBIT", "outcome", "ok")
+                    .timer().count()).as(stage).isEqualTo(1);
+        }
     }
 
     @Test
     void create_CreditTransaction_Success() {
         // Arrange
         when(accountRepo.findByNumber("ACC-001")).thenReturn(Mono.just(testAccount));
-        when(riskService.isAllowed("USD", "CREDIT", new BigDecimal("200.00")))
-                .thenReturn(Mono.just(true));
+        when(riskService.isAllowed("1", null, "USD", "CREDIT", Money.of("200.00")))
+                .thenReturn(true);
 
         Account updatedAccount = Account.builder()
                 .id(String.valueOf(1L))
                 .number("ACC-001")
-                .balance(new BigDecimal("1200.00"))
+                .balance(Money.of("1200.00"))
                 .currency("USD")
                 .build();
-        when(accountRepo.save(any(Account.class))).thenReturn(Mono.just(updatedAccount));
+        when(accountRepo.credit("1", Money.of("200.00")))
+                .thenReturn(Mono.just(updatedAccount));
 
         Transaction savedTx = Transaction.builder()
                 .id(String.valueOf(2L))
                 .accountId(String.valueOf(1L))
                 .type("CREDIT")
-                .amount(new BigDecimal("200.00"))
+                .amount(Money.of("200.00"))
                 .timestamp(Instant.now())
                 .status("OK")
                 .build();
         when(txRepo.save(any(Transaction.class))).thenReturn(Mono.just(savedTx));
-        when(txSink.tryEmitNext(any())).thenReturn(Sinks.EmitResult.OK);
 
         // Act & Assert
         StepVerifier.create(transactionService.create(creditRequest))
                 .assertNext(tx -> {
                     assertThat(tx.getType()).isEqualTo("CREDIT");
-                    assertThat(tx.getAmount()).isEqualByComparingTo(new BigDecimal("200.00"));
+                    assertThat(tx.getAmount()).isEqualByComparingTo(Money.of("200.00"));
                 })
                 .verifyComplete();
 
         // Verify balance increased
-        ArgumentCaptor<Account> accountCaptor = ArgumentCaptor.forClass(Account.class);
-        verify(accountRepo).save(accountCaptor.capture());
-        assertThat(accountCaptor.getValue().getBalance())
-                .isEqualByComparingTo(new BigDecimal("1200.00"));
+        verify(accountRepo).credit("1", Money.of("200.00"));
+        verify(accountRepo, never()).save(any());
     }
 
     @Test
@@ -165,7 +215,7 @@ public class TransactionServiceTest {
         CreateTxRequest request = CreateTxRequest.builder()
                 .accountNumber("ACC-999")
                 .type("DEBIT")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of("100.00"))
                 .build();
 
         // Act & Assert
@@ -179,13 +229,16 @@ public class TransactionServiceTest {
     void create_InsufficientFunds_ThrowsException() {
         // Arrange
         when(accountRepo.findByNumber("ACC-001")).thenReturn(Mono.just(testAccount));
-        when(riskService.isAllowed("USD", "DEBIT", new BigDecimal("2000.00")))
-                .thenReturn(Mono.just(true));
+        when(riskService.isAllowed("1", null, "USD", "DEBIT", Money.of("2000.00")))
+                .thenReturn(true);
+        when(accountRepo.debitIfSufficient("1", Money.of("2000.00")))
+                .thenReturn(Mono.empty());
+        when(accountRepo.findById("1")).thenReturn(Mono.just(testAccount));
 
         CreateTxRequest request = CreateTxRequest.builder()
                 .accountNumber("ACC-001")
                 .type("DEBIT")
-                .amount(new BigDecimal("2000.00"))
+                .amount(Money.of("2000.00"))
                 .build();
 
         // Act & Assert
@@ -196,14 +249,83 @@ public class TransactionServiceTest {
 
         verify(accountRepo, never()).save(any());
         verify(txRepo, never()).save(any());
+        verify(rejections).record("1", "DEBIT", Money.of("2000.00"), "insufficient_funds");
+        assertThat(registry.get("transactions.stage")
+                .tags("stage", "balance", "type", "DEBIT", "outcome", "insufficient_funds")
+                .timer().count()).isEqualTo(1);
+        assertThat(registry.find("transactions.stage").tags("stage", "persist").timer()).isNull();
+    }
+
+    @Test
+    void create_UnknownType_ThrowsException() {
+        // Arrange
+        CreateTxRequest request = CreateTxRequest.builder()
+                .accountNumber("ACC-001")
+                .type("DEBTI")
+                .amount(Money.of("100.00"))
+                .build();
+
+        // Act & Assert - anything but DEBIT would otherwise be applied as a credit
+        StepVerifier.create(transactionService.create(request))
+                .expectErrorMatches(e -> e instanceof BusinessException &&
+                        e.getMessage().equals("invalid_type"))
+                .verify();
+        verify(accountRepo, never()).credit(anyString(), any());
+    }
+
+    @Test
+    void create_ReleasesLaneBeforePersisting() {
+        // Arrange - the first insert never answers; the lane must not wait for it
+        when(accountRepo.findByNumber("ACC-001")).thenReturn(Mono.just(testAccount));
+        when(riskService.isAllowed("1", null, "USD", "CREDIT", Money.of("200.00"))).thenReturn(true);
+        when(accountRepo.credit("1", Money.of("200.00"))).thenReturn(Mono.just(testAccount));
+        when(txRepo.save(any(Transaction.class)))
+                .thenReturn(Mono.never())
+                .thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+
+        // Act
+        transactionService.create(creditRequest).subscribe();
+
+        // Assert - the second movement of the same account goes through meanwhile
+        StepVerifier.create(transactionService.create(creditRequest))
+                .expectNextCount(1)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+        verify(accountRepo, times(2)).credit("1", Money.of("200.00"));
+    }
+
+    @Test
+    void create_AccountStripedElsewhere_RoutesToStripes() {
+        // Arrange - the cached lookup predates the stripes; the guarded write does not match
+        Account striped = Account.builder()
+                .id("1")
+                .number("ACC-001")
+                .balance(Money.of("1000.00"))
+                .currency("USD")
+                .stripes(4)
+                .build();
+        when(accountRepo.findByNumber("ACC-001")).thenReturn(Mono.just(testAccount), Mono.just(striped));
+        when(riskService.isAllowed("1", null, "USD", "CREDIT", Money.of("200.00")))
+                .thenReturn(true);
+        when(accountRepo.credit("1", Money.of("200.00"))).thenReturn(Mono.empty());
+        when(accountRepo.findById("1")).thenReturn(Mono.just(striped));
+        when(stripes.credit(argThat(acc -> acc.stripes() == 4), eq(Money.of("200.00")))).thenReturn(Mono.empty());
+        when(txRepo.save(any(Transaction.class))).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+
+        // Act & Assert - no sequence, and the ledger never hears about it
+        StepVerifier.create(transactionService.create(creditRequest))
+                .assertNext(tx -> assertThat(tx.getSequence()).isNull())
+                .verifyComplete();
+        verifyNoInteractions(ledger);
+        verify(rejections, never()).record(any(), any(), any(), any());
     }
 
     @Test
     void create_RiskRejected_ThrowsException() {
         // Arrange
         when(accountRepo.findByNumber("ACC-001")).thenReturn(Mono.just(testAccount));
-        when(riskService.isAllowed("USD", "DEBIT", new BigDecimal("100.00")))
-                .thenReturn(Mono.just(false));
+        when(riskService.isAllowed("1", null, "USD", "DEBIT", Money.of("100.00")))
+                .thenReturn(false);
 
         // Act & Assert
         StepVerifier.create(transactionService.create(debitRequest))
@@ -211,12 +333,43 @@ public class TransactionServiceTest {
                         e.getMessage().equals("risk_rejected"))
                 .verify();
 
-        verify(accountRepo, never()).save(any());
+        verify(accountRepo, never()).debitIfSufficient(anyString(), any());
         verify(txRepo, never()).save(any());
+        verify(rejections).record("1", "DEBIT", Money.of("100.00"), "risk_rejected");
     }
 
     @Test
-    void byAccount_Success() {
+    void create_VelocityWarmingUp_ThrowsServiceUnavailable() {
+        // Arrange - velocity counters are still being rebuilt after startup
+        when(accountRepo.findByNumber("ACC-001")).thenReturn(Mono.just(testAccount));
+        when(riskService.velocityReady("USD", "DEBIT")).thenReturn(false);
+
+        // Act & Assert
+        StepVerifier.create(transactionService.create(debitRequest))
+                .expectErrorMatches(e -> e == ErrorCode.VELOCITY_WARMING_UP.exception())
+                .verify();
+
+        verify(riskService, never()).isAllowed(anyString(), any(), anyString(), anyString(), any());
+        verify(accountRepo, never()).debitIfSufficient(anyString(), any());
+    }
+
+    @Test
+    void create_AccountWithoutValidCurrency_RejectsAsInvalidAmount() {
+        // Arrange - legacy account stored without a currency
+        testAccount.setCurrency(null);
+        when(accountRepo.findByNumber("ACC-001")).thenReturn(Mono.just(testAccount));
+
+        // Act & Assert
+        StepVerifier.create(transactionService.create(debitRequest))
+                .expectErrorMatches(e -> e instanceof BusinessException &&
+                        e.getMessage().equals("invalid_amount"))
+                .verify();
+
+        verify(accountRepo, never()).debitIfSufficient(anyString(), any());
+    }
+
+    @Test
+    void page_ReturnsWholeHistoryWithoutCursorWhenItFits() {
         // Arrange
         when(accountRepo.findByNumber("ACC-001")).thenReturn(Mono.just(testAccount));
 
@@ -224,7 +377,7 @@ public class TransactionServiceTest {
                 .id(String.valueOf(1L))
                 .accountId(String.valueOf(1L))
                 .type("DEBIT")
-                .amount(new BigDecimal("50.00"))
+                .amount(Money.of("50.00"))
                 .timestamp(Instant.now())
                 .status("OK")
                 .build();
@@ -233,82 +386,191 @@ public class TransactionServiceTest {
                 .id(String.valueOf(2L))
                 .accountId(String.valueOf(1L))
                 .type("CREDIT")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of("100.00"))
                 .timestamp(Instant.now())
                 .status("OK")
                 .build();
 
-        when(txRepo.findByAccountIdOrderByTimestampDesc(1L))
+        when(txRepo.findPage("1", null, null, 11))
                 .thenReturn(Flux.just(tx1, tx2));
 
         // Act & Assert
-        StepVerifier.create(transactionService.byAccount("ACC-001"))
-                .assertNext(tx -> assertThat(tx.getId()).isEqualTo(1L))
-                .assertNext(tx -> assertThat(tx.getId()).isEqualTo(2L))
+        StepVerifier.create(transactionService.page("ACC-001", 10, null))
+                .assertNext(page -> {
+                    assertThat(page.getItems()).extracting(Transaction::getId).containsExactly("1", "2");
+                    assertThat(page.getNextCursor()).isNull();
+                })
                 .verifyComplete();
     }
 
     @Test
-    void byAccount_AccountNotFound_ThrowsException() {
+    void page_AccountNotFound_ThrowsException() {
         // Arrange
         when(accountRepo.findByNumber("ACC-999")).thenReturn(Mono.empty());
 
         // Act & Assert
-        StepVerifier.create(transactionService.byAccount("ACC-999"))
+        StepVerifier.create(transactionService.page("ACC-999", null, null))
                 .expectErrorMatches(e -> e instanceof BusinessException &&
                         e.getMessage().equals("account_not_found"))
                 .verify();
     }
 
     @Test
-    void stream_ReturnsServerSentEvents() {
+    void page_ReturnsNextCursorWhenMoreRemain() {
+        // Arrange
+        when(accountRepo.findByNumber("ACC-001")).thenReturn(Mono.just(testAccount));
+        Instant now = Instant.parse("2025-01-10T10:00:00Z");
+        Transaction newest = historyTx("3", now);
+        Transaction middle = historyTx("2", now.minusSeconds(1));
+        Transaction oldest = historyTx("1", now.minusSeconds(2));
+        when(txRepo.findPage("1", null, null, 3)).thenReturn(Flux.just(newest, middle, oldest));
+
+        // Act & Assert
+        StepVerifier.create(transactionService.page("ACC-001", 2, null))
+                .assertNext(page -> {
+                    assertThat(page.getItems()).containsExactly(newest, middle);
+                    TransactionCursor next = TransactionCursor.decode(page.getNextCursor());
+                    assertThat(next.timestamp()).isEqualTo(middle.getTimestamp());
+                    assertThat(next.id()).isEqualTo("2");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void page_ResumesAfterCursorAndEndsWithoutNextCursor() {
+        // Arrange
+        when(accountRepo.findByNumber("ACC-001")).thenReturn(Mono.just(testAccount));
+        Instant at = Instant.parse("2025-01-10T09:59:59Z");
+        Transaction oldest = historyTx("1", at.minusSeconds(1));
+        String cursor = new TransactionCursor(at, "2").encode();
+        when(txRepo.findPage("1", at, "2", 3)).thenReturn(Flux.just(oldest));
+
+        // Act & Assert
+        StepVerifier.create(transactionService.page("ACC-001", 2, cursor))
+                .assertNext(page -> {
+                    assertThat(page.getItems()).containsExactly(oldest);
+                    assertThat(page.getNextCursor()).isNull();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void page_InvalidCursor_ThrowsException() {
+        // Act & Assert
+        StepVerifier.create(transactionService.page("ACC-001", 2, "not-a-cursor"))
+                .expectErrorMatches(e -> e instanceof BusinessException &&
+                        e.getMessage().equals("invalid_cursor"))
+                .verify();
+
+        verify(accountRepo, never()).findByNumber(anyString());
+    }
+
+    @Test
+    void page_CapsLimitAtMaximum() {
+        // Arrange
+        when(accountRepo.findByNumber("ACC-001")).thenReturn(Mono.just(testAccount));
+        when(txRepo.findPage("1", null, null, 501)).thenReturn(Flux.empty());
+
+        // Act & Assert
+        StepVerifier.create(transactionService.page("ACC-001", 10_000, null))
+                .assertNext(page -> assertThat(page.getItems()).isEmpty())
+                .verifyComplete();
+    }
+
+    private static Transaction historyTx(String id, Instant timestamp) {
+        return Transaction.builder()
+                .id(id)
+                .accountId("1")
+                .type("CREDIT")
+                .amount(Money.of("10.00"))
+                .timestamp(timestamp)
+                .status("OK")
+                .build();
+    }
+
+    @Test
+    void stream_ReturnsEventsWithIds() {
         // Arrange
         Transaction tx = Transaction.builder()
                 .id(String.valueOf(1L))
                 .accountId(String.valueOf(1L))
                 .type("DEBIT")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of("100.00"))
                 .timestamp(Instant.now())
                 .status("OK")
                 .build();
 
-        Flux<Transaction> txFlux = Flux.just(tx);
-        when(txSink.asFlux()).thenReturn(txFlux);
+        Flux<StreamEvent> events = Flux.just(new StreamEvent(7, "100-7-0", tx, Unpooled.EMPTY_BUFFER));
+        when(streams.subscribe(eq(Set.of()), eq(OverflowPolicy.DROP_OLDEST), isNull(), any())).thenReturn(events);
 
         // Act & Assert
-        StepVerifier.create(transactionService.stream())
-                .assertNext(sse -> {
-                    assertThat(sse.event()).isEqualTo("transaction");
-                    assertThat(sse.data()).isNotNull();
-                    assertThat(sse.data().getId()).isEqualTo(1L);
+        StepVerifier.create(transactionService.stream(null))
+                .assertNext(event -> {
+                    assertThat(event.id()).isEqualTo("100-7-0");
+                    assertThat(event.tx()).isNotNull();
+                    assertThat(event.tx().getId()).isEqualTo("1");
                 })
                 .verifyComplete();
     }
 
+    @Test
+    void stream_FiltersByResolvedAccountIds() {
+        // Arrange
+        when(accountRepo.findByNumber("ACC-001")).thenReturn(Mono.just(testAccount));
+        when(streams.subscribe(eq(Set.of("1")), eq(OverflowPolicy.DISCONNECT), eq("100-7-0"), any()))
+                .thenReturn(Flux.empty());
+
+        // Act & Assert
+        StepVerifier.create(transactionService.stream(List.of("ACC-001", "ACC-001"), "disconnect", "100-7-0"))
+                .verifyComplete();
+        verify(streams).subscribe(eq(Set.of("1")), eq(OverflowPolicy.DISCONNECT), eq("100-7-0"), any());
+    }
+
+    @Test
+    void stream_UnknownAccount_ThrowsException() {
+        // Arrange
+        when(accountRepo.findByNumber("ACC-999")).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(transactionService.stream(List.of("ACC-999")))
+                .expectErrorMatches(e -> e instanceof BusinessException &&
+                        e.getMessage().equals("account_not_found"))
+                .verify();
+        verify(streams, never()).subscribe(any(), any(), any(), any());
+    }
+
+    @Test
+    void stream_InvalidOverflowPolicy_ThrowsException() {
+        // Act & Assert
+        StepVerifier.create(transactionService.stream(null, "block", null))
+                .expectErrorMatches(e -> e instanceof BusinessException &&
+                        e.getMessage().equals("invalid_overflow_policy"))
+                .verify();
+    }
+
     @Test
     void create_TypeConvertedToUpperCase() {
         // Arrange
         CreateTxRequest lowerCaseRequest = CreateTxRequest.builder()
                 .accountNumber("ACC-001")
                 .type("debit")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of("100.00"))
                 .build();
 
         when(accountRepo.findByNumber("ACC-001")).thenReturn(Mono.just(testAccount));
-        when(riskService.isAllowed(eq("USD"), eq("DEBIT"), any()))
-                .thenReturn(Mono.just(true));
-        when(accountRepo.save(any())).thenReturn(Mono.just(testAccount));
+        when(riskService.isAllowed(eq("1"), any(), eq("USD"), eq("DEBIT"), any()))
+                .thenReturn(true);
+        when(accountRepo.debitIfSufficient(eq("1"), any())).thenReturn(Mono.just(testAccount));
 
         Transaction savedTx = Transaction.builder()
                 .id(String.valueOf(1L))
                 .accountId(String.valueOf(1L))
                 .type("DEBIT")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of("100.00"))
                 .timestamp(Instant.now())
                 .status("OK")
                 .build();
         when(txRepo.save(any())).thenReturn(Mono.just(savedTx));
-        when(txSink.tryEmitNext(any())).thenReturn(Sinks.EmitResult.OK);
 
         // Act & Assert
         StepVerifier.create(transactionService.create(lowerCaseRequest))
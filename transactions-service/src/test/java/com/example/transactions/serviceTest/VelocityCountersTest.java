@@ -0,0 +1,193 @@
+package com.example.transactions.serviceTest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import transactions_service.domain.model.Money;
+import transactions_service.domain.model.Transaction;
+import transactions_service.domain.repository.TransactionRepository;
+import transactions_service.domain.service.VelocityCounters;
+import transactions_service.domain.service.VelocityLimits;
+import transactions_service.infrastructure.config.TransactionsProperties;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("VelocityCounters Tests")
+class VelocityCountersTest {
+
+    private static final long NOW = Instant.parse("2025-01-10T10:00:00Z").toEpochMilli();
+    private static final long MINUTE = Duration.ofMinutes(1).toMillis();
+    private static final long SECOND = Duration.ofSeconds(1).toMillis();
+    // El anillo del minuto: 12 buckets de 5 s más el del borde
+    private static final long MINUTE_RING = 65 * SECOND;
+
+    @Mock
+    private TransactionRepository txRepo;
+
+    private TransactionsProperties props;
+    private VelocityCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        props = new TransactionsProperties();
+        counters = new VelocityCounters(txRepo, props);
+    }
+
+    @Test
+    @DisplayName("Should forget debits once they leave each window")
+    void shouldSlideWindows() {
+        // Given - 100.00 por minuto, 150.00 por hora
+        VelocityLimits limits = new VelocityLimits(10_000, 15_000, Long.MAX_VALUE,
+                Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE);
+        counters.record("acc-1", 9_000, NOW);
+
+        // When & Then
+        assertThat(counters.allows("acc-1", limits, 1_000, 0, 0, NOW)).isTrue();
+        assertThat(counters.allows("acc-1", limits, 1_001, 0, 0, NOW)).isFalse();
+        // Un bucket después de cumplir el minuto ya no cuenta para el minuto, pero sí para la hora
+        assertThat(counters.allows("acc-1", limits, 6_000, 0, 0, NOW + MINUTE_RING)).isTrue();
+        assertThat(counters.allows("acc-1", limits, 6_001, 0, 0, NOW + MINUTE_RING)).isFalse();
+        assertThat(counters.allows("acc-1", limits, 10_000, 0, 0, NOW + 65 * MINUTE)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should still count a debit at the trailing edge of the window")
+    void shouldCountEdgeOfWindow() {
+        // Given - 4 s into its bucket, so still inside the last minute 61 s later
+        VelocityLimits limits = new VelocityLimits(10_000, Long.MAX_VALUE, Long.MAX_VALUE,
+                Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE);
+        counters.record("acc-1", 9_000, NOW + 4 * SECOND);
+
+        // When & Then - the minute window (now - 60 s, now] still holds it
+        assertThat(counters.allows("acc-1", limits, 1_000, 0, 0, NOW + 61 * SECOND)).isTrue();
+        assertThat(counters.allows("acc-1", limits, 1_001, 0, 0, NOW + 61 * SECOND)).isFalse();
+        // Over-counts at most one bucket: exactly a minute later it is still there
+        assertThat(counters.allows("acc-1", limits, 1_001, 0, 0, NOW + 4 * SECOND + MINUTE)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reset a bucket when the ring wraps around to it")
+    void shouldResetReusedBucket() {
+        // Given
+        VelocityLimits limits = new VelocityLimits(Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE,
+                1, Long.MAX_VALUE, Long.MAX_VALUE);
+        counters.record("acc-1", 1, NOW);
+
+        // When - mismo bucket del anillo del minuto, una vuelta después
+        counters.record("acc-1", 1, NOW + MINUTE_RING);
+
+        // Then
+        assertThat(counters.allows("acc-1", limits, 1, 0, 0, NOW + MINUTE_RING)).isFalse();
+        assertThat(counters.allows("acc-1", limits, 1, 0, 0, NOW + 2 * MINUTE_RING)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not lose concurrent debits")
+    void shouldNotLoseConcurrentDebits() throws Exception {
+        // Given
+        int threads = 8;
+        int perThread = 10_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    counters.record("acc-1", 1, NOW);
+                }
+                return null;
+            });
+        }
+
+        // When
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        long total = threads * perThread;
+        VelocityLimits limits = new VelocityLimits(total + 1, Long.MAX_VALUE, Long.MAX_VALUE,
+                total + 1, Long.MAX_VALUE, Long.MAX_VALUE);
+        assertThat(counters.allows("acc-1", limits, 1, 0, 0, NOW)).isTrue();
+        assertThat(counters.allows("acc-1", limits, 2, 0, 0, NOW)).isFalse();
+        assertThat(counters.allows("acc-1", limits, 1, 0, 1, NOW)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should rebuild from the last day of debits")
+    void shouldRebuildFromHistory() {
+        // Given
+        Instant now = Instant.ofEpochMilli(NOW);
+        when(txRepo.findDebitsAfter(anyString(), eq(5_000))).thenReturn(Flux.just(
+                debit("tx-1", "acc-1", "40.00", now.minusSeconds(30)),
+                debit("tx-2", "acc-1", "50.00", now.minus(Duration.ofHours(25)))));
+        VelocityLimits limits = new VelocityLimits(10_000, Long.MAX_VALUE, Long.MAX_VALUE,
+                Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE);
+
+        // When & Then
+        StepVerifier.create(counters.rebuild(now)).expectNext(1L).verifyComplete();
+        assertThat(counters.allows("acc-1", limits, 6_000, 0, 0, NOW)).isTrue();
+        assertThat(counters.allows("acc-1", limits, 6_001, 0, 0, NOW)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should read the rebuild in pages keyed by the last id")
+    void shouldRebuildInPages() {
+        // Given
+        props.getVelocity().setRebuildPageSize(2);
+        Instant now = Instant.ofEpochMilli(NOW);
+        when(txRepo.findDebitsAfter(anyString(), eq(2))).thenReturn(Flux.just(
+                debit("tx-1", "acc-1", "10.00", now.minusSeconds(30)),
+                debit("tx-2", "acc-1", "10.00", now.minusSeconds(20))));
+        when(txRepo.findDebitsAfter("tx-2", 2)).thenReturn(Flux.just(
+                debit("tx-3", "acc-1", "10.00", now.minusSeconds(10))));
+
+        // When & Then
+        StepVerifier.create(counters.rebuild(now)).expectNext(3L).verifyComplete();
+        verify(txRepo, never()).findDebitsAfter("tx-3", 2);
+    }
+
+    @Test
+    @DisplayName("Should count nothing when disabled")
+    void shouldCountNothingWhenDisabled() {
+        // Given
+        props.getVelocity().setEnabled(false);
+        VelocityCounters disabled = new VelocityCounters(txRepo, props);
+        VelocityLimits limits = new VelocityLimits(100, Long.MAX_VALUE, Long.MAX_VALUE,
+                Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE);
+
+        // When
+        disabled.record("acc-1", 100, NOW);
+
+        // Then
+        assertThat(disabled.allows("acc-1", limits, 100, 0, 0, NOW)).isTrue();
+    }
+
+    // Lo que trae la proyección del relleno: id, cuenta, importe y fecha
+    private static Transaction debit(String id, String accountId, String amount, Instant at) {
+        return Transaction.builder()
+                .id(id)
+                .accountId(accountId)
+                .amount(Money.of(amount))
+                .timestamp(at)
+                .build();
+    }
+}
@@ -9,13 +9,11 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Mono;
 import transactions_service.domain.model.Account;
+import transactions_service.domain.model.Money;
 import transactions_service.domain.model.RiskRule;
 import transactions_service.domain.repository.AccountRepository;
 import transactions_service.domain.repository.RiskRuleRepository;
 
-import java.math.BigDecimal;
-import java.util.Optional;
-
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 
@@ -53,7 +51,7 @@ class TransactionControllerTest {
                 .number("001-0001")
                 .holderName("Test User 1")
                 .currency("PEN")
-                .balance(new BigDecimal("1000.00"))
+                .balance(Money.of("1000.00"))
                 .build();
 
         Account account2 = Account.builder()
@@ -61,7 +59,7 @@ class TransactionControllerTest {
                 .number("001-0002")
                 .holderName("Test User 2")
                 .currency("USD")
-                .balance(new BigDecimal("500.00"))
+                .balance(Money.of("500.00"))
                 .build();
 
         // Mock del AccountRepository
@@ -79,24 +77,24 @@ class TransactionControllerTest {
         RiskRule penRule = RiskRule.builder()
                 .id("rule-pen-001")
                 .currency("PEN")
-                .maxDebitPerTx(new BigDecimal("1500.00"))
+                .maxDebitPerTx(Money.of("1500.00"))
                 .build();
 
         RiskRule usdRule = RiskRule.builder()
                 .id("rule-usd-001")
                 .currency("USD")
-                .maxDebitPerTx(new BigDecimal("1500.00"))
+                .maxDebitPerTx(Money.of("1500.00"))
                 .build();
 
         // Mock del RiskRuleRepository
         when(riskRuleRepository.findFirstByCurrency("PEN"))
-                .thenReturn(Optional.of(penRule));
+                .thenReturn(Mono.just(penRule));
 
         when(riskRuleRepository.findFirstByCurrency("USD"))
-                .thenReturn(Optional.of(usdRule));
+                .thenReturn(Mono.just(usdRule));
 
         when(riskRuleRepository.findFirstByCurrency(anyString()))
-                .thenReturn(Optional.of(penRule));
+                .thenReturn(Mono.just(penRule));
 
         System.out.println("✅ Mocks configurados: cuentas con saldo y reglas de riesgo permisivas");
     }